@@ -1,7 +1,10 @@
 package org.hy.common.redis;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.hy.common.Date;
 import org.hy.common.TablePartitionRID;
@@ -35,6 +38,11 @@ import org.hy.common.TablePartitionRID;
  *              v3.0  2024-09-23  添加：开放字符串的get、set方法
  *              v4.0  2025-02-06  添加：两个getRow(库名 ,表名 ,类型)接口。
  *                                     用于在支持外界定义行数据类型是一个通用Map结构的同时，允许外界定义Map结构中的每个元素的Java类型
+ *              v5.0  2026-10-17  添加：批量保存多行数据 saveRows()
+ *              v6.0  2026-10-17  添加：分页扫描全表数据 scanRows()
+ *              v7.0  2026-10-17  添加：获取异步访问接口 getAsync()
+ *              v8.0  2026-10-17  添加：获取响应式访问接口 getReactive()
+ *              v9.0  2026-10-17  修改：新增的接口方法均为默认方法，已有的外部实现类无须修改即可编译
  */
 public interface IRedis
 {
@@ -60,6 +68,44 @@ public interface IRedis
     
     
     
+    /**
+     * 获取异步访问接口。与本对象共用连接，所有操作均不阻塞调用线程
+     * 
+     * 注：默认实现为不支持，已有的外部实现类无须修改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     * @throws UnsupportedOperationException  实现类不支持异步访问时
+     */
+    public default IRedisAsync getAsync()
+    {
+        throw new UnsupportedOperationException(this.getClass().getName() + " does not support asynchronous access.");
+    }
+    
+    
+    
+    /**
+     * 获取响应式访问接口。与本对象共用连接，全表数据按流式读取，支持背压
+     * 
+     * 注：默认实现为不支持，已有的外部实现类无须修改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     * @throws UnsupportedOperationException  实现类不支持响应式访问时
+     */
+    public default IRedisReactive getReactive()
+    {
+        throw new UnsupportedOperationException(this.getClass().getName() + " does not support reactive access.");
+    }
+    
+    
+    
     /**
      * 获取Redis服务的当前时间（Unix时间）
      * 
@@ -604,6 +650,75 @@ public interface IRedis
     
     
     
+    /**
+     * 批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：多行数据按批次管道发送。集群模式时按行主键所属的节点分组，同时向所有节点发送
+     * 注：默认实现为逐行调用 save()，已有的外部实现类无须修改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.key为行主键，Map.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @return             Map.key为行主键，Map.value为影响的行数。负数表示异常。入参异常时返回NULL
+     */
+    public default Map<String ,Long> saveRows(String i_Database ,String i_TableName ,Map<String ,?> i_Rows)
+    {
+        return this.saveRows(i_Database ,i_TableName ,i_Rows ,null);
+    }
+    
+    
+    
+    /**
+     * 批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：多行数据按批次管道发送。集群模式时按行主键所属的节点分组，同时向所有节点发送
+     * 注：默认实现为逐行调用 save()，已有的外部实现类无须修改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.key为行主键，Map.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             Map.key为行主键，Map.value为影响的行数。负数表示异常。入参异常时返回NULL
+     */
+    @SuppressWarnings("unchecked")
+    public default Map<String ,Long> saveRows(String i_Database ,String i_TableName ,Map<String ,?> i_Rows ,Long i_ExpireTime)
+    {
+        if ( i_Rows == null )
+        {
+            return null;
+        }
+        
+        Map<String ,Long> v_Rets = new LinkedHashMap<String ,Long>(i_Rows.size());
+        for (Map.Entry<String ,?> v_Row : i_Rows.entrySet())
+        {
+            Long v_Ret = null;
+            if ( v_Row.getValue() instanceof Map )
+            {
+                Map<String ,Object> v_Datas = (Map<String ,Object>) v_Row.getValue();
+                v_Ret = i_ExpireTime == null ? this.save(i_Database ,i_TableName ,v_Row.getKey() ,v_Datas) : this.save(i_Database ,i_TableName ,v_Row.getKey() ,v_Datas ,i_ExpireTime);
+            }
+            else
+            {
+                v_Ret = i_ExpireTime == null ? this.save(i_Database ,i_TableName ,v_Row.getKey() ,v_Row.getValue()) : this.save(i_Database ,i_TableName ,v_Row.getKey() ,v_Row.getValue() ,i_ExpireTime);
+            }
+            v_Rets.put(v_Row.getKey() ,v_Ret);
+        }
+        
+        return v_Rets;
+    }
+    
+    
+    
     /**
      * 获取一行数据
      * 
@@ -771,6 +886,81 @@ public interface IRedis
     
     
     
+    /**
+     * 分页扫描全表数据（流式处理，内存占用与表的大小无关）
+     * 
+     * 按 HSCAN 游标分页读取表、主键关系，每页的行数据按批次管道获取后，逐行交给消费者处理。
+     * 
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被处理多次
+     * 注：默认实现为按 getRows() 一次获取全表数据后逐行处理（不是流式的），已有的外部实现类无须修改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @param i_BatchSize  每页的行数（HSCAN 的 COUNT 参数）
+     * @param i_Consumer   行数据的消费者
+     * @return             返回处理的行数。负数表示异常
+     */
+    public default <E> Long scanRows(String i_Database ,String i_TableName ,Class<E> i_RowClass ,int i_BatchSize ,Consumer<E> i_Consumer)
+    {
+        if ( i_Consumer == null )
+        {
+            return -1L;
+        }
+        
+        return this.scanRows(i_Database ,i_TableName ,i_RowClass ,i_BatchSize ,(String v_PrimaryKey ,E v_Row) -> i_Consumer.accept(v_Row));
+    }
+    
+    
+    
+    /**
+     * 分页扫描全表数据（流式处理，内存占用与表的大小无关）
+     * 
+     * 按 HSCAN 游标分页读取表、主键关系，每页的行数据按批次管道获取后，逐行交给消费者处理。
+     * 
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被处理多次
+     * 注：默认实现为按 getRows() 一次获取全表数据后逐行处理（不是流式的），已有的外部实现类无须修改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @param i_BatchSize  每页的行数（HSCAN 的 COUNT 参数）
+     * @param i_Consumer   行数据的消费者。入参1为行主键，入参2为行数据
+     * @return             返回处理的行数。负数表示异常
+     */
+    public default <E> Long scanRows(String i_Database ,String i_TableName ,Class<E> i_RowClass ,int i_BatchSize ,BiConsumer<String ,E> i_Consumer)
+    {
+        if ( i_Consumer == null )
+        {
+            return -1L;
+        }
+        
+        Map<String ,E> v_Rows = this.getRows(i_Database ,i_TableName ,i_RowClass);
+        if ( v_Rows == null )
+        {
+            return -1L;
+        }
+        
+        for (Map.Entry<String ,E> v_Row : v_Rows.entrySet())
+        {
+            i_Consumer.accept(v_Row.getKey() ,v_Row.getValue());
+        }
+        
+        return (long) v_Rows.size();
+    }
+    
+    
+    
     /**
      * 获取数据库的创建时间
      * 
@@ -0,0 +1,458 @@
+package org.hy.common.redis;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import org.hy.common.TablePartitionRID;
+
+
+
+
+
+/**
+ * Redis数据库访问接口（异步）
+ * 
+ * 与 IRedis 同样的逻辑表结构（库、表、行三级Hash），只是所有操作均不阻塞调用线程，
+ * 返回 CompletionStage，由调用方组合、并发多个请求。
+ * 
+ * 负数返回值的含义与 IRedis 一致：
+ *   -1 入参异常
+ *   -2 自动创建表失败
+ *   -8 基础类型无法按一行数据写入
+ *   -9 异常
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public interface IRedisAsync
+{
+
+    /**
+     * 插入一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas);
+    
+    
+    
+    /**
+     * 插入一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 插入一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas);
+    
+    
+    
+    /**
+     * 插入一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 更新一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas);
+    
+    
+    
+    /**
+     * 更新一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 更新一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas);
+    
+    
+    
+    /**
+     * 更新一行数据
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas);
+    
+    
+    
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas);
+    
+    
+    
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 删除一行记录
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @return             返回影响的行数。负数表示异常
+     */
+    public CompletionStage<Long> delete(String i_Database ,String i_TableName ,String i_PrimaryKey);
+    
+    
+    
+    /**
+     * 获取一行数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_PrimaryKey 行主键
+     * @return             Map.key字段名，Map.value字段值
+     */
+    public CompletionStage<Map<String ,String>> getRow(String i_PrimaryKey);
+    
+    
+    
+    /**
+     * 获取一行数据（Map结构中元素类型的翻译）
+     * 
+     *   当i_RowClass为Map结构，并且配置有 RedisMapType 时，将按其转换为Java类型
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param <E>          行类型
+     * @param i_Database   库名称（允许为空或NULL）
+     * @param i_TableName  表名称（允许为空或NULL）
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return             查不时返回NULL
+     */
+    public <E> CompletionStage<E> getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,Class<E> i_RowClass);
+    
+    
+    
+    /**
+     * 获取全表数据
+     * 
+     * 所有行的 HGETALL 同时发送，不逐行等待
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             Map.key行主键，Map.Map.key字段名，Map.Map.value字段值
+     */
+    public CompletionStage<TablePartitionRID<String ,String>> getRows(String i_Database ,String i_TableName);
+    
+    
+    
+    /**
+     * 获取全表数据
+     * 
+     * 所有行的 HGETALL 同时发送，不逐行等待
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @return             Map.key行主键，Map.value行数据
+     */
+    public <E> CompletionStage<Map<String ,E>> getRows(String i_Database ,String i_TableName ,Class<E> i_RowClass);
+    
+    
+    
+    /**
+     * 库是否存在
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @return
+     */
+    public CompletionStage<Boolean> isExists(String i_Database);
+    
+    
+    
+    /**
+     * 表是否存在
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return
+     */
+    public CompletionStage<Boolean> isExists(String i_Database ,String i_TableName);
+    
+    
+    
+    /**
+     * 行主键是否存在
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database    库名称
+     * @param i_TableName   表名称
+     * @param i_PrimaryKey  行主键
+     * @return
+     */
+    public CompletionStage<Boolean> isExists(String i_Database ,String i_TableName ,String i_PrimaryKey);
+    
+    
+    
+    /**
+     * 行字段是否存在
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database    库名称
+     * @param i_TableName   表名称
+     * @param i_PrimaryKey  行主键
+     * @param i_Field       字段名称
+     * @return
+     */
+    public CompletionStage<Boolean> isExists(String i_Database ,String i_TableName ,String i_PrimaryKey ,String i_Field);
+    
+    
+    
+    /**
+     * 设置数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Key    关键字
+     * @param i_Value  数据
+     * @return         成功返回true
+     */
+    public CompletionStage<Boolean> set(String i_Key ,String i_Value);
+    
+    
+    
+    /**
+     * 获取数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Key  关键字
+     * @return
+     */
+    public CompletionStage<String> get(String i_Key);
+    
+    
+    
+    /**
+     * 删除数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Keys  一个或多个关键字
+     * @return        返回删除数据的数量
+     */
+    public CompletionStage<Long> del(String ... i_Keys);
+    
+}
@@ -0,0 +1,176 @@
+package org.hy.common.redis;
+
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+
+
+
+/**
+ * Redis数据库访问接口（响应式）
+ * 
+ * 与 IRedis 同样的逻辑表结构（库、表、行三级Hash）。
+ * 全表数据按 HSCAN 游标流式读取，支持背压，无须将整表数据缓存在内存中；也无须为每个进行中的请求占用一个线程。
+ * 
+ * 负数返回值的含义与 IRedis 一致
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public interface IRedisReactive
+{
+
+    /**
+     * 获取一行数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_PrimaryKey 行主键
+     * @return             Map.key字段名，Map.value字段值
+     */
+    public Mono<Map<String ,String>> getRow(String i_PrimaryKey);
+    
+    
+    
+    /**
+     * 获取一行数据（Map结构中元素类型的翻译）
+     * 
+     *   当i_RowClass为Map结构，并且配置有 RedisMapType 时，将按其转换为Java类型
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param <E>          行类型
+     * @param i_Database   库名称（允许为空或NULL）
+     * @param i_TableName  表名称（允许为空或NULL）
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return             查不时为空的Mono
+     */
+    public <E> Mono<E> getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,Class<E> i_RowClass);
+    
+    
+    
+    /**
+     * 流式获取全表数据（支持背压）
+     * 
+     * 按 HSCAN 游标分页读取表、主键关系，行数据按下游的请求量获取
+     * 
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被发布多次
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @return
+     */
+    public <E> Flux<E> getRows(String i_Database ,String i_TableName ,Class<E> i_RowClass);
+    
+    
+    
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息（Java对象或 Map<String ,Object> 结构）。Map.value 为 null 时，将执行Redis删除命令
+     * @return             返回影响的行数。负数表示异常
+     */
+    public Mono<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas);
+    
+    
+    
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息（Java对象或 Map<String ,Object> 结构）。Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    public Mono<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 流式批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：按上游的发布量保存，同时进行中的行数有上限
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.Entry.key为行主键，Map.Entry.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @return             返回保存成功的行数。负数表示异常
+     */
+    public Mono<Long> saveRows(String i_Database ,String i_TableName ,Publisher<? extends Map.Entry<String ,?>> i_Rows);
+    
+    
+    
+    /**
+     * 流式批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：按上游的发布量保存，同时进行中的行数有上限
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.Entry.key为行主键，Map.Entry.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回保存成功的行数。负数表示异常
+     */
+    public Mono<Long> saveRows(String i_Database ,String i_TableName ,Publisher<? extends Map.Entry<String ,?>> i_Rows ,Long i_ExpireTime);
+    
+    
+    
+    /**
+     * 删除一行记录
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @return             返回影响的行数。负数表示异常
+     */
+    public Mono<Long> delete(String i_Database ,String i_TableName ,String i_PrimaryKey);
+    
+}
@@ -6,11 +6,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.hy.common.Date;
 import org.hy.common.JavaHelp;
 import org.hy.common.ListMap;
 import org.hy.common.StringHelp;
+import org.hy.common.redis.metrics.RedisMetrics;
 import org.hy.common.thread.Job;
 import org.hy.common.thread.Jobs;
 import org.hy.common.xml.XJava;
@@ -44,6 +46,11 @@ import redis.clients.jedis.ShardedJedisPool;
  * 
  * @author ZhengWei(HY)
  * @create 2014-09-16
+ * @version v1.0
+ *          v2.0  2026-10-17  修正：释放资源时关闭了整个连接池。改为归还借用的连接，连接异常时由连接池作废
+ *          v3.0  2026-10-17  添加：多Key操作按管道（Pipeline）分批执行的每批数量
+ *          v4.0  2026-10-17  添加：按方法统计调用次数、异常次数及耗时的分布 enableMetrics()
+ *          v5.0  2026-10-17  添加：连接池借出及空闲的连接数，用于观察连接的复用
  */
 public class Redis
 {
@@ -92,7 +99,10 @@ public class Redis
     
     
     
-    private static final String             $MetaData_Tables = "$MetaData_Tables";
+    private static final String             $MetaData_Tables  = "$MetaData_Tables";
+    
+    /** 多Key操作按管道分批执行时，每批的默认数量 */
+    public  static final int                $DefaultBatchSize = 1000;
     
     /**
      * 分布式集群信息
@@ -133,6 +143,16 @@ public class Redis
     
     private Jobs                            jobs;
     
+    /**
+     * 多Key操作（如 getRows()、showTableDatas()、deleteAll()）按管道（Pipeline）分批执行时，每批的数量。
+     * 
+     * 每批命令一次性发送到各分片，每个分片只有一次网络往返。
+     */
+    private int                             batchSize;
+    
+    /** 访问的统计。为NULL时不统计（见 enableMetrics()） */
+    private volatile RedisMetrics           metrics;
+    
     
     
     public Redis(String i_IP)
@@ -241,6 +261,7 @@ public class Redis
         this.redisServer = new RedisServer(this);
         this.isKeyOrder  = true;
         this.rowKeyType  = RowKeyType.$TableName_ID;
+        this.batchSize   = $DefaultBatchSize;
         this.xjavaID     = "XID_REDIS_" + StringHelp.getUUID();
         XJava.putObject(this.xjavaID ,this);
     }
@@ -320,7 +341,7 @@ public class Redis
     
     
     /**
-     * 获取写对象
+     * 获取写对象。从连接池借用，用完后须关闭（即归还连接池），建议用 try-with-resources 方式
      * 
      * @return
      */
@@ -332,7 +353,7 @@ public class Redis
     
     
     /**
-     * 获取读对象
+     * 获取读对象。从连接池借用，用完后须关闭（即归还连接池），建议用 try-with-resources 方式
      * 
      * @return
      */
@@ -344,74 +365,81 @@ public class Redis
     
     
     /**
-     * 读、写完成后必须执行此方法释放资源
+     * 获取：连接池中借出的连接数
+     */
+    public int getPoolActive()
+    {
+        return this.shardedPool == null ? 0 : this.shardedPool.getNumActive();
+    }
+    
+    
+    
+    /**
+     * 获取：连接池中空闲的连接数
+     */
+    public int getPoolIdle()
+    {
+        return this.shardedPool == null ? 0 : this.shardedPool.getNumIdle();
+    }
+    
+    
+    
+    /**
+     * 读、写完成后必须执行此方法释放资源（归还连接池）
      * 
-     * 将 returnResource 重写成两个方法的原因是：
-     *    减少一个 i_Exce == null 的判断，提高性能
+     * 注：推荐用 try-with-resources 方式借用，关闭时即自动归还，无须调用此方法
      * 
      * @param i_ShardedJedis
      */
     protected void returnResource(ShardedJedis i_ShardedJedis)
     {
+        if ( i_ShardedJedis == null )
+        {
+            return;
+        }
+        
         try
         {
-            shardedPool.close();
-            // 2.6.0的版本如下方法释放
-            // shardedPool.returnResource(i_ShardedJedis);
+            // 归还连接池。连接已断开（异常）时，连接池将其作废，不再借出
+            i_ShardedJedis.close();
         }
         catch (Exception exce)
         {
             exce.printStackTrace();
-            
-            // 释放Redis对象。
-            // 在程序出错时，必须调用returnBrokenResource返还给pool，
-            // 否则下次通过getResource得到的instance的缓冲区可能还存在数据，出现问题
-            // 2.6.0的版本如下方法释放
-            // shardedPool.returnBrokenResource(i_ShardedJedis);
         }
     }
     
     
     
     /**
-     * 读、写完成后必须执行此方法释放资源
+     * 读、写异常时执行此方法释放资源
      * 
-     * 将 returnResource 重写成两个方法的原因是：
-     *    尽可能的减少一个 i_Exce == null 的判断，提高性能
+     * 在程序出错时，连接的缓冲区可能还存在未读取的数据，所以先断开连接再归还连接池，
+     * 下次借出时将重新连接，不会读到上次残留的数据。
      * 
      * @param i_ShardedJedis
      * @param i_Exce
      */
     protected void returnResource(ShardedJedis i_ShardedJedis ,Exception i_Exce)
     {
+        if ( i_Exce != null )
+        {
+            i_Exce.printStackTrace();
+        }
+        
         if ( i_ShardedJedis == null )
         {
-            if ( i_Exce != null )
-            {
-                i_Exce.printStackTrace();
-            }
+            return;
         }
         
         try
         {
-            if ( i_Exce == null )
-            {
-                // 返还到连接池。正常情况下使用此方法
-                shardedPool.close();
-                // 2.6.0的版本如下方法释放
-                // shardedPool.returnResource(i_ShardedJedis);
-            }
-            else
+            if ( i_Exce != null )
             {
-                i_Exce.printStackTrace();
-                
-                // 释放Redis对象。
-                // 在程序出错时，必须调用returnBrokenResource返还给pool，
-                // 否则下次通过getResource得到的instance的缓冲区可能还存在数据，出现问题
-                // 2.6.0的版本如下方法释放
-                // shardedPool.returnBrokenResource(i_ShardedJedis);
-                // shardedPool.returnResource(      i_ShardedJedis);
+                i_ShardedJedis.disconnect();
             }
+            
+            i_ShardedJedis.close();
         }
         catch (Exception exce)
         {
@@ -430,6 +458,13 @@ public class Redis
     
     
     public synchronized void createTable(String i_TableName)
+    {
+        this.metered("createTable" ,() -> this.core_createTable(i_TableName));
+    }
+    
+    
+    
+    private void core_createTable(String i_TableName)
     {
         if ( this.getRKey().isExists(i_TableName) )
         {
@@ -456,6 +491,8 @@ public class Redis
      * 
      * 但表的行主键信息还没有删除
      * 
+     * 行数据按管道分批删除（见 getBatchSize()）
+     * 
      * @param i_TableName
      */
     private void core_deleteAll(String i_TableName)
@@ -477,6 +514,18 @@ public class Redis
      * @param i_TableName
      */
     public synchronized void dropTable(String i_TableName)
+    {
+        this.metered("dropTable" ,() -> this.core_dropTable(i_TableName));
+    }
+    
+    
+    
+    /**
+     * 删除表
+     * 
+     * @param i_TableName
+     */
+    private void core_dropTable(String i_TableName)
     {
         this.core_deleteAll(i_TableName);
         
@@ -621,7 +670,7 @@ public class Redis
      */
     public String insert(String i_TableName ,RData i_RData)
     {
-        List<String> v_Ret = this.core_puts(i_TableName ,new RData[]{i_RData});
+        List<String> v_Ret = this.metered("insert" ,() -> this.core_puts(i_TableName ,new RData[]{i_RData}));
         
         return v_Ret.get(0);
     }
@@ -637,7 +686,7 @@ public class Redis
      */
     public List<String> inserts(String i_TableName ,RData ... i_RDatas)
     {
-        return this.core_puts(i_TableName ,i_RDatas);
+        return this.metered("inserts" ,() -> this.core_puts(i_TableName ,i_RDatas));
     }
     
     
@@ -651,7 +700,7 @@ public class Redis
      */
     public List<String> inserts(String i_TableName ,List<RData> i_RDatas)
     {
-        return this.core_puts(i_TableName ,i_RDatas.toArray(new RData []{}));
+        return this.metered("inserts" ,() -> this.core_puts(i_TableName ,i_RDatas.toArray(new RData []{})));
     }
     
     
@@ -681,7 +730,7 @@ public class Redis
      */
     public String update(String i_TableName ,RData i_RData)
     {
-        List<String> v_Ret = this.core_puts(i_TableName ,new RData[]{i_RData});
+        List<String> v_Ret = this.metered("update" ,() -> this.core_puts(i_TableName ,new RData[]{i_RData}));
         
         return v_Ret.get(0);
     }
@@ -697,7 +746,7 @@ public class Redis
      */
     public List<String> update(String i_TableName ,RData ... i_RDatas)
     {
-        return this.core_puts(i_TableName ,i_RDatas);
+        return this.metered("update" ,() -> this.core_puts(i_TableName ,i_RDatas));
     }
     
     
@@ -711,7 +760,7 @@ public class Redis
      */
     public List<String> update(String i_TableName ,List<RData> i_RDatas)
     {
-        return this.core_puts(i_TableName ,i_RDatas.toArray(new RData []{}));
+        return this.metered("update" ,() -> this.core_puts(i_TableName ,i_RDatas.toArray(new RData []{})));
     }
     
     
@@ -786,7 +835,7 @@ public class Redis
      */
     public void deleteRow(String i_TableName ,String ... i_Keys)
     {
-        this.core_deleteRow(i_TableName ,i_Keys);
+        this.metered("deleteRow" ,() -> this.core_deleteRow(i_TableName ,i_Keys));
     }
     
     
@@ -799,7 +848,7 @@ public class Redis
      */
     public void deleteRow(String i_TableName ,List<String> i_Keys)
     {
-        this.core_deleteRow(i_TableName ,i_Keys.toArray(new String []{}));
+        this.metered("deleteRow" ,() -> this.core_deleteRow(i_TableName ,i_Keys.toArray(new String []{})));
     }
     
     
@@ -841,7 +890,7 @@ public class Redis
      */
     public void delete(String i_TableName ,RData ... i_RDatas)
     {
-        this.core_delete(i_TableName ,i_RDatas);
+        this.metered("delete" ,() -> this.core_delete(i_TableName ,i_RDatas));
     }
     
     
@@ -856,7 +905,7 @@ public class Redis
      */
     public void delete(String i_TableName ,List<RData> i_RDatas)
     {
-        this.core_delete(i_TableName ,i_RDatas.toArray(new RData []{}));
+        this.metered("delete" ,() -> this.core_delete(i_TableName ,i_RDatas.toArray(new RData []{})));
     }
     
     
@@ -913,7 +962,7 @@ public class Redis
      */
     public Map<String ,String> getRow(String i_TableName ,String i_Key)
     {
-        return this.getRHash().getValues(this.makeRowKey(i_TableName ,i_Key));
+        return this.metered("getRow" ,() -> this.getRHash().getValues(this.makeRowKey(i_TableName ,i_Key)));
     }
     
     
@@ -955,6 +1004,8 @@ public class Redis
     /**
      * 获取多行数据的所有字段信息
      * 
+     * 按管道分批获取（见 getBatchSize()），每批在每个分片上只有一次网络往返
+     * 
      * @param i_TableName  表名称
      * @param i_Keys       对象ID--关键字。注意不是行主键
      * @return        Map<String ,Map<String ,String>>.key       表示一个行主键
@@ -964,7 +1015,7 @@ public class Redis
      */
     private Map<String ,Map<String ,String>> core_getRows(String i_TableName ,String [] i_Keys)
     {
-        return this.getRHash().getValues(this.makeRowKeys(i_TableName ,i_Keys));
+        return this.metered("getRows" ,() -> this.getRHash().getValues(this.makeRowKeys(i_TableName ,i_Keys)));
     }
     
     
@@ -972,6 +1023,8 @@ public class Redis
     /**
      * 显示表中的所有数据
      * 
+     * 行数据按管道分批获取（见 getBatchSize()）
+     * 
      * @param i_TableName
      */
     public void showTableDatas(String i_TableName)
@@ -1214,6 +1267,101 @@ public class Redis
     
     
     
+    /**
+     * 开启访问的统计。按方法统计调用次数、异常次数及耗时的分布，并注册到JMX
+     * 
+     * Jedis没有命令级的监听，所以只有方法级的统计
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @return
+     */
+    public synchronized RedisMetrics enableMetrics()
+    {
+        if ( this.metrics == null )
+        {
+            RedisMetrics v_Metrics = new RedisMetrics(this.xjavaID);
+            v_Metrics.register();
+            this.metrics = v_Metrics;
+        }
+        
+        return this.metrics;
+    }
+    
+    
+    
+    /**
+     * 获取：访问的统计。未开启时为NULL
+     */
+    public RedisMetrics getMetrics()
+    {
+        return this.metrics;
+    }
+    
+    
+    
+    /**
+     * 统计一次方法调用。未开启统计时直接调用
+     * 
+     * @param i_Method  方法名称
+     * @param i_Call    方法调用
+     * @return
+     */
+    private <R> R metered(String i_Method ,Supplier<R> i_Call)
+    {
+        RedisMetrics v_Metrics = this.metrics;
+        
+        return v_Metrics == null ? i_Call.get() : v_Metrics.time(i_Method ,i_Call);
+    }
+    
+    
+    
+    /**
+     * 统计一次方法调用（无返回值）。未开启统计时直接调用
+     * 
+     * @param i_Method  方法名称
+     * @param i_Call    方法调用
+     */
+    private void metered(String i_Method ,Runnable i_Call)
+    {
+        RedisMetrics v_Metrics = this.metrics;
+        
+        if ( v_Metrics == null )
+        {
+            i_Call.run();
+        }
+        else
+        {
+            v_Metrics.time(i_Method ,i_Call);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：多Key操作按管道分批执行时，每批的数量
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+    
+    
+    
+    /**
+     * 设置：多Key操作按管道分批执行时，每批的数量。小于1时按1
+     * 
+     * @param i_BatchSize
+     */
+    public void setBatchSize(int i_BatchSize)
+    {
+        this.batchSize = Math.max(i_BatchSize ,1);
+    }
+    
+    
+    
     public String getXID()
     {
         return this.xjavaID;
@@ -1,5 +1,6 @@
 package org.hy.common.redis;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -8,7 +9,9 @@ import org.hy.common.JavaHelp;
 import org.hy.common.TablePartition;
 import org.hy.common.TablePartitionRID;
 
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPipeline;
 import redis.clients.jedis.Transaction;
 
 
@@ -20,6 +23,9 @@ import redis.clients.jedis.Transaction;
  * 
  * @author ZhengWei(HY)
  * @create 2014-09-16
+ * @version v1.0
+ *          v2.0  2026-10-17  优化：按 try-with-resources 借用、归还连接
+ *          v3.0  2026-10-17  优化：多Key的获取按管道（Pipeline）分批执行
  */
 public class RedisHash
 {
@@ -122,12 +128,8 @@ public class RedisHash
             v_Datas.putRow(v_RData.getKey() ,v_RData.getField() ,JavaHelp.NVL(v_RData.getValue()));
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( this.redis.getRunMode() == Redis.RunMode.$Backup || i_IsEveryone )
             {
                 List<String> v_ShardNames = this.redis.getShardNames();
@@ -176,12 +178,10 @@ public class RedisHash
                     v_ShardedJedis.hmset(v_Key ,v_Datas.get(v_Key));
                 }
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
     }
     
@@ -198,20 +198,15 @@ public class RedisHash
      */
     public boolean isExists(String i_Key ,String i_Field)
     {
-        boolean      v_Ret          = false;
-        ShardedJedis v_ShardedJedis = null;
+        boolean v_Ret = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.hexists(i_Key ,i_Field);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -242,20 +237,15 @@ public class RedisHash
             throw new NullPointerException("Field is null.");
         }
         
-        String       v_Ret          = null;
-        ShardedJedis v_ShardedJedis = null;
+        String v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.hget(i_Key ,i_Field);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -340,23 +330,35 @@ public class RedisHash
             }
         }
         
-        Map<String ,Map<String ,String>> v_Ret          = this.redis.newMapMap();
-        ShardedJedis                     v_ShardedJedis = null;
+        Map<String ,Map<String ,String>> v_Ret = this.redis.newMapMap();
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
+            int v_BatchSize = this.redis.getBatchSize();
             
-            for (int i=0; i<i_Keys.length; i++)
+            // 每批一个新的管道，各分片上的命令在 sync() 时一次性发送、接收
+            for (int v_Start=0; v_Start<i_Keys.length; v_Start+=v_BatchSize)
             {
-                v_Ret.put(i_Keys[i] ,v_ShardedJedis.hgetAll(i_Keys[i]));
+                int                                 v_End       = Math.min(v_Start + v_BatchSize ,i_Keys.length);
+                ShardedJedisPipeline                v_Pipeline  = v_ShardedJedis.pipelined();
+                List<Response<Map<String ,String>>> v_Responses = new ArrayList<Response<Map<String ,String>>>(v_End - v_Start);
+                
+                for (int i=v_Start; i<v_End; i++)
+                {
+                    v_Responses.add(v_Pipeline.hgetAll(i_Keys[i]));
+                }
+                
+                v_Pipeline.sync();
+                
+                for (int i=v_Start; i<v_End; i++)
+                {
+                    v_Ret.put(i_Keys[i] ,v_Responses.get(i - v_Start).get());
+                }
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -406,23 +408,35 @@ public class RedisHash
             }
         }
         
-        Map<String ,List<String>> v_Ret          = this.redis.newMapList();
-        ShardedJedis              v_ShardedJedis = null;
+        Map<String ,List<String>> v_Ret = this.redis.newMapList();
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
+            int v_BatchSize = this.redis.getBatchSize();
             
-            for (int i=0; i<i_Keys.length; i++)
+            // 每批一个新的管道，各分片上的命令在 sync() 时一次性发送、接收
+            for (int v_Start=0; v_Start<i_Keys.length; v_Start+=v_BatchSize)
             {
-                v_Ret.put(i_Keys[i] ,v_ShardedJedis.hmget(i_Keys[i] ,i_Fields));
+                int                          v_End       = Math.min(v_Start + v_BatchSize ,i_Keys.length);
+                ShardedJedisPipeline         v_Pipeline  = v_ShardedJedis.pipelined();
+                List<Response<List<String>>> v_Responses = new ArrayList<Response<List<String>>>(v_End - v_Start);
+                
+                for (int i=v_Start; i<v_End; i++)
+                {
+                    v_Responses.add(v_Pipeline.hmget(i_Keys[i] ,i_Fields));
+                }
+                
+                v_Pipeline.sync();
+                
+                for (int i=v_Start; i<v_End; i++)
+                {
+                    v_Ret.put(i_Keys[i] ,v_Responses.get(i - v_Start).get());
+                }
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -477,23 +491,35 @@ public class RedisHash
             }
         }
         
-        Map<String ,Set<String>> v_Ret          = this.redis.newMapSet();
-        ShardedJedis              v_ShardedJedis = null;
+        Map<String ,Set<String>> v_Ret = this.redis.newMapSet();
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
+            int v_BatchSize = this.redis.getBatchSize();
             
-            for (int i=0; i<i_Keys.length; i++)
+            // 每批一个新的管道，各分片上的命令在 sync() 时一次性发送、接收
+            for (int v_Start=0; v_Start<i_Keys.length; v_Start+=v_BatchSize)
             {
-                v_Ret.put(i_Keys[i] ,v_ShardedJedis.hkeys(i_Keys[i]));
+                int                         v_End       = Math.min(v_Start + v_BatchSize ,i_Keys.length);
+                ShardedJedisPipeline        v_Pipeline  = v_ShardedJedis.pipelined();
+                List<Response<Set<String>>> v_Responses = new ArrayList<Response<Set<String>>>(v_End - v_Start);
+                
+                for (int i=v_Start; i<v_End; i++)
+                {
+                    v_Responses.add(v_Pipeline.hkeys(i_Keys[i]));
+                }
+                
+                v_Pipeline.sync();
+                
+                for (int i=v_Start; i<v_End; i++)
+                {
+                    v_Ret.put(i_Keys[i] ,v_Responses.get(i - v_Start).get());
+                }
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -637,13 +663,10 @@ public class RedisHash
         }
         
         
-        ShardedJedis v_ShardedJedis = null;
-        List<String> v_Ret          = null;
+        List<String> v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( this.redis.getRunMode() == Redis.RunMode.$Backup || i_IsEveryone )
             {
                 List<String> v_ShardNames = this.redis.getShardNames();
@@ -693,12 +716,11 @@ public class RedisHash
                 }
             }
             
-            this.redis.returnResource(v_ShardedJedis);
             v_Ret = JavaHelp.toListKeys(v_Datas);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -6,6 +6,7 @@ import java.util.Set;
 import org.hy.common.JavaHelp;
 
 import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPipeline;
 
 
 
@@ -16,6 +17,9 @@ import redis.clients.jedis.ShardedJedis;
  * 
  * @author ZhengWei(HY)
  * @create 2014-09-17
+ * @version v1.0
+ *          v2.0  2026-10-17  优化：按 try-with-resources 借用、归还连接
+ *          v3.0  2026-10-17  优化：多Key的删除按管道（Pipeline）分批执行
  */
 public class RedisKey
 {
@@ -50,21 +54,16 @@ public class RedisKey
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        boolean      v_Ret          = false;
+        boolean v_Ret = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.exists(i_Key);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = false;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -94,21 +93,16 @@ public class RedisKey
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        String       v_Ret          = null;
+        String v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.type(i_Key);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         if ( v_Ret == null )
@@ -151,21 +145,16 @@ public class RedisKey
             throw new IndexOutOfBoundsException("i_Seconds <= 0.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        boolean      v_Ret          = false;
+        boolean v_Ret = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             v_Ret = v_ShardedJedis.expire(i_Key ,i_Seconds) == 1;
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = false;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -189,21 +178,16 @@ public class RedisKey
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        boolean      v_Ret          = false;
+        boolean v_Ret = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             v_Ret = v_ShardedJedis.persist(i_Key) == 1;
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = false;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -228,21 +212,16 @@ public class RedisKey
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        Long         v_Ret          = null;
+        Long v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.ttl(i_Key);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -278,6 +257,8 @@ public class RedisKey
      * 
      * 不存在的 key 会被忽略。
      * 
+     * 按管道分批删除（见 Redis.getBatchSize()），每批在每个分片上只有一次网络往返。
+     * 
      * @param i_Keys
      */
     private void core_dels(String [] i_Keys)
@@ -295,22 +276,26 @@ public class RedisKey
             }
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
+            int v_BatchSize = this.redis.getBatchSize();
             
-            for (int i=0; i<i_Keys.length; i++)
+            for (int v_Start=0; v_Start<i_Keys.length; v_Start+=v_BatchSize)
             {
-                v_ShardedJedis.del(i_Keys[i]);
+                int                  v_End      = Math.min(v_Start + v_BatchSize ,i_Keys.length);
+                ShardedJedisPipeline v_Pipeline = v_ShardedJedis.pipelined();
+                
+                for (int i=v_Start; i<v_End; i++)
+                {
+                    v_Pipeline.del(i_Keys[i]);
+                }
+                
+                v_Pipeline.sync();
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
     }
     
@@ -19,6 +19,8 @@ import redis.clients.jedis.ShardedJedis;
  * 
  * @author ZhengWei(HY)
  * @create 2014-10-17
+ * @version v1.0
+ *          v2.0  2026-10-17  优化：按 try-with-resources 借用、归还连接
  */
 public class RedisServer
 {
@@ -88,12 +90,9 @@ public class RedisServer
      */
     private void core_saveBackground(String i_ShardName)
     {
-        ShardedJedis v_ShardedJedis = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( JavaHelp.isNull(i_ShardName) )
             {
                 for (Jedis v_Jedis : v_ShardedJedis.getAllShards())
@@ -105,12 +104,10 @@ public class RedisServer
             {
                 v_ShardedJedis.getShard(i_ShardName).bgsave();
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
     }
     
@@ -175,12 +172,9 @@ public class RedisServer
      */
     private void core_save(String i_ShardName)
     {
-        ShardedJedis v_ShardedJedis = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( JavaHelp.isNull(i_ShardName) )
             {
                 for (Jedis v_Jedis : v_ShardedJedis.getAllShards())
@@ -192,12 +186,10 @@ public class RedisServer
             {
                 v_ShardedJedis.getShard(i_ShardName).save();
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
     }
     
@@ -244,13 +236,10 @@ public class RedisServer
      */
     private Long core_dbSize(String i_ShardName)
     {
-        ShardedJedis v_ShardedJedis = null;
-        Long         v_Ret          = 0L;
+        Long v_Ret = 0L;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( JavaHelp.isNull(i_ShardName) )
             {
                 for (Jedis v_Jedis : v_ShardedJedis.getAllShards())
@@ -262,13 +251,11 @@ public class RedisServer
             {
                 v_Ret = v_ShardedJedis.getShard(i_ShardName).dbSize();
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -286,20 +273,16 @@ public class RedisServer
      */
     public Date saveLastTime(String i_ShardName)
     {
-        ShardedJedis v_ShardedJedis = null;
-        Date         v_Ret          = null;
+        Date v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
             v_Ret = new Date(v_ShardedJedis.getShard(i_ShardName).lastsave());
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -348,12 +331,9 @@ public class RedisServer
      */
     private void core_flushDB(String i_ShardName)
     {
-        ShardedJedis v_ShardedJedis = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( JavaHelp.isNull(i_ShardName) )
             {
                 for (Jedis v_Jedis : v_ShardedJedis.getAllShards())
@@ -365,12 +345,10 @@ public class RedisServer
             {
                 v_ShardedJedis.getShard(i_ShardName).flushDB();
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
     }
     
@@ -417,12 +395,9 @@ public class RedisServer
      */
     private void core_flushDBAll(String i_ShardName)
     {
-        ShardedJedis v_ShardedJedis = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( JavaHelp.isNull(i_ShardName) )
             {
                 for (Jedis v_Jedis : v_ShardedJedis.getAllShards())
@@ -434,12 +409,10 @@ public class RedisServer
             {
                 v_ShardedJedis.getShard(i_ShardName).flushAll();
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
     }
     
@@ -490,13 +463,10 @@ public class RedisServer
      */
     private Return<List<String>> core_ping(String i_ShardName)
     {
-        ShardedJedis         v_ShardedJedis = null;
-        Return<List<String>> v_Ret          = new Return<List<String>>(true);
+        Return<List<String>> v_Ret = new Return<List<String>>(true);
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( JavaHelp.isNull(i_ShardName) )
             {
                 v_Ret.paramObj = new ArrayList<String>(this.redis.getShardSize());
@@ -530,13 +500,11 @@ public class RedisServer
                     v_Ret.paramObj.add(i_ShardName);
                 }
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret.set(false);
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -11,6 +11,8 @@ import redis.clients.jedis.ShardedJedis;
  * 
  * @author ZhengWei(HY)
  * @create 2014-09-16
+ * @version v1.0
+ *          v2.0  2026-10-17  优化：按 try-with-resources 借用、归还连接
  */
 public class RedisSet
 {
@@ -45,19 +47,14 @@ public class RedisSet
      */
     public void add(String i_Key ,String ... i_Value)
     {
-        ShardedJedis v_ShardedJedis = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             v_ShardedJedis.sadd(i_Key ,i_Value);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
     }
     
@@ -74,20 +71,15 @@ public class RedisSet
      */
     public boolean isExists(String i_Key ,String i_Value)
     {
-        boolean      v_Ret          = false;
-        ShardedJedis v_ShardedJedis = null;
+        boolean v_Ret = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.sismember(i_Key ,i_Value);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -16,6 +16,8 @@ import redis.clients.jedis.Transaction;
  * 
  * @author ZhengWei(HY)
  * @create 2014-10-15
+ * @version v1.0
+ *          v2.0  2026-10-17  优化：按 try-with-resources 借用、归还连接
  */
 public class RedisString
 {
@@ -75,21 +77,16 @@ public class RedisString
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        String       v_Ret          = null;
+        String v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.get(i_Key);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -129,21 +126,16 @@ public class RedisString
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        Long         v_Ret          = null;
+        Long v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.strlen(i_Key);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -189,21 +181,16 @@ public class RedisString
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        String       v_Ret          = null;
+        String v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getReader())
         {
-            v_ShardedJedis = this.redis.getReader();
-            
             v_Ret = v_ShardedJedis.getrange(i_Key ,i_Start ,i_End);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -250,21 +237,16 @@ public class RedisString
             throw new NullPointerException("Value is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        boolean      v_Ret          = false;
+        boolean v_Ret = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             v_Ret = v_ShardedJedis.append(i_Key ,i_Value) > 0;
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = false;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -376,21 +358,16 @@ public class RedisString
             throw new NullPointerException("Key is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        Long         v_Ret          = null;
+        Long v_Ret = null;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             v_Ret = v_ShardedJedis.incrBy(i_Key ,i_Value);
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = null;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -543,13 +520,10 @@ public class RedisString
             throw new NullPointerException("RData.Value is null.");
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        boolean      v_Ret          = false;
+        boolean v_Ret = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
-            
             if ( i_RData.getPutType() == RData.PutType.Normal && i_RData.getExpireTime() <= 0 )
             {
                 v_ShardedJedis.set(i_RData.getKey() ,i_RData.getValue());
@@ -571,13 +545,11 @@ public class RedisString
                 // API没有提供这样的功能
                 v_Ret = false;
             }
-            
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = false;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
@@ -625,13 +597,11 @@ public class RedisString
             }
         }
         
-        ShardedJedis v_ShardedJedis = null;
-        Transaction  v_Transaction  = null;
-        boolean      v_Ret          = false;
+        Transaction v_Transaction = null;
+        boolean     v_Ret         = false;
         
-        try
+        try (ShardedJedis v_ShardedJedis = this.redis.getWriter())
         {
-            v_ShardedJedis = this.redis.getWriter();
             v_Transaction = v_ShardedJedis.getAllShards().iterator().next().multi();
             
             for (int i=0; i<i_RDatas.length; i++)
@@ -643,12 +613,11 @@ public class RedisString
             
             v_Transaction.exec();
             v_Ret = true;
-            this.redis.returnResource(v_ShardedJedis);
         }
         catch (Exception exce)
         {
             v_Ret = false;
-            this.redis.returnResource(v_ShardedJedis ,exce);
+            exce.printStackTrace();
         }
         
         return v_Ret;
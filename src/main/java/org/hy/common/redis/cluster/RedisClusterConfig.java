@@ -12,6 +12,7 @@ import org.hy.common.xml.SerializableDef;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.TimeoutOptions;
 import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.protocol.ProtocolVersion;
 
@@ -25,6 +26,12 @@ import io.lettuce.core.protocol.ProtocolVersion;
  * @author      ZhengWei(HY)
  * @createDate  2024-03-14
  * @version     v1.0
+ *              v2.0  2026-10-17  添加：行数据Key值是否按哈希标签组织
+ *              v3.0  2026-10-17  添加：字段值的编码
+ *              v4.0  2026-10-17  添加：字段值的压缩阈值
+ *              v5.0  2026-10-17  添加：多路复用的连接数，及阻塞、事务命令专用连接池的配置（原未使用的连接池配置删除）
+ *              v6.0  2026-10-17  添加：读取的路由策略
+ *              v7.0  2026-10-17  添加：集群拓扑的周期刷新、自适应刷新及动态刷新源
  */
 public class RedisClusterConfig extends SerializableDef
 {
@@ -50,6 +57,70 @@ public class RedisClusterConfig extends SerializableDef
     /** 字符集 */
     private String            charset;
     
+    /**
+     * 行数据Key值是否按哈希标签 {库名.表名}:行主键 组织。默认为：false，即行数据Key值为行主键。
+     * 
+     * 为真时，表Key与表中所有行在同一个哈希槽中，一行的原子写入及全表的批量操作可在一个节点上完成。
+     * 对已有数据启用时，须先用 RedisLettuce.migrateKeyLayout() 迁移
+     */
+    private Boolean           hashTag;
+    
+    /**
+     * 字段值的编码。默认为：text，即按文本保存。
+     * 
+     * 为 binary 时，数字、时间、字节数组等按内置的紧凑二进制保存；也可为外界实现的 RedisValueSerializer 的类全名。
+     * 读取时自动识别，所以可与按文本保存的已有数据共存
+     */
+    private String            valueCodec;
+    
+    /**
+     * 字段值的压缩阈值（单位：字节）。默认为：NULL，即不压缩。
+     * 
+     * 字段值的字节数达到阈值时，按Deflate算法压缩保存。读取时自动识别，所以可与未压缩的已有数据共存。
+     * 也可按表配置（见 RedisMapType.saveCompress()）
+     */
+    private Integer           compressThreshold;
+    
+    /**
+     * 多路复用的连接数。默认为：1。
+     * 
+     * 同步访问的命令按轮询的方式分散到多个连接上，高并发时不再受限于一个连接的通道及事件循环线程
+     */
+    private Integer           connections;
+    
+    /** 阻塞、事务命令专用连接池的最大连接数。默认为：20 */
+    private Integer           poolMaxTotal;
+    
+    /** 阻塞、事务命令专用连接池的最大空闲连接数。默认为：10 */
+    private Integer           poolMaxIdle;
+    
+    /** 阻塞、事务命令专用连接池的最小空闲连接数。默认为：0 */
+    private Integer           poolMinIdle;
+    
+    /**
+     * 读取的路由策略。默认为：NULL，即读取主节点。
+     * 
+     * 可为 replicaPreferred（优先副本节点）、lowestLatency（延迟最低的节点）、any（任一节点）等（见 io.lettuce.core.ReadFrom）。
+     * 只读的方法按策略路由到副本节点，写入的方法仍在主节点上执行
+     */
+    private String            readFrom;
+    
+    /** 集群拓扑周期刷新的间隔（单位：秒）。默认为：NULL，即不周期刷新 */
+    private Integer           refreshPeriod;
+    
+    /**
+     * 集群拓扑是否自适应刷新。默认为：true。
+     * 
+     * 命令被 MOVED/ASK 重定向、持续重连、节点或哈希槽未知时，立即刷新拓扑，故障转移或重新分片后不再持续重定向
+     */
+    private Boolean           adaptiveRefresh;
+    
+    /** 自适应刷新的最小间隔（单位：秒）。间隔内多次触发只刷新一次。默认为：30 */
+    private Integer           adaptiveRefreshTimeout;
+    
+    /** 是否从拓扑中发现的所有节点获取拓扑（动态刷新源）。为false时只从配置的节点获取。默认为：true */
+    private Boolean           dynamicRefreshSources;
+    
     
     
     public RedisClusterConfig()
@@ -93,11 +164,6 @@ public class RedisClusterConfig extends SerializableDef
                 v_RedisURIs.add(v_RedisConfig.toLettuce());
             }
             
-            // 创建 GenericObjectPoolConfig 对象，并设置连接池参数
-            GenericObjectPoolConfig poolConfig = new GenericObjectPoolConfig();
-            poolConfig.setMaxTotal(20); // 设置连接池最大连接数
-            poolConfig.setMaxIdle(10); // 设置连接池中最大空闲连接数
-            
             RedisClusterClient           v_RedisCluster         = RedisClusterClient.create(v_RedisURIs);
             ClusterClientOptions.Builder v_ClusterClientBuilder = ClusterClientOptions.builder();
             
@@ -133,6 +199,8 @@ public class RedisClusterConfig extends SerializableDef
                 v_ClusterClientBuilder.scriptCharset(Charset.forName(this.charset));
             }
             
+            v_ClusterClientBuilder.topologyRefreshOptions(this.toTopologyRefresh());
+            
             // 设置集群客户端选项
             ClusterClientOptions v_ClusterClientOptions = v_ClusterClientBuilder.build();
             v_RedisCluster.setOptions(v_ClusterClientOptions);
@@ -148,6 +216,67 @@ public class RedisClusterConfig extends SerializableDef
     
     
     
+    /**
+     * 生成集群拓扑的刷新配置
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public ClusterTopologyRefreshOptions toTopologyRefresh()
+    {
+        ClusterTopologyRefreshOptions.Builder v_Builder = ClusterTopologyRefreshOptions.builder();
+        
+        if ( this.refreshPeriod != null && this.refreshPeriod > 0 )
+        {
+            v_Builder.enablePeriodicRefresh(Duration.ofSeconds(this.refreshPeriod));
+        }
+        
+        if ( this.adaptiveRefresh == null || this.adaptiveRefresh )
+        {
+            v_Builder.enableAllAdaptiveRefreshTriggers();
+        }
+        
+        if ( this.adaptiveRefreshTimeout != null && this.adaptiveRefreshTimeout > 0 )
+        {
+            v_Builder.adaptiveRefreshTriggersTimeout(Duration.ofSeconds(this.adaptiveRefreshTimeout));
+        }
+        
+        if ( this.dynamicRefreshSources != null )
+        {
+            v_Builder.dynamicRefreshSources(this.dynamicRefreshSources);
+        }
+        
+        return v_Builder.build();
+    }
+    
+    
+    
+    /**
+     * 生成阻塞、事务命令专用连接池的配置
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    @SuppressWarnings("rawtypes")
+    public GenericObjectPoolConfig toPoolConfig()
+    {
+        GenericObjectPoolConfig v_PoolConfig = new GenericObjectPoolConfig();
+        
+        v_PoolConfig.setMaxTotal(this.poolMaxTotal == null ? 20 : this.poolMaxTotal);
+        v_PoolConfig.setMaxIdle (this.poolMaxIdle  == null ? 10 : this.poolMaxIdle);
+        v_PoolConfig.setMinIdle (this.poolMinIdle  == null ?  0 : this.poolMinIdle);
+        
+        return v_PoolConfig;
+    }
+    
+    
+    
     /**
      * 添加Redis节点
      * 
@@ -293,5 +422,269 @@ public class RedisClusterConfig extends SerializableDef
     {
         this.charset = i_Charset;
     }
+
+    
+    
+    /**
+     * 获取：行数据Key值是否按哈希标签 {库名.表名}:行主键 组织
+     */
+    public Boolean getHashTag()
+    {
+        return hashTag;
+    }
+
+    
+    
+    /**
+     * 设置：行数据Key值是否按哈希标签 {库名.表名}:行主键 组织
+     * 
+     * @param i_HashTag 行数据Key值是否按哈希标签组织
+     */
+    public void setHashTag(Boolean i_HashTag)
+    {
+        this.hashTag = i_HashTag;
+    }
+
+    
+    
+    /**
+     * 获取：字段值的编码。默认为：text
+     */
+    public String getValueCodec()
+    {
+        return valueCodec;
+    }
+
+    
+    
+    /**
+     * 设置：字段值的编码。可为 text、binary 或 RedisValueSerializer 的类全名
+     * 
+     * @param i_ValueCodec 字段值的编码
+     */
+    public void setValueCodec(String i_ValueCodec)
+    {
+        this.valueCodec = i_ValueCodec;
+    }
+
+    
+    
+    /**
+     * 获取：字段值的压缩阈值（单位：字节）。为NULL时不压缩
+     */
+    public Integer getCompressThreshold()
+    {
+        return compressThreshold;
+    }
+
+    
+    
+    /**
+     * 设置：字段值的压缩阈值（单位：字节）。为NULL时不压缩
+     * 
+     * @param i_CompressThreshold 字段值的压缩阈值
+     */
+    public void setCompressThreshold(Integer i_CompressThreshold)
+    {
+        this.compressThreshold = i_CompressThreshold;
+    }
+
+    
+    
+    /**
+     * 获取：多路复用的连接数
+     */
+    public Integer getConnections()
+    {
+        return connections;
+    }
+
+    
+    
+    /**
+     * 设置：多路复用的连接数
+     * 
+     * @param i_Connections 多路复用的连接数
+     */
+    public void setConnections(Integer i_Connections)
+    {
+        this.connections = i_Connections;
+    }
+
+    
+    
+    /**
+     * 获取：阻塞、事务命令专用连接池的最大连接数
+     */
+    public Integer getPoolMaxTotal()
+    {
+        return poolMaxTotal;
+    }
+
+    
+    
+    /**
+     * 设置：阻塞、事务命令专用连接池的最大连接数
+     * 
+     * @param i_PoolMaxTotal 阻塞、事务命令专用连接池的最大连接数
+     */
+    public void setPoolMaxTotal(Integer i_PoolMaxTotal)
+    {
+        this.poolMaxTotal = i_PoolMaxTotal;
+    }
+
+    
+    
+    /**
+     * 获取：阻塞、事务命令专用连接池的最大空闲连接数
+     */
+    public Integer getPoolMaxIdle()
+    {
+        return poolMaxIdle;
+    }
+
+    
+    
+    /**
+     * 设置：阻塞、事务命令专用连接池的最大空闲连接数
+     * 
+     * @param i_PoolMaxIdle 阻塞、事务命令专用连接池的最大空闲连接数
+     */
+    public void setPoolMaxIdle(Integer i_PoolMaxIdle)
+    {
+        this.poolMaxIdle = i_PoolMaxIdle;
+    }
+
+    
+    
+    /**
+     * 获取：阻塞、事务命令专用连接池的最小空闲连接数
+     */
+    public Integer getPoolMinIdle()
+    {
+        return poolMinIdle;
+    }
+
+    
+    
+    /**
+     * 设置：阻塞、事务命令专用连接池的最小空闲连接数
+     * 
+     * @param i_PoolMinIdle 阻塞、事务命令专用连接池的最小空闲连接数
+     */
+    public void setPoolMinIdle(Integer i_PoolMinIdle)
+    {
+        this.poolMinIdle = i_PoolMinIdle;
+    }
+
+    
+    
+    /**
+     * 获取：读取的路由策略
+     */
+    public String getReadFrom()
+    {
+        return readFrom;
+    }
+
+    
+    
+    /**
+     * 设置：读取的路由策略
+     * 
+     * @param i_ReadFrom 读取的路由策略
+     */
+    public void setReadFrom(String i_ReadFrom)
+    {
+        this.readFrom = i_ReadFrom;
+    }
+
+    
+    
+    /**
+     * 获取：集群拓扑周期刷新的间隔（单位：秒）
+     */
+    public Integer getRefreshPeriod()
+    {
+        return refreshPeriod;
+    }
+
+    
+    
+    /**
+     * 设置：集群拓扑周期刷新的间隔（单位：秒）
+     * 
+     * @param i_RefreshPeriod 集群拓扑周期刷新的间隔（单位：秒）
+     */
+    public void setRefreshPeriod(Integer i_RefreshPeriod)
+    {
+        this.refreshPeriod = i_RefreshPeriod;
+    }
+
+    
+    
+    /**
+     * 获取：集群拓扑是否自适应刷新
+     */
+    public Boolean getAdaptiveRefresh()
+    {
+        return adaptiveRefresh;
+    }
+
+    
+    
+    /**
+     * 设置：集群拓扑是否自适应刷新
+     * 
+     * @param i_AdaptiveRefresh 集群拓扑是否自适应刷新
+     */
+    public void setAdaptiveRefresh(Boolean i_AdaptiveRefresh)
+    {
+        this.adaptiveRefresh = i_AdaptiveRefresh;
+    }
+
+    
+    
+    /**
+     * 获取：自适应刷新的最小间隔（单位：秒）
+     */
+    public Integer getAdaptiveRefreshTimeout()
+    {
+        return adaptiveRefreshTimeout;
+    }
+
+    
+    
+    /**
+     * 设置：自适应刷新的最小间隔（单位：秒）
+     * 
+     * @param i_AdaptiveRefreshTimeout 自适应刷新的最小间隔（单位：秒）
+     */
+    public void setAdaptiveRefreshTimeout(Integer i_AdaptiveRefreshTimeout)
+    {
+        this.adaptiveRefreshTimeout = i_AdaptiveRefreshTimeout;
+    }
+
+    
+    
+    /**
+     * 获取：是否从拓扑中发现的所有节点获取拓扑（动态刷新源）
+     */
+    public Boolean getDynamicRefreshSources()
+    {
+        return dynamicRefreshSources;
+    }
+
+    
+    
+    /**
+     * 设置：是否从拓扑中发现的所有节点获取拓扑（动态刷新源）
+     * 
+     * @param i_DynamicRefreshSources 是否从拓扑中发现的所有节点获取拓扑（动态刷新源）
+     */
+    public void setDynamicRefreshSources(Boolean i_DynamicRefreshSources)
+    {
+        this.dynamicRefreshSources = i_DynamicRefreshSources;
+    }
     
 }
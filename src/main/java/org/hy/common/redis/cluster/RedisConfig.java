@@ -2,6 +2,7 @@ package org.hy.common.redis.cluster;
 
 import java.time.Duration;
 
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.hy.common.Help;
 import org.hy.common.xml.SerializableDef;
 
@@ -17,6 +18,9 @@ import io.lettuce.core.RedisURI;
  * @author      ZhengWei(HY)
  * @createDate  2024-03-14
  * @version     v1.0
+ *              v2.0  2026-10-17  添加：字段值的编码（单机模式）
+ *              v3.0  2026-10-17  添加：字段值的压缩阈值（单机模式）
+ *              v4.0  2026-10-17  添加：多路复用的连接数，及阻塞、事务命令专用连接池的配置（单机模式）
  */
 public class RedisConfig extends SerializableDef
 {
@@ -46,6 +50,39 @@ public class RedisConfig extends SerializableDef
     /** 开启 tls 连接协议 */
     private Boolean tls;
     
+    /**
+     * 字段值的编码。默认为：text，即按文本保存。
+     * 
+     * 为 binary 时，数字、时间、字节数组等按内置的紧凑二进制保存；也可为外界实现的 RedisValueSerializer 的类全名。
+     * 仅单机模式时有效，集群模式见 RedisClusterConfig。
+     * 读取时自动识别，所以可与按文本保存的已有数据共存
+     */
+    private String  valueCodec;
+    
+    /**
+     * 字段值的压缩阈值（单位：字节）。默认为：NULL，即不压缩。
+     * 
+     * 字段值的字节数达到阈值时，按Deflate算法压缩保存。读取时自动识别，所以可与未压缩的已有数据共存。
+     * 仅单机模式时有效。也可按表配置（见 RedisMapType.saveCompress()）
+     */
+    private Integer compressThreshold;
+    
+    /**
+     * 多路复用的连接数。默认为：1。仅单机模式时有效。
+     * 
+     * 同步访问的命令按轮询的方式分散到多个连接上，高并发时不再受限于一个连接的通道及事件循环线程
+     */
+    private Integer connections;
+    
+    /** 阻塞、事务命令专用连接池的最大连接数。默认为：20 */
+    private Integer poolMaxTotal;
+    
+    /** 阻塞、事务命令专用连接池的最大空闲连接数。默认为：10 */
+    private Integer poolMaxIdle;
+    
+    /** 阻塞、事务命令专用连接池的最小空闲连接数。默认为：0 */
+    private Integer poolMinIdle;
+    
     
     
     public RedisConfig()
@@ -112,6 +149,29 @@ public class RedisConfig extends SerializableDef
         
         return v_Builder.build();
     }
+    
+    
+    
+    /**
+     * 生成阻塞、事务命令专用连接池的配置
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    @SuppressWarnings("rawtypes")
+    public GenericObjectPoolConfig toPoolConfig()
+    {
+        GenericObjectPoolConfig v_PoolConfig = new GenericObjectPoolConfig();
+        
+        v_PoolConfig.setMaxTotal(this.poolMaxTotal == null ? 20 : this.poolMaxTotal);
+        v_PoolConfig.setMaxIdle (this.poolMaxIdle  == null ? 10 : this.poolMaxIdle);
+        v_PoolConfig.setMinIdle (this.poolMinIdle  == null ?  0 : this.poolMinIdle);
+        
+        return v_PoolConfig;
+    }
 
     
     
@@ -259,5 +319,131 @@ public class RedisConfig extends SerializableDef
         this.database = i_Database;
         return this;
     }
+
+    
+    /**
+     * 获取：字段值的编码。默认为：text
+     */
+    public String getValueCodec()
+    {
+        return valueCodec;
+    }
+
+    
+    /**
+     * 设置：字段值的编码。可为 text、binary 或 RedisValueSerializer 的类全名
+     * 
+     * @param i_ValueCodec 字段值的编码
+     */
+    public RedisConfig setValueCodec(String i_ValueCodec)
+    {
+        this.valueCodec = i_ValueCodec;
+        return this;
+    }
+
+    
+    /**
+     * 获取：字段值的压缩阈值（单位：字节）。为NULL时不压缩
+     */
+    public Integer getCompressThreshold()
+    {
+        return compressThreshold;
+    }
+
+    
+    /**
+     * 设置：字段值的压缩阈值（单位：字节）。为NULL时不压缩
+     * 
+     * @param i_CompressThreshold 字段值的压缩阈值
+     */
+    public RedisConfig setCompressThreshold(Integer i_CompressThreshold)
+    {
+        this.compressThreshold = i_CompressThreshold;
+        return this;
+    }
+
+    
+    /**
+     * 获取：多路复用的连接数
+     */
+    public Integer getConnections()
+    {
+        return connections;
+    }
+
+    
+    /**
+     * 设置：多路复用的连接数
+     * 
+     * @param i_Connections 多路复用的连接数
+     */
+    public RedisConfig setConnections(Integer i_Connections)
+    {
+        this.connections = i_Connections;
+        return this;
+    }
+
+    
+    /**
+     * 获取：阻塞、事务命令专用连接池的最大连接数
+     */
+    public Integer getPoolMaxTotal()
+    {
+        return poolMaxTotal;
+    }
+
+    
+    /**
+     * 设置：阻塞、事务命令专用连接池的最大连接数
+     * 
+     * @param i_PoolMaxTotal 阻塞、事务命令专用连接池的最大连接数
+     */
+    public RedisConfig setPoolMaxTotal(Integer i_PoolMaxTotal)
+    {
+        this.poolMaxTotal = i_PoolMaxTotal;
+        return this;
+    }
+
+    
+    /**
+     * 获取：阻塞、事务命令专用连接池的最大空闲连接数
+     */
+    public Integer getPoolMaxIdle()
+    {
+        return poolMaxIdle;
+    }
+
+    
+    /**
+     * 设置：阻塞、事务命令专用连接池的最大空闲连接数
+     * 
+     * @param i_PoolMaxIdle 阻塞、事务命令专用连接池的最大空闲连接数
+     */
+    public RedisConfig setPoolMaxIdle(Integer i_PoolMaxIdle)
+    {
+        this.poolMaxIdle = i_PoolMaxIdle;
+        return this;
+    }
+
+    
+    /**
+     * 获取：阻塞、事务命令专用连接池的最小空闲连接数
+     */
+    public Integer getPoolMinIdle()
+    {
+        return poolMinIdle;
+    }
+
+    
+    /**
+     * 设置：阻塞、事务命令专用连接池的最小空闲连接数
+     * 
+     * @param i_PoolMinIdle 阻塞、事务命令专用连接池的最小空闲连接数
+     */
+    public RedisConfig setPoolMinIdle(Integer i_PoolMinIdle)
+    {
+        this.poolMinIdle = i_PoolMinIdle;
+        return this;
+    }
     
 }
@@ -0,0 +1,490 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.hy.common.Date;
+import org.hy.common.xml.log.Logger;
+
+import io.lettuce.core.MapScanCursor;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.sync.RedisHashCommands;
+import io.lettuce.core.api.sync.RedisKeyCommands;
+
+
+
+
+
+/**
+ * 整表的批量删除（清空表、删除表）
+ *
+ * 按 HSCAN 游标分批读取表、主键关系，每批的行数据按所属节点分组后，经管道发送多关键字的 UNLINK（见 RedisPipeline.deleteRows()）。
+ * 内存占用与表的大小无关，UNLINK 由Redis后台线程释放内存，不会因大批量的删除阻塞服务端。
+ *
+ *   清空表：每批同时删除表、主键关系（HDEL），保留创建表时预留的空主键。
+ *   删除表：不逐批删除表、主键关系，所有行数据删除后，最后再 UNLINK 表Key。
+ *
+ * 每批完成后更新进度，并通知进度的监听者（见 setListener()）。
+ * 其它线程可随时调用 cancel() 取消，当前批次完成后停止。取消时表Key不删除，再次执行可继续删除剩余的行数据。
+ *
+ * 一个实例只能执行一次：一次性执行完 execute()，或多次分步执行 step()（见 RedisDeleteJob 的限速后台执行）。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：分步执行 step()，每步最多删除指定的行数。及剩余的行数
+ *
+ * @param <C>  同步命令的类型。集群模式为 RedisAdvancedClusterCommands，单机模式为 RedisCommands
+ */
+public class RedisBulkDelete<C extends RedisHashCommands<String ,String> & RedisKeyCommands<String ,String>>
+{
+
+    private static final Logger $Logger = new Logger(RedisBulkDelete.class);
+
+
+
+    /** 同步命令（游标读取表、主键关系，及最后删除表Key） */
+    private final Supplier<C>                     commands;
+
+    /** 管道批量执行器 */
+    private final RedisPipeline<?>                pipeline;
+
+    /** 表的物理名称。即在Redis中保存的真实Key值 */
+    private final String                          tableID;
+
+    /** 是否为删除表。否则为清空表 */
+    private final boolean                         isDrop;
+
+    /** 删除表完成后的动作（如删除表库关系）。取消时不执行 */
+    private final Runnable                        finished;
+
+    /** 是否已开始执行 */
+    private final AtomicBoolean                   started;
+
+    /** 已处理的行数 */
+    private final LongAdder                       processed;
+
+    /** 已删除的数量。清空表时为删除表、主键关系的数量，删除表时为删除行数据的数量 */
+    private final LongAdder                       deleted;
+
+    /** 是否已取消 */
+    private volatile boolean                      cancelled;
+
+    /** 是否已完成（未取消且无异常） */
+    private volatile boolean                      completed;
+
+    /** HSCAN 游标的位置 */
+    private volatile ScanCursor                   cursor;
+
+    /** 开始执行时表的总行数 */
+    private volatile long                         total;
+
+    /** 开始时间 */
+    private volatile Date                         startTime;
+
+    /** 结束时间 */
+    private volatile Date                         endTime;
+
+    /** 进度的监听者。每批完成后通知 */
+    private volatile Consumer<RedisBulkDelete<C>> listener;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Commands  同步命令
+     * @param i_Pipeline  管道批量执行器
+     * @param i_TableID   表的物理名称。即在Redis中保存的真实Key值
+     * @param i_IsDrop    是否为删除表。否则为清空表
+     * @param i_Finished  完成后的动作。可为NULL
+     */
+    public RedisBulkDelete(Supplier<C> i_Commands ,RedisPipeline<?> i_Pipeline ,String i_TableID ,boolean i_IsDrop ,Runnable i_Finished)
+    {
+        this.commands  = i_Commands;
+        this.pipeline  = i_Pipeline;
+        this.tableID   = i_TableID;
+        this.isDrop    = i_IsDrop;
+        this.finished  = i_Finished;
+        this.started   = new AtomicBoolean(false);
+        this.processed = new LongAdder();
+        this.deleted   = new LongAdder();
+        this.cursor    = ScanCursor.INITIAL;
+    }
+
+
+
+    /**
+     * 执行批量删除。在调用者的线程中执行，完成或取消后返回
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return  返回已删除的数量（取消时为取消前已删除的数量）
+     */
+    public Long execute()
+    {
+        if ( !this.started.compareAndSet(false ,true) )
+        {
+            throw new IllegalStateException("Bulk delete[" + this.tableID + "] is already executed.");
+        }
+
+        synchronized ( this )
+        {
+            this.begin();
+            this.step_Core(0L);
+        }
+
+        return this.deleted.sum();
+    }
+
+
+
+    /**
+     * 分步执行批量删除。首次调用时开始，每步最多删除的行数为 i_MaxRows（按 HSCAN 分批，为近似值）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_MaxRows  本步最多删除的行数。小于等于0时不限制，执行到完成或取消
+     * @return           还有剩余的行数未删除时返回真。完成、取消或异常时返回假
+     */
+    public synchronized boolean step(long i_MaxRows)
+    {
+        if ( this.started.compareAndSet(false ,true) )
+        {
+            this.begin();
+        }
+
+        return this.step_Core(i_MaxRows);
+    }
+
+
+
+    /**
+     * 开始执行。统计表的总行数
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    private void begin()
+    {
+        this.startTime = new Date();
+
+        try
+        {
+            C v_Cmd = this.commands.get();
+
+            // 空主键是创建表时预留的
+            long v_Total = v_Cmd.hlen(this.tableID);
+            if ( v_Total > 0L && v_Cmd.hexists(this.tableID ,"") )
+            {
+                v_Total--;
+            }
+            this.total = v_Total;
+        }
+        catch (RuntimeException exce)
+        {
+            this.endTime = new Date();
+            throw exce;
+        }
+    }
+
+
+
+    /**
+     * 执行一步批量删除
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_MaxRows  本步最多删除的行数。小于等于0时不限制
+     * @return           还有剩余的行数未删除时返回真
+     */
+    private boolean step_Core(long i_MaxRows)
+    {
+        if ( this.endTime != null )
+        {
+            return false;
+        }
+
+        try
+        {
+            long v_Rows = 0L;
+
+            do
+            {
+                if ( this.cancelled )
+                {
+                    $Logger.info("Bulk delete[" + this.tableID + "] is cancelled. Processed " + this.processed.sum() + "/" + this.total + ".");
+                    this.endTime = new Date();
+                    return false;
+                }
+
+                long                          v_Limit = i_MaxRows <= 0L ? this.pipeline.getBatchSize() : Math.min(this.pipeline.getBatchSize() ,i_MaxRows - v_Rows);
+                MapScanCursor<String ,String> v_Page  = this.commands.get().hscan(this.tableID ,this.cursor ,ScanArgs.Builder.limit(v_Limit));
+
+                List<String> v_PrimaryKeys = new ArrayList<String>(v_Page.getMap().keySet());
+                v_PrimaryKeys.remove("");
+
+                if ( !v_PrimaryKeys.isEmpty() )
+                {
+                    Long v_Deleted = this.pipeline.deleteRows(this.tableID ,v_PrimaryKeys ,!this.isDrop);
+                    if ( v_Deleted != null )
+                    {
+                        this.deleted.add(v_Deleted);
+                    }
+                    this.processed.add(v_PrimaryKeys.size());
+                    v_Rows += v_PrimaryKeys.size();
+                    this.fireProgress();
+                }
+
+                this.cursor = v_Page;
+
+                if ( v_Page.isFinished() )
+                {
+                    this.finish();
+                    return false;
+                }
+            }
+            while ( i_MaxRows <= 0L || v_Rows < i_MaxRows );
+
+            return true;
+        }
+        catch (RuntimeException exce)
+        {
+            this.endTime = new Date();
+            throw exce;
+        }
+    }
+
+
+
+    /**
+     * 所有行数据删除后的收尾
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    private void finish()
+    {
+        // 最后删除表Key（含表、主键关系）
+        if ( this.isDrop )
+        {
+            this.commands.get().unlink(this.tableID);
+        }
+
+        if ( this.finished != null )
+        {
+            this.finished.run();
+        }
+
+        this.completed = true;
+        this.endTime   = new Date();
+    }
+
+
+
+    /**
+     * 通知进度的监听者。监听者的异常不影响删除
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    private void fireProgress()
+    {
+        Consumer<RedisBulkDelete<C>> v_Listener = this.listener;
+        if ( v_Listener == null )
+        {
+            return;
+        }
+
+        try
+        {
+            v_Listener.accept(this);
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+        }
+    }
+
+
+
+    /**
+     * 取消批量删除。当前批次完成后停止
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void cancel()
+    {
+        this.cancelled = true;
+    }
+
+
+
+    /**
+     * 获取：执行的进度（0 ~ 100）
+     */
+    public double getProgress()
+    {
+        if ( this.completed )
+        {
+            return 100D;
+        }
+
+        long v_Total = this.total;
+        if ( v_Total <= 0L )
+        {
+            return 0D;
+        }
+
+        // 游标在哈希表扩容时可能重复返回个别主键
+        return Math.min(this.processed.sum() * 100D / v_Total ,99.99D);
+    }
+
+
+
+    /**
+     * 获取：表的物理名称。即在Redis中保存的真实Key值
+     */
+    public String getTableID()
+    {
+        return this.tableID;
+    }
+
+
+
+    /**
+     * 获取：是否为删除表。否则为清空表
+     */
+    public boolean isDrop()
+    {
+        return this.isDrop;
+    }
+
+
+
+    /**
+     * 获取：已处理的行数
+     */
+    public long getProcessed()
+    {
+        return this.processed.sum();
+    }
+
+
+
+    /**
+     * 获取：已删除的数量。清空表时为删除表、主键关系的数量，删除表时为删除行数据的数量
+     */
+    public long getDeleted()
+    {
+        return this.deleted.sum();
+    }
+
+
+
+    /**
+     * 获取：剩余未删除的行数（近似值）
+     */
+    public long getRemaining()
+    {
+        if ( this.completed )
+        {
+            return 0L;
+        }
+
+        return Math.max(this.total - this.processed.sum() ,0L);
+    }
+
+
+
+    /**
+     * 获取：开始执行时表的总行数
+     */
+    public long getTotal()
+    {
+        return this.total;
+    }
+
+
+
+    /**
+     * 获取：是否已取消
+     */
+    public boolean isCancelled()
+    {
+        return this.cancelled;
+    }
+
+
+
+    /**
+     * 获取：是否已完成（未取消且无异常）
+     */
+    public boolean isCompleted()
+    {
+        return this.completed;
+    }
+
+
+
+    /**
+     * 获取：开始时间
+     */
+    public Date getStartTime()
+    {
+        return this.startTime;
+    }
+
+
+
+    /**
+     * 获取：是否已结束（完成、取消或异常）
+     */
+    public boolean isEnded()
+    {
+        return this.endTime != null;
+    }
+
+
+
+    /**
+     * 获取：结束时间。未结束时为NULL
+     */
+    public Date getEndTime()
+    {
+        return this.endTime;
+    }
+
+
+
+    /**
+     * 设置：进度的监听者。每批完成后通知
+     *
+     * @param i_Listener
+     */
+    public void setListener(Consumer<RedisBulkDelete<C>> i_Listener)
+    {
+        this.listener = i_Listener;
+    }
+
+}
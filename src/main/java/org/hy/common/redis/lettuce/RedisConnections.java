@@ -0,0 +1,243 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.hy.common.xml.log.Logger;
+
+import io.lettuce.core.RedisException;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.support.ConnectionPoolSupport;
+
+
+
+
+
+/**
+ * 多路复用的连接组，及阻塞、事务命令专用的连接池
+ *
+ * 一个Lettuce连接即可被所有线程共用（多路复用），但所有命令经同一个Netty通道及事件循环线程，高并发时会成为瓶颈。
+ * 所以创建N个连接，每次命令按轮询的方式选择其中一个连接，命令的收发分散到多个通道及事件循环线程上。
+ *
+ * 阻塞命令（如 BLPOP）及事务命令（MULTI/EXEC/WATCH）会独占或改变连接的状态，不能在共用的连接上执行，
+ * 须用 execute() 方法从连接池借用独占的连接。连接池按需创建连接，用完后归还。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *
+ * @param <S>  连接的类型。集群模式为 StatefulRedisClusterConnection，单机模式为 StatefulRedisConnection
+ */
+public class RedisConnections<S extends StatefulConnection<String ,String>>
+{
+
+    private static final Logger $Logger      = new Logger(RedisConnections.class);
+
+    /** 默认的连接数 */
+    public static final int     $DefaultSize = 1;
+
+
+
+    /** 多路复用的连接 */
+    private final List<S>                 connections;
+
+    /** 轮询选择连接的序号 */
+    private final AtomicInteger           index;
+
+    /** 创建连接的方法（也用于连接池） */
+    private final Supplier<S>             connect;
+
+    /** 连接池的配置 */
+    @SuppressWarnings("rawtypes")
+    private final GenericObjectPoolConfig poolConfig;
+
+    /** 阻塞、事务命令专用的连接池。首次使用时创建 */
+    private volatile GenericObjectPool<S> pool;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Connect     创建连接的方法
+     * @param i_Size        多路复用的连接数。小于1时按1个连接
+     * @param i_PoolConfig  连接池的配置。为NULL时按默认配置
+     */
+    @SuppressWarnings("rawtypes")
+    public RedisConnections(Supplier<S> i_Connect ,int i_Size ,GenericObjectPoolConfig i_PoolConfig)
+    {
+        int v_Size = Math.max(i_Size ,$DefaultSize);
+
+        this.connect     = i_Connect;
+        this.poolConfig  = i_PoolConfig == null ? new GenericObjectPoolConfig() : i_PoolConfig;
+        this.index       = new AtomicInteger(0);
+        this.connections = new ArrayList<S>(v_Size);
+
+        for (int x=0; x<v_Size; x++)
+        {
+            this.connections.add(i_Connect.get());
+        }
+    }
+
+
+
+    /**
+     * 按轮询的方式选择一个多路复用的连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public S next()
+    {
+        if ( this.connections.size() == 1 )
+        {
+            return this.connections.get(0);
+        }
+
+        return this.connections.get(Math.floorMod(this.index.getAndIncrement() ,this.connections.size()));
+    }
+
+
+
+    /**
+     * 获取第一个连接。用于须固定在一个连接上的功能（如异步、响应式访问）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public S first()
+    {
+        return this.connections.get(0);
+    }
+
+
+
+    /**
+     * 从连接池借用独占的连接执行阻塞、事务命令。执行完成后归还连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <R>       返回结果的类型
+     * @param i_Action  在独占的连接上执行的动作
+     * @return
+     */
+    public <R> R execute(Function<S ,R> i_Action)
+    {
+        S v_Conn = null;
+
+        try
+        {
+            v_Conn = this.getPool().borrowObject();
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Failed to borrow a connection from the pool" ,exce);
+            throw new RedisException("Failed to borrow a connection from the pool" ,exce);
+        }
+
+        // 连接池中的连接为代理对象，关闭即为归还连接池
+        try (S v_Pooled = v_Conn)
+        {
+            return i_Action.apply(v_Pooled);
+        }
+    }
+
+
+
+    /**
+     * 获取连接池。首次使用时创建
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private GenericObjectPool<S> getPool()
+    {
+        if ( this.pool == null )
+        {
+            synchronized ( this )
+            {
+                if ( this.pool == null )
+                {
+                    this.pool = ConnectionPoolSupport.createGenericObjectPool(this.connect ,this.poolConfig);
+                }
+            }
+        }
+
+        return this.pool;
+    }
+
+
+
+    /**
+     * 获取：多路复用的连接数
+     */
+    public int size()
+    {
+        return this.connections.size();
+    }
+
+
+
+    /**
+     * 获取：连接池中借出的连接数
+     */
+    public int getPoolActive()
+    {
+        return this.pool == null ? 0 : this.pool.getNumActive();
+    }
+
+
+
+    /**
+     * 获取：连接池中空闲的连接数
+     */
+    public int getPoolIdle()
+    {
+        return this.pool == null ? 0 : this.pool.getNumIdle();
+    }
+
+
+
+    /**
+     * 关闭所有连接及连接池
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public synchronized void close()
+    {
+        if ( this.pool != null )
+        {
+            this.pool.close();
+            this.pool = null;
+        }
+
+        for (S v_Conn : this.connections)
+        {
+            v_Conn.close();
+        }
+    }
+
+}
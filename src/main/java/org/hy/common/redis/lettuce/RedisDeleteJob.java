@@ -0,0 +1,336 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hy.common.Date;
+import org.hy.common.StringHelp;
+import org.hy.common.thread.Job;
+import org.hy.common.thread.Jobs;
+import org.hy.common.xml.XJava;
+import org.hy.common.xml.log.Logger;
+
+
+
+
+
+/**
+ * 清空表、删除表的后台任务。按每秒最多删除的行数限速，不占用调用者的线程
+ *
+ * 由定时任务（Job/Jobs，与 Redis.startJobs() 相同）每秒调用一次 execute()，每次分步执行批量删除（见 RedisBulkDelete.step()），
+ * 最多删除 rate 行。大表的删除因此被摊平到较长的时间内，不会造成生产环境的延时尖峰。
+ *
+ * 执行期间可随时暂停、恢复、取消，及调整限速。完成、取消或异常后，定时任务自动停止。
+ *
+ * 注：在启动时保存在XJava中，其XID为this.getXID()。结束后从XJava中移除。只构造未启动的不会保存在XJava中
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  修正：定时任务的编码按表名生成不唯一，同一张表的多个删除任务会冲突。改为按XID生成
+ */
+public class RedisDeleteJob
+{
+
+    private static final Logger $Logger      = new Logger(RedisDeleteJob.class);
+
+    /** 默认每秒最多删除的行数 */
+    public static final long    $DefaultRate = 10000L;
+
+
+
+    /** 批量删除 */
+    private final RedisBulkDelete<?> task;
+
+    /** 在XJava中的XID。启动时保存，定时任务按此调用 execute() */
+    private final String             xjavaID;
+
+    /** 定时任务是否正在执行一步删除。防止上一秒未执行完时重叠执行 */
+    private final AtomicBoolean      busy;
+
+    /** 每秒最多删除的行数。小于等于0时不限速 */
+    private volatile long            rate;
+
+    /** 是否已暂停 */
+    private volatile boolean         paused;
+
+    /** 执行异常 */
+    private volatile Exception       error;
+
+    private Job                      job;
+
+    private Jobs                     jobs;
+
+
+
+    public RedisDeleteJob(RedisBulkDelete<?> i_Task)
+    {
+        this(i_Task ,$DefaultRate);
+    }
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Task  批量删除
+     * @param i_Rate  每秒最多删除的行数。小于等于0时不限速
+     */
+    public RedisDeleteJob(RedisBulkDelete<?> i_Task ,long i_Rate)
+    {
+        if ( i_Task == null )
+        {
+            throw new NullPointerException("Bulk delete is null.");
+        }
+
+        this.task    = i_Task;
+        this.rate    = i_Rate;
+        this.busy    = new AtomicBoolean(false);
+        this.xjavaID = "XID_REDIS_DELETE_JOB_" + StringHelp.getUUID();
+    }
+
+
+
+    /**
+     * 启动后台任务。启动时保存在XJava中，定时任务按XID调用 execute()
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修正：定时任务的编码改为按XID生成
+     *
+     * @return
+     */
+    public synchronized RedisDeleteJob start()
+    {
+        if ( this.jobs != null || this.task.isEnded() )
+        {
+            return this;
+        }
+
+        this.job = new Job();
+
+        // 同一张表可有多个删除任务（如先取消再重新删除），所以编码按每个任务唯一的XID生成，名称保留表名便于查看
+        this.job.setCode(        "JOB_" + this.xjavaID);
+        this.job.setName(        "JOB_RedisDelete_" + this.task.getTableID());
+        this.job.setIntervalType(Job.$IntervalType_Second);
+        this.job.setIntervalLen( 1);
+        this.job.setStartTime(   Date.getNowTime().getFull());
+        this.job.setXid(         this.xjavaID);
+        this.job.setMethodName(  "execute");
+
+        XJava.putObject(this.xjavaID ,this);
+
+        this.jobs = new Jobs();
+        this.jobs.addJob(this.job);
+        this.jobs.startup();
+
+        return this;
+    }
+
+
+
+    /**
+     * 执行一步删除。由定时任务每秒调用一次，最多删除 rate 行
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void execute()
+    {
+        if ( this.paused )
+        {
+            return;
+        }
+
+        if ( !this.busy.compareAndSet(false ,true) )
+        {
+            return;
+        }
+
+        try
+        {
+            if ( !this.task.step(this.rate) )
+            {
+                this.stop();
+            }
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Delete job[" + this.task.getTableID() + "] failed. Processed " + this.task.getProcessed() + "/" + this.task.getTotal() + "." ,exce);
+            this.error = exce;
+            this.stop();
+        }
+        finally
+        {
+            this.busy.set(false);
+        }
+    }
+
+
+
+    /**
+     * 暂停。已在执行的一步完成后暂停
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void pause()
+    {
+        this.paused = true;
+    }
+
+
+
+    /**
+     * 恢复
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void resume()
+    {
+        this.paused = false;
+    }
+
+
+
+    /**
+     * 取消。已删除的行数据不能恢复，表Key保留（见 RedisBulkDelete.cancel()）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void cancel()
+    {
+        this.task.cancel();
+        this.stop();
+    }
+
+
+
+    /**
+     * 停止定时任务，并从XJava中移除
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    private synchronized void stop()
+    {
+        if ( this.jobs != null )
+        {
+            this.jobs.shutdown();
+            this.jobs = null;
+        }
+
+        XJava.remove(this.xjavaID);
+    }
+
+
+
+    /**
+     * 获取：批量删除（进度等信息）
+     */
+    public RedisBulkDelete<?> getTask()
+    {
+        return this.task;
+    }
+
+
+
+    /**
+     * 获取：已删除的行数
+     */
+    public long getRemoved()
+    {
+        return this.task.getProcessed();
+    }
+
+
+
+    /**
+     * 获取：剩余未删除的行数（近似值）
+     */
+    public long getRemaining()
+    {
+        return this.task.getRemaining();
+    }
+
+
+
+    /**
+     * 获取：执行的进度（0 ~ 100）
+     */
+    public double getProgress()
+    {
+        return this.task.getProgress();
+    }
+
+
+
+    /**
+     * 获取：是否正在执行（已启动，未结束）
+     */
+    public synchronized boolean isRunning()
+    {
+        return this.jobs != null && !this.task.isEnded();
+    }
+
+
+
+    /**
+     * 获取：是否已暂停
+     */
+    public boolean isPaused()
+    {
+        return this.paused;
+    }
+
+
+
+    /**
+     * 获取：执行异常。无异常时为NULL
+     */
+    public Exception getError()
+    {
+        return this.error;
+    }
+
+
+
+    /**
+     * 获取：每秒最多删除的行数。小于等于0时不限速
+     */
+    public long getRate()
+    {
+        return this.rate;
+    }
+
+
+
+    /**
+     * 设置：每秒最多删除的行数。小于等于0时不限速。执行期间可调整
+     *
+     * @param i_Rate
+     */
+    public void setRate(long i_Rate)
+    {
+        this.rate = i_Rate;
+    }
+
+
+
+    public String getXID()
+    {
+        return this.xjavaID;
+    }
+
+}
@@ -0,0 +1,245 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+
+
+
+/**
+ * 库、表是否存在的本地缓存（有上限、有存活时长）
+ *
+ * 写入数据前均要判定表是否存在，而运行稳定后表总是存在的，所以缓存判定为存在的结果，省去每次写入前的一次 EXISTS 往返。
+ * 只缓存存在的结果，不缓存不存在的结果。
+ *
+ * 删除表、删除库及清空表时，主动使缓存失效，并通过发布订阅通知共用一个Redis的其它实例（见 $Channel，默认开启）。
+ * 订阅（含断线重连后的重新订阅）时清空全部缓存，断线期间丢失的通知不会留下过期的判定。
+ * 未收到通知时（如关闭了通知），缓存最多在存活时长后失效。
+ *
+ * 同时提供按表的锁，替代整个实例的同步锁，使不同表的创建互不阻塞。
+ * 锁是固定数量的分段锁（按物理名称的哈希取模），表的数量再多也不会增加锁对象。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  修改：缓存失效的发布订阅通知默认开启，订阅时清空全部缓存
+ *              v3.0  2026-10-17  修改：按表的锁改为固定数量的分段锁，不再随表的数量无限增长
+ */
+public class RedisExistsCache
+{
+
+    /** 缓存失效通知的发布订阅频道。消息内容为库、表的物理名称 */
+    public static final String $Channel    = "HY.Redis.Exists.Invalidate";
+
+    /** 默认的存活时长（单位：毫秒） */
+    public static final long   $TimeToLive = 60L * 1000L;
+
+    /** 默认的最大缓存数量 */
+    public static final int    $MaxSize    = 10000;
+
+    /** 分段锁的数量 */
+    public static final int    $LockSize   = 64;
+
+
+
+    /** 缓存。Map.key为库、表的物理名称，Map.value为失效的时间点（单位：毫秒） */
+    private final Map<String ,Long> caches;
+
+    /** 按表（或库）的分段锁。下标为物理名称的哈希取模 */
+    private final Object []         locks;
+
+    /** 存活时长（单位：毫秒）。小于等于0时不缓存 */
+    private long                    timeToLive;
+
+    /** 最大缓存数量 */
+    private int                     maxSize;
+
+
+
+    public RedisExistsCache()
+    {
+        this.caches     = new ConcurrentHashMap<String ,Long>();
+        this.locks      = new Object[$LockSize];
+        this.timeToLive = $TimeToLive;
+        this.maxSize    = $MaxSize;
+
+        for (int x=0; x<this.locks.length; x++)
+        {
+            this.locks[x] = new Object();
+        }
+    }
+
+
+
+    /**
+     * 缓存中是否判定为存在。过期的缓存按不存在处理
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_ID  库、表的物理名称
+     * @return
+     */
+    public boolean isExists(String i_ID)
+    {
+        Long v_ExpireTime = this.caches.get(i_ID);
+        if ( v_ExpireTime == null )
+        {
+            return false;
+        }
+
+        if ( v_ExpireTime < System.currentTimeMillis() )
+        {
+            this.caches.remove(i_ID ,v_ExpireTime);
+            return false;
+        }
+
+        return true;
+    }
+
+
+
+    /**
+     * 缓存为存在
+     *
+     * 达到最大缓存数量时，先清除过期的缓存，仍达到时清除全部缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_ID  库、表的物理名称
+     */
+    public void put(String i_ID)
+    {
+        if ( this.timeToLive <= 0L )
+        {
+            return;
+        }
+
+        long v_Now = System.currentTimeMillis();
+        if ( this.caches.size() >= this.maxSize && !this.caches.containsKey(i_ID) )
+        {
+            this.caches.values().removeIf(v_ExpireTime -> v_ExpireTime < v_Now);
+
+            if ( this.caches.size() >= this.maxSize )
+            {
+                this.caches.clear();
+            }
+        }
+
+        this.caches.put(i_ID ,v_Now + this.timeToLive);
+    }
+
+
+
+    /**
+     * 使缓存失效
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_ID  库、表的物理名称
+     */
+    public void remove(String i_ID)
+    {
+        this.caches.remove(i_ID);
+    }
+
+
+
+    /**
+     * 使全部缓存失效
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void clear()
+    {
+        this.caches.clear();
+    }
+
+
+
+    /**
+     * 获取表（或库）的锁。同一物理名称总是返回同一个锁对象
+     *
+     * 不同的物理名称可能共用一个锁，只是偶尔互相等待，不影响正确性
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修改：改为固定数量的分段锁
+     *
+     * @param i_ID  库、表的物理名称
+     * @return
+     */
+    public Object getLock(String i_ID)
+    {
+        return this.locks[(i_ID.hashCode() & 0x7FFFFFFF) % this.locks.length];
+    }
+
+
+
+    /**
+     * 获取：缓存数量
+     */
+    public int size()
+    {
+        return this.caches.size();
+    }
+
+
+
+    /**
+     * 获取：存活时长（单位：毫秒）。小于等于0时不缓存
+     */
+    public long getTimeToLive()
+    {
+        return timeToLive;
+    }
+
+
+
+    /**
+     * 设置：存活时长（单位：毫秒）。小于等于0时不缓存
+     *
+     * @param i_TimeToLive 存活时长（单位：毫秒）
+     */
+    public void setTimeToLive(long i_TimeToLive)
+    {
+        this.timeToLive = i_TimeToLive;
+
+        if ( i_TimeToLive <= 0L )
+        {
+            this.caches.clear();
+        }
+    }
+
+
+
+    /**
+     * 获取：最大缓存数量
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+
+
+    /**
+     * 设置：最大缓存数量
+     *
+     * @param i_MaxSize 最大缓存数量
+     */
+    public void setMaxSize(int i_MaxSize)
+    {
+        this.maxSize = i_MaxSize <= 0 ? $MaxSize : i_MaxSize;
+    }
+
+}
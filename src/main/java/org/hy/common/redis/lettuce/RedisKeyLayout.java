@@ -0,0 +1,95 @@
+package org.hy.common.redis.lettuce;
+
+
+
+
+
+/**
+ * 行数据在Redis中的Key值的组织方式
+ *
+ * 原始方式：行数据的Key值即为行主键。集群模式时，表Key（库名.表名）与每行的Key分散在不同的哈希槽中。
+ * 哈希标签：行数据的Key值为 {库名.表名}:行主键。集群模式时，表Key与表中所有行的Key在同一个哈希槽中，
+ *          所以一行的原子写入（Lua脚本），及全表的批量操作，均可在一个节点上一个批次内完成。
+ *
+ * 注：表Key的Key值不变，仍为 库名.表名。Redis对 {库名.表名}:行主键 只按大括号中的内容计算哈希槽，
+ *     所以它与表Key的哈希槽相同。
+ * 注：表、主键关系中保存的仍是行主键（逻辑名称），对外接口的返回结果也仍是行主键。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class RedisKeyLayout
+{
+
+    /** 原始方式：行数据的Key值即为行主键 */
+    public static final RedisKeyLayout $Plain   = new RedisKeyLayout(false);
+
+    /** 哈希标签：行数据的Key值为 {库名.表名}:行主键 */
+    public static final RedisKeyLayout $HashTag = new RedisKeyLayout(true);
+
+
+
+    /** 是否为哈希标签方式 */
+    private final boolean hashTag;
+
+
+
+    private RedisKeyLayout(boolean i_HashTag)
+    {
+        this.hashTag = i_HashTag;
+    }
+
+
+
+    /**
+     * 按是否为哈希标签方式，获取Key值的组织方式
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_HashTag  是否为哈希标签方式。为NULL时按原始方式
+     * @return
+     */
+    public static RedisKeyLayout valueOf(Boolean i_HashTag)
+    {
+        return Boolean.TRUE.equals(i_HashTag) ? $HashTag : $Plain;
+    }
+
+
+
+    /**
+     * 获取行数据的物理Key值。即将行主键转为真实保存在Redis的Key值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称
+     * @param i_PrimaryKey  行主键
+     * @return
+     */
+    public String getRowKey(String i_TableID ,String i_PrimaryKey)
+    {
+        if ( this.hashTag )
+        {
+            return "{" + i_TableID + "}:" + i_PrimaryKey;
+        }
+        else
+        {
+            return i_PrimaryKey;
+        }
+    }
+
+
+
+    /**
+     * 获取：是否为哈希标签方式
+     */
+    public boolean isHashTag()
+    {
+        return this.hashTag;
+    }
+
+}
@@ -1,25 +1,48 @@
 package org.hy.common.redis.lettuce;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.hy.common.Date;
 import org.hy.common.Help;
 import org.hy.common.MethodReflect;
 import org.hy.common.TablePartitionRID;
 import org.hy.common.redis.IRedis;
+import org.hy.common.redis.IRedisAsync;
+import org.hy.common.redis.IRedisReactive;
 import org.hy.common.redis.RData;
 import org.hy.common.redis.cluster.RedisClusterConfig;
-import org.hy.common.redis.type.RedisMapType;
-import org.hy.common.xml.SerializableDef;
+import org.hy.common.redis.metrics.RedisCommandListener;
+import org.hy.common.redis.metrics.RedisMetrics;
+import org.hy.common.redis.type.RedisRowMapper;
+import org.hy.common.redis.type.RedisValueCodec;
 import org.hy.common.xml.log.Logger;
 
+import io.lettuce.core.MapScanCursor;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.TrackingArgs;
 import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import io.lettuce.core.cluster.api.push.RedisClusterPushListener;
+import io.lettuce.core.cluster.api.reactive.RedisAdvancedClusterReactiveCommands;
 import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 
 
 
@@ -35,6 +58,40 @@ import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
  *                                添加：插入、更新和保存一行数据时，可设置过期时间
  *              v3.0  2025-02-06  添加：支持外界定义行数据类型(Class<E> i_RowClass)不是一个Java类，而是一个通用Map结构。
  *                                    注：仅支持Map<String ,Object>结构的Map集合
+ *              v4.0  2026-10-17  优化：插入、更新一行数据时，用管道批量发送命令，由2N+1次往返降为约1次往返
+ *              v5.0  2026-10-17  添加：批量保存多行数据 saveRows()。集群模式时按哈希槽所属的节点分组，同时向所有节点发送
+ *              v6.0  2026-10-17  优化：获取全表数据时，按批次管道获取所有行数据，及批量删除脏数据。不再逐行访问Redis
+ *              v7.0  2026-10-17  添加：分页扫描全表数据 scanRows()。按 HSCAN 游标分页，内存占用与表的大小无关
+ *              v8.0  2026-10-17  添加：获取异步访问接口 getAsync()
+ *              v9.0  2026-10-17  添加：获取响应式访问接口 getReactive()
+ *              v10.0 2026-10-17  优化：更新一行数据时，用缓存的Lua脚本(EVALSHA)在服务端原子执行，一行一次往返
+ *              v11.0 2026-10-17  添加：可选的哈希标签Key值组织方式 {库名.表名}:行主键，表Key与所有行在同一哈希槽中。
+ *                                添加：按Key值组织方式迁移已有数据 migrateKeyLayout()
+ *              v12.0 2026-10-17  优化：库、表是否存在的本地缓存，省去写入前的 EXISTS 往返。创建表按表加锁，不再锁整个实例
+ *              v13.0 2026-10-17  添加：可选的近端缓存 setNearCache()。基于 CLIENT TRACKING 的失效通知，热点行从本地内存读取
+ *              v14.0 2026-10-17  优化：Java对象写入时，按预先解析的Getter方法句柄直接转为行数据，不再经 Help.toMap()
+ *              v15.0 2026-10-17  添加：可配置的字段值编码（见 RedisValueCodec）。数字、时间、字节数组等可按紧凑的二进制保存
+ *              v16.0 2026-10-17  添加：超过压缩阈值的字段值压缩保存（可按表配置，见 RedisMapType.saveCompress()）
+ *              v17.0 2026-10-17  添加：多路复用的连接组，同步命令按轮询分散到多个连接上。阻塞、事务命令从连接池借用独占的连接 execute()
+ *              v18.0 2026-10-17  添加：读取命令按 ReadFrom 策略路由到副本节点 setReadFrom()，及当前线程读取自己的写入 setReadYourWrites()
+ *              v19.0 2026-10-17  添加：集群拓扑的统计数据 getTopologyMetrics()，如 MOVED/ASK 重定向的次数
+ *              v20.0 2026-10-17  优化：清空表、删除表按 HSCAN 游标分批 UNLINK（见 RedisBulkDelete），支持进度及取消 newTruncate()、newDropTable()
+ *              v21.0 2026-10-17  添加：清空表、删除表的限速后台任务 truncateJob()、dropTableJob()，支持进度、暂停及恢复
+ *              v22.0 2026-10-17  添加：按 IRedis 方法及Redis命令统计调用次数、异常次数及耗时的分布 enableMetrics()，并注册到JMX
+ *              v23.0 2026-10-17  添加：统计代理为每次 IRedis 方法的调用发出JFR事件（库、表、键数、命令数及耗时），及慢调用的JFR事件
+ *              v24.0 2026-10-17  添加：统计代理按方法及按线程统计发送的命令数（见 RedisCommandCounter），及超过命令预算的调用记录到日志
+ *              v25.0 2026-10-17  修改：库、表是否存在的缓存失效通知默认开启 setExistsPubSub()，断线重连后清空缓存
+ *              v26.0 2026-10-17  修改：批量管道按多路复用的连接数创建多个专用的连接，并发的批次不再串行入队
+ *              v27.0 2026-10-17  修正：获取全表数据时未还原编码后的字段值
+ *              v28.0 2026-10-17  修正：一个字段的插入、更新未经字段值的编码
+ *              v29.0 2026-10-17  修正：是否按原始字节保存编码后的字段值，在创建连接时按全局的配置判断。改为按每个字段值判断
+ *              v30.0 2026-10-17  修正：近端缓存只在按节点ID的连接上开启跟踪，读取所用的按 host:port 的节点连接收不到失效通知。
+ *                                修正：断线重连、拓扑变化后自动重新开启跟踪；缓存与读取命令一同发布；读取异常时取消令牌
+ *              v31.0 2026-10-17  修正：分页扫描全表数据时，HSCAN 按读取的路由策略可能被发到不同的节点。改为全程在主节点上分页
+ *              v32.0 2026-10-17  修正：开启统计前已创建的连接，其命令未被统计。改为创建连接前注册转发的命令监听器
+ *              v33.0 2026-10-17  修正：插入一行数据的行级过期时间与数据在一个批次中发送
+ *              v34.0 2026-10-17  修正：集群拓扑的统计数据不再称自适应刷新的次数反映 MOVED/ASK 重定向的多少
+ *              v35.0 2026-10-17  修正：异步访问与同步访问共用库、表是否存在的本地缓存
  */
 public class RedisLettuce implements IRedis
 {
@@ -45,25 +102,144 @@ public class RedisLettuce implements IRedis
 
     private RedisClusterClient                           clusterClient;
 
-    private RedisAdvancedClusterCommands<String ,String> clusterCmd;
+    /** 多路复用的连接组，及阻塞、事务命令专用的连接池 */
+    private RedisConnections<StatefulRedisClusterConnection<String ,String>> clusterConns;
+    
+    /** 异步访问 */
+    private RedisLettuceAsync<RedisAdvancedClusterAsyncCommands<String ,String>> clusterAsync;
+    
+    /** 响应式访问 */
+    private RedisLettuceReactive<RedisAdvancedClusterReactiveCommands<String ,String>> clusterReactive;
+    
+    /** 原子写入一行数据的Lua脚本 */
+    private RedisRowScript<RedisAdvancedClusterCommands<String ,String>> clusterScript;
+    
+    /** 库、表是否存在的本地缓存 */
+    private RedisExistsCache existsCache;
+    
+    /** 缓存失效通知的发布订阅连接。为NULL时不通知 */
+    private StatefulRedisPubSubConnection<String ,String> existsPubSub;
+    
+    /** 近端缓存，及其专用的连接、读取命令。为NULL时不开启 */
+    private volatile RedisNearTracking<RedisAdvancedClusterCommands<String ,String>> near;
+    
+    /** 批量管道（专用连接） */
+    private RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> clusterBatch;
+    
+    /** 读取的路由策略。为NULL时读取主节点 */
+    private ReadFrom readFrom;
+    
+    /** 按读取的路由策略的连接组。为NULL时读取主节点 */
+    private volatile RedisConnections<StatefulRedisClusterConnection<String ,String>> readConns;
+    
+    /** 按读取的路由策略的批量管道（专用连接） */
+    private volatile RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> readBatch;
+    
+    /** 当前线程是否读取自己的写入（即读取主节点） */
+    private ThreadLocal<Boolean> readYourWrites;
+    
+    /** 集群拓扑的统计数据 */
+    private RedisTopologyMetrics topologyMetrics;
+    
+    /** 访问的统计。为NULL时不统计（见 enableMetrics()） */
+    private volatile RedisMetrics metrics;
+    
+    /** 转发命令事件的监听器。创建连接前注册，开启统计后转发给 metrics */
+    private RedisCommandListener commandListener;
+    
+    /** 统计 IRedis 方法的代理 */
+    private IRedis metricsProxy;
+    
+    /** 行数据Key值的组织方式 */
+    private RedisKeyLayout                               keyLayout;
+    
+    /** 字段值的编码 */
+    private RedisValueCodec                              valueCodec;
 
 
 
     public RedisLettuce(RedisClusterConfig i_RedisClusterConfig)
     {
-        this(i_RedisClusterConfig.toLettuce());
+        this(i_RedisClusterConfig.toLettuce()
+            ,RedisKeyLayout.valueOf(i_RedisClusterConfig.getHashTag())
+            ,RedisValueCodec.valueOf(i_RedisClusterConfig.getValueCodec() ,i_RedisClusterConfig.getCompressThreshold())
+            ,i_RedisClusterConfig.getConnections() == null ? RedisConnections.$DefaultSize : i_RedisClusterConfig.getConnections()
+            ,i_RedisClusterConfig.toPoolConfig());
+        
+        if ( !Help.isNull(i_RedisClusterConfig.getReadFrom()) )
+        {
+            this.setReadFrom(ReadFrom.valueOf(i_RedisClusterConfig.getReadFrom()));
+        }
     }
 
 
 
     public RedisLettuce(RedisClusterClient i_ClusterClient)
     {
-        this.clusterClient = i_ClusterClient;
+        this(i_ClusterClient ,RedisKeyLayout.$Plain);
+    }
+
+
+
+    public RedisLettuce(RedisClusterClient i_ClusterClient ,RedisKeyLayout i_KeyLayout)
+    {
+        this(i_ClusterClient ,i_KeyLayout ,RedisValueCodec.$Text);
+    }
+
+
+
+    public RedisLettuce(RedisClusterClient i_ClusterClient ,RedisKeyLayout i_KeyLayout ,RedisValueCodec i_ValueCodec)
+    {
+        this(i_ClusterClient ,i_KeyLayout ,i_ValueCodec ,RedisConnections.$DefaultSize ,null);
+    }
+
+
+
+    /**
+     * 构造器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_ClusterClient  集群客户端
+     * @param i_KeyLayout      行数据Key值的组织方式
+     * @param i_ValueCodec     字段值的编码
+     * @param i_Connections    多路复用的连接数
+     * @param i_PoolConfig     阻塞、事务命令专用连接池的配置。为NULL时按默认配置
+     */
+    @SuppressWarnings("rawtypes")
+    public RedisLettuce(RedisClusterClient i_ClusterClient ,RedisKeyLayout i_KeyLayout ,RedisValueCodec i_ValueCodec ,int i_Connections ,GenericObjectPoolConfig i_PoolConfig)
+    {
+        this.clusterClient   = i_ClusterClient;
+        this.keyLayout       = i_KeyLayout  == null ? RedisKeyLayout.$Plain  : i_KeyLayout;
+        this.valueCodec      = i_ValueCodec == null ? RedisValueCodec.$Text : i_ValueCodec;
+        this.existsCache     = new RedisExistsCache();
+        this.readYourWrites  = new ThreadLocal<Boolean>();
+        this.topologyMetrics = new RedisTopologyMetrics(i_ClusterClient);
+        this.commandListener = new RedisCommandListener();
+        
+        // Lettuce只在创建连接时添加命令监听器，所以在创建连接前注册。开启统计前不做任何处理
+        this.clusterClient.addListener(this.commandListener);
         
         try
         {
-            // 创建连接到 Redis 集群的连接
-            this.clusterCmd = this.clusterClient.connect().sync();
+            // 创建连接到 Redis 集群的连接组。同步命令按轮询分散到所有连接上，异步命令共用第一个连接
+            this.clusterConns    = new RedisConnections<StatefulRedisClusterConnection<String ,String>>(this::connect_Core ,i_Connections ,i_PoolConfig);
+            StatefulRedisClusterConnection<String ,String> v_Conn = this.clusterConns.first();
+            this.clusterAsync    = new RedisLettuceAsync<RedisAdvancedClusterAsyncCommands<String ,String>>(v_Conn.async() ,this.keyLayout);
+            this.clusterReactive = new RedisLettuceReactive<RedisAdvancedClusterReactiveCommands<String ,String>>(v_Conn.reactive() ,this.keyLayout);
+            this.clusterScript   = new RedisRowScript<RedisAdvancedClusterCommands<String ,String>>(this::clusterCmd ,true);
+            this.clusterAsync   .setValueCodec(this.valueCodec);
+            this.clusterAsync   .setExistsCache(this.existsCache);
+            this.clusterReactive.setValueCodec(this.valueCodec);
+            this.clusterScript  .setValueCodec(this.valueCodec);
+            
+            // 创建批量管道专用的连接。它们关闭了自动刷新，所以不与同步命令共用连接
+            this.clusterBatch = this.newBatch_Core(null);
+            
+            // 默认开启缓存失效的通知。否则其它实例删除表后，存活时长内仍判定表存在，写入的行数据缺少表的注册
+            this.initExistsPubSub_Core();
         }
         catch (Exception exce)
         {
@@ -74,9 +250,214 @@ public class RedisLettuce implements IRedis
 
 
 
+    /**
+     * 创建连接。编码后的字段值按原始字节编解码，文本按UTF-8（见 RedisLettuceCodec）
+     * 
+     * 按每个字段值判断，所以连接创建后才配置的序列化器或压缩阈值（如按表配置的），也按原始字节保存
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    private StatefulRedisClusterConnection<String ,String> connect_Core()
+    {
+        return this.clusterClient.connect(RedisLettuceCodec.$Codec);
+    }
+    
+    
+    
+    /**
+     * 创建批量管道及其专用的连接。专用连接的数量与多路复用的连接数相同，并发的批次可同时入队
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修改：按多路复用的连接数创建多个专用的连接
+     *
+     * @param i_ReadFrom  读取的路由策略。为NULL时读取主节点
+     * @return
+     */
+    private RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> newBatch_Core(ReadFrom i_ReadFrom)
+    {
+        List<StatefulRedisClusterConnection<String ,String>> v_BatchConns = new ArrayList<StatefulRedisClusterConnection<String ,String>>();
+        for (int x=this.clusterConns.size(); x>0; x--)
+        {
+            StatefulRedisClusterConnection<String ,String> v_Conn = this.connect_Core();
+            if ( i_ReadFrom != null )
+            {
+                v_Conn.setReadFrom(i_ReadFrom);
+            }
+            v_BatchConns.add(v_Conn);
+        }
+        StatefulRedisClusterConnection<String ,String> v_BatchConn = v_BatchConns.get(0);
+        
+        // 批量操作时，按关键字的哈希槽所属的节点分组
+        RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> v_Batch = new RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>>(v_BatchConns ,StatefulRedisClusterConnection::async ,v_Key ->
+        {
+            RedisClusterNode v_Node = v_BatchConn.getPartitions().getPartitionBySlot(SlotHash.getSlot(v_Key));
+            return v_Node == null ? "" : v_Node.getNodeId();
+        });
+        v_Batch.setKeyLayout(this.keyLayout);
+        v_Batch.setValueCodec(this.valueCodec);
+        
+        if ( this.clusterBatch != null )
+        {
+            v_Batch.setBatchSize(this.clusterBatch.getBatchSize());
+        }
+        
+        return v_Batch;
+    }
+    
+    
+    
+    /**
+     * 获取同步命令。按轮询的方式从多路复用的连接组中选择一个连接
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    private RedisAdvancedClusterCommands<String ,String> clusterCmd()
+    {
+        return this.clusterConns.next().sync();
+    }
+    
+    
+    
+    /**
+     * 获取读取命令。按读取的路由策略（见 setReadFrom()）路由到副本节点，当前线程读取自己的写入时读取主节点
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    private RedisAdvancedClusterCommands<String ,String> readCmd()
+    {
+        RedisConnections<StatefulRedisClusterConnection<String ,String>> v_ReadConns = this.readConns;
+        if ( v_ReadConns == null || this.isReadYourWrites() )
+        {
+            return this.clusterCmd();
+        }
+        
+        return v_ReadConns.next().sync();
+    }
+    
+    
+    
+    /**
+     * 获取读取的批量管道。按读取的路由策略（见 setReadFrom()）路由到副本节点，当前线程读取自己的写入时读取主节点
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    private RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> readBatch()
+    {
+        RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> v_ReadBatch = this.readBatch;
+        if ( v_ReadBatch == null || this.isReadYourWrites() )
+        {
+            return this.clusterBatch;
+        }
+        
+        return v_ReadBatch;
+    }
+    
+    
+    
+    /**
+     * 从连接池借用独占的连接，执行阻塞命令（如 BLPOP）或事务命令（MULTI/EXEC/WATCH）。执行完成后归还连接
+     * 
+     * 注：不要在动作中关闭连接，也不要将连接保留到动作之外
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <R>       返回结果的类型
+     * @param i_Action  在独占的连接上执行的动作
+     * @return
+     */
+    public <R> R execute(Function<StatefulRedisClusterConnection<String ,String> ,R> i_Action)
+    {
+        return this.clusterConns.execute(i_Action);
+    }
+    
+    
+    
+    /**
+     * 开启访问的统计，并注册到JMX。重复调用时返回同一个代理
+     * 
+     * 按 IRedis 方法统计须通过返回的代理访问；按Redis命令统计（含Lettuce的 CommandLatencyCollector）对所有访问均有效
+     * 
+     * 返回的代理还为每次调用发出JFR事件 org.hy.common.redis.Call，及超过阈值的慢调用事件 org.hy.common.redis.SlowCall（见 RedisSlowCallEvent）
+     * 
+     * 经返回的代理调用时，统计每次调用发送的命令数。用 getMetrics().setCommandBudget() 设置命令预算后，超过预算的调用记录到日志
+     * 
+     * 命令经构造时注册的转发监听器（见 RedisCommandListener）统计，开启前已创建的连接上的命令也被统计
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修正：经构造时注册的转发监听器统计命令
+     *
+     * @return  返回统计 IRedis 方法的代理
+     */
+    public synchronized IRedis enableMetrics()
+    {
+        if ( this.metrics == null )
+        {
+            RedisMetrics v_Metrics = new RedisMetrics("RedisLettuce@" + Integer.toHexString(System.identityHashCode(this)));
+            v_Metrics.attach(this.clusterClient ,this.commandListener);
+            v_Metrics.register();
+            
+            this.metricsProxy = v_Metrics.wrap(this);
+            this.metrics      = v_Metrics;
+        }
+        
+        return this.metricsProxy;
+    }
+    
+    
+    
+    /**
+     * 获取：访问的统计。未开启时为NULL
+     */
+    public RedisMetrics getMetrics()
+    {
+        return this.metrics;
+    }
+    
+    
+    
+    /**
+     * 获取：多路复用的连接组，及阻塞、事务命令专用的连接池
+     */
+    public RedisConnections<StatefulRedisClusterConnection<String ,String>> getConnections()
+    {
+        return this.clusterConns;
+    }
+    
+    
+    
     @Override
     protected void finalize() throws Throwable
     {
+        this.setReadFrom(null);
+        this.topologyMetrics.close();
+        this.setNearCache(false);
+        if ( this.metrics != null )
+        {
+            this.metrics.close();
+        }
+        this.clusterConns .close();
         this.clusterClient.shutdown();
         this.clusterClient = null;
     }
@@ -98,7 +479,41 @@ public class RedisLettuce implements IRedis
     @Override
     public Object getSource()
     {
-        return this.clusterCmd;
+        return this.clusterConns.first().sync();
+    }
+    
+    
+    
+    /**
+     * 获取异步访问接口。与本对象共用连接，所有操作均不阻塞调用线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    @Override
+    public IRedisAsync getAsync()
+    {
+        return this.clusterAsync;
+    }
+    
+    
+    
+    /**
+     * 获取响应式访问接口。与本对象共用连接，全表数据按流式读取，支持背压
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    @Override
+    public IRedisReactive getReactive()
+    {
+        return this.clusterReactive;
     }
     
     
@@ -133,7 +548,7 @@ public class RedisLettuce implements IRedis
     @Override
     public Date getNowTime(int i_Timezone)
     {
-        List<String> v_UnixTime = this.clusterCmd.time();
+        List<String> v_UnixTime = this.clusterCmd().time();
         if ( Help.isNull(v_UnixTime) || v_UnixTime.size() < 2 )
         {
             return null;
@@ -182,6 +597,48 @@ public class RedisLettuce implements IRedis
     {
         return i_Database + "." + i_TableName;
     }
+    
+    
+    
+    /**
+     * 获取行数据的物理Key值。即将行主键转为真实保存在Redis的Key值（见 RedisKeyLayout）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称
+     * @param i_PrimaryKey  行主键
+     * @return
+     */
+    private String getRowKey(String i_TableID ,String i_PrimaryKey)
+    {
+        return this.keyLayout.getRowKey(i_TableID ,i_PrimaryKey);
+    }
+    
+    
+    
+    /**
+     * 获取行数据的物理Key值。库、表名称为空时，行主键即为物理Key值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database    库名称（逻辑名称）
+     * @param i_TableName   表名称（逻辑名称）
+     * @param i_PrimaryKey  行主键
+     * @return
+     */
+    private String getRowKey(String i_Database ,String i_TableName ,String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) )
+        {
+            return i_PrimaryKey;
+        }
+        
+        return this.getRowKey(this.getTableID(i_Database ,i_TableName) ,i_PrimaryKey);
+    }
 
 
 
@@ -193,46 +650,54 @@ public class RedisLettuce implements IRedis
      * @author      ZhengWei(HY)
      * @createDate  2024-03-15
      * @version     v1.0
+     *              v2.0  2026-10-17  修改：按表加锁，替代整个实例的同步锁
      *
      * @param i_Database   库名称
      * @param i_TableName  表名称
      */
     @Override
-    public synchronized boolean createTable(String i_Database ,String i_TableName)
+    public boolean createTable(String i_Database ,String i_TableName)
     {
         String v_DBID    = this.getDatabaseID(i_Database);
         String v_TableID = this.getTableID(   i_Database ,i_TableName);
         
-        // 判定表对象是否存在
-        if ( this.isExistsTable_Core(v_TableID) )
-        {
-            String v_CreateTime = this.clusterCmd.hget(v_DBID ,v_TableID);
-            $Logger.error("Table[" + v_TableID + "] exists ,it was created at " + v_CreateTime);
-            return false;
-        }
-        
-        if ( !this.isExistsDatabase_Core(v_DBID) )
-        {
-            // 添加一个空主键，使用空字段实现预占用的创建库Hash对象
-            // 不通过返回值判定，也不报错，提高容错性
-            this.clusterCmd.hsetnx(v_DBID ,"" ,new Date().getFull());
-        }
-        
-        // 判定表是否关系到库（不存在是创建关系，而不是报错，提高容错性）
-        String v_Now = Date.getNowTime().getFull();
-        if ( !this.clusterCmd.hexists(v_DBID ,v_TableID) )
+        // 按表加锁，不同表的创建互不阻塞
+        synchronized ( this.existsCache.getLock(v_TableID) )
         {
-            if ( !this.clusterCmd.hset(v_DBID ,v_TableID ,v_Now) )
+            // 判定表对象是否存在
+            if ( this.isExistsTable_Core(v_TableID) )
             {
-                $Logger.error("An exception occurred while creating the Table[" + v_TableID + "] for MetaData.");
+                String v_CreateTime = this.clusterCmd().hget(v_DBID ,v_TableID);
+                $Logger.error("Table[" + v_TableID + "] exists ,it was created at " + v_CreateTime);
                 return false;
             }
+            
+            if ( !this.isExistsDatabase_Core(v_DBID) )
+            {
+                // 添加一个空主键，使用空字段实现预占用的创建库Hash对象
+                // 不通过返回值判定，也不报错，提高容错性
+                this.clusterCmd().hsetnx(v_DBID ,"" ,new Date().getFull());
+            }
+            
+            // 判定表是否关系到库（不存在是创建关系，而不是报错，提高容错性）
+            String v_Now = Date.getNowTime().getFull();
+            if ( !this.clusterCmd().hexists(v_DBID ,v_TableID) )
+            {
+                if ( !this.clusterCmd().hset(v_DBID ,v_TableID ,v_Now) )
+                {
+                    $Logger.error("An exception occurred while creating the Table[" + v_TableID + "] for MetaData.");
+                    return false;
+                }
+            }
+            
+            // 添加一个空主键，使用空字段实现预占用的创建表Hash对象
+            // 不通过返回值判定，也不报错，提高容错性
+            this.clusterCmd().hsetnx(v_TableID ,"" ,v_Now);
+            
+            this.existsCache.put(v_DBID);
+            this.existsCache.put(v_TableID);
+            return true;
         }
-        
-        // 添加一个空主键，使用空字段实现预占用的创建表Hash对象
-        // 不通过返回值判定，也不报错，提高容错性
-        this.clusterCmd.hsetnx(v_TableID ,"" ,v_Now);
-        return true;
     }
 
 
@@ -288,33 +753,118 @@ public class RedisLettuce implements IRedis
      */
     private boolean dropTable_Core(String i_DBID ,String i_TableID)
     {
-        this.truncate_Core(i_TableID);                        // 清空数据
-        this.clusterCmd.hdel(i_TableID ,"");                  // 删除 空主键
-        this.clusterCmd.del(i_TableID);                       // 删除表
-        return this.clusterCmd.hdel(i_DBID ,i_TableID) >= 1L; // 删除表库关系
+        RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>> v_Drop = this.newDropTable_Core(i_DBID ,i_TableID);
+        v_Drop.execute();
+        return v_Drop.isCompleted();
     }
     
     
     
     /**
-     * 删除整个数据库
+     * 创建删除内存表的任务。先分批删除行数据，再删除表（含空主键），最后删除表库关系
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2024-03-18
+     * @createDate  2026-10-17
      * @version     v1.0
      *
-     * @param i_Database  库名称
+     * @param i_DBID     库的物理名称。即在Redis中保存的真实Key值
+     * @param i_TableID  表的物理名称。即在Redis中保存的真实Key值
      * @return
      */
-    @Override
-    public boolean dropDatabase(String i_Database)
+    private RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>> newDropTable_Core(String i_DBID ,String i_TableID)
     {
-        if ( Help.isNull(i_Database) )
+        return new RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>>(this::clusterCmd ,this.clusterBatch ,i_TableID ,true ,() ->
         {
-            return false;
-        }
-        
-        String v_DBID = this.getDatabaseID(i_Database);
+            this.invalidate_Core(i_TableID);           // 表是否存在的缓存失效
+            this.clusterCmd().hdel(i_DBID ,i_TableID); // 删除表库关系
+        });
+    }
+    
+    
+    
+    /**
+     * 创建删除内存表的任务。由调用者执行 execute()，执行期间可获取进度，或在其它线程中取消
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             表或库不存在时返回NULL
+     */
+    public RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>> newDropTable(String i_Database ,String i_TableName)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return null;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return null;
+        }
+        
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+        if ( !this.isExistsTable_Core(v_TableID) )
+        {
+            return null;
+        }
+        
+        String v_DBID = this.getDatabaseID(i_Database);
+        if ( !this.isExistsDatabase_Core(v_DBID) )
+        {
+            return null;
+        }
+        
+        return this.newDropTable_Core(v_DBID ,v_TableID);
+    }
+    
+    
+    
+    /**
+     * 在后台删除内存表。按每秒最多删除的行数限速，不占用调用者的线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rate       每秒最多删除的行数。小于等于0时不限速
+     * @return             返回已启动的后台任务。表或库不存在时返回NULL
+     */
+    public RedisDeleteJob dropTableJob(String i_Database ,String i_TableName ,long i_Rate)
+    {
+        RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>> v_Drop = this.newDropTable(i_Database ,i_TableName);
+        if ( v_Drop == null )
+        {
+            return null;
+        }
+        
+        return new RedisDeleteJob(v_Drop ,i_Rate).start();
+    }
+    
+    
+    
+    /**
+     * 删除整个数据库
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2024-03-18
+     * @version     v1.0
+     *
+     * @param i_Database  库名称
+     * @return
+     */
+    @Override
+    public boolean dropDatabase(String i_Database)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return false;
+        }
+        
+        String v_DBID = this.getDatabaseID(i_Database);
         if ( !this.isExistsDatabase_Core(v_DBID) )
         {
             return false;
@@ -332,7 +882,8 @@ public class RedisLettuce implements IRedis
             }
         }
         
-        return this.clusterCmd.del(v_DBID) >= 1L;
+        this.invalidate_Core(v_DBID);
+        return this.clusterCmd().del(v_DBID) >= 1L;
     }
 
 
@@ -366,6 +917,7 @@ public class RedisLettuce implements IRedis
             return -1L;
         }
         
+        this.invalidate_Core(v_TableID);
         return truncate_Core(v_TableID);
     }
     
@@ -383,28 +935,83 @@ public class RedisLettuce implements IRedis
      */
     private Long truncate_Core(String i_TableID)
     {
-        Map<String ,String> v_RowIDs = this.clusterCmd.hgetall(i_TableID);
-        if ( Help.isNull(v_RowIDs) )
+        return this.newTruncate_Core(i_TableID).execute();
+    }
+    
+    
+    
+    /**
+     * 创建清空内存表数据的任务。按 HSCAN 游标分批删除，保留创建表时预留的空主键
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID  表的物理名称。即在Redis中保存的真实Key值
+     * @return
+     */
+    private RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>> newTruncate_Core(String i_TableID)
+    {
+        return new RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>>(this::clusterCmd ,this.clusterBatch ,i_TableID ,false ,null);
+    }
+    
+    
+    
+    /**
+     * 创建清空内存表数据的任务。由调用者执行 execute()，执行期间可获取进度，或在其它线程中取消
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             表不存在时返回NULL
+     */
+    public RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>> newTruncate(String i_Database ,String i_TableName)
+    {
+        if ( Help.isNull(i_Database) )
         {
-            return 0L;
+            return null;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return null;
         }
         
-        long v_Count = 0L;
-        for (String v_RowID : v_RowIDs.keySet())
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+        if ( !this.isExistsTable_Core(v_TableID) )
         {
-            if ( Help.isNull(v_RowID) )
-            {
-                continue;
-            }
-            
-            Long v_DelRet = this.delete_Core(i_TableID ,v_RowID);
-            if ( v_DelRet >= 0L )
-            {
-                v_Count += v_DelRet;
-            }
+            return null;
         }
         
-        return v_Count;
+        this.invalidate_Core(v_TableID);
+        return this.newTruncate_Core(v_TableID);
+    }
+    
+    
+    
+    /**
+     * 在后台清空内存表数据。按每秒最多删除的行数限速，不占用调用者的线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rate       每秒最多删除的行数。小于等于0时不限速
+     * @return             返回已启动的后台任务。表不存在时返回NULL
+     */
+    public RedisDeleteJob truncateJob(String i_Database ,String i_TableName ,long i_Rate)
+    {
+        RedisBulkDelete<RedisAdvancedClusterCommands<String ,String>> v_Truncate = this.newTruncate(i_Database ,i_TableName);
+        if ( v_Truncate == null )
+        {
+            return null;
+        }
+        
+        return new RedisDeleteJob(v_Truncate ,i_Rate).start();
     }
 
 
@@ -461,8 +1068,41 @@ public class RedisLettuce implements IRedis
      */
     private Long delete_Core(String i_TableID ,String i_PrimaryKey)
     {
-        this.clusterCmd.hdel(i_TableID ,i_PrimaryKey);
-        return this.clusterCmd.del(i_PrimaryKey);
+        this.clusterCmd().hdel(i_TableID ,i_PrimaryKey);
+        return this.clusterCmd().del(this.getRowKey(i_TableID ,i_PrimaryKey));
+    }
+
+    
+    
+    /**
+     * 批量删除只有主键信息，没有行数据信息的主键信息
+     * 
+     * 这情况产生的原因有：
+     *     情况1：行数据信息因到过期时间后被Redis释放
+     *     情况2：本类库Bug而生成的脏数据
+     *     情况3：本类库生成的结构被第三方窜改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID      表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKeys  行主键
+     */
+    private void deleteDirtys_Core(String i_TableID ,List<String> i_PrimaryKeys)
+    {
+        if ( Help.isNull(i_PrimaryKeys) )
+        {
+            return;
+        }
+        
+        // 从副本节点读取时，行数据可能尚未同步到副本，不能判定为脏数据
+        if ( this.readBatch() != this.clusterBatch )
+        {
+            return;
+        }
+        
+        this.clusterBatch.deleteRows(i_TableID ,i_PrimaryKeys);
     }
 
 
@@ -622,7 +1262,7 @@ public class RedisLettuce implements IRedis
         
         try
         {
-            return this.insert(i_Database ,i_TableName ,i_PrimaryKey ,Help.toMap(i_Datas) ,i_ExpireTime);
+            return this.insert(i_Database ,i_TableName ,i_PrimaryKey ,RedisRowMapper.toMap(i_Datas ,false) ,i_ExpireTime);
         }
         catch (Exception exce)
         {
@@ -664,6 +1304,7 @@ public class RedisLettuce implements IRedis
      * @author      ZhengWei(HY)
      * @createDate  2024-09-14
      * @version     v1.0
+     *              v2.0  2026-10-17  修正：行级过期时间的 EXPIREAT 与数据在一个批次中发送
      * 
      * @param i_Database   库名称
      * @param i_TableName  表名称
@@ -701,26 +1342,8 @@ public class RedisLettuce implements IRedis
             }
         }
         
-        long v_Count = 0L;
-        for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
-        {
-            if ( v_Data.getValue() == null )
-            {
-                v_Count += this.insert_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,null);
-            }
-            else
-            {
-                v_Count += this.insert_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,v_Data.getValue().toString());
-            }
-        }
-        
-        // 设置行级过期时间
-        if ( v_Count >= 1 )
-        {
-            this.expire(i_PrimaryKey ,i_ExpireTime);
-        }
-        
-        return v_Count;
+        // 表、主键关系、所有字段与行级过期时间在一个批次中发送
+        return this.clusterBatch.insertRow(v_TableID ,i_PrimaryKey ,i_Datas ,i_ExpireTime);
     }
 
 
@@ -741,10 +1364,10 @@ public class RedisLettuce implements IRedis
     private Long insert_Core(String i_TableID ,String i_PrimaryKey ,String i_Field ,String i_Value)
     {
         // 表、主键关系
-        this.clusterCmd.hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
+        this.clusterCmd().hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
         
-        // 一行中的一个字段的数据
-        if ( this.clusterCmd.hsetnx(i_PrimaryKey ,i_Field ,i_Value) )
+        // 一行中的一个字段的数据。与整行写入一样经字段值的编码，超过压缩阈值时压缩
+        if ( this.clusterCmd().hsetnx(this.getRowKey(i_TableID ,i_PrimaryKey) ,i_Field ,this.valueCodec.encode(i_Value ,this.valueCodec.getCompressThreshold(i_TableID))) )
         {
             return 1L;
         }
@@ -973,7 +1596,7 @@ public class RedisLettuce implements IRedis
             }
             else
             {
-                return this.update(i_Database ,i_TableName ,i_PrimaryKey ,Help.toMap(i_Datas ,null ,i_HaveNullValue ,false) ,i_ExpireTime);
+                return this.update(i_Database ,i_TableName ,i_PrimaryKey ,RedisRowMapper.toMap(i_Datas ,i_HaveNullValue) ,i_ExpireTime);
             }
         }
         catch (Exception exce)
@@ -1055,26 +1678,19 @@ public class RedisLettuce implements IRedis
             }
         }
         
-        long v_Count = 0L;
-        for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
+        // 表、主键关系、多字段的HSET、NULL值字段的HDEL及行级过期时间在一个Lua脚本中原子执行
+        String v_RowKey = this.getRowKey(v_TableID ,i_PrimaryKey);
+        if ( this.clusterScript.isColocated(v_TableID ,v_RowKey) )
         {
-            if ( v_Data.getValue() == null )
+            Long v_Count = this.clusterScript.updateRow(v_TableID ,i_PrimaryKey ,v_RowKey ,i_Datas ,i_ExpireTime);
+            if ( v_Count >= 0L )
             {
-                v_Count += this.update_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,null);
+                return v_Count;
             }
-            else
-            {
-                v_Count += this.update_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,v_Data.getValue().toString());
-            }
-        }
-        
-        // 设置行级过期时间
-        if ( v_Count >= 1 )
-        {
-            this.expire(i_PrimaryKey ,i_ExpireTime);
         }
         
-        return v_Count;
+        // 不在同一哈希槽中时，在一个批次中发送
+        return this.clusterBatch.updateRow(v_TableID ,i_PrimaryKey ,i_Datas ,i_ExpireTime);
     }
 
 
@@ -1097,17 +1713,17 @@ public class RedisLettuce implements IRedis
     private Long update_Core(String i_TableID ,String i_PrimaryKey ,String i_Field ,String i_Value)
     {
         // 表、主键关系
-        this.clusterCmd.hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
+        this.clusterCmd().hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
         
         if ( i_Value == null )
         {
             // 一行中的一个字段被删除
-            this.clusterCmd.hdel(i_PrimaryKey ,i_Field);
+            this.clusterCmd().hdel(this.getRowKey(i_TableID ,i_PrimaryKey) ,i_Field);
         }
         else
         {
-            // 一行中的一个字段的数据
-            this.clusterCmd.hset(i_PrimaryKey ,i_Field ,i_Value);
+            // 一行中的一个字段的数据。与整行写入一样经字段值的编码，超过压缩阈值时压缩
+            this.clusterCmd().hset(this.getRowKey(i_TableID ,i_PrimaryKey) ,i_Field ,this.valueCodec.encode(i_Value ,this.valueCodec.getCompressThreshold(i_TableID)));
         }
         return 1L;
     }
@@ -1306,106 +1922,235 @@ public class RedisLettuce implements IRedis
     
     
     /**
-     * 获取一行数据
+     * 批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
      * 
-     * @author      ZhengWei(HY)
-     * @createDate  2024-03-17
-     * @version     v1.0
-     *
-     * @param i_PrimaryKey 行主键
-     * @param i_RowClass   行类型的元类
-     * @return             Map.key字段名，Map.value字段值
-     */
-    @Override
-    public Map<String ,String> getRow(String i_PrimaryKey)
-    {
-        if ( Help.isNull(i_PrimaryKey) )
-        {
-            return null;
-        }
-        
-        return this.clusterCmd.hgetall(i_PrimaryKey);
-    }
-
-
-
-    /**
-     * 获取一行数据
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：多行数据按批次管道发送。集群模式时按行主键所属的节点分组，同时向所有节点发送
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2024-03-17
+     * @createDate  2026-10-17
      * @version     v1.0
-     *
-     * @param <E>          行类型
-     * @param i_PrimaryKey 行主键
-     * @param i_RowClass   行类型的元类
-     * @return
-     */
-    @Override
-    public <E> E getRow(String i_PrimaryKey ,Class<E> i_RowClass)
-    {
-        return this.getRow(null ,null ,i_PrimaryKey ,i_RowClass);
-    }
-
-
-
-    /**
-     * 获取一行数据
      * 
-     * @author      ZhengWei(HY)
-     * @createDate  2024-03-17
-     * @version     v1.0
-     *
-     * @param <E>          行类型
-     * @param i_PrimaryKey 行主键
-     * @param io_RowObject 行对象
-     * @return             查不时返回NULL
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.key为行主键，Map.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @return             Map.key为行主键，Map.value为影响的行数。负数表示异常。入参异常时返回NULL
      */
     @Override
-    public <E> E getRow(String i_PrimaryKey ,E io_RowObject)
+    public Map<String ,Long> saveRows(String i_Database ,String i_TableName ,Map<String ,?> i_Rows)
     {
-        return this.getRow(null ,null ,i_PrimaryKey ,io_RowObject);
+        return this.saveRows(i_Database ,i_TableName ,i_Rows ,null);
     }
     
     
     
     /**
-     * 获取一行数据（Map结构中元素类型的翻译）
+     * 批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
      * 
-     *   当i_RowClass为Map结构，并且配置有 RedisMapType 时，将按其转换为Java类型
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：多行数据按批次管道发送。集群模式时按行主键所属的节点分组，同时向所有节点发送
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2025-02-06
+     * @createDate  2026-10-17
      * @version     v1.0
-     *
-     * @param <E>          行类型
-     * @param i_Database   库名称（允许为空或NULL）
-     * @param i_TableName  表名称（允许为空或NULL）
-     * @param i_PrimaryKey 行主键
-     * @param i_RowClass   行类型的元类
-     * @return
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.key为行主键，Map.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             Map.key为行主键，Map.value为影响的行数。负数表示异常。入参异常时返回NULL
      */
-    public <E> E getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,Class<E> i_RowClass)
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<String ,Long> saveRows(String i_Database ,String i_TableName ,Map<String ,?> i_Rows ,Long i_ExpireTime)
     {
-        if ( Help.isNull(i_PrimaryKey) )
+        if ( Help.isNull(i_Database) )
         {
             return null;
         }
-        
-        if ( i_RowClass == null )
+        if ( Help.isNull(i_TableName) )
         {
             return null;
         }
-        
-        try
+        if ( Help.isNull(i_Rows) )
         {
-            E v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
-            return this.getRow(i_Database ,i_TableName ,i_PrimaryKey ,v_RowObject);
+            return null;
         }
-        catch (Exception Exce)
+        
+        Map<String ,Long>                v_Rets  = new LinkedHashMap<String ,Long>(i_Rows.size());
+        Map<String ,Map<String ,Object>> v_Datas = new LinkedHashMap<String ,Map<String ,Object>>(i_Rows.size());
+        for (Map.Entry<String ,?> v_Row : i_Rows.entrySet())
         {
-            $Logger.error(Exce);
-        }
+            String v_PrimaryKey = v_Row.getKey();
+            Object v_RowData    = v_Row.getValue();
+            
+            if ( Help.isNull(v_PrimaryKey) || v_RowData == null )
+            {
+                v_Rets.put(v_PrimaryKey ,-1L);
+                continue;
+            }
+            
+            // 基础类型无法按一行数据写入
+            if ( Help.isBasicDataType(v_RowData.getClass()) )
+            {
+                v_Rets.put(v_PrimaryKey ,-8L);
+                continue;
+            }
+            
+            try
+            {
+                Map<String ,Object> v_RowMap = null;
+                if ( MethodReflect.isExtendImplement(v_RowData ,Map.class) )
+                {
+                    v_RowMap = (Map<String ,Object>) v_RowData;
+                }
+                else
+                {
+                    v_RowMap = RedisRowMapper.toMap(v_RowData ,false);
+                }
+                
+                if ( Help.isNull(v_RowMap) )
+                {
+                    v_Rets.put(v_PrimaryKey ,-1L);
+                }
+                else
+                {
+                    v_Rets .put(v_PrimaryKey ,0L);      // 先占位，保持返回结果的顺序与入参一致
+                    v_Datas.put(v_PrimaryKey ,v_RowMap);
+                }
+            }
+            catch (Exception exce)
+            {
+                $Logger.error(exce);
+                v_Rets.put(v_PrimaryKey ,-9L);
+            }
+        }
+        
+        if ( v_Datas.isEmpty() )
+        {
+            return v_Rets;
+        }
+        
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+        if ( !this.isExistsTable_Core(v_TableID) )
+        {
+            if ( !this.createTable(i_Database ,i_TableName) )
+            {
+                for (String v_PrimaryKey : v_Datas.keySet())
+                {
+                    v_Rets.put(v_PrimaryKey ,-2L);
+                }
+                return v_Rets;
+            }
+        }
+        
+        v_Rets.putAll(this.clusterBatch.updateRows(v_TableID ,v_Datas ,i_ExpireTime));
+        return v_Rets;
+    }
+    
+    
+    
+    /**
+     * 获取一行数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2024-03-17
+     * @version     v1.0
+     *
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return             Map.key字段名，Map.value字段值
+     */
+    @Override
+    public Map<String ,String> getRow(String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_PrimaryKey) )
+        {
+            return null;
+        }
+        
+        return RedisValueCodec.toText(this.hgetall_Near(i_PrimaryKey));
+    }
+
+
+
+    /**
+     * 获取一行数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2024-03-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return
+     */
+    @Override
+    public <E> E getRow(String i_PrimaryKey ,Class<E> i_RowClass)
+    {
+        return this.getRow(null ,null ,i_PrimaryKey ,i_RowClass);
+    }
+
+
+
+    /**
+     * 获取一行数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2024-03-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_PrimaryKey 行主键
+     * @param io_RowObject 行对象
+     * @return             查不时返回NULL
+     */
+    @Override
+    public <E> E getRow(String i_PrimaryKey ,E io_RowObject)
+    {
+        return this.getRow(null ,null ,i_PrimaryKey ,io_RowObject);
+    }
+    
+    
+    
+    /**
+     * 获取一行数据（Map结构中元素类型的翻译）
+     * 
+     *   当i_RowClass为Map结构，并且配置有 RedisMapType 时，将按其转换为Java类型
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2025-02-06
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称（允许为空或NULL）
+     * @param i_TableName  表名称（允许为空或NULL）
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return
+     */
+    public <E> E getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,Class<E> i_RowClass)
+    {
+        if ( Help.isNull(i_PrimaryKey) )
+        {
+            return null;
+        }
+        
+        if ( i_RowClass == null )
+        {
+            return null;
+        }
+        
+        try
+        {
+            E v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
+            return this.getRow(i_Database ,i_TableName ,i_PrimaryKey ,v_RowObject);
+        }
+        catch (Exception Exce)
+        {
+            $Logger.error(Exce);
+        }
         return null;
     }
     
@@ -1427,7 +2172,6 @@ public class RedisLettuce implements IRedis
      * @param io_RowObject 行对象
      * @return
      */
-    @SuppressWarnings("unchecked")
     public <E> E getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,E io_RowObject)
     {
         if ( Help.isNull(i_PrimaryKey) )
@@ -1440,86 +2184,14 @@ public class RedisLettuce implements IRedis
             return null;
         }
         
-        Map<String ,String> v_RowDatas = this.clusterCmd.hgetall(i_PrimaryKey);
+        Map<String ,String> v_RowDatas = this.hgetall_Near(this.getRowKey(i_Database ,i_TableName ,i_PrimaryKey));
         
         if ( Help.isNull(v_RowDatas) )
         {
             return null;
         }
-        else if ( MethodReflect.isExtendImplement(io_RowObject ,Map.class) )
-        {
-            for (Map.Entry<String ,String> v_Item : v_RowDatas.entrySet())
-            {
-                Class<?> v_ParameterClass = RedisMapType.getType(i_Database ,i_TableName ,v_Item.getKey());
-                Object   v_ParameterValue = v_Item.getValue();
-                
-                if ( v_ParameterClass != null )
-                {
-                    if ( v_Item.getValue() != null )
-                    {
-                        if ( "".equals(v_Item.getValue().trim()) )
-                        {
-                            if ( String.class.equals(v_ParameterClass) )
-                            {
-                                v_ParameterValue = v_Item.getValue();
-                            }
-                        }
-                        else
-                        {
-                            v_ParameterValue = Help.toObject(v_ParameterClass ,v_Item.getValue());
-                        }
-                    }
-                }
-                
-                ((Map<String ,Object>)io_RowObject).put(v_Item.getKey() ,v_ParameterValue);
-            }
-        }
-        else if ( io_RowObject instanceof SerializableDef )
-        {
-            ((SerializableDef) io_RowObject).initNotNull(v_RowDatas);
-        }
-        else
-        {
-            Map<String ,Method> v_SetMethods = MethodReflect.getSetMethodsMG(io_RowObject.getClass());
-            
-            for (Map.Entry<String ,String> v_Item : v_RowDatas.entrySet())
-            {
-                String v_MethodName = v_Item.getKey().substring(0 ,1).toUpperCase() + v_Item.getKey().substring(1);
-                Method v_SetMethod  = v_SetMethods.get(v_MethodName);
-                if ( v_SetMethod == null )
-                {
-                    continue;
-                }
-                
-                Type     v_ParameterType  = v_SetMethod.getParameters()[0].getParameterizedType();
-                Class<?> v_ParameterClass = (Class<?>) v_ParameterType;
-                Object   v_ParameterValue = null;
-                
-                try
-                {
-                    if ( v_Item.getValue() != null )
-                    {
-                        if ( "".equals(v_Item.getValue().trim()) )
-                        {
-                            if ( String.class.equals(v_ParameterClass) )
-                            {
-                                v_ParameterValue = v_Item.getValue();
-                            }
-                        }
-                        else
-                        {
-                            v_ParameterValue = Help.toObject(v_ParameterClass ,v_Item.getValue());
-                        }
-                    }
-                    
-                    v_SetMethod.invoke(io_RowObject ,v_ParameterValue);
-                }
-                catch (Exception exce)
-                {
-                    $Logger.error(exce);
-                }
-            }
-        }
+        
+        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowDatas ,io_RowObject);
         
         v_RowDatas.clear();
         v_RowDatas = null;
@@ -1583,7 +2255,7 @@ public class RedisLettuce implements IRedis
         }
         
         String v_DBID = this.getDatabaseID(i_Database);
-        Map<String ,String> v_Datas = this.clusterCmd.hgetall(v_DBID);
+        Map<String ,String> v_Datas = this.readCmd().hgetall(v_DBID);
         
         if ( !Help.isNull(v_Datas) )
         {
@@ -1623,35 +2295,32 @@ public class RedisLettuce implements IRedis
         
         TablePartitionRID<String ,String> v_Rows     = new TablePartitionRID<String ,String>();
         String                            v_TableID  = this.getTableID(i_Database ,i_TableName);
-        Map<String ,String>               v_RowDatas = this.clusterCmd.hgetall(v_TableID);
+        Map<String ,String>               v_RowDatas = this.readCmd().hgetall(v_TableID);
         
         if ( !Help.isNull(v_RowDatas) )
         {
-            for (Map.Entry<String ,String> v_RowItem : v_RowDatas.entrySet())
+            // 空主键是创建表时预留的
+            v_RowDatas.remove("");
+            
+            // 按批次管道获取所有行数据，不再逐行访问Redis
+            Map<String ,Map<String ,String>> v_RowObjects = this.readBatch().getRows(v_TableID ,v_RowDatas.keySet());
+            List<String>                     v_Dirtys     = new ArrayList<String>();
+            
+            for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
             {
-                // 空主键是创建表时预留的
-                if ( Help.isNull(v_RowItem.getKey()) )
-                {
-                    continue;
-                }
-                
-                Map<String ,String> v_RowObject = this.getRow(v_RowItem.getKey());
-                
-                if ( !Help.isNull(v_RowObject) )
+                if ( !Help.isNull(v_RowItem.getValue()) )
                 {
-                    v_Rows.putRows(v_RowItem.getKey() ,v_RowObject);
+                    v_Rows.putRows(v_RowItem.getKey() ,RedisValueCodec.toText(v_RowItem.getValue()));
                 }
                 else
                 {
-                    // 2024-09-14 Add
-                    // 只有主键信息，没有行数据信息时，删除主键信息
-                    // 这情况产生的原因有：
-                    //     情况1：行数据信息因到过期时间后被Redis释放
-                    //     情况2：本类库Bug而生成的脏数据
-                    //     情况3：本类库生成的结构被第三方窜改
-                    this.delete(i_Database ,i_TableName ,v_RowItem.getKey());
+                    v_Dirtys.add(v_RowItem.getKey());
                 }
             }
+            
+            this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+            v_RowObjects.clear();
+            v_RowObjects = null;
         }
         
         v_RowDatas.clear();
@@ -1688,37 +2357,48 @@ public class RedisLettuce implements IRedis
             return null;
         }
         
+        if ( i_RowClass == null )
+        {
+            return null;
+        }
+        
         Map<String ,E>      v_Rows     = new HashMap<String ,E>();
         String              v_TableID  = this.getTableID(i_Database ,i_TableName);
-        Map<String ,String> v_RowDatas = this.clusterCmd.hgetall(v_TableID);
+        Map<String ,String> v_RowDatas = this.readCmd().hgetall(v_TableID);
         
         if ( !Help.isNull(v_RowDatas) )
         {
-            for (Map.Entry<String ,String> v_RowItem : v_RowDatas.entrySet())
+            // 空主键是创建表时预留的
+            v_RowDatas.remove("");
+            
+            // 按批次管道获取所有行数据，不再逐行访问Redis
+            Map<String ,Map<String ,String>> v_RowObjects = this.readBatch().getRows(v_TableID ,v_RowDatas.keySet());
+            List<String>                     v_Dirtys     = new ArrayList<String>();
+            
+            for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
             {
-                // 空主键是创建表时预留的
-                if ( Help.isNull(v_RowItem.getKey()) )
-                {
-                    continue;
-                }
-                
-                E v_RowObject = this.getRow(i_Database ,i_TableName ,v_RowItem.getKey() ,i_RowClass);
-                
-                if ( v_RowObject != null )
+                if ( !Help.isNull(v_RowItem.getValue()) )
                 {
-                    v_Rows.put(v_RowItem.getKey() ,v_RowObject);
+                    try
+                    {
+                        E v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
+                        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowItem.getValue() ,v_RowObject);
+                        v_Rows.put(v_RowItem.getKey() ,v_RowObject);
+                    }
+                    catch (Exception exce)
+                    {
+                        $Logger.error(exce);
+                    }
                 }
                 else
                 {
-                    // 2024-09-14 Add
-                    // 只有主键信息，没有行数据信息时，删除主键信息
-                    // 这情况产生的原因有：
-                    //     情况1：行数据信息因到过期时间后被Redis释放
-                    //     情况2：本类库Bug而生成的脏数据
-                    //     情况3：本类库生成的结构被第三方窜改
-                    this.delete(i_Database ,i_TableName ,v_RowItem.getKey());
+                    v_Dirtys.add(v_RowItem.getKey());
                 }
             }
+            
+            this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+            v_RowObjects.clear();
+            v_RowObjects = null;
         }
         
         v_RowDatas.clear();
@@ -1755,37 +2435,48 @@ public class RedisLettuce implements IRedis
             return null;
         }
         
+        if ( i_RowClass == null )
+        {
+            return null;
+        }
+        
         List<E>             v_Rows     = new ArrayList<E>();
         String              v_TableID  = this.getTableID(i_Database ,i_TableName);
-        Map<String ,String> v_RowDatas = this.clusterCmd.hgetall(v_TableID);
+        Map<String ,String> v_RowDatas = this.readCmd().hgetall(v_TableID);
         
         if ( !Help.isNull(v_RowDatas) )
         {
-            for (Map.Entry<String ,String> v_RowItem : v_RowDatas.entrySet())
+            // 空主键是创建表时预留的
+            v_RowDatas.remove("");
+            
+            // 按批次管道获取所有行数据，不再逐行访问Redis
+            Map<String ,Map<String ,String>> v_RowObjects = this.readBatch().getRows(v_TableID ,v_RowDatas.keySet());
+            List<String>                     v_Dirtys     = new ArrayList<String>();
+            
+            for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
             {
-                // 空主键是创建表时预留的
-                if ( Help.isNull(v_RowItem.getKey()) )
-                {
-                    continue;
-                }
-                
-                E v_RowObject = this.getRow(i_Database ,i_TableName ,v_RowItem.getKey() ,i_RowClass);
-                
-                if ( v_RowObject != null )
+                if ( !Help.isNull(v_RowItem.getValue()) )
                 {
-                    v_Rows.add(v_RowObject);
+                    try
+                    {
+                        E v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
+                        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowItem.getValue() ,v_RowObject);
+                        v_Rows.add(v_RowObject);
+                    }
+                    catch (Exception exce)
+                    {
+                        $Logger.error(exce);
+                    }
                 }
                 else
                 {
-                    // 2024-09-14 Add
-                    // 只有主键信息，没有行数据信息时，删除主键信息
-                    // 这情况产生的原因有：
-                    //     情况1：行数据信息因到过期时间后被Redis释放
-                    //     情况2：本类库Bug而生成的脏数据
-                    //     情况3：本类库生成的结构被第三方窜改
-                    this.delete(i_Database ,i_TableName ,v_RowItem.getKey());
+                    v_Dirtys.add(v_RowItem.getKey());
                 }
             }
+            
+            this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+            v_RowObjects.clear();
+            v_RowObjects = null;
         }
         
         v_RowDatas.clear();
@@ -1796,43 +2487,178 @@ public class RedisLettuce implements IRedis
     
     
     /**
-     * 获取数据库的创建时间
+     * 分页扫描全表数据（流式处理，内存占用与表的大小无关）
+     * 
+     * 按 HSCAN 游标分页读取表、主键关系，每页的行数据按批次管道获取后，逐行交给消费者处理。
+     * 
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被处理多次
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2024-03-18
+     * @createDate  2026-10-17
      * @version     v1.0
      *
-     * @param i_Database  库名称
-     * @return
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @param i_BatchSize  每页的行数（HSCAN 的 COUNT 参数）
+     * @param i_Consumer   行数据的消费者
+     * @return             返回处理的行数。负数表示异常
      */
     @Override
-    public Date getCreateTime(String i_Database)
+    public <E> Long scanRows(String i_Database ,String i_TableName ,Class<E> i_RowClass ,int i_BatchSize ,Consumer<E> i_Consumer)
     {
-        if ( Help.isNull(i_Database) )
+        if ( i_Consumer == null )
         {
-            return null;
+            return -1L;
         }
         
-        String v_DBID = this.getDatabaseID(i_Database);
-        String v_Time = this.clusterCmd.hget(v_DBID ,"");
-        
-        if ( v_Time == null )
-        {
-            return null;
-        }
-        else
-        {
-            return new Date(v_Time);
-        }
+        return this.scanRows(i_Database ,i_TableName ,i_RowClass ,i_BatchSize ,(i_PrimaryKey ,i_Row) -> i_Consumer.accept(i_Row));
     }
     
     
     
     /**
-     * 获取表的创建时间
+     * 分页扫描全表数据（流式处理，内存占用与表的大小无关）
+     * 
+     * 按 HSCAN 游标分页读取表、主键关系，每页的行数据按批次管道获取后，逐行交给消费者处理。
+     * 只有主键信息，没有行数据信息的主键信息，按页批量删除。
+     * 
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被处理多次
+     * 注：HSCAN 的游标只在发出它的节点上有效，所以不按读取的路由策略（见 setReadFrom()），全程在主节点上分页。
+     *     否则每页可能被路由到不同的副本节点，其哈希表的布局（或渐进式rehash的进度）不同，行会被遗漏或重复。
+     *     每页的行数据仍按读取的路由策略获取
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2024-03-18
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修正：按读取的路由策略分页时，游标可能被发到另一个节点。改为全程在主节点上分页
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @param i_BatchSize  每页的行数（HSCAN 的 COUNT 参数）
+     * @param i_Consumer   行数据的消费者。入参1为行主键，入参2为行数据
+     * @return             返回处理的行数。负数表示异常
+     */
+    @Override
+    public <E> Long scanRows(String i_Database ,String i_TableName ,Class<E> i_RowClass ,int i_BatchSize ,BiConsumer<String ,E> i_Consumer)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return -1L;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return -1L;
+        }
+        if ( i_RowClass == null )
+        {
+            return -1L;
+        }
+        if ( i_Consumer == null )
+        {
+            return -1L;
+        }
+        
+        String                        v_TableID = this.getTableID(i_Database ,i_TableName);
+        ScanArgs                      v_Args    = ScanArgs.Builder.limit(i_BatchSize <= 0 ? this.getBatchSize() : i_BatchSize);
+        ScanCursor                    v_Cursor  = ScanCursor.INITIAL;
+        MapScanCursor<String ,String> v_Page    = null;
+        long                          v_Count   = 0L;
+        
+        // 游标只在发出它的节点上有效，所以全程在主节点上分页
+        RedisAdvancedClusterCommands<String ,String> v_ScanCmd = this.clusterCmd();
+        
+        do
+        {
+            v_Page = v_ScanCmd.hscan(v_TableID ,v_Cursor ,v_Args);
+            
+            Map<String ,String> v_PrimaryKeys = v_Page.getMap();
+            // 空主键是创建表时预留的
+            v_PrimaryKeys.remove("");
+            
+            if ( !v_PrimaryKeys.isEmpty() )
+            {
+                Map<String ,Map<String ,String>> v_RowObjects = this.readBatch().getRows(v_TableID ,v_PrimaryKeys.keySet());
+                List<String>                     v_Dirtys     = new ArrayList<String>();
+                
+                for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
+                {
+                    if ( Help.isNull(v_RowItem.getValue()) )
+                    {
+                        v_Dirtys.add(v_RowItem.getKey());
+                        continue;
+                    }
+                    
+                    E v_RowObject = null;
+                    try
+                    {
+                        v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
+                        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowItem.getValue() ,v_RowObject);
+                    }
+                    catch (Exception exce)
+                    {
+                        $Logger.error(exce);
+                        return -9L;
+                    }
+                    
+                    i_Consumer.accept(v_RowItem.getKey() ,v_RowObject);
+                    v_Count++;
+                }
+                
+                this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+                v_RowObjects.clear();
+            }
+            
+            v_Cursor = v_Page;
+        }
+        while ( !v_Page.isFinished() );
+        
+        return v_Count;
+    }
+    
+    
+    
+    /**
+     * 获取数据库的创建时间
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2024-03-18
+     * @version     v1.0
+     *
+     * @param i_Database  库名称
+     * @return
+     */
+    @Override
+    public Date getCreateTime(String i_Database)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return null;
+        }
+        
+        String v_DBID = this.getDatabaseID(i_Database);
+        String v_Time = this.readCmd().hget(v_DBID ,"");
+        
+        if ( v_Time == null )
+        {
+            return null;
+        }
+        else
+        {
+            return new Date(v_Time);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取表的创建时间
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2024-03-18
      * @version     v1.0
      *
      * @param i_Database   库名称
@@ -1853,7 +2679,7 @@ public class RedisLettuce implements IRedis
         }
         
         String v_TableID = this.getTableID(i_Database ,i_TableName);
-        String v_Time = this.clusterCmd.hget(v_TableID ,"");
+        String v_Time = this.readCmd().hget(v_TableID ,"");
         
         if ( v_Time == null )
         {
@@ -1898,7 +2724,7 @@ public class RedisLettuce implements IRedis
         }
         
         String v_TableID = this.getTableID(i_Database ,i_TableName);
-        String v_Time = this.clusterCmd.hget(v_TableID ,i_PrimaryKey);
+        String v_Time = this.readCmd().hget(v_TableID ,i_PrimaryKey);
         
         if ( v_Time == null )
         {
@@ -1994,7 +2820,7 @@ public class RedisLettuce implements IRedis
             return false;
         }
         
-        return this.isExistsPrimaryKey_Core(i_PrimaryKey);
+        return this.isExistsPrimaryKey_Core(this.getRowKey(i_Database ,i_TableName ,i_PrimaryKey));
     }
     
     
@@ -2027,7 +2853,7 @@ public class RedisLettuce implements IRedis
             return false;
         }
         
-        return isExistsField_Core(i_PrimaryKey ,i_Field);
+        return isExistsField_Core(this.getRowKey(i_Database ,i_TableName ,i_PrimaryKey) ,i_Field);
     }
     
     
@@ -2044,8 +2870,14 @@ public class RedisLettuce implements IRedis
      */
     private boolean isExistsDatabase_Core(String i_DBID)
     {
-        if ( this.clusterCmd.exists(i_DBID) >= 1L )
+        if ( this.existsCache.isExists(i_DBID) )
+        {
+            return true;
+        }
+        
+        if ( this.clusterCmd().exists(i_DBID) >= 1L )
         {
+            this.existsCache.put(i_DBID);
             return true;
         }
         else
@@ -2068,10 +2900,16 @@ public class RedisLettuce implements IRedis
      */
     private boolean isExistsTable_Core(String i_TableID)
     {
-        if ( this.clusterCmd.exists(i_TableID) >= 1L )
+        if ( this.existsCache.isExists(i_TableID) )
         {
             return true;
         }
+        
+        if ( this.clusterCmd().exists(i_TableID) >= 1L )
+        {
+            this.existsCache.put(i_TableID);
+            return true;
+        }
         else
         {
             return false;
@@ -2092,7 +2930,7 @@ public class RedisLettuce implements IRedis
      */
     private boolean isExistsPrimaryKey_Core(String i_PrimaryKey)
     {
-        if ( this.clusterCmd.exists(i_PrimaryKey) >= 1L )
+        if ( this.exists_Near(i_PrimaryKey) )
         {
             return true;
         }
@@ -2117,7 +2955,7 @@ public class RedisLettuce implements IRedis
      */
     private boolean isExistsField_Core(String i_PrimaryKey ,String i_Field)
     {
-        return this.clusterCmd.hexists(i_PrimaryKey ,i_Field);
+        return this.readCmd().hexists(i_PrimaryKey ,i_Field);
     }
     
     
@@ -2142,7 +2980,7 @@ public class RedisLettuce implements IRedis
         }
         else
         {
-            return this.clusterCmd.expireat(i_Key ,i_ExpireTime);
+            return this.clusterCmd().expireat(i_Key ,i_ExpireTime);
         }
         
     }
@@ -2161,7 +2999,7 @@ public class RedisLettuce implements IRedis
      */
     public Long expiretime(String i_Key)
     {
-        return this.clusterCmd.expiretime(i_Key);
+        return this.readCmd().expiretime(i_Key);
     }
     
     
@@ -2180,7 +3018,7 @@ public class RedisLettuce implements IRedis
     @Override
     public Boolean set(String i_Key ,String i_Value)
     {
-        return "OK".equals(this.clusterCmd.set(i_Key ,i_Value));
+        return "OK".equals(this.clusterCmd().set(i_Key ,i_Value));
     }
     
     
@@ -2200,7 +3038,7 @@ public class RedisLettuce implements IRedis
     @Override
     public Boolean setex(String i_Key ,String i_Value ,Long i_ExpireTime)
     {
-        return "OK".equals(this.clusterCmd.setex(i_Key ,i_ExpireTime ,i_Value));
+        return "OK".equals(this.clusterCmd().setex(i_Key ,i_ExpireTime ,i_Value));
     }
     
     
@@ -2219,7 +3057,7 @@ public class RedisLettuce implements IRedis
     @Override
     public Boolean setnx(String i_Key ,String i_Value)
     {
-        return this.clusterCmd.setnx(i_Key ,i_Value);
+        return this.clusterCmd().setnx(i_Key ,i_Value);
     }
     
     
@@ -2237,7 +3075,7 @@ public class RedisLettuce implements IRedis
     @Override
     public String get(String i_Key)
     {
-        return this.clusterCmd.get(i_Key);
+        return this.get_Near(i_Key);
     }
     
     
@@ -2255,7 +3093,7 @@ public class RedisLettuce implements IRedis
     @Override
     public String getdel(String i_Key)
     {
-        return this.clusterCmd.getdel(i_Key);
+        return this.clusterCmd().getdel(i_Key);
     }
     
     
@@ -2273,7 +3111,621 @@ public class RedisLettuce implements IRedis
     @Override
     public Long del(String ... i_Keys)
     {
-        return this.clusterCmd.del(i_Keys);
+        return this.clusterCmd().del(i_Keys);
+    }
+    
+    
+    
+    /**
+     * 将一张表的行数据，从其它的Key值组织方式迁移到本对象的组织方式（见 RedisKeyLayout）
+     * 
+     * 按 HSCAN 游标分页，每页先管道批量读取旧Key的行数据及过期时间，再管道批量写入新Key、设置过期时间并删除旧Key。
+     * 表、主键关系不变。重复执行时，已迁移的行（旧Key已不存在）被跳过。
+     * 
+     * 注：迁移期间应暂停对此表的写入。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_From       行数据原来的Key值组织方式
+     * @return             返回迁移的行数。负数表示异常
+     */
+    public Long migrateKeyLayout(String i_Database ,String i_TableName ,RedisKeyLayout i_From)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return -1L;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return -1L;
+        }
+        if ( i_From == null )
+        {
+            return -1L;
+        }
+        
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+        if ( !this.isExistsTable_Core(v_TableID) )
+        {
+            return -1L;
+        }
+        
+        if ( i_From == this.keyLayout )
+        {
+            return 0L;
+        }
+        
+        ScanArgs                      v_Args   = ScanArgs.Builder.limit(this.getBatchSize());
+        ScanCursor                    v_Cursor = ScanCursor.INITIAL;
+        MapScanCursor<String ,String> v_Page   = null;
+        long                          v_Count  = 0L;
+        
+        try
+        {
+            do
+            {
+                v_Page = this.clusterCmd().hscan(v_TableID ,v_Cursor ,v_Args);
+                
+                List<String> v_PrimaryKeys = new ArrayList<String>(v_Page.getMap().keySet());
+                // 空主键是创建表时预留的
+                v_PrimaryKeys.remove("");
+                
+                if ( !v_PrimaryKeys.isEmpty() )
+                {
+                    // 第一步：读取旧Key的行数据及过期时间
+                    List<RedisFuture<Map<String ,String>>> v_Rows     = new ArrayList<RedisFuture<Map<String ,String>>>(v_PrimaryKeys.size());
+                    List<RedisFuture<Long>>                v_Expires  = new ArrayList<RedisFuture<Long>>(v_PrimaryKeys.size());
+                    this.clusterBatch.execute(v_Cmd ->
+                    {
+                        for (String v_PrimaryKey : v_PrimaryKeys)
+                        {
+                            String v_OldKey = i_From.getRowKey(v_TableID ,v_PrimaryKey);
+                            v_Rows.add(v_Cmd.hgetall(v_OldKey));
+                            v_Expires.add(v_Cmd.expiretime(v_OldKey));
+                        }
+                        return null;
+                    });
+                    
+                    // 第二步：写入新Key、设置过期时间并删除旧Key
+                    Map<String ,Map<String ,String>> v_RowDatas = new LinkedHashMap<String ,Map<String ,String>>(v_PrimaryKeys.size());
+                    Map<String ,Long>                v_RowTTLs  = new HashMap<String ,Long>(v_PrimaryKeys.size());
+                    for (int x=0; x<v_PrimaryKeys.size(); x++)
+                    {
+                        Map<String ,String> v_Datas = this.clusterBatch.await(v_Rows.get(x));
+                        if ( !Help.isNull(v_Datas) )
+                        {
+                            v_RowDatas.put(v_PrimaryKeys.get(x) ,v_Datas);
+                            v_RowTTLs.put(v_PrimaryKeys.get(x) ,this.clusterBatch.await(v_Expires.get(x)));
+                        }
+                    }
+                    
+                    List<RedisFuture<?>> v_Writes = this.clusterBatch.execute(v_Cmd ->
+                    {
+                        List<RedisFuture<?>> v_Rets = new ArrayList<RedisFuture<?>>(v_RowDatas.size() * 3);
+                        for (Map.Entry<String ,Map<String ,String>> v_Row : v_RowDatas.entrySet())
+                        {
+                            String v_NewKey = this.getRowKey(v_TableID ,v_Row.getKey());
+                            Long   v_Expire = v_RowTTLs.get(v_Row.getKey());
+                            
+                            v_Rets.add(v_Cmd.hset(v_NewKey ,v_Row.getValue()));
+                            // 过期时间为-1时表示没有过期时间
+                            if ( v_Expire != null && v_Expire > 0L )
+                            {
+                                v_Rets.add(v_Cmd.expireat(v_NewKey ,v_Expire));
+                            }
+                            v_Rets.add(v_Cmd.del(i_From.getRowKey(v_TableID ,v_Row.getKey())));
+                        }
+                        return v_Rets;
+                    });
+                    
+                    for (RedisFuture<?> v_Write : v_Writes)
+                    {
+                        this.clusterBatch.await(v_Write);
+                    }
+                    v_Count += v_RowDatas.size();
+                }
+                
+                v_Cursor = v_Page;
+            }
+            while ( !v_Page.isFinished() );
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Table[" + v_TableID + "] migrate key layout error." ,exce);
+            return -9L;
+        }
+        
+        return v_Count;
+    }
+    
+    
+    
+    /**
+     * 获取一行数据（Hash对象）。开启近端缓存时，优先从本地内存读取
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return       返回的是副本，调用方可修改
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String ,String> hgetall_Near(String i_Key)
+    {
+        RedisNearTracking<RedisAdvancedClusterCommands<String ,String>> v_Near = this.near;
+        if ( v_Near == null )
+        {
+            return this.readCmd().hgetall(i_Key);
+        }
+        
+        RedisNearCache v_NearCache = v_Near.getCache();
+        Object         v_Cache     = v_NearCache.get(i_Key);
+        if ( v_Cache instanceof Map )
+        {
+            return new HashMap<String ,String>((Map<String ,String>) v_Cache);
+        }
+        
+        Object v_Token = v_NearCache.begin(i_Key);
+        try
+        {
+            Map<String ,String> v_Datas  = v_Near.getCommand().hgetall(i_Key);
+            long                v_Weight = i_Key.length();
+            for (Map.Entry<String ,String> v_Data : v_Datas.entrySet())
+            {
+                v_Weight += v_Data.getKey().length() + (v_Data.getValue() == null ? 0 : v_Data.getValue().length());
+            }
+            v_NearCache.put(i_Key ,v_Token ,new HashMap<String ,String>(v_Datas) ,v_Weight);
+            
+            return v_Datas;
+        }
+        finally
+        {
+            v_NearCache.cancel(i_Key ,v_Token);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取数据（字符串）。开启近端缓存时，优先从本地内存读取
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return
+     */
+    private String get_Near(String i_Key)
+    {
+        RedisNearTracking<RedisAdvancedClusterCommands<String ,String>> v_Near = this.near;
+        if ( v_Near == null )
+        {
+            return this.readCmd().get(i_Key);
+        }
+        
+        RedisNearCache v_NearCache = v_Near.getCache();
+        Object         v_Cache     = v_NearCache.get(i_Key);
+        if ( v_Cache == RedisNearCache.$Null )
+        {
+            return null;
+        }
+        else if ( v_Cache instanceof String )
+        {
+            return (String) v_Cache;
+        }
+        
+        Object v_Token = v_NearCache.begin(i_Key);
+        try
+        {
+            String v_Value = v_Near.getCommand().get(i_Key);
+            v_NearCache.put(i_Key ,v_Token ,v_Value == null ? RedisNearCache.$Null : v_Value ,i_Key.length() + (v_Value == null ? 0 : v_Value.length()));
+            
+            return v_Value;
+        }
+        finally
+        {
+            v_NearCache.cancel(i_Key ,v_Token);
+        }
+    }
+    
+    
+    
+    /**
+     * 关键字是否存在。开启近端缓存时，优先从本地内存判定
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return
+     */
+    private boolean exists_Near(String i_Key)
+    {
+        RedisNearTracking<RedisAdvancedClusterCommands<String ,String>> v_Near = this.near;
+        if ( v_Near == null )
+        {
+            return this.readCmd().exists(i_Key) >= 1L;
+        }
+        
+        RedisNearCache v_NearCache = v_Near.getCache();
+        Object         v_Cache     = v_NearCache.get(i_Key);
+        if ( v_Cache instanceof Map )
+        {
+            return !((Map<? ,?>) v_Cache).isEmpty();
+        }
+        else if ( v_Cache instanceof Boolean )
+        {
+            return (Boolean) v_Cache;
+        }
+        else if ( v_Cache != null )
+        {
+            return v_Cache != RedisNearCache.$Null;
+        }
+        
+        Object v_Token = v_NearCache.begin(i_Key);
+        try
+        {
+            boolean v_Exists = v_Near.getCommand().exists(i_Key) >= 1L;
+            v_NearCache.put(i_Key ,v_Token ,v_Exists ,i_Key.length());
+            
+            return v_Exists;
+        }
+        finally
+        {
+            v_NearCache.cancel(i_Key ,v_Token);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：近端缓存。未开启时返回NULL。可通过它设置容量，及获取命中、未命中等统计数据
+     */
+    public RedisNearCache getNearCache()
+    {
+        RedisNearTracking<RedisAdvancedClusterCommands<String ,String>> v_Near = this.near;
+        return v_Near == null ? null : v_Near.getCache();
+    }
+    
+    
+    
+    /**
+     * 获取：是否开启近端缓存
+     */
+    public boolean isNearCache()
+    {
+        return this.near != null;
+    }
+    
+    
+    
+    /**
+     * 设置：是否开启近端缓存
+     * 
+     * 开启后，获取一行数据、获取数据及行主键是否存在，优先从本地内存读取。
+     * 数据被任一客户端修改、删除或过期时，Redis服务端推送失效通知（CLIENT TRACKING），本地缓存即时失效。
+     * 
+     * 近端缓存的读取不按读取的路由策略（见 setReadFrom()），总是读取主节点。Lettuce按哈希槽路由的命令，
+     * 经按主节点 host:port 区分的节点连接发送，所以在这些节点连接上开启跟踪。
+     * 断线重连、集群拓扑变化（新增、提升的主节点）后，自动重新开启跟踪（见 RedisNearTracking）。
+     * 
+     * 注：须 Redis 6 及以上版本，并使用RESP3协议
+     * 
+     * @param i_NearCache 是否开启
+     */
+    public synchronized void setNearCache(boolean i_NearCache)
+    {
+        if ( i_NearCache == (this.near != null) )
+        {
+            return;
+        }
+        
+        if ( i_NearCache )
+        {
+            StatefulRedisClusterConnection<String ,String> v_NearConn  = this.connect_Core();
+            RedisNearCache                                 v_NearCache = new RedisNearCache();
+            v_NearConn.addListener((RedisClusterPushListener) (i_Node ,i_Message) -> v_NearCache.onPushMessage(i_Message));
+            
+            this.near = new RedisNearTracking<RedisAdvancedClusterCommands<String ,String>>(this.clusterClient ,v_NearCache ,v_NearConn ,v_NearConn.sync() ,() -> track_Core(v_NearConn));
+        }
+        else
+        {
+            RedisNearTracking<RedisAdvancedClusterCommands<String ,String>> v_Near = this.near;
+            this.near = null;
+            v_Near.close();
+        }
+    }
+    
+    
+    
+    /**
+     * 在每个主节点的连接上开启跟踪。按 host:port 获取节点连接，与按哈希槽路由的读取命令所用的连接相同
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_NearConn  近端缓存专用的连接
+     * @return
+     */
+    private static CompletionStage<?> track_Core(StatefulRedisClusterConnection<String ,String> i_NearConn)
+    {
+        List<CompletableFuture<?>> v_Tracks = new ArrayList<CompletableFuture<?>>();
+        
+        for (RedisClusterNode v_Node : i_NearConn.getPartitions())
+        {
+            if ( v_Node.is(RedisClusterNode.NodeFlag.UPSTREAM) )
+            {
+                v_Tracks.add(i_NearConn.getConnectionAsync(v_Node.getUri().getHost() ,v_Node.getUri().getPort())
+                                       .thenCompose(v_Conn -> v_Conn.async().clientTracking(TrackingArgs.Builder.enabled()))
+                                       .toCompletableFuture());
+            }
+        }
+        
+        return CompletableFuture.allOf(v_Tracks.toArray(new CompletableFuture<?>[v_Tracks.size()]));
+    }
+    
+    
+    
+    /**
+     * 使库、表是否存在的缓存失效。开启通知时，同时通知其它实例
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_ID  库、表的物理名称
+     */
+    private void invalidate_Core(String i_ID)
+    {
+        this.existsCache.remove(i_ID);
+        
+        if ( this.existsPubSub != null )
+        {
+            this.clusterCmd().publish(RedisExistsCache.$Channel ,i_ID);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：库、表是否存在的本地缓存。可通过它设置存活时长、最大缓存数量
+     */
+    public RedisExistsCache getExistsCache()
+    {
+        return this.existsCache;
+    }
+    
+    
+    
+    /**
+     * 获取：是否开启缓存失效的发布订阅通知
+     */
+    public boolean isExistsPubSub()
+    {
+        return this.existsPubSub != null;
+    }
+    
+    
+    
+    /**
+     * 开启缓存失效的发布订阅通知。开启失败时不影响使用，缓存最多在存活时长后失效
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    private void initExistsPubSub_Core()
+    {
+        try
+        {
+            this.setExistsPubSub(true);
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Failed to subscribe the channel[" + RedisExistsCache.$Channel + "]. The exists cache expires by its time to live only." ,exce);
+        }
+    }
+    
+    
+    
+    /**
+     * 设置：是否开启缓存失效的发布订阅通知。默认开启
+     * 
+     * 删除表、删除库及清空表时，通知共用Redis的所有实例的缓存失效。
+     * 关闭后，其它实例删除的表，在缓存的存活时长内仍判定为存在，写入的行数据将缺少表的注册。只有一个实例访问Redis时才可关闭
+     * 
+     * @param i_ExistsPubSub 是否开启
+     */
+    public synchronized void setExistsPubSub(boolean i_ExistsPubSub)
+    {
+        if ( i_ExistsPubSub == (this.existsPubSub != null) )
+        {
+            return;
+        }
+        
+        if ( i_ExistsPubSub )
+        {
+            StatefulRedisPubSubConnection<String ,String> v_PubSub = this.clusterClient.connectPubSub();
+            v_PubSub.addListener(new RedisPubSubAdapter<String ,String>()
+            {
+                @Override
+                public void message(String i_Channel ,String i_Message)
+                {
+                    existsCache.remove(i_Message);
+                }
+                
+                
+                
+                /** 首次订阅及断线重连后的重新订阅时，断线期间的通知可能已丢失，所以清空全部缓存 */
+                @Override
+                public void subscribed(String i_Channel ,long i_Count)
+                {
+                    existsCache.clear();
+                }
+            });
+            v_PubSub.sync().subscribe(RedisExistsCache.$Channel);
+            this.existsPubSub = v_PubSub;
+        }
+        else
+        {
+            this.existsPubSub.close();
+            this.existsPubSub = null;
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：读取的路由策略。为NULL时读取主节点
+     */
+    public ReadFrom getReadFrom()
+    {
+        return this.readFrom;
+    }
+    
+    
+    
+    /**
+     * 设置：读取的路由策略
+     * 
+     * 获取行数据、全表数据、创建时间、数据及是否存在等只读的方法，按策略路由到副本节点（如 ReadFrom.REPLICA_PREFERRED、
+     * ReadFrom.LOWEST_LATENCY、ReadFrom.ANY），读取的负载分散到所有节点上。写入的方法仍在主节点上执行。
+     * 
+     * 注：副本节点的数据是异步同步的，可能读到稍旧的数据。须读取自己的写入时，见 setReadYourWrites()
+     * 注：从副本节点获取全表数据时，不删除脏数据（行数据可能尚未同步到副本）
+     * 注：分页扫描全表数据时，HSCAN 游标在主节点上分页（游标只在发出它的节点上有效），每页的行数据按本策略获取
+     * 
+     * @param i_ReadFrom 读取的路由策略。为NULL或主节点时，读取主节点
+     */
+    public synchronized void setReadFrom(ReadFrom i_ReadFrom)
+    {
+        RedisConnections<StatefulRedisClusterConnection<String ,String>> v_OldConns = this.readConns;
+        RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> v_OldBatch = this.readBatch;
+        
+        if ( i_ReadFrom == null || i_ReadFrom == ReadFrom.MASTER || i_ReadFrom == ReadFrom.UPSTREAM )
+        {
+            this.readConns = null;
+            this.readBatch = null;
+        }
+        else
+        {
+            RedisConnections<StatefulRedisClusterConnection<String ,String>> v_ReadConns = new RedisConnections<StatefulRedisClusterConnection<String ,String>>(() ->
+            {
+                StatefulRedisClusterConnection<String ,String> v_Conn = this.connect_Core();
+                v_Conn.setReadFrom(i_ReadFrom);
+                return v_Conn;
+            }
+            ,this.clusterConns.size()
+            ,null);
+            
+            this.readBatch = this.newBatch_Core(i_ReadFrom);
+            this.readConns = v_ReadConns;
+        }
+        
+        this.readFrom = this.readConns == null ? null : i_ReadFrom;
+        
+        if ( v_OldConns != null )
+        {
+            v_OldConns.close();
+            v_OldBatch.close();
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：当前线程是否读取自己的写入（即读取主节点）
+     */
+    public boolean isReadYourWrites()
+    {
+        return Boolean.TRUE.equals(this.readYourWrites.get());
+    }
+    
+    
+    
+    /**
+     * 设置：当前线程是否读取自己的写入（即读取主节点）。仅对当前线程有效
+     * 
+     * 设置读取的路由策略后（见 setReadFrom()），须立即读取刚写入数据的线程开启，用完后应关闭
+     * 
+     * @param i_ReadYourWrites 是否读取自己的写入
+     */
+    public void setReadYourWrites(boolean i_ReadYourWrites)
+    {
+        if ( i_ReadYourWrites )
+        {
+            this.readYourWrites.set(Boolean.TRUE);
+        }
+        else
+        {
+            this.readYourWrites.remove();
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：集群拓扑的统计数据，如自适应刷新被触发的次数、拓扑变化的次数
+     */
+    public RedisTopologyMetrics getTopologyMetrics()
+    {
+        return this.topologyMetrics;
+    }
+    
+    
+    
+    /**
+     * 获取：批量操作时，每批次、每个节点最多的行数
+     */
+    public int getBatchSize()
+    {
+        return this.clusterBatch.getBatchSize();
+    }
+    
+    
+    
+    /**
+     * 设置：批量操作时，每批次、每个节点最多的行数
+     * 
+     * @param i_BatchSize 每批次、每个节点最多的行数
+     */
+    public void setBatchSize(int i_BatchSize)
+    {
+        this.clusterBatch.setBatchSize(i_BatchSize);
+        
+        RedisPipeline<RedisAdvancedClusterAsyncCommands<String ,String>> v_ReadBatch = this.readBatch;
+        if ( v_ReadBatch != null )
+        {
+            v_ReadBatch.setBatchSize(i_BatchSize);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：行数据Key值的组织方式
+     */
+    public RedisKeyLayout getKeyLayout()
+    {
+        return this.keyLayout;
+    }
+    
+    
+    
+    /**
+     * 获取：字段值的编码
+     */
+    public RedisValueCodec getValueCodec()
+    {
+        return this.valueCodec;
     }
     
 }
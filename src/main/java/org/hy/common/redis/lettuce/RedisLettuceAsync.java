@@ -0,0 +1,1074 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.hy.common.Date;
+import org.hy.common.Help;
+import org.hy.common.TablePartitionRID;
+import org.hy.common.redis.IRedis;
+import org.hy.common.redis.IRedisAsync;
+import org.hy.common.redis.type.RedisRowMapper;
+import org.hy.common.redis.type.RedisValueCodec;
+import org.hy.common.xml.log.Logger;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisHashAsyncCommands;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+import io.lettuce.core.api.async.RedisStringAsyncCommands;
+
+
+
+
+
+/**
+ * Redis数据库访问的Lettuce异步实现（集群模式、单机模式通用）
+ *
+ * 基于 connect().async() 的异步命令，所有操作均不阻塞调用线程。
+ * 表不存时，用幂等的 HSETNX 自动创建库、表关系，所以无须同步锁。
+ * 与同步访问共用库、表是否存在的本地缓存（见 RedisExistsCache），表存在时写入前不再发送 EXISTS。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：行数据Key值的组织方式（见 RedisKeyLayout）
+ *              v3.0  2026-10-17  添加：字段值的编码（见 RedisValueCodec）
+ *              v4.0  2026-10-17  添加：超过压缩阈值的字段值压缩保存
+ *              v5.0  2026-10-17  修正：获取全表数据时未还原编码后的字段值
+ *              v6.0  2026-10-17  修正：创建表及插入时的 HSETNX 未等待完成，失败时不会被感知。添加：共用库、表是否存在的本地缓存
+ *
+ * @param <C>  异步命令的类型。集群模式为 RedisAdvancedClusterAsyncCommands，单机模式为 RedisAsyncCommands
+ */
+public class RedisLettuceAsync<C extends RedisHashAsyncCommands<String ,String> & RedisKeyAsyncCommands<String ,String> & RedisStringAsyncCommands<String ,String>> implements IRedisAsync
+{
+
+    private static final Logger  $Logger = new Logger(RedisLettuceAsync.class);
+
+
+
+    /** 异步命令（与同步命令共用连接） */
+    private final C              asyncCmd;
+
+    /** 行数据Key值的组织方式 */
+    private final RedisKeyLayout keyLayout;
+
+    /** 字段值的编码 */
+    private RedisValueCodec      valueCodec;
+
+    /** 库、表是否存在的本地缓存（与同步访问共用）。为NULL时不缓存 */
+    private RedisExistsCache     existsCache;
+
+
+
+    public RedisLettuceAsync(C i_AsyncCmd)
+    {
+        this(i_AsyncCmd ,RedisKeyLayout.$Plain);
+    }
+
+
+
+    public RedisLettuceAsync(C i_AsyncCmd ,RedisKeyLayout i_KeyLayout)
+    {
+        this.asyncCmd   = i_AsyncCmd;
+        this.keyLayout  = i_KeyLayout;
+        this.valueCodec = RedisValueCodec.$Text;
+    }
+
+
+
+    /**
+     * 获取Redis真实操作的原始对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public C getSource()
+    {
+        return this.asyncCmd;
+    }
+
+
+
+    /**
+     * 获取库的物理名称。即将逻辑名称转为真实保存在Redis的Key值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database  库名称（逻辑名称）
+     * @return            库的物理名称
+     */
+    private String getDatabaseID(String i_Database)
+    {
+        return IRedis.$Object_Database + i_Database;
+    }
+
+
+
+    /**
+     * 获取表的物理名称。即将逻辑名称转为真实保存在Redis的Key值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称（逻辑名称）
+     * @param i_TableName  表名称（逻辑名称）
+     * @return             表的物理名称
+     */
+    private String getTableID(String i_Database ,String i_TableName)
+    {
+        return i_Database + "." + i_TableName;
+    }
+
+
+
+    /**
+     * 获取行数据的物理Key值。库、表名称为空时，行主键即为物理Key值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database    库名称（逻辑名称）
+     * @param i_TableName   表名称（逻辑名称）
+     * @param i_PrimaryKey  行主键
+     * @return
+     */
+    private String getRowKey(String i_Database ,String i_TableName ,String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) )
+        {
+            return i_PrimaryKey;
+        }
+
+        return this.keyLayout.getRowKey(this.getTableID(i_Database ,i_TableName) ,i_PrimaryKey);
+    }
+
+
+
+    /**
+     * 表不存时，自动创建表、库关系等信息
+     *
+     * 全部使用 HSETNX，重复执行或并发执行均不影响已有的创建时间。
+     * 三个 HSETNX 均完成后才返回，任一失败时返回的也是异常完成的。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修正：等待全部 HSETNX 完成。添加：表存在时按本地缓存判定，不再发送 EXISTS
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             表存在或创建成功时返回真
+     */
+    private CompletionStage<Boolean> createTable_Core(String i_Database ,String i_TableName)
+    {
+        String           v_DBID        = this.getDatabaseID(i_Database);
+        String           v_TableID     = this.getTableID(   i_Database ,i_TableName);
+        RedisExistsCache v_ExistsCache = this.existsCache;
+
+        if ( v_ExistsCache != null && v_ExistsCache.isExists(v_TableID) )
+        {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return this.asyncCmd.exists(v_TableID).thenCompose(v_Count ->
+        {
+            if ( v_Count != null && v_Count >= 1L )
+            {
+                if ( v_ExistsCache != null )
+                {
+                    v_ExistsCache.put(v_TableID);
+                }
+                return CompletableFuture.completedFuture(true);
+            }
+
+            String                     v_Now     = Date.getNowTime().getFull();
+            List<RedisFuture<Boolean>> v_Futures = new ArrayList<RedisFuture<Boolean>>(3);
+
+            // 添加一个空主键，使用空字段实现预占用的创建库Hash对象
+            v_Futures.add(this.asyncCmd.hsetnx(v_DBID ,"" ,v_Now));
+            // 表、库关系
+            v_Futures.add(this.asyncCmd.hsetnx(v_DBID ,v_TableID ,v_Now));
+            // 添加一个空主键，使用空字段实现预占用的创建表Hash对象
+            v_Futures.add(this.asyncCmd.hsetnx(v_TableID ,"" ,v_Now));
+
+            return this.allOf(v_Futures).thenApply(v_Void ->
+            {
+                if ( v_ExistsCache != null )
+                {
+                    v_ExistsCache.put(v_DBID);
+                    v_ExistsCache.put(v_TableID);
+                }
+                return true;
+            });
+        });
+    }
+
+
+
+    /**
+     * 等待一组命令全部完成
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Futures  命令
+     * @return
+     */
+    private CompletableFuture<Void> allOf(List<? extends RedisFuture<?>> i_Futures)
+    {
+        CompletableFuture<?> [] v_Futures = new CompletableFuture<?>[i_Futures.size()];
+
+        for (int x=0; x<v_Futures.length; x++)
+        {
+            v_Futures[x] = i_Futures.get(x).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(v_Futures);
+    }
+
+
+
+    /**
+     * 插入一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas)
+    {
+        return this.insert(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas ,null);
+    }
+
+
+
+    /**
+     * 插入一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime)
+    {
+        if ( i_Datas == null )
+        {
+            return CompletableFuture.completedFuture(-1L);
+        }
+
+        // 基础类型无法按一行数据写入
+        if ( Help.isBasicDataType(i_Datas.getClass()) )
+        {
+            return CompletableFuture.completedFuture(-8L);
+        }
+
+        try
+        {
+            return this.insert(i_Database ,i_TableName ,i_PrimaryKey ,RedisRowMapper.toMap(i_Datas ,false) ,i_ExpireTime);
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+            return CompletableFuture.completedFuture(-9L);
+        }
+    }
+
+
+
+    /**
+     * 插入一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas)
+    {
+        return this.insert(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas ,null);
+    }
+
+
+
+    /**
+     * 插入一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修正：等待表、主键关系的 HSETNX 完成
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> insert(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) || Help.isNull(i_PrimaryKey) || Help.isNull(i_Datas) )
+        {
+            return CompletableFuture.completedFuture(-1L);
+        }
+
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return this.createTable_Core(i_Database ,i_TableName).thenCompose(v_IsOK ->
+        {
+            if ( !v_IsOK )
+            {
+                return CompletableFuture.completedFuture(-2L);
+            }
+
+            // 表、主键关系
+            RedisFuture<Boolean>       v_Index     = this.asyncCmd.hsetnx(v_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
+
+            String                     v_RowKey    = this.keyLayout.getRowKey(v_TableID ,i_PrimaryKey);
+            List<RedisFuture<Boolean>> v_Futures   = new ArrayList<RedisFuture<Boolean>>(i_Datas.size() + 1);
+            int                        v_Threshold = this.valueCodec.getCompressThreshold(v_TableID);
+            for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
+            {
+                v_Futures.add(this.asyncCmd.hsetnx(v_RowKey ,v_Data.getKey() ,this.valueCodec.encode(v_Data.getValue() ,v_Threshold)));
+            }
+            v_Futures.add(v_Index);
+
+            return this.allOf(v_Futures).thenCompose(v_Void ->
+            {
+                long v_Count = 0L;
+                for (RedisFuture<Boolean> v_Future : v_Futures.subList(0 ,i_Datas.size()))
+                {
+                    if ( Boolean.TRUE.equals(v_Future.toCompletableFuture().join()) )
+                    {
+                        v_Count++;
+                    }
+                }
+
+                // 设置行级过期时间
+                if ( v_Count >= 1L && i_ExpireTime != null && i_ExpireTime > 0L )
+                {
+                    final long v_Ret = v_Count;
+                    return this.asyncCmd.expireat(v_RowKey ,i_ExpireTime).thenApply(v_Expire -> v_Ret);
+                }
+
+                return CompletableFuture.completedFuture(v_Count);
+            });
+        });
+    }
+
+
+
+    /**
+     * 更新一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas)
+    {
+        return this.update(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas ,null);
+    }
+
+
+
+    /**
+     * 更新一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime)
+    {
+        if ( i_Datas == null )
+        {
+            return CompletableFuture.completedFuture(-1L);
+        }
+
+        // 基础类型无法按一行数据写入
+        if ( Help.isBasicDataType(i_Datas.getClass()) )
+        {
+            return CompletableFuture.completedFuture(-8L);
+        }
+
+        try
+        {
+            return this.update(i_Database ,i_TableName ,i_PrimaryKey ,RedisRowMapper.toMap(i_Datas ,false) ,i_ExpireTime);
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+            return CompletableFuture.completedFuture(-9L);
+        }
+    }
+
+
+
+    /**
+     * 更新一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas)
+    {
+        return this.update(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas ,null);
+    }
+
+
+
+    /**
+     * 更新一行数据
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：当行数据不存时：在Redis创建行数据，即有 insert() 方法的能力
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> update(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) || Help.isNull(i_PrimaryKey) || Help.isNull(i_Datas) )
+        {
+            return CompletableFuture.completedFuture(-1L);
+        }
+
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return this.createTable_Core(i_Database ,i_TableName).thenCompose(v_IsOK ->
+        {
+            if ( !v_IsOK )
+            {
+                return CompletableFuture.completedFuture(-2L);
+            }
+
+            List<RedisFuture<?>> v_Futures = new ArrayList<RedisFuture<?>>(4);
+            RedisPipeline.updateRow_Core(this.asyncCmd ,v_TableID ,i_PrimaryKey ,this.keyLayout.getRowKey(v_TableID ,i_PrimaryKey) ,i_Datas ,i_ExpireTime ,Date.getNowTime().getFull() ,this.valueCodec ,v_Futures);
+
+            return this.allOf(v_Futures).thenApply(v_Void -> (long) i_Datas.size());
+        });
+    }
+
+
+
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas)
+    {
+        return this.update(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas);
+    }
+
+
+
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。对象成员属性为 null 时，对象成员属性不参与更新
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime)
+    {
+        return this.update(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas ,i_ExpireTime);
+    }
+
+
+
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas)
+    {
+        return this.update(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas);
+    }
+
+
+
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime)
+    {
+        return this.update(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas ,i_ExpireTime);
+    }
+
+
+
+    /**
+     * 删除一行记录
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public CompletionStage<Long> delete(String i_Database ,String i_TableName ,String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) || Help.isNull(i_PrimaryKey) )
+        {
+            return CompletableFuture.completedFuture(-1L);
+        }
+
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return this.asyncCmd.exists(v_TableID).thenCompose(v_Count ->
+        {
+            if ( v_Count == null || v_Count <= 0L )
+            {
+                return CompletableFuture.completedFuture(-1L);
+            }
+
+            this.asyncCmd.hdel(v_TableID ,i_PrimaryKey);
+            return this.asyncCmd.del(this.keyLayout.getRowKey(v_TableID ,i_PrimaryKey));
+        });
+    }
+
+
+
+    /**
+     * 获取一行数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_PrimaryKey 行主键
+     * @return             Map.key字段名，Map.value字段值
+     */
+    @Override
+    public CompletionStage<Map<String ,String>> getRow(String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_PrimaryKey) )
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return this.asyncCmd.hgetall(i_PrimaryKey).thenApply(RedisValueCodec::toText);
+    }
+
+
+
+    /**
+     * 获取一行数据（Map结构中元素类型的翻译）
+     *
+     *   当i_RowClass为Map结构，并且配置有 RedisMapType 时，将按其转换为Java类型
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称（允许为空或NULL）
+     * @param i_TableName  表名称（允许为空或NULL）
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return             查不时返回NULL
+     */
+    @Override
+    public <E> CompletionStage<E> getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,Class<E> i_RowClass)
+    {
+        if ( Help.isNull(i_PrimaryKey) || i_RowClass == null )
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return this.asyncCmd.hgetall(this.getRowKey(i_Database ,i_TableName ,i_PrimaryKey)).thenApply(v_RowDatas -> RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowDatas ,i_RowClass));
+    }
+
+
+
+    /**
+     * 获取全表所有行的行数据
+     *
+     * 所有行的 HGETALL 同时发送，不逐行等待。
+     * 只有主键信息，没有行数据信息的主键信息，批量删除（见 RedisLettuce.getRows() 的说明）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID  表的物理名称。即在Redis中保存的真实Key值
+     * @return           Map.key行主键，Map.value行数据。只包含有行数据的行
+     */
+    private CompletionStage<Map<String ,Map<String ,String>>> getRows_Core(String i_TableID)
+    {
+        return this.asyncCmd.hgetall(i_TableID).thenCompose(v_PrimaryKeys ->
+        {
+            // 空主键是创建表时预留的
+            v_PrimaryKeys.remove("");
+
+            Map<String ,RedisFuture<Map<String ,String>>> v_Futures = new LinkedHashMap<String ,RedisFuture<Map<String ,String>>>(v_PrimaryKeys.size());
+            for (String v_PrimaryKey : v_PrimaryKeys.keySet())
+            {
+                v_Futures.put(v_PrimaryKey ,this.asyncCmd.hgetall(this.keyLayout.getRowKey(i_TableID ,v_PrimaryKey)));
+            }
+
+            return this.allOf(new ArrayList<RedisFuture<?>>(v_Futures.values())).thenCompose(v_Void ->
+            {
+                Map<String ,Map<String ,String>> v_Rows   = new LinkedHashMap<String ,Map<String ,String>>(v_Futures.size());
+                List<String>                     v_Dirtys = new ArrayList<String>();
+
+                for (Map.Entry<String ,RedisFuture<Map<String ,String>>> v_Item : v_Futures.entrySet())
+                {
+                    Map<String ,String> v_RowDatas = v_Item.getValue().toCompletableFuture().join();
+                    if ( Help.isNull(v_RowDatas) )
+                    {
+                        v_Dirtys.add(v_Item.getKey());
+                    }
+                    else
+                    {
+                        v_Rows.put(v_Item.getKey() ,v_RowDatas);
+                    }
+                }
+
+                if ( v_Dirtys.isEmpty() )
+                {
+                    return CompletableFuture.completedFuture(v_Rows);
+                }
+
+                String [] v_Fields = v_Dirtys.toArray(new String[v_Dirtys.size()]);
+                String [] v_Keys   = new String[v_Fields.length];
+                for (int x=0; x<v_Fields.length; x++)
+                {
+                    v_Keys[x] = this.keyLayout.getRowKey(i_TableID ,v_Fields[x]);
+                }
+
+                this.asyncCmd.del(v_Keys);
+                return this.asyncCmd.hdel(i_TableID ,v_Fields).thenApply(v_Count -> v_Rows);
+            });
+        });
+    }
+
+
+
+    /**
+     * 获取全表数据
+     *
+     * 所有行的 HGETALL 同时发送，不逐行等待
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             Map.key行主键，Map.Map.key字段名，Map.Map.value字段值
+     */
+    @Override
+    public CompletionStage<TablePartitionRID<String ,String>> getRows(String i_Database ,String i_TableName)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) )
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return this.getRows_Core(this.getTableID(i_Database ,i_TableName)).thenApply(v_RowDatas ->
+        {
+            TablePartitionRID<String ,String> v_Rows = new TablePartitionRID<String ,String>();
+            for (Map.Entry<String ,Map<String ,String>> v_Item : v_RowDatas.entrySet())
+            {
+                v_Rows.putRows(v_Item.getKey() ,RedisValueCodec.toText(v_Item.getValue()));
+            }
+            return v_Rows;
+        });
+    }
+
+
+
+    /**
+     * 获取全表数据
+     *
+     * 所有行的 HGETALL 同时发送，不逐行等待
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @return             Map.key行主键，Map.value行数据
+     */
+    @Override
+    public <E> CompletionStage<Map<String ,E>> getRows(String i_Database ,String i_TableName ,Class<E> i_RowClass)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) || i_RowClass == null )
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return this.getRows_Core(this.getTableID(i_Database ,i_TableName)).thenApply(v_RowDatas ->
+        {
+            Map<String ,E> v_Rows = new HashMap<String ,E>();
+            for (Map.Entry<String ,Map<String ,String>> v_Item : v_RowDatas.entrySet())
+            {
+                E v_RowObject = RedisRowMapper.toRow(i_Database ,i_TableName ,v_Item.getValue() ,i_RowClass);
+                if ( v_RowObject != null )
+                {
+                    v_Rows.put(v_Item.getKey() ,v_RowObject);
+                }
+            }
+            return v_Rows;
+        });
+    }
+
+
+
+    /**
+     * 关键字是否存在
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return
+     */
+    private CompletionStage<Boolean> isExists_Core(String i_Key)
+    {
+        return this.asyncCmd.exists(i_Key).thenApply(v_Count -> v_Count != null && v_Count >= 1L);
+    }
+
+
+
+    /**
+     * 库是否存在
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @return
+     */
+    @Override
+    public CompletionStage<Boolean> isExists(String i_Database)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return this.isExists_Core(this.getDatabaseID(i_Database));
+    }
+
+
+
+    /**
+     * 表是否存在
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return
+     */
+    @Override
+    public CompletionStage<Boolean> isExists(String i_Database ,String i_TableName)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) )
+        {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return this.isExists_Core(this.getTableID(i_Database ,i_TableName));
+    }
+
+
+
+    /**
+     * 行主键是否存在
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database    库名称
+     * @param i_TableName   表名称
+     * @param i_PrimaryKey  行主键
+     * @return
+     */
+    @Override
+    public CompletionStage<Boolean> isExists(String i_Database ,String i_TableName ,String i_PrimaryKey)
+    {
+        // 注：不用判定库名称是否为空，因为没有用到它
+
+        if ( Help.isNull(i_TableName) || Help.isNull(i_PrimaryKey) )
+        {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return this.isExists_Core(this.getRowKey(i_Database ,i_TableName ,i_PrimaryKey));
+    }
+
+
+
+    /**
+     * 行字段是否存在
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database    库名称
+     * @param i_TableName   表名称
+     * @param i_PrimaryKey  行主键
+     * @param i_Field       字段名称
+     * @return
+     */
+    @Override
+    public CompletionStage<Boolean> isExists(String i_Database ,String i_TableName ,String i_PrimaryKey ,String i_Field)
+    {
+        // 注：不用判定库、表名称是否为空，因为没有用到它
+
+        if ( Help.isNull(i_PrimaryKey) || Help.isNull(i_Field) )
+        {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return this.asyncCmd.hexists(this.getRowKey(i_Database ,i_TableName ,i_PrimaryKey) ,i_Field);
+    }
+
+
+
+    /**
+     * 设置数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key    关键字
+     * @param i_Value  数据
+     * @return         成功返回true
+     */
+    @Override
+    public CompletionStage<Boolean> set(String i_Key ,String i_Value)
+    {
+        return this.asyncCmd.set(i_Key ,i_Value).thenApply(v_Ret -> "OK".equals(v_Ret));
+    }
+
+
+
+    /**
+     * 获取数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return
+     */
+    @Override
+    public CompletionStage<String> get(String i_Key)
+    {
+        return this.asyncCmd.get(i_Key);
+    }
+
+
+
+    /**
+     * 删除数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Keys  一个或多个关键字
+     * @return        返回删除数据的数量
+     */
+    @Override
+    public CompletionStage<Long> del(String ... i_Keys)
+    {
+        return this.asyncCmd.del(i_Keys);
+    }
+
+
+    /**
+     * 获取：字段值的编码
+     */
+    public RedisValueCodec getValueCodec()
+    {
+        return this.valueCodec;
+    }
+
+
+
+    /**
+     * 设置：字段值的编码
+     *
+     * @param i_ValueCodec 字段值的编码。为NULL时按文本保存
+     */
+    public void setValueCodec(RedisValueCodec i_ValueCodec)
+    {
+        this.valueCodec = i_ValueCodec == null ? RedisValueCodec.$Text : i_ValueCodec;
+    }
+
+
+
+    /**
+     * 获取：库、表是否存在的本地缓存（与同步访问共用）。为NULL时不缓存
+     */
+    public RedisExistsCache getExistsCache()
+    {
+        return this.existsCache;
+    }
+
+
+
+    /**
+     * 设置：库、表是否存在的本地缓存（与同步访问共用）。为NULL时不缓存
+     *
+     * @param i_ExistsCache 库、表是否存在的本地缓存
+     */
+    public void setExistsCache(RedisExistsCache i_ExistsCache)
+    {
+        this.existsCache = i_ExistsCache;
+    }
+
+}
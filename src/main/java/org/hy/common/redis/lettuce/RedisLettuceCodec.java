@@ -0,0 +1,100 @@
+package org.hy.common.redis.lettuce;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.hy.common.redis.type.RedisValueCodec;
+
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+
+
+
+
+
+/**
+ * Lettuce连接的编解码器。关键字与文本的字段值按UTF-8编解码，编码后的字段值（见 RedisValueCodec）按原始字节编解码
+ *
+ * 编码后的字段值中每个字符即为一个字节（0~255），所以按ISO-8859-1写入，不会因UTF-8编码使字节数增加。
+ * 读取时首字节为标记字节 0xFE 的（UTF-8编码中不会出现），按ISO-8859-1还原为编码后的字段值，其它按UTF-8解码。
+ *
+ * 按每个字段值判断，文本的字节与 StringCodec.UTF8 完全一样，所以所有连接均使用此编解码器，与是否配置序列化器或压缩阈值无关。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class RedisLettuceCodec implements RedisCodec<String ,String>
+{
+
+    /** 共用的编解码器（无状态） */
+    public static final RedisLettuceCodec $Codec = new RedisLettuceCodec();
+
+
+
+    @Override
+    public String decodeKey(ByteBuffer i_Bytes)
+    {
+        return StringCodec.UTF8.decodeKey(i_Bytes);
+    }
+
+
+
+    @Override
+    public ByteBuffer encodeKey(String i_Key)
+    {
+        return StringCodec.UTF8.encodeKey(i_Key);
+    }
+
+
+
+    @Override
+    public String decodeValue(ByteBuffer i_Bytes)
+    {
+        if ( i_Bytes.hasRemaining() && i_Bytes.get(i_Bytes.position()) == (byte) RedisValueCodec.$Marker )
+        {
+            return StandardCharsets.ISO_8859_1.decode(i_Bytes).toString();
+        }
+
+        return StringCodec.UTF8.decodeValue(i_Bytes);
+    }
+
+
+
+    @Override
+    public ByteBuffer encodeValue(String i_Value)
+    {
+        if ( RedisValueCodec.isEncoded(i_Value) && isLatin1(i_Value) )
+        {
+            return ByteBuffer.wrap(i_Value.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        return StringCodec.UTF8.encodeValue(i_Value);
+    }
+
+
+
+    /**
+     * 是否每个字符均为一个字节（0~255）。防止恰好以标记字符开头的文本被按ISO-8859-1写入
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  字段值
+     * @return
+     */
+    private static boolean isLatin1(String i_Value)
+    {
+        for (int x=i_Value.length() - 1; x>=0; x--)
+        {
+            if ( i_Value.charAt(x) > 0xFF )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
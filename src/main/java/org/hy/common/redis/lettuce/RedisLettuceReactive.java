@@ -0,0 +1,596 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hy.common.Date;
+import org.hy.common.Help;
+import org.hy.common.redis.IRedis;
+import org.hy.common.redis.IRedisReactive;
+import org.hy.common.redis.type.RedisRowMapper;
+import org.hy.common.redis.type.RedisValueCodec;
+import org.hy.common.xml.log.Logger;
+import org.reactivestreams.Publisher;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanStream;
+import io.lettuce.core.api.reactive.RedisHashReactiveCommands;
+import io.lettuce.core.api.reactive.RedisKeyReactiveCommands;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+
+
+
+/**
+ * Redis数据库访问的Lettuce响应式实现（集群模式、单机模式通用）
+ *
+ * 基于 connect().reactive() 的响应式命令。
+ * 表不存时，用幂等的 HSETNX 自动创建库、表关系，所以无须同步锁。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：行数据Key值的组织方式（见 RedisKeyLayout）
+ *              v3.0  2026-10-17  添加：字段值的编码（见 RedisValueCodec）
+ *              v4.0  2026-10-17  添加：超过压缩阈值的字段值压缩保存
+ *
+ * @param <C>  响应式命令的类型。集群模式为 RedisAdvancedClusterReactiveCommands，单机模式为 RedisReactiveCommands
+ */
+public class RedisLettuceReactive<C extends RedisHashReactiveCommands<String ,String> & RedisKeyReactiveCommands<String ,String>> implements IRedisReactive
+{
+
+    private static final Logger  $Logger      = new Logger(RedisLettuceReactive.class);
+
+    /** 同时进行中的行操作的默认上限 */
+    public static final int      $Concurrency = 256;
+
+
+
+    /** 响应式命令（与同步命令共用连接） */
+    private final C              reactiveCmd;
+
+    /** 每页的行数（HSCAN 的 COUNT 参数） */
+    private int                  batchSize;
+
+    /** 同时进行中的行操作的上限 */
+    private int                  concurrency;
+
+    /** 行数据Key值的组织方式 */
+    private final RedisKeyLayout keyLayout;
+
+    /** 字段值的编码 */
+    private RedisValueCodec      valueCodec;
+
+
+
+    public RedisLettuceReactive(C i_ReactiveCmd)
+    {
+        this(i_ReactiveCmd ,RedisKeyLayout.$Plain);
+    }
+
+
+
+    public RedisLettuceReactive(C i_ReactiveCmd ,RedisKeyLayout i_KeyLayout)
+    {
+        this.reactiveCmd = i_ReactiveCmd;
+        this.keyLayout   = i_KeyLayout;
+        this.valueCodec  = RedisValueCodec.$Text;
+        this.batchSize   = RedisPipeline.$BatchSize;
+        this.concurrency = $Concurrency;
+    }
+
+
+
+    /**
+     * 获取Redis真实操作的原始对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public C getSource()
+    {
+        return this.reactiveCmd;
+    }
+
+
+
+    /**
+     * 获取表的物理名称。即将逻辑名称转为真实保存在Redis的Key值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称（逻辑名称）
+     * @param i_TableName  表名称（逻辑名称）
+     * @return             表的物理名称
+     */
+    private String getTableID(String i_Database ,String i_TableName)
+    {
+        return i_Database + "." + i_TableName;
+    }
+
+
+
+    /**
+     * 获取行数据的物理Key值。库、表名称为空时，行主键即为物理Key值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database    库名称（逻辑名称）
+     * @param i_TableName   表名称（逻辑名称）
+     * @param i_PrimaryKey  行主键
+     * @return
+     */
+    private String getRowKey(String i_Database ,String i_TableName ,String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) )
+        {
+            return i_PrimaryKey;
+        }
+
+        return this.keyLayout.getRowKey(this.getTableID(i_Database ,i_TableName) ,i_PrimaryKey);
+    }
+
+
+
+    /**
+     * 表不存时，自动创建表、库关系等信息
+     *
+     * 全部使用 HSETNX，重复执行或并发执行均不影响已有的创建时间
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return
+     */
+    private Mono<Boolean> createTable_Core(String i_Database ,String i_TableName)
+    {
+        String v_DBID    = IRedis.$Object_Database + i_Database;
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return this.reactiveCmd.exists(v_TableID).flatMap(v_Count ->
+        {
+            if ( v_Count != null && v_Count >= 1L )
+            {
+                return Mono.just(true);
+            }
+
+            String v_Now = Date.getNowTime().getFull();
+
+            // 空主键预占用的创建库、表Hash对象，及表、库关系
+            return Mono.when(this.reactiveCmd.hsetnx(v_DBID    ,""        ,v_Now)
+                            ,this.reactiveCmd.hsetnx(v_DBID    ,v_TableID ,v_Now)
+                            ,this.reactiveCmd.hsetnx(v_TableID ,""        ,v_Now)).thenReturn(true);
+        });
+    }
+
+
+
+    /**
+     * 获取一行数据。只有主键信息，没有行数据信息时，删除主键信息（见 RedisLettuce.getRows() 的说明）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  行主键
+     * @return              行数据不存在时为空的Mono
+     */
+    private Mono<Map<String ,String>> getRow_Core(String i_TableID ,String i_PrimaryKey)
+    {
+        return this.reactiveCmd.hgetall(this.keyLayout.getRowKey(i_TableID ,i_PrimaryKey)).collectMap(KeyValue::getKey ,KeyValue::getValue).flatMap(v_RowDatas ->
+        {
+            if ( !v_RowDatas.isEmpty() )
+            {
+                return Mono.just(v_RowDatas);
+            }
+
+            return this.reactiveCmd.hdel(i_TableID ,i_PrimaryKey).then(Mono.<Map<String ,String>>empty());
+        });
+    }
+
+
+
+    /**
+     * 保存一行数据
+     *
+     * 发送的命令与 RedisPipeline.updateRow() 一样，只是不经过管道
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  行主键
+     * @param i_Datas       数据信息（Java对象或 Map<String ,Object> 结构）
+     * @param i_ExpireTime  过期时间（单位：秒）
+     * @return              返回影响的行数。负数表示异常
+     */
+    private Mono<Long> save_Core(String i_TableID ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime)
+    {
+        if ( Help.isNull(i_PrimaryKey) || i_Datas == null )
+        {
+            return Mono.just(-1L);
+        }
+
+        // 基础类型无法按一行数据写入
+        if ( Help.isBasicDataType(i_Datas.getClass()) )
+        {
+            return Mono.just(-8L);
+        }
+
+        Map<String ,Object> v_Datas = null;
+        try
+        {
+            v_Datas = RedisRowMapper.toMap(i_Datas ,false);
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+            return Mono.just(-9L);
+        }
+
+        if ( Help.isNull(v_Datas) )
+        {
+            return Mono.just(-1L);
+        }
+
+        Map<String ,String> v_Sets      = new LinkedHashMap<String ,String>(v_Datas.size());
+        List<String>        v_Dels      = new ArrayList<String>();
+        int                 v_Threshold = this.valueCodec.getCompressThreshold(i_TableID);
+        for (Map.Entry<String ,Object> v_Data : v_Datas.entrySet())
+        {
+            if ( v_Data.getValue() == null )
+            {
+                v_Dels.add(v_Data.getKey());
+            }
+            else
+            {
+                v_Sets.put(v_Data.getKey() ,this.valueCodec.encode(v_Data.getValue() ,v_Threshold));
+            }
+        }
+
+        List<Mono<?>> v_Cmds   = new ArrayList<Mono<?>>(4);
+        String        v_RowKey = this.keyLayout.getRowKey(i_TableID ,i_PrimaryKey);
+
+        // 表、主键关系
+        v_Cmds.add(this.reactiveCmd.hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull()));
+
+        if ( !v_Sets.isEmpty() )
+        {
+            v_Cmds.add(this.reactiveCmd.hset(v_RowKey ,v_Sets));
+        }
+
+        if ( !v_Dels.isEmpty() )
+        {
+            v_Cmds.add(this.reactiveCmd.hdel(v_RowKey ,v_Dels.toArray(new String[v_Dels.size()])));
+        }
+
+        // 设置行级过期时间
+        if ( i_ExpireTime != null && i_ExpireTime > 0L )
+        {
+            v_Cmds.add(this.reactiveCmd.expireat(v_RowKey ,i_ExpireTime));
+        }
+
+        return Mono.when(v_Cmds).thenReturn((long) v_Datas.size());
+    }
+
+
+
+    /**
+     * 获取一行数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_PrimaryKey 行主键
+     * @return             Map.key字段名，Map.value字段值
+     */
+    @Override
+    public Mono<Map<String ,String>> getRow(String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_PrimaryKey) )
+        {
+            return Mono.empty();
+        }
+
+        return this.reactiveCmd.hgetall(i_PrimaryKey).collectMap(KeyValue::getKey ,KeyValue::getValue).map(RedisValueCodec::toText);
+    }
+
+
+
+    /**
+     * 获取一行数据（Map结构中元素类型的翻译）
+     *
+     *   当i_RowClass为Map结构，并且配置有 RedisMapType 时，将按其转换为Java类型
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称（允许为空或NULL）
+     * @param i_TableName  表名称（允许为空或NULL）
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return             查不时为空的Mono
+     */
+    @Override
+    public <E> Mono<E> getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,Class<E> i_RowClass)
+    {
+        if ( Help.isNull(i_PrimaryKey) || i_RowClass == null )
+        {
+            return Mono.empty();
+        }
+
+        return this.reactiveCmd.hgetall(this.getRowKey(i_Database ,i_TableName ,i_PrimaryKey))
+                               .collectMap(KeyValue::getKey ,KeyValue::getValue)
+                               .mapNotNull(v_RowDatas -> RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowDatas ,i_RowClass));
+    }
+
+
+
+    /**
+     * 流式获取全表数据（支持背压）
+     *
+     * 按 HSCAN 游标分页读取表、主键关系，行数据按下游的请求量获取，同时进行中的行数有上限。
+     *
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被发布多次
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @return
+     */
+    @Override
+    public <E> Flux<E> getRows(String i_Database ,String i_TableName ,Class<E> i_RowClass)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) || i_RowClass == null )
+        {
+            return Flux.empty();
+        }
+
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return ScanStream.hscan(this.reactiveCmd ,v_TableID ,ScanArgs.Builder.limit(this.batchSize))
+                         .map(KeyValue::getKey)
+                         // 空主键是创建表时预留的
+                         .filter(v_PrimaryKey -> !Help.isNull(v_PrimaryKey))
+                         .flatMapSequential(v_PrimaryKey -> this.getRow_Core(v_TableID ,v_PrimaryKey) ,this.concurrency)
+                         .mapNotNull(v_RowDatas -> RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowDatas ,i_RowClass));
+    }
+
+
+
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息（Java对象或 Map<String ,Object> 结构）。Map.value 为 null 时，将执行Redis删除命令
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public Mono<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas)
+    {
+        return this.save(i_Database ,i_TableName ,i_PrimaryKey ,i_Datas ,null);
+    }
+
+
+
+    /**
+     * 保存一行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @param i_Datas      数据信息（Java对象或 Map<String ,Object> 结构）。Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public Mono<Long> save(String i_Database ,String i_TableName ,String i_PrimaryKey ,Object i_Datas ,Long i_ExpireTime)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) )
+        {
+            return Mono.just(-1L);
+        }
+
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return this.createTable_Core(i_Database ,i_TableName).flatMap(v_IsOK -> this.save_Core(v_TableID ,i_PrimaryKey ,i_Datas ,i_ExpireTime));
+    }
+
+
+
+    /**
+     * 流式批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：按上游的发布量保存，同时进行中的行数有上限
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.Entry.key为行主键，Map.Entry.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @return             返回保存成功的行数。负数表示异常
+     */
+    @Override
+    public Mono<Long> saveRows(String i_Database ,String i_TableName ,Publisher<? extends Map.Entry<String ,?>> i_Rows)
+    {
+        return this.saveRows(i_Database ,i_TableName ,i_Rows ,null);
+    }
+
+
+
+    /**
+     * 流式批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     *
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：按上游的发布量保存，同时进行中的行数有上限
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.Entry.key为行主键，Map.Entry.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             返回保存成功的行数。负数表示异常
+     */
+    @Override
+    public Mono<Long> saveRows(String i_Database ,String i_TableName ,Publisher<? extends Map.Entry<String ,?>> i_Rows ,Long i_ExpireTime)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) || i_Rows == null )
+        {
+            return Mono.just(-1L);
+        }
+
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return this.createTable_Core(i_Database ,i_TableName).flatMap(v_IsOK ->
+               Flux.<Map.Entry<String ,?>>from(i_Rows)
+                   .flatMap(v_Row -> this.save_Core(v_TableID ,v_Row.getKey() ,v_Row.getValue() ,i_ExpireTime) ,this.concurrency)
+                   .filter(v_Ret -> v_Ret >= 0L)
+                   .count());
+    }
+
+
+
+    /**
+     * 删除一行记录
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_PrimaryKey 行主键
+     * @return             返回影响的行数。负数表示异常
+     */
+    @Override
+    public Mono<Long> delete(String i_Database ,String i_TableName ,String i_PrimaryKey)
+    {
+        if ( Help.isNull(i_Database) || Help.isNull(i_TableName) || Help.isNull(i_PrimaryKey) )
+        {
+            return Mono.just(-1L);
+        }
+
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+
+        return this.reactiveCmd.exists(v_TableID).flatMap(v_Count ->
+        {
+            if ( v_Count == null || v_Count <= 0L )
+            {
+                return Mono.just(-1L);
+            }
+
+            return this.reactiveCmd.hdel(v_TableID ,i_PrimaryKey).then(this.reactiveCmd.del(this.keyLayout.getRowKey(v_TableID ,i_PrimaryKey)));
+        });
+    }
+
+
+
+    /**
+     * 获取：每页的行数（HSCAN 的 COUNT 参数）
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+
+
+    /**
+     * 设置：每页的行数（HSCAN 的 COUNT 参数）
+     *
+     * @param i_BatchSize 每页的行数
+     */
+    public void setBatchSize(int i_BatchSize)
+    {
+        this.batchSize = i_BatchSize <= 0 ? RedisPipeline.$BatchSize : i_BatchSize;
+    }
+
+
+
+    /**
+     * 获取：同时进行中的行操作的上限
+     */
+    public int getConcurrency()
+    {
+        return concurrency;
+    }
+
+
+
+    /**
+     * 设置：同时进行中的行操作的上限
+     *
+     * @param i_Concurrency 同时进行中的行操作的上限
+     */
+    public void setConcurrency(int i_Concurrency)
+    {
+        this.concurrency = i_Concurrency <= 0 ? $Concurrency : i_Concurrency;
+    }
+
+
+    /**
+     * 获取：字段值的编码
+     */
+    public RedisValueCodec getValueCodec()
+    {
+        return this.valueCodec;
+    }
+
+
+
+    /**
+     * 设置：字段值的编码
+     *
+     * @param i_ValueCodec 字段值的编码。为NULL时按文本保存
+     */
+    public void setValueCodec(RedisValueCodec i_ValueCodec)
+    {
+        this.valueCodec = i_ValueCodec == null ? RedisValueCodec.$Text : i_ValueCodec;
+    }
+
+}
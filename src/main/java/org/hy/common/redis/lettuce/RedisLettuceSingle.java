@@ -1,25 +1,40 @@
 package org.hy.common.redis.lettuce;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.hy.common.Date;
 import org.hy.common.Help;
 import org.hy.common.MethodReflect;
 import org.hy.common.TablePartitionRID;
 import org.hy.common.redis.IRedis;
+import org.hy.common.redis.IRedisAsync;
+import org.hy.common.redis.IRedisReactive;
 import org.hy.common.redis.RData;
 import org.hy.common.redis.cluster.RedisConfig;
-import org.hy.common.redis.type.RedisMapType;
-import org.hy.common.xml.SerializableDef;
+import org.hy.common.redis.metrics.RedisCommandListener;
+import org.hy.common.redis.metrics.RedisMetrics;
+import org.hy.common.redis.type.RedisRowMapper;
+import org.hy.common.redis.type.RedisValueCodec;
 import org.hy.common.xml.log.Logger;
 
+import io.lettuce.core.MapScanCursor;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
 import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 
 
 
@@ -35,6 +50,33 @@ import io.lettuce.core.api.sync.RedisCommands;
  *                                添加：插入、更新和保存一行数据时，可设置过期时间
  *              v3.0  2025-02-06  添加：支持外界定义行数据类型(Class<E> i_RowClass)不是一个Java类，而是一个通用Map结构。
  *                                    注：仅支持Map<String ,Object>结构的Map集合
+ *              v4.0  2026-10-17  优化：插入、更新一行数据时，用管道批量发送命令，由2N+1次往返降为约1次往返
+ *              v5.0  2026-10-17  添加：批量保存多行数据 saveRows()
+ *              v6.0  2026-10-17  优化：获取全表数据时，按批次管道获取所有行数据，及批量删除脏数据。不再逐行访问Redis
+ *              v7.0  2026-10-17  添加：分页扫描全表数据 scanRows()。按 HSCAN 游标分页，内存占用与表的大小无关
+ *              v8.0  2026-10-17  添加：获取异步访问接口 getAsync()
+ *              v9.0  2026-10-17  添加：获取响应式访问接口 getReactive()
+ *              v10.0 2026-10-17  优化：更新一行数据时，用缓存的Lua脚本(EVALSHA)在服务端原子执行，一行一次往返
+ *              v11.0 2026-10-17  优化：库、表是否存在的本地缓存，省去写入前的 EXISTS 往返。创建表按表加锁，不再锁整个实例
+ *              v12.0 2026-10-17  添加：可选的近端缓存 setNearCache()。基于 CLIENT TRACKING 的失效通知，热点行从本地内存读取
+ *              v13.0 2026-10-17  优化：Java对象写入时，按预先解析的Getter方法句柄直接转为行数据，不再经 Help.toMap()
+ *              v14.0 2026-10-17  添加：可配置的字段值编码（见 RedisValueCodec）。数字、时间、字节数组等可按紧凑的二进制保存
+ *              v15.0 2026-10-17  添加：超过压缩阈值的字段值压缩保存（可按表配置，见 RedisMapType.saveCompress()）
+ *              v16.0 2026-10-17  添加：多路复用的连接组，同步命令按轮询分散到多个连接上。阻塞、事务命令从连接池借用独占的连接 execute()
+ *              v17.0 2026-10-17  优化：清空表、删除表按 HSCAN 游标分批 UNLINK（见 RedisBulkDelete），支持进度及取消 newTruncate()、newDropTable()
+ *              v18.0 2026-10-17  添加：清空表、删除表的限速后台任务 truncateJob()、dropTableJob()，支持进度、暂停及恢复
+ *              v19.0 2026-10-17  添加：按 IRedis 方法及Redis命令统计调用次数、异常次数及耗时的分布 enableMetrics()，并注册到JMX
+ *              v20.0 2026-10-17  添加：统计代理为每次 IRedis 方法的调用发出JFR事件（库、表、键数、命令数及耗时），及慢调用的JFR事件
+ *              v21.0 2026-10-17  添加：统计代理按方法及按线程统计发送的命令数（见 RedisCommandCounter），及超过命令预算的调用记录到日志
+ *              v22.0 2026-10-17  修改：库、表是否存在的缓存失效通知默认开启 setExistsPubSub()，断线重连后清空缓存
+ *              v23.0 2026-10-17  修改：批量管道按多路复用的连接数创建多个专用的连接，并发的批次不再串行入队
+ *              v24.0 2026-10-17  修正：获取全表数据时未还原编码后的字段值
+ *              v25.0 2026-10-17  修正：一个字段的插入、更新未经字段值的编码
+ *              v26.0 2026-10-17  修正：是否按原始字节保存编码后的字段值，在创建连接时按全局的配置判断。改为按每个字段值判断
+ *              v27.0 2026-10-17  修正：近端缓存断线重连后不再收到失效通知。改为自动重新开启跟踪；缓存与读取命令一同发布；读取异常时取消令牌
+ *              v28.0 2026-10-17  修正：开启统计前已创建的连接，其命令未被统计。改为创建连接前注册转发的命令监听器
+ *              v29.0 2026-10-17  修正：插入一行数据的行级过期时间与数据在一个批次中发送，并改为与其它写入一致的 EXPIREAT（原为相对时长的 EXPIRE）
+ *              v30.0 2026-10-17  修正：异步访问与同步访问共用库、表是否存在的本地缓存
  */
 public class RedisLettuceSingle implements IRedis
 {
@@ -45,18 +87,78 @@ public class RedisLettuceSingle implements IRedis
 
     private RedisClient                   redisClient;
 
-    private RedisCommands<String ,String> redisCmd;
+    /** 多路复用的连接组，及阻塞、事务命令专用的连接池 */
+    private RedisConnections<StatefulRedisConnection<String ,String>> redisConns;
+    
+    /** 异步访问 */
+    private RedisLettuceAsync<RedisAsyncCommands<String ,String>> redisAsync;
+    
+    /** 响应式访问 */
+    private RedisLettuceReactive<RedisReactiveCommands<String ,String>> redisReactive;
+    
+    /** 原子写入一行数据的Lua脚本 */
+    private RedisRowScript<RedisCommands<String ,String>> redisScript;
+    
+    /** 库、表是否存在的本地缓存 */
+    private RedisExistsCache existsCache;
+    
+    /** 缓存失效通知的发布订阅连接。为NULL时不通知 */
+    private StatefulRedisPubSubConnection<String ,String> existsPubSub;
+    
+    /** 近端缓存，及其专用的连接、读取命令。为NULL时不开启 */
+    private volatile RedisNearTracking<RedisCommands<String ,String>> near;
+    
+    /** 批量管道（专用连接） */
+    private RedisPipeline<RedisAsyncCommands<String ,String>> redisBatch;
+    
+    /** 字段值的编码 */
+    private RedisValueCodec valueCodec;
+    
+    /** 访问的统计。为NULL时不统计（见 enableMetrics()） */
+    private volatile RedisMetrics metrics;
+    
+    /** 转发命令事件的监听器。创建连接前注册，开启统计后转发给 metrics */
+    private RedisCommandListener commandListener;
+    
+    /** 统计 IRedis 方法的代理 */
+    private IRedis metricsProxy;
 
 
 
     public RedisLettuceSingle(RedisConfig i_Config)
     {
-        this.redisClient  = RedisClient.create(i_Config.toLettuce());
+        this.redisClient     = RedisClient.create(i_Config.toLettuce());
+        this.valueCodec      = RedisValueCodec.valueOf(i_Config.getValueCodec() ,i_Config.getCompressThreshold());
+        this.existsCache     = new RedisExistsCache();
+        this.commandListener = new RedisCommandListener();
+        
+        // Lettuce只在创建连接时添加命令监听器，所以在创建连接前注册。开启统计前不做任何处理
+        this.redisClient.addListener(this.commandListener);
         
         try
         {
-            // 创建连接到 Redis 的连接
-            this.redisCmd = this.redisClient.connect().sync();
+            // 创建连接到 Redis 的连接组。同步命令按轮询分散到所有连接上，异步命令共用第一个连接
+            this.redisConns    = new RedisConnections<StatefulRedisConnection<String ,String>>(this::connect_Core ,i_Config.getConnections() == null ? RedisConnections.$DefaultSize : i_Config.getConnections() ,i_Config.toPoolConfig());
+            StatefulRedisConnection<String ,String> v_Conn = this.redisConns.first();
+            this.redisAsync    = new RedisLettuceAsync<RedisAsyncCommands<String ,String>>(v_Conn.async());
+            this.redisReactive = new RedisLettuceReactive<RedisReactiveCommands<String ,String>>(v_Conn.reactive());
+            this.redisScript   = new RedisRowScript<RedisCommands<String ,String>>(this::redisCmd ,false);
+            this.redisAsync   .setValueCodec(this.valueCodec);
+            this.redisAsync   .setExistsCache(this.existsCache);
+            this.redisReactive.setValueCodec(this.valueCodec);
+            this.redisScript  .setValueCodec(this.valueCodec);
+            
+            // 创建批量管道专用的连接。它们关闭了自动刷新，所以不与同步命令共用连接。数量与多路复用的连接数相同，并发的批次可同时入队
+            List<StatefulRedisConnection<String ,String>> v_BatchConns = new ArrayList<StatefulRedisConnection<String ,String>>();
+            for (int x=this.redisConns.size(); x>0; x--)
+            {
+                v_BatchConns.add(this.connect_Core());
+            }
+            this.redisBatch = new RedisPipeline<RedisAsyncCommands<String ,String>>(v_BatchConns ,StatefulRedisConnection::async ,null);
+            this.redisBatch.setValueCodec(this.valueCodec);
+            
+            // 默认开启缓存失效的通知。否则其它实例删除表后，存活时长内仍判定表存在，写入的行数据缺少表的注册
+            this.initExistsPubSub_Core();
         }
         catch (Exception exce)
         {
@@ -67,9 +169,124 @@ public class RedisLettuceSingle implements IRedis
 
 
 
+    /**
+     * 创建连接。编码后的字段值按原始字节编解码，文本按UTF-8（见 RedisLettuceCodec）
+     * 
+     * 按每个字段值判断，所以连接创建后才配置的序列化器或压缩阈值（如按表配置的），也按原始字节保存
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    private StatefulRedisConnection<String ,String> connect_Core()
+    {
+        return this.redisClient.connect(RedisLettuceCodec.$Codec);
+    }
+    
+    
+    
+    /**
+     * 获取同步命令。按轮询的方式从多路复用的连接组中选择一个连接
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    private RedisCommands<String ,String> redisCmd()
+    {
+        return this.redisConns.next().sync();
+    }
+    
+    
+    
+    /**
+     * 从连接池借用独占的连接，执行阻塞命令（如 BLPOP）或事务命令（MULTI/EXEC/WATCH）。执行完成后归还连接
+     * 
+     * 注：不要在动作中关闭连接，也不要将连接保留到动作之外
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <R>       返回结果的类型
+     * @param i_Action  在独占的连接上执行的动作
+     * @return
+     */
+    public <R> R execute(Function<StatefulRedisConnection<String ,String> ,R> i_Action)
+    {
+        return this.redisConns.execute(i_Action);
+    }
+    
+    
+    
+    /**
+     * 开启访问的统计，并注册到JMX。重复调用时返回同一个代理
+     * 
+     * 按 IRedis 方法统计须通过返回的代理访问；按Redis命令统计（含Lettuce的 CommandLatencyCollector）对所有访问均有效
+     * 
+     * 返回的代理还为每次调用发出JFR事件 org.hy.common.redis.Call，及超过阈值的慢调用事件 org.hy.common.redis.SlowCall（见 RedisSlowCallEvent）
+     * 
+     * 经返回的代理调用时，统计每次调用发送的命令数。用 getMetrics().setCommandBudget() 设置命令预算后，超过预算的调用记录到日志
+     * 
+     * 命令经构造时注册的转发监听器（见 RedisCommandListener）统计，开启前已创建的连接上的命令也被统计
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修正：经构造时注册的转发监听器统计命令
+     *
+     * @return  返回统计 IRedis 方法的代理
+     */
+    public synchronized IRedis enableMetrics()
+    {
+        if ( this.metrics == null )
+        {
+            RedisMetrics v_Metrics = new RedisMetrics("RedisLettuceSingle@" + Integer.toHexString(System.identityHashCode(this)));
+            v_Metrics.attach(this.redisClient ,this.commandListener);
+            v_Metrics.register();
+            
+            this.metricsProxy = v_Metrics.wrap(this);
+            this.metrics      = v_Metrics;
+        }
+        
+        return this.metricsProxy;
+    }
+    
+    
+    
+    /**
+     * 获取：访问的统计。未开启时为NULL
+     */
+    public RedisMetrics getMetrics()
+    {
+        return this.metrics;
+    }
+    
+    
+    
+    /**
+     * 获取：多路复用的连接组，及阻塞、事务命令专用的连接池
+     */
+    public RedisConnections<StatefulRedisConnection<String ,String>> getConnections()
+    {
+        return this.redisConns;
+    }
+    
+    
+    
     @Override
     protected void finalize() throws Throwable
     {
+        this.setNearCache(false);
+        if ( this.metrics != null )
+        {
+            this.metrics.close();
+        }
+        this.redisConns  .close();
         this.redisClient .shutdown();
         this.redisClient  = null;
     }
@@ -91,7 +308,41 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public Object getSource()
     {
-        return this.redisCmd;
+        return this.redisConns.first().sync();
+    }
+    
+    
+    
+    /**
+     * 获取异步访问接口。与本对象共用连接，所有操作均不阻塞调用线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    @Override
+    public IRedisAsync getAsync()
+    {
+        return this.redisAsync;
+    }
+    
+    
+    
+    /**
+     * 获取响应式访问接口。与本对象共用连接，全表数据按流式读取，支持背压
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    @Override
+    public IRedisReactive getReactive()
+    {
+        return this.redisReactive;
     }
     
     
@@ -126,7 +377,7 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public Date getNowTime(int i_Timezone)
     {
-        List<String> v_UnixTime = this.redisCmd.time();
+        List<String> v_UnixTime = this.redisCmd().time();
         if ( Help.isNull(v_UnixTime) || v_UnixTime.size() < 2 )
         {
             return null;
@@ -186,46 +437,54 @@ public class RedisLettuceSingle implements IRedis
      * @author      ZhengWei(HY)
      * @createDate  2024-03-15
      * @version     v1.0
+     *              v2.0  2026-10-17  修改：按表加锁，替代整个实例的同步锁
      *
      * @param i_Database   库名称
      * @param i_TableName  表名称
      */
     @Override
-    public synchronized boolean createTable(String i_Database ,String i_TableName)
+    public boolean createTable(String i_Database ,String i_TableName)
     {
         String v_DBID    = this.getDatabaseID(i_Database);
         String v_TableID = this.getTableID(   i_Database ,i_TableName);
         
-        // 判定表对象是否存在
-        if ( this.isExistsTable_Core(v_TableID) )
-        {
-            String v_CreateTime = this.redisCmd.hget(v_DBID ,v_TableID);
-            $Logger.error("Table[" + v_TableID + "] exists ,it was created at " + v_CreateTime);
-            return false;
-        }
-        
-        if ( !this.isExistsDatabase_Core(v_DBID) )
-        {
-            // 添加一个空主键，使用空字段实现预占用的创建库Hash对象
-            // 不通过返回值判定，也不报错，提高容错性
-            this.redisCmd.hsetnx(v_DBID ,"" ,new Date().getFull());
-        }
-        
-        // 判定表是否关系到库（不存在是创建关系，而不是报错，提高容错性）
-        String v_Now = Date.getNowTime().getFull();
-        if ( !this.redisCmd.hexists(v_DBID ,v_TableID) )
+        // 按表加锁，不同表的创建互不阻塞
+        synchronized ( this.existsCache.getLock(v_TableID) )
         {
-            if ( !this.redisCmd.hset(v_DBID ,v_TableID ,v_Now) )
+            // 判定表对象是否存在
+            if ( this.isExistsTable_Core(v_TableID) )
             {
-                $Logger.error("An exception occurred while creating the Table[" + v_TableID + "] for MetaData.");
+                String v_CreateTime = this.redisCmd().hget(v_DBID ,v_TableID);
+                $Logger.error("Table[" + v_TableID + "] exists ,it was created at " + v_CreateTime);
                 return false;
             }
+            
+            if ( !this.isExistsDatabase_Core(v_DBID) )
+            {
+                // 添加一个空主键，使用空字段实现预占用的创建库Hash对象
+                // 不通过返回值判定，也不报错，提高容错性
+                this.redisCmd().hsetnx(v_DBID ,"" ,new Date().getFull());
+            }
+            
+            // 判定表是否关系到库（不存在是创建关系，而不是报错，提高容错性）
+            String v_Now = Date.getNowTime().getFull();
+            if ( !this.redisCmd().hexists(v_DBID ,v_TableID) )
+            {
+                if ( !this.redisCmd().hset(v_DBID ,v_TableID ,v_Now) )
+                {
+                    $Logger.error("An exception occurred while creating the Table[" + v_TableID + "] for MetaData.");
+                    return false;
+                }
+            }
+            
+            // 添加一个空主键，使用空字段实现预占用的创建表Hash对象
+            // 不通过返回值判定，也不报错，提高容错性
+            this.redisCmd().hsetnx(v_TableID ,"" ,v_Now);
+            
+            this.existsCache.put(v_DBID);
+            this.existsCache.put(v_TableID);
+            return true;
         }
-        
-        // 添加一个空主键，使用空字段实现预占用的创建表Hash对象
-        // 不通过返回值判定，也不报错，提高容错性
-        this.redisCmd.hsetnx(v_TableID ,"" ,v_Now);
-        return true;
     }
 
 
@@ -281,10 +540,95 @@ public class RedisLettuceSingle implements IRedis
      */
     private boolean dropTable_Core(String i_DBID ,String i_TableID)
     {
-        this.truncate_Core(i_TableID);                        // 清空数据
-        this.redisCmd.hdel(i_TableID ,"");                  // 删除 空主键
-        this.redisCmd.del(i_TableID);                       // 删除表
-        return this.redisCmd.hdel(i_DBID ,i_TableID) >= 1L; // 删除表库关系
+        RedisBulkDelete<RedisCommands<String ,String>> v_Drop = this.newDropTable_Core(i_DBID ,i_TableID);
+        v_Drop.execute();
+        return v_Drop.isCompleted();
+    }
+    
+    
+    
+    /**
+     * 创建删除内存表的任务。先分批删除行数据，再删除表（含空主键），最后删除表库关系
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_DBID     库的物理名称。即在Redis中保存的真实Key值
+     * @param i_TableID  表的物理名称。即在Redis中保存的真实Key值
+     * @return
+     */
+    private RedisBulkDelete<RedisCommands<String ,String>> newDropTable_Core(String i_DBID ,String i_TableID)
+    {
+        return new RedisBulkDelete<RedisCommands<String ,String>>(this::redisCmd ,this.redisBatch ,i_TableID ,true ,() ->
+        {
+            this.invalidate_Core(i_TableID);         // 表是否存在的缓存失效
+            this.redisCmd().hdel(i_DBID ,i_TableID); // 删除表库关系
+        });
+    }
+    
+    
+    
+    /**
+     * 创建删除内存表的任务。由调用者执行 execute()，执行期间可获取进度，或在其它线程中取消
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             表或库不存在时返回NULL
+     */
+    public RedisBulkDelete<RedisCommands<String ,String>> newDropTable(String i_Database ,String i_TableName)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return null;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return null;
+        }
+        
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+        if ( !this.isExistsTable_Core(v_TableID) )
+        {
+            return null;
+        }
+        
+        String v_DBID = this.getDatabaseID(i_Database);
+        if ( !this.isExistsDatabase_Core(v_DBID) )
+        {
+            return null;
+        }
+        
+        return this.newDropTable_Core(v_DBID ,v_TableID);
+    }
+    
+    
+    
+    /**
+     * 在后台删除内存表。按每秒最多删除的行数限速，不占用调用者的线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rate       每秒最多删除的行数。小于等于0时不限速
+     * @return             返回已启动的后台任务。表或库不存在时返回NULL
+     */
+    public RedisDeleteJob dropTableJob(String i_Database ,String i_TableName ,long i_Rate)
+    {
+        RedisBulkDelete<RedisCommands<String ,String>> v_Drop = this.newDropTable(i_Database ,i_TableName);
+        if ( v_Drop == null )
+        {
+            return null;
+        }
+        
+        return new RedisDeleteJob(v_Drop ,i_Rate).start();
     }
     
     
@@ -325,7 +669,8 @@ public class RedisLettuceSingle implements IRedis
             }
         }
         
-        return this.redisCmd.del(v_DBID) >= 1L;
+        this.invalidate_Core(v_DBID);
+        return this.redisCmd().del(v_DBID) >= 1L;
     }
 
 
@@ -359,6 +704,7 @@ public class RedisLettuceSingle implements IRedis
             return -1L;
         }
         
+        this.invalidate_Core(v_TableID);
         return truncate_Core(v_TableID);
     }
     
@@ -376,28 +722,83 @@ public class RedisLettuceSingle implements IRedis
      */
     private Long truncate_Core(String i_TableID)
     {
-        Map<String ,String> v_RowIDs = this.redisCmd.hgetall(i_TableID);
-        if ( Help.isNull(v_RowIDs) )
+        return this.newTruncate_Core(i_TableID).execute();
+    }
+    
+    
+    
+    /**
+     * 创建清空内存表数据的任务。按 HSCAN 游标分批删除，保留创建表时预留的空主键
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID  表的物理名称。即在Redis中保存的真实Key值
+     * @return
+     */
+    private RedisBulkDelete<RedisCommands<String ,String>> newTruncate_Core(String i_TableID)
+    {
+        return new RedisBulkDelete<RedisCommands<String ,String>>(this::redisCmd ,this.redisBatch ,i_TableID ,false ,null);
+    }
+    
+    
+    
+    /**
+     * 创建清空内存表数据的任务。由调用者执行 execute()，执行期间可获取进度，或在其它线程中取消
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             表不存在时返回NULL
+     */
+    public RedisBulkDelete<RedisCommands<String ,String>> newTruncate(String i_Database ,String i_TableName)
+    {
+        if ( Help.isNull(i_Database) )
         {
-            return 0L;
+            return null;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return null;
         }
         
-        long v_Count = 0L;
-        for (String v_RowID : v_RowIDs.keySet())
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+        if ( !this.isExistsTable_Core(v_TableID) )
         {
-            if ( Help.isNull(v_RowID) )
-            {
-                continue;
-            }
-            
-            Long v_DelRet = this.delete_Core(i_TableID ,v_RowID);
-            if ( v_DelRet >= 0L )
-            {
-                v_Count += v_DelRet;
-            }
+            return null;
         }
         
-        return v_Count;
+        this.invalidate_Core(v_TableID);
+        return this.newTruncate_Core(v_TableID);
+    }
+    
+    
+    
+    /**
+     * 在后台清空内存表数据。按每秒最多删除的行数限速，不占用调用者的线程
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rate       每秒最多删除的行数。小于等于0时不限速
+     * @return             返回已启动的后台任务。表不存在时返回NULL
+     */
+    public RedisDeleteJob truncateJob(String i_Database ,String i_TableName ,long i_Rate)
+    {
+        RedisBulkDelete<RedisCommands<String ,String>> v_Truncate = this.newTruncate(i_Database ,i_TableName);
+        if ( v_Truncate == null )
+        {
+            return null;
+        }
+        
+        return new RedisDeleteJob(v_Truncate ,i_Rate).start();
     }
 
 
@@ -439,23 +840,50 @@ public class RedisLettuceSingle implements IRedis
         return this.delete_Core(v_TableID ,i_PrimaryKey);
     }
 
-
-
+
+
+    /**
+     * 删除一行记录
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2024-03-16
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  主键
+     * @return
+     */
+    private Long delete_Core(String i_TableID ,String i_PrimaryKey)
+    {
+        this.redisCmd().hdel(i_TableID ,i_PrimaryKey);
+        return this.redisCmd().del(i_PrimaryKey);
+    }
+
+    
+    
     /**
-     * 删除一行记录
+     * 批量删除只有主键信息，没有行数据信息的主键信息
+     * 
+     * 这情况产生的原因有：
+     *     情况1：行数据信息因到过期时间后被Redis释放
+     *     情况2：本类库Bug而生成的脏数据
+     *     情况3：本类库生成的结构被第三方窜改
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2024-03-16
+     * @createDate  2026-10-17
      * @version     v1.0
      *
-     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
-     * @param i_PrimaryKey  主键
-     * @return
+     * @param i_TableID      表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKeys  行主键
      */
-    private Long delete_Core(String i_TableID ,String i_PrimaryKey)
+    private void deleteDirtys_Core(String i_TableID ,List<String> i_PrimaryKeys)
     {
-        this.redisCmd.hdel(i_TableID ,i_PrimaryKey);
-        return this.redisCmd.del(i_PrimaryKey);
+        if ( Help.isNull(i_PrimaryKeys) )
+        {
+            return;
+        }
+        
+        this.redisBatch.deleteRows(i_TableID ,i_PrimaryKeys);
     }
 
 
@@ -615,7 +1043,7 @@ public class RedisLettuceSingle implements IRedis
         
         try
         {
-            return this.insert(i_Database ,i_TableName ,i_PrimaryKey ,Help.toMap(i_Datas) ,i_Expire);
+            return this.insert(i_Database ,i_TableName ,i_PrimaryKey ,RedisRowMapper.toMap(i_Datas ,false) ,i_Expire);
         }
         catch (Exception exce)
         {
@@ -657,6 +1085,7 @@ public class RedisLettuceSingle implements IRedis
      * @author      ZhengWei(HY)
      * @createDate  2024-09-14
      * @version     v1.0
+     *              v2.0  2026-10-17  修正：行级过期时间的 EXPIREAT 与数据在一个批次中发送
      * 
      * @param i_Database   库名称
      * @param i_TableName  表名称
@@ -694,29 +1123,8 @@ public class RedisLettuceSingle implements IRedis
             }
         }
         
-        long v_Count = 0L;
-        for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
-        {
-            if ( v_Data.getValue() == null )
-            {
-                v_Count += this.insert_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,null);
-            }
-            else
-            {
-                v_Count += this.insert_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,v_Data.getValue().toString());
-            }
-        }
-        
-        // 设置行级过期时间
-        if ( v_Count >= 1 )
-        {
-            if ( i_Expire != null && i_Expire > 0L )
-            {
-                this.redisCmd.expire(i_PrimaryKey ,i_Expire);
-            }
-        }
-        
-        return v_Count;
+        // 表、主键关系、所有字段与行级过期时间在一个批次中发送
+        return this.redisBatch.insertRow(v_TableID ,i_PrimaryKey ,i_Datas ,i_Expire);
     }
 
 
@@ -737,10 +1145,10 @@ public class RedisLettuceSingle implements IRedis
     private Long insert_Core(String i_TableID ,String i_PrimaryKey ,String i_Field ,String i_Value)
     {
         // 表、主键关系
-        this.redisCmd.hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
+        this.redisCmd().hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
         
-        // 一行中的一个字段的数据
-        if ( this.redisCmd.hsetnx(i_PrimaryKey ,i_Field ,i_Value) )
+        // 一行中的一个字段的数据。与整行写入一样经字段值的编码，超过压缩阈值时压缩
+        if ( this.redisCmd().hsetnx(i_PrimaryKey ,i_Field ,this.valueCodec.encode(i_Value ,this.valueCodec.getCompressThreshold(i_TableID))) )
         {
             return 1L;
         }
@@ -969,7 +1377,7 @@ public class RedisLettuceSingle implements IRedis
             }
             else
             {
-                return this.update(i_Database ,i_TableName ,i_PrimaryKey ,Help.toMap(i_Datas ,null ,i_HaveNullValue ,false) ,i_ExpireTime);
+                return this.update(i_Database ,i_TableName ,i_PrimaryKey ,RedisRowMapper.toMap(i_Datas ,i_HaveNullValue) ,i_ExpireTime);
             }
         }
         catch (Exception exce)
@@ -1051,26 +1459,18 @@ public class RedisLettuceSingle implements IRedis
             }
         }
         
-        long v_Count = 0L;
-        for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
+        // 表、主键关系、多字段的HSET、NULL值字段的HDEL及行级过期时间在一个Lua脚本中原子执行
+        if ( this.redisScript.isColocated(v_TableID ,i_PrimaryKey) )
         {
-            if ( v_Data.getValue() == null )
+            Long v_Count = this.redisScript.updateRow(v_TableID ,i_PrimaryKey ,i_PrimaryKey ,i_Datas ,i_ExpireTime);
+            if ( v_Count >= 0L )
             {
-                v_Count += this.update_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,null);
+                return v_Count;
             }
-            else
-            {
-                v_Count += this.update_Core(v_TableID ,i_PrimaryKey ,v_Data.getKey() ,v_Data.getValue().toString());
-            }
-        }
-        
-        // 设置行级过期时间
-        if ( v_Count >= 1 )
-        {
-            this.expire(i_PrimaryKey ,i_ExpireTime);
         }
         
-        return v_Count;
+        // 不在同一哈希槽中时，在一个批次中发送
+        return this.redisBatch.updateRow(v_TableID ,i_PrimaryKey ,i_Datas ,i_ExpireTime);
     }
 
 
@@ -1093,17 +1493,17 @@ public class RedisLettuceSingle implements IRedis
     private Long update_Core(String i_TableID ,String i_PrimaryKey ,String i_Field ,String i_Value)
     {
         // 表、主键关系
-        this.redisCmd.hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
+        this.redisCmd().hsetnx(i_TableID ,i_PrimaryKey ,Date.getNowTime().getFull());
         
         if ( i_Value == null )
         {
             // 一行中的一个字段被删除
-            this.redisCmd.hdel(i_PrimaryKey ,i_Field);
+            this.redisCmd().hdel(i_PrimaryKey ,i_Field);
         }
         else
         {
-            // 一行中的一个字段的数据
-            this.redisCmd.hset(i_PrimaryKey ,i_Field ,i_Value);
+            // 一行中的一个字段的数据。与整行写入一样经字段值的编码，超过压缩阈值时压缩
+            this.redisCmd().hset(i_PrimaryKey ,i_Field ,this.valueCodec.encode(i_Value ,this.valueCodec.getCompressThreshold(i_TableID)));
         }
         return 1L;
     }
@@ -1301,6 +1701,135 @@ public class RedisLettuceSingle implements IRedis
     
     
     
+    /**
+     * 批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：多行数据按批次管道发送。集群模式时按行主键所属的节点分组，同时向所有节点发送
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.key为行主键，Map.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @return             Map.key为行主键，Map.value为影响的行数。负数表示异常。入参异常时返回NULL
+     */
+    @Override
+    public Map<String ,Long> saveRows(String i_Database ,String i_TableName ,Map<String ,?> i_Rows)
+    {
+        return this.saveRows(i_Database ,i_TableName ,i_Rows ,null);
+    }
+    
+    
+    
+    /**
+     * 批量保存多行数据（数据不存时：创建。数据存时：更新或删除）
+     * 
+     * 注：表不存时，自动创建表、库关系等信息
+     * 注：多行数据按批次管道发送。集群模式时按行主键所属的节点分组，同时向所有节点发送
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     * 
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_Rows       多行数据。Map.key为行主键，Map.value为行数据（Java对象或 Map<String ,Object> 结构）
+     * @param i_ExpireTime 过期时间（单位：秒）
+     * @return             Map.key为行主键，Map.value为影响的行数。负数表示异常。入参异常时返回NULL
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<String ,Long> saveRows(String i_Database ,String i_TableName ,Map<String ,?> i_Rows ,Long i_ExpireTime)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return null;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return null;
+        }
+        if ( Help.isNull(i_Rows) )
+        {
+            return null;
+        }
+        
+        Map<String ,Long>                v_Rets  = new LinkedHashMap<String ,Long>(i_Rows.size());
+        Map<String ,Map<String ,Object>> v_Datas = new LinkedHashMap<String ,Map<String ,Object>>(i_Rows.size());
+        for (Map.Entry<String ,?> v_Row : i_Rows.entrySet())
+        {
+            String v_PrimaryKey = v_Row.getKey();
+            Object v_RowData    = v_Row.getValue();
+            
+            if ( Help.isNull(v_PrimaryKey) || v_RowData == null )
+            {
+                v_Rets.put(v_PrimaryKey ,-1L);
+                continue;
+            }
+            
+            // 基础类型无法按一行数据写入
+            if ( Help.isBasicDataType(v_RowData.getClass()) )
+            {
+                v_Rets.put(v_PrimaryKey ,-8L);
+                continue;
+            }
+            
+            try
+            {
+                Map<String ,Object> v_RowMap = null;
+                if ( MethodReflect.isExtendImplement(v_RowData ,Map.class) )
+                {
+                    v_RowMap = (Map<String ,Object>) v_RowData;
+                }
+                else
+                {
+                    v_RowMap = RedisRowMapper.toMap(v_RowData ,false);
+                }
+                
+                if ( Help.isNull(v_RowMap) )
+                {
+                    v_Rets.put(v_PrimaryKey ,-1L);
+                }
+                else
+                {
+                    v_Rets .put(v_PrimaryKey ,0L);      // 先占位，保持返回结果的顺序与入参一致
+                    v_Datas.put(v_PrimaryKey ,v_RowMap);
+                }
+            }
+            catch (Exception exce)
+            {
+                $Logger.error(exce);
+                v_Rets.put(v_PrimaryKey ,-9L);
+            }
+        }
+        
+        if ( v_Datas.isEmpty() )
+        {
+            return v_Rets;
+        }
+        
+        String v_TableID = this.getTableID(i_Database ,i_TableName);
+        if ( !this.isExistsTable_Core(v_TableID) )
+        {
+            if ( !this.createTable(i_Database ,i_TableName) )
+            {
+                for (String v_PrimaryKey : v_Datas.keySet())
+                {
+                    v_Rets.put(v_PrimaryKey ,-2L);
+                }
+                return v_Rets;
+            }
+        }
+        
+        v_Rets.putAll(this.redisBatch.updateRows(v_TableID ,v_Datas ,i_ExpireTime));
+        return v_Rets;
+    }
+    
+    
+    
     /**
      * 获取一行数据
      * 
@@ -1320,7 +1849,7 @@ public class RedisLettuceSingle implements IRedis
             return null;
         }
         
-        return this.redisCmd.hgetall(i_PrimaryKey);
+        return RedisValueCodec.toText(this.hgetall_Near(i_PrimaryKey));
     }
     
     
@@ -1424,7 +1953,6 @@ public class RedisLettuceSingle implements IRedis
      * @param io_RowObject 行对象
      * @return             查不时返回NULL
      */
-    @SuppressWarnings({"unchecked"})
     @Override
     public <E> E getRow(String i_Database ,String i_TableName ,String i_PrimaryKey ,E io_RowObject)
     {
@@ -1438,86 +1966,14 @@ public class RedisLettuceSingle implements IRedis
             return null;
         }
         
-        Map<String ,String> v_RowDatas = this.redisCmd.hgetall(i_PrimaryKey);
+        Map<String ,String> v_RowDatas = this.hgetall_Near(i_PrimaryKey);
         
         if ( Help.isNull(v_RowDatas) )
         {
             return null;
         }
-        else if ( MethodReflect.isExtendImplement(io_RowObject ,Map.class) )
-        {
-            for (Map.Entry<String ,String> v_Item : v_RowDatas.entrySet())
-            {
-                Class<?> v_ParameterClass = RedisMapType.getType(i_Database ,i_TableName ,v_Item.getKey());
-                Object   v_ParameterValue = v_Item.getValue();
-                
-                if ( v_ParameterClass != null )
-                {
-                    if ( v_Item.getValue() != null )
-                    {
-                        if ( "".equals(v_Item.getValue().trim()) )
-                        {
-                            if ( String.class.equals(v_ParameterClass) )
-                            {
-                                v_ParameterValue = v_Item.getValue();
-                            }
-                        }
-                        else
-                        {
-                            v_ParameterValue = Help.toObject(v_ParameterClass ,v_Item.getValue());
-                        }
-                    }
-                }
-                
-                ((Map<String ,Object>)io_RowObject).put(v_Item.getKey() ,v_ParameterValue);
-            }
-        }
-        else if ( io_RowObject instanceof SerializableDef )
-        {
-            ((SerializableDef) io_RowObject).initNotNull(v_RowDatas);
-        }
-        else
-        {
-            Map<String ,Method> v_SetMethods = MethodReflect.getSetMethodsMG(io_RowObject.getClass());
-            
-            for (Map.Entry<String ,String> v_Item : v_RowDatas.entrySet())
-            {
-                String v_MethodName = v_Item.getKey().substring(0 ,1).toUpperCase() + v_Item.getKey().substring(1);
-                Method v_SetMethod  = v_SetMethods.get(v_MethodName);
-                if ( v_SetMethod == null )
-                {
-                    continue;
-                }
-                
-                Type     v_ParameterType  = v_SetMethod.getParameters()[0].getParameterizedType();
-                Class<?> v_ParameterClass = (Class<?>) v_ParameterType;
-                Object   v_ParameterValue = null;
-                
-                try
-                {
-                    if ( v_Item.getValue() != null )
-                    {
-                        if ( "".equals(v_Item.getValue().trim()) )
-                        {
-                            if ( String.class.equals(v_ParameterClass) )
-                            {
-                                v_ParameterValue = v_Item.getValue();
-                            }
-                        }
-                        else
-                        {
-                            v_ParameterValue = Help.toObject(v_ParameterClass ,v_Item.getValue());
-                        }
-                    }
-                    
-                    v_SetMethod.invoke(io_RowObject ,v_ParameterValue);
-                }
-                catch (Exception exce)
-                {
-                    $Logger.error(exce);
-                }
-            }
-        }
+        
+        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowDatas ,io_RowObject);
         
         v_RowDatas.clear();
         v_RowDatas = null;
@@ -1581,7 +2037,7 @@ public class RedisLettuceSingle implements IRedis
         }
         
         String v_DBID = this.getDatabaseID(i_Database);
-        Map<String ,String> v_Datas = this.redisCmd.hgetall(v_DBID);
+        Map<String ,String> v_Datas = this.redisCmd().hgetall(v_DBID);
         
         if ( !Help.isNull(v_Datas) )
         {
@@ -1621,35 +2077,32 @@ public class RedisLettuceSingle implements IRedis
         
         TablePartitionRID<String ,String> v_Rows     = new TablePartitionRID<String ,String>();
         String                            v_TableID  = this.getTableID(i_Database ,i_TableName);
-        Map<String ,String>               v_RowDatas = this.redisCmd.hgetall(v_TableID);
+        Map<String ,String>               v_RowDatas = this.redisCmd().hgetall(v_TableID);
         
         if ( !Help.isNull(v_RowDatas) )
         {
-            for (Map.Entry<String ,String> v_RowItem : v_RowDatas.entrySet())
+            // 空主键是创建表时预留的
+            v_RowDatas.remove("");
+            
+            // 按批次管道获取所有行数据，不再逐行访问Redis
+            Map<String ,Map<String ,String>> v_RowObjects = this.redisBatch.getRows(v_TableID ,v_RowDatas.keySet());
+            List<String>                     v_Dirtys     = new ArrayList<String>();
+            
+            for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
             {
-                // 空主键是创建表时预留的
-                if ( Help.isNull(v_RowItem.getKey()) )
-                {
-                    continue;
-                }
-                
-                Map<String ,String> v_RowObject = this.getRow(v_RowItem.getKey());
-                
-                if ( !Help.isNull(v_RowObject) )
+                if ( !Help.isNull(v_RowItem.getValue()) )
                 {
-                    v_Rows.putRows(v_RowItem.getKey() ,v_RowObject);
+                    v_Rows.putRows(v_RowItem.getKey() ,RedisValueCodec.toText(v_RowItem.getValue()));
                 }
                 else
                 {
-                    // 2024-09-14 Add
-                    // 只有主键信息，没有行数据信息时，删除主键信息
-                    // 这情况产生的原因有：
-                    //     情况1：行数据信息因到过期时间后被Redis释放
-                    //     情况2：本类库Bug而生成的脏数据
-                    //     情况3：本类库生成的结构被第三方窜改
-                    this.delete(i_Database ,i_TableName ,v_RowItem.getKey());
+                    v_Dirtys.add(v_RowItem.getKey());
                 }
             }
+            
+            this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+            v_RowObjects.clear();
+            v_RowObjects = null;
         }
         
         v_RowDatas.clear();
@@ -1686,37 +2139,48 @@ public class RedisLettuceSingle implements IRedis
             return null;
         }
         
+        if ( i_RowClass == null )
+        {
+            return null;
+        }
+        
         Map<String ,E>      v_Rows     = new HashMap<String ,E>();
         String              v_TableID  = this.getTableID(i_Database ,i_TableName);
-        Map<String ,String> v_RowDatas = this.redisCmd.hgetall(v_TableID);
+        Map<String ,String> v_RowDatas = this.redisCmd().hgetall(v_TableID);
         
         if ( !Help.isNull(v_RowDatas) )
         {
-            for (Map.Entry<String ,String> v_RowItem : v_RowDatas.entrySet())
+            // 空主键是创建表时预留的
+            v_RowDatas.remove("");
+            
+            // 按批次管道获取所有行数据，不再逐行访问Redis
+            Map<String ,Map<String ,String>> v_RowObjects = this.redisBatch.getRows(v_TableID ,v_RowDatas.keySet());
+            List<String>                     v_Dirtys     = new ArrayList<String>();
+            
+            for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
             {
-                // 空主键是创建表时预留的
-                if ( Help.isNull(v_RowItem.getKey()) )
-                {
-                    continue;
-                }
-                
-                E v_RowObject = this.getRow(i_Database ,i_TableName ,v_RowItem.getKey() ,i_RowClass);
-                
-                if ( v_RowObject != null )
+                if ( !Help.isNull(v_RowItem.getValue()) )
                 {
-                    v_Rows.put(v_RowItem.getKey() ,v_RowObject);
+                    try
+                    {
+                        E v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
+                        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowItem.getValue() ,v_RowObject);
+                        v_Rows.put(v_RowItem.getKey() ,v_RowObject);
+                    }
+                    catch (Exception exce)
+                    {
+                        $Logger.error(exce);
+                    }
                 }
                 else
                 {
-                    // 2024-09-14 Add
-                    // 只有主键信息，没有行数据信息时，删除主键信息
-                    // 这情况产生的原因有：
-                    //     情况1：行数据信息因到过期时间后被Redis释放
-                    //     情况2：本类库Bug而生成的脏数据
-                    //     情况3：本类库生成的结构被第三方窜改
-                    this.delete(i_Database ,i_TableName ,v_RowItem.getKey());
+                    v_Dirtys.add(v_RowItem.getKey());
                 }
             }
+            
+            this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+            v_RowObjects.clear();
+            v_RowObjects = null;
         }
         
         v_RowDatas.clear();
@@ -1736,59 +2200,198 @@ public class RedisLettuceSingle implements IRedis
      * @param <E>          行类型
      * @param i_Database   库名称
      * @param i_TableName  表名称
-     * @param i_PrimaryKey 行主键
+     * @param i_PrimaryKey 行主键
+     * @param i_RowClass   行类型的元类
+     * @return             Map.key行主键，Map.value行数据
+     */
+    @Override
+    public <E> List<E> getRowsList(String i_Database ,String i_TableName ,Class<E> i_RowClass)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return null;
+        }
+        
+        if ( Help.isNull(i_TableName) )
+        {
+            return null;
+        }
+        
+        if ( i_RowClass == null )
+        {
+            return null;
+        }
+        
+        List<E>             v_Rows     = new ArrayList<E>();
+        String              v_TableID  = this.getTableID(i_Database ,i_TableName);
+        Map<String ,String> v_RowDatas = this.redisCmd().hgetall(v_TableID);
+        
+        if ( !Help.isNull(v_RowDatas) )
+        {
+            // 空主键是创建表时预留的
+            v_RowDatas.remove("");
+            
+            // 按批次管道获取所有行数据，不再逐行访问Redis
+            Map<String ,Map<String ,String>> v_RowObjects = this.redisBatch.getRows(v_TableID ,v_RowDatas.keySet());
+            List<String>                     v_Dirtys     = new ArrayList<String>();
+            
+            for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
+            {
+                if ( !Help.isNull(v_RowItem.getValue()) )
+                {
+                    try
+                    {
+                        E v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
+                        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowItem.getValue() ,v_RowObject);
+                        v_Rows.add(v_RowObject);
+                    }
+                    catch (Exception exce)
+                    {
+                        $Logger.error(exce);
+                    }
+                }
+                else
+                {
+                    v_Dirtys.add(v_RowItem.getKey());
+                }
+            }
+            
+            this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+            v_RowObjects.clear();
+            v_RowObjects = null;
+        }
+        
+        v_RowDatas.clear();
+        v_RowDatas = null;
+        return v_Rows;
+    }
+    
+    
+    
+    /**
+     * 分页扫描全表数据（流式处理，内存占用与表的大小无关）
+     * 
+     * 按 HSCAN 游标分页读取表、主键关系，每页的行数据按批次管道获取后，逐行交给消费者处理。
+     * 
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被处理多次
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @param i_RowClass   行类型的元类
+     * @param i_BatchSize  每页的行数（HSCAN 的 COUNT 参数）
+     * @param i_Consumer   行数据的消费者
+     * @return             返回处理的行数。负数表示异常
+     */
+    @Override
+    public <E> Long scanRows(String i_Database ,String i_TableName ,Class<E> i_RowClass ,int i_BatchSize ,Consumer<E> i_Consumer)
+    {
+        if ( i_Consumer == null )
+        {
+            return -1L;
+        }
+        
+        return this.scanRows(i_Database ,i_TableName ,i_RowClass ,i_BatchSize ,(i_PrimaryKey ,i_Row) -> i_Consumer.accept(i_Row));
+    }
+    
+    
+    
+    /**
+     * 分页扫描全表数据（流式处理，内存占用与表的大小无关）
+     * 
+     * 按 HSCAN 游标分页读取表、主键关系，每页的行数据按批次管道获取后，逐行交给消费者处理。
+     * 只有主键信息，没有行数据信息的主键信息，按页批量删除。
+     * 
+     * 注：扫描期间表数据有变化时，与 HSCAN 一样，同一行可能被处理多次
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
      * @param i_RowClass   行类型的元类
-     * @return             Map.key行主键，Map.value行数据
+     * @param i_BatchSize  每页的行数（HSCAN 的 COUNT 参数）
+     * @param i_Consumer   行数据的消费者。入参1为行主键，入参2为行数据
+     * @return             返回处理的行数。负数表示异常
      */
     @Override
-    public <E> List<E> getRowsList(String i_Database ,String i_TableName ,Class<E> i_RowClass)
+    public <E> Long scanRows(String i_Database ,String i_TableName ,Class<E> i_RowClass ,int i_BatchSize ,BiConsumer<String ,E> i_Consumer)
     {
         if ( Help.isNull(i_Database) )
         {
-            return null;
+            return -1L;
         }
-        
         if ( Help.isNull(i_TableName) )
         {
-            return null;
+            return -1L;
+        }
+        if ( i_RowClass == null )
+        {
+            return -1L;
+        }
+        if ( i_Consumer == null )
+        {
+            return -1L;
         }
         
-        List<E>             v_Rows     = new ArrayList<E>();
-        String              v_TableID  = this.getTableID(i_Database ,i_TableName);
-        Map<String ,String> v_RowDatas = this.redisCmd.hgetall(v_TableID);
+        String                        v_TableID = this.getTableID(i_Database ,i_TableName);
+        ScanArgs                      v_Args    = ScanArgs.Builder.limit(i_BatchSize <= 0 ? this.getBatchSize() : i_BatchSize);
+        ScanCursor                    v_Cursor  = ScanCursor.INITIAL;
+        MapScanCursor<String ,String> v_Page    = null;
+        long                          v_Count   = 0L;
         
-        if ( !Help.isNull(v_RowDatas) )
+        do
         {
-            for (Map.Entry<String ,String> v_RowItem : v_RowDatas.entrySet())
+            v_Page = this.redisCmd().hscan(v_TableID ,v_Cursor ,v_Args);
+            
+            Map<String ,String> v_PrimaryKeys = v_Page.getMap();
+            // 空主键是创建表时预留的
+            v_PrimaryKeys.remove("");
+            
+            if ( !v_PrimaryKeys.isEmpty() )
             {
-                // 空主键是创建表时预留的
-                if ( Help.isNull(v_RowItem.getKey()) )
-                {
-                    continue;
-                }
+                Map<String ,Map<String ,String>> v_RowObjects = this.redisBatch.getRows(v_TableID ,v_PrimaryKeys.keySet());
+                List<String>                     v_Dirtys     = new ArrayList<String>();
                 
-                E v_RowObject = this.getRow(i_Database ,i_TableName ,v_RowItem.getKey() ,i_RowClass);
-                
-                if ( v_RowObject != null )
-                {
-                    v_Rows.add(v_RowObject);
-                }
-                else
+                for (Map.Entry<String ,Map<String ,String>> v_RowItem : v_RowObjects.entrySet())
                 {
-                    // 2024-09-14 Add
-                    // 只有主键信息，没有行数据信息时，删除主键信息
-                    // 这情况产生的原因有：
-                    //     情况1：行数据信息因到过期时间后被Redis释放
-                    //     情况2：本类库Bug而生成的脏数据
-                    //     情况3：本类库生成的结构被第三方窜改
-                    this.delete(i_Database ,i_TableName ,v_RowItem.getKey());
+                    if ( Help.isNull(v_RowItem.getValue()) )
+                    {
+                        v_Dirtys.add(v_RowItem.getKey());
+                        continue;
+                    }
+                    
+                    E v_RowObject = null;
+                    try
+                    {
+                        v_RowObject = i_RowClass.getDeclaredConstructor().newInstance();
+                        RedisRowMapper.toRow(i_Database ,i_TableName ,v_RowItem.getValue() ,v_RowObject);
+                    }
+                    catch (Exception exce)
+                    {
+                        $Logger.error(exce);
+                        return -9L;
+                    }
+                    
+                    i_Consumer.accept(v_RowItem.getKey() ,v_RowObject);
+                    v_Count++;
                 }
+                
+                this.deleteDirtys_Core(v_TableID ,v_Dirtys);
+                v_RowObjects.clear();
             }
+            
+            v_Cursor = v_Page;
         }
+        while ( !v_Page.isFinished() );
         
-        v_RowDatas.clear();
-        v_RowDatas = null;
-        return v_Rows;
+        return v_Count;
     }
     
     
@@ -1812,7 +2415,7 @@ public class RedisLettuceSingle implements IRedis
         }
         
         String v_DBID = this.getDatabaseID(i_Database);
-        String v_Time = this.redisCmd.hget(v_DBID ,"");
+        String v_Time = this.redisCmd().hget(v_DBID ,"");
         
         if ( v_Time == null )
         {
@@ -1851,7 +2454,7 @@ public class RedisLettuceSingle implements IRedis
         }
         
         String v_TableID = this.getTableID(i_Database ,i_TableName);
-        String v_Time = this.redisCmd.hget(v_TableID ,"");
+        String v_Time = this.redisCmd().hget(v_TableID ,"");
         
         if ( v_Time == null )
         {
@@ -1896,7 +2499,7 @@ public class RedisLettuceSingle implements IRedis
         }
         
         String v_TableID = this.getTableID(i_Database ,i_TableName);
-        String v_Time = this.redisCmd.hget(v_TableID ,i_PrimaryKey);
+        String v_Time = this.redisCmd().hget(v_TableID ,i_PrimaryKey);
         
         if ( v_Time == null )
         {
@@ -2042,10 +2645,16 @@ public class RedisLettuceSingle implements IRedis
      */
     private boolean isExistsDatabase_Core(String i_DBID)
     {
-        if ( this.redisCmd.exists(i_DBID) >= 1L )
+        if ( this.existsCache.isExists(i_DBID) )
         {
             return true;
         }
+        
+        if ( this.redisCmd().exists(i_DBID) >= 1L )
+        {
+            this.existsCache.put(i_DBID);
+            return true;
+        }
         else
         {
             return false;
@@ -2066,8 +2675,14 @@ public class RedisLettuceSingle implements IRedis
      */
     private boolean isExistsTable_Core(String i_TableID)
     {
-        if ( this.redisCmd.exists(i_TableID) >= 1L )
+        if ( this.existsCache.isExists(i_TableID) )
+        {
+            return true;
+        }
+        
+        if ( this.redisCmd().exists(i_TableID) >= 1L )
         {
+            this.existsCache.put(i_TableID);
             return true;
         }
         else
@@ -2090,7 +2705,7 @@ public class RedisLettuceSingle implements IRedis
      */
     private boolean isExistsPrimaryKey_Core(String i_PrimaryKey)
     {
-        if ( this.redisCmd.exists(i_PrimaryKey) >= 1L )
+        if ( this.exists_Near(i_PrimaryKey) )
         {
             return true;
         }
@@ -2115,7 +2730,7 @@ public class RedisLettuceSingle implements IRedis
      */
     private boolean isExistsField_Core(String i_PrimaryKey ,String i_Field)
     {
-        return this.redisCmd.hexists(i_PrimaryKey ,i_Field);
+        return this.redisCmd().hexists(i_PrimaryKey ,i_Field);
     }
     
     
@@ -2140,7 +2755,7 @@ public class RedisLettuceSingle implements IRedis
         }
         else
         {
-            return this.redisCmd.expireat(i_Key ,i_ExpireTime);
+            return this.redisCmd().expireat(i_Key ,i_ExpireTime);
         }
     }
     
@@ -2160,7 +2775,7 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public Boolean set(String i_Key ,String i_Value)
     {
-        return "OK".equals(this.redisCmd.set(i_Key ,i_Value));
+        return "OK".equals(this.redisCmd().set(i_Key ,i_Value));
     }
     
     
@@ -2180,7 +2795,7 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public Boolean setex(String i_Key ,String i_Value ,Long i_ExpireTime)
     {
-        return "OK".equals(this.redisCmd.setex(i_Key ,i_ExpireTime ,i_Value));
+        return "OK".equals(this.redisCmd().setex(i_Key ,i_ExpireTime ,i_Value));
     }
     
     
@@ -2199,7 +2814,7 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public Boolean setnx(String i_Key ,String i_Value)
     {
-        return this.redisCmd.setnx(i_Key ,i_Value);
+        return this.redisCmd().setnx(i_Key ,i_Value);
     }
     
     
@@ -2217,7 +2832,7 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public String get(String i_Key)
     {
-        return this.redisCmd.get(i_Key);
+        return this.get_Near(i_Key);
     }
     
     
@@ -2235,7 +2850,7 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public String getdel(String i_Key)
     {
-        return this.redisCmd.getdel(i_Key);
+        return this.redisCmd().getdel(i_Key);
     }
     
     
@@ -2253,7 +2868,346 @@ public class RedisLettuceSingle implements IRedis
     @Override
     public Long del(String ... i_Keys)
     {
-        return this.redisCmd.del(i_Keys);
+        return this.redisCmd().del(i_Keys);
+    }
+    
+    
+    
+    /**
+     * 获取一行数据（Hash对象）。开启近端缓存时，优先从本地内存读取
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return       返回的是副本，调用方可修改
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String ,String> hgetall_Near(String i_Key)
+    {
+        RedisNearTracking<RedisCommands<String ,String>> v_Near = this.near;
+        if ( v_Near == null )
+        {
+            return this.redisCmd().hgetall(i_Key);
+        }
+        
+        RedisNearCache v_NearCache = v_Near.getCache();
+        Object         v_Cache     = v_NearCache.get(i_Key);
+        if ( v_Cache instanceof Map )
+        {
+            return new HashMap<String ,String>((Map<String ,String>) v_Cache);
+        }
+        
+        Object v_Token = v_NearCache.begin(i_Key);
+        try
+        {
+            Map<String ,String> v_Datas  = v_Near.getCommand().hgetall(i_Key);
+            long                v_Weight = i_Key.length();
+            for (Map.Entry<String ,String> v_Data : v_Datas.entrySet())
+            {
+                v_Weight += v_Data.getKey().length() + (v_Data.getValue() == null ? 0 : v_Data.getValue().length());
+            }
+            v_NearCache.put(i_Key ,v_Token ,new HashMap<String ,String>(v_Datas) ,v_Weight);
+            
+            return v_Datas;
+        }
+        finally
+        {
+            v_NearCache.cancel(i_Key ,v_Token);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取数据（字符串）。开启近端缓存时，优先从本地内存读取
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return
+     */
+    private String get_Near(String i_Key)
+    {
+        RedisNearTracking<RedisCommands<String ,String>> v_Near = this.near;
+        if ( v_Near == null )
+        {
+            return this.redisCmd().get(i_Key);
+        }
+        
+        RedisNearCache v_NearCache = v_Near.getCache();
+        Object         v_Cache     = v_NearCache.get(i_Key);
+        if ( v_Cache == RedisNearCache.$Null )
+        {
+            return null;
+        }
+        else if ( v_Cache instanceof String )
+        {
+            return (String) v_Cache;
+        }
+        
+        Object v_Token = v_NearCache.begin(i_Key);
+        try
+        {
+            String v_Value = v_Near.getCommand().get(i_Key);
+            v_NearCache.put(i_Key ,v_Token ,v_Value == null ? RedisNearCache.$Null : v_Value ,i_Key.length() + (v_Value == null ? 0 : v_Value.length()));
+            
+            return v_Value;
+        }
+        finally
+        {
+            v_NearCache.cancel(i_Key ,v_Token);
+        }
+    }
+    
+    
+    
+    /**
+     * 关键字是否存在。开启近端缓存时，优先从本地内存判定
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  关键字
+     * @return
+     */
+    private boolean exists_Near(String i_Key)
+    {
+        RedisNearTracking<RedisCommands<String ,String>> v_Near = this.near;
+        if ( v_Near == null )
+        {
+            return this.redisCmd().exists(i_Key) >= 1L;
+        }
+        
+        RedisNearCache v_NearCache = v_Near.getCache();
+        Object         v_Cache     = v_NearCache.get(i_Key);
+        if ( v_Cache instanceof Map )
+        {
+            return !((Map<? ,?>) v_Cache).isEmpty();
+        }
+        else if ( v_Cache instanceof Boolean )
+        {
+            return (Boolean) v_Cache;
+        }
+        else if ( v_Cache != null )
+        {
+            return v_Cache != RedisNearCache.$Null;
+        }
+        
+        Object v_Token = v_NearCache.begin(i_Key);
+        try
+        {
+            boolean v_Exists = v_Near.getCommand().exists(i_Key) >= 1L;
+            v_NearCache.put(i_Key ,v_Token ,v_Exists ,i_Key.length());
+            
+            return v_Exists;
+        }
+        finally
+        {
+            v_NearCache.cancel(i_Key ,v_Token);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：近端缓存。未开启时返回NULL。可通过它设置容量，及获取命中、未命中等统计数据
+     */
+    public RedisNearCache getNearCache()
+    {
+        RedisNearTracking<RedisCommands<String ,String>> v_Near = this.near;
+        return v_Near == null ? null : v_Near.getCache();
+    }
+    
+    
+    
+    /**
+     * 获取：是否开启近端缓存
+     */
+    public boolean isNearCache()
+    {
+        return this.near != null;
+    }
+    
+    
+    
+    /**
+     * 设置：是否开启近端缓存
+     * 
+     * 开启后，获取一行数据、获取数据及行主键是否存在，优先从本地内存读取。
+     * 数据被任一客户端修改、删除或过期时，Redis服务端推送失效通知（CLIENT TRACKING），本地缓存即时失效。
+     * 断线重连后，自动重新开启跟踪（见 RedisNearTracking）。
+     * 
+     * 注：须 Redis 6 及以上版本，并使用RESP3协议
+     * 
+     * @param i_NearCache 是否开启
+     */
+    public synchronized void setNearCache(boolean i_NearCache)
+    {
+        if ( i_NearCache == (this.near != null) )
+        {
+            return;
+        }
+        
+        if ( i_NearCache )
+        {
+            StatefulRedisConnection<String ,String> v_NearConn  = this.connect_Core();
+            RedisNearCache                          v_NearCache = new RedisNearCache();
+            v_NearConn.addListener(v_NearCache);
+            
+            this.near = new RedisNearTracking<RedisCommands<String ,String>>(this.redisClient ,v_NearCache ,v_NearConn ,v_NearConn.sync() ,() -> v_NearConn.async().clientTracking(TrackingArgs.Builder.enabled()));
+        }
+        else
+        {
+            RedisNearTracking<RedisCommands<String ,String>> v_Near = this.near;
+            this.near = null;
+            v_Near.close();
+        }
+    }
+    
+    
+    
+    /**
+     * 使库、表是否存在的缓存失效。开启通知时，同时通知其它实例
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_ID  库、表的物理名称
+     */
+    private void invalidate_Core(String i_ID)
+    {
+        this.existsCache.remove(i_ID);
+        
+        if ( this.existsPubSub != null )
+        {
+            this.redisCmd().publish(RedisExistsCache.$Channel ,i_ID);
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：库、表是否存在的本地缓存。可通过它设置存活时长、最大缓存数量
+     */
+    public RedisExistsCache getExistsCache()
+    {
+        return this.existsCache;
+    }
+    
+    
+    
+    /**
+     * 获取：是否开启缓存失效的发布订阅通知
+     */
+    public boolean isExistsPubSub()
+    {
+        return this.existsPubSub != null;
+    }
+    
+    
+    
+    /**
+     * 开启缓存失效的发布订阅通知。开启失败时不影响使用，缓存最多在存活时长后失效
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    private void initExistsPubSub_Core()
+    {
+        try
+        {
+            this.setExistsPubSub(true);
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Failed to subscribe the channel[" + RedisExistsCache.$Channel + "]. The exists cache expires by its time to live only." ,exce);
+        }
+    }
+    
+    
+    
+    /**
+     * 设置：是否开启缓存失效的发布订阅通知。默认开启
+     * 
+     * 删除表、删除库及清空表时，通知共用Redis的所有实例的缓存失效。
+     * 关闭后，其它实例删除的表，在缓存的存活时长内仍判定为存在，写入的行数据将缺少表的注册。只有一个实例访问Redis时才可关闭
+     * 
+     * @param i_ExistsPubSub 是否开启
+     */
+    public synchronized void setExistsPubSub(boolean i_ExistsPubSub)
+    {
+        if ( i_ExistsPubSub == (this.existsPubSub != null) )
+        {
+            return;
+        }
+        
+        if ( i_ExistsPubSub )
+        {
+            StatefulRedisPubSubConnection<String ,String> v_PubSub = this.redisClient.connectPubSub();
+            v_PubSub.addListener(new RedisPubSubAdapter<String ,String>()
+            {
+                @Override
+                public void message(String i_Channel ,String i_Message)
+                {
+                    existsCache.remove(i_Message);
+                }
+                
+                
+                
+                /** 首次订阅及断线重连后的重新订阅时，断线期间的通知可能已丢失，所以清空全部缓存 */
+                @Override
+                public void subscribed(String i_Channel ,long i_Count)
+                {
+                    existsCache.clear();
+                }
+            });
+            v_PubSub.sync().subscribe(RedisExistsCache.$Channel);
+            this.existsPubSub = v_PubSub;
+        }
+        else
+        {
+            this.existsPubSub.close();
+            this.existsPubSub = null;
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：批量操作时，每批次、每个节点最多的行数
+     */
+    public int getBatchSize()
+    {
+        return this.redisBatch.getBatchSize();
+    }
+    
+    
+    
+    /**
+     * 设置：批量操作时，每批次、每个节点最多的行数
+     * 
+     * @param i_BatchSize 每批次、每个节点最多的行数
+     */
+    public void setBatchSize(int i_BatchSize)
+    {
+        this.redisBatch.setBatchSize(i_BatchSize);
+    }
+    
+    
+    
+    /**
+     * 获取：字段值的编码
+     */
+    public RedisValueCodec getValueCodec()
+    {
+        return this.valueCodec;
     }
     
 }
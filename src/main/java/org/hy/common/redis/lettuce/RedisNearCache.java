@@ -0,0 +1,524 @@
+package org.hy.common.redis.lettuce;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+
+
+
+
+
+/**
+ * 近端缓存（客户端缓存）。基于RESP3协议的 CLIENT TRACKING 失效通知
+ *
+ * 读取Redis的连接开启 CLIENT TRACKING 后，服务端记录此连接读取过的关键字。
+ * 关键字被任一客户端修改、删除或过期时，服务端向此连接推送 invalidate 消息，本缓存即时删除对应的缓存。
+ * 所以热点数据可从本地内存读取，而不会读到过期的数据。
+ *
+ * 读取与失效通知的竞争：读取前先登记一个令牌，读取期间收到失效通知时令牌被删除，读取的结果就不再缓存。
+ * 读取异常时须取消令牌（见 cancel()），否则登记的令牌只增不减。
+ *
+ * 缓存按最近最少使用淘汰，同时受最大缓存数量、最大权重（字符数）的限制。
+ *
+ * 连接断开重连后服务端不再跟踪原来的关键字。此时暂停缓存并清空（见 suspend()），待重新开启跟踪后再恢复（见 resume()，由 RedisNearTracking 维护）。
+ * 暂停期间的读取直接访问Redis，读取的结果不缓存。另设有存活时长作为兜底。
+ *
+ * 注：须 Redis 6 及以上版本，并使用RESP3协议。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：读取异常时取消令牌 cancel()；连接重连时暂停、恢复缓存 suspend()、resume()
+ */
+public class RedisNearCache implements PushListener
+{
+
+    /** 默认的最大缓存数量 */
+    public static final int    $MaxSize    = 10000;
+
+    /** 默认的最大权重（字符数） */
+    public static final long   $MaxWeight  = 16L * 1024L * 1024L;
+
+    /** 默认的存活时长（单位：毫秒） */
+    public static final long   $TimeToLive = 10L * 60L * 1000L;
+
+    /** 缓存Redis中不存在的值（如 GET 返回NULL）时的占位值 */
+    public static final Object $Null       = new Object();
+
+
+
+    /** 缓存。按访问顺序排列，最先的为最近最少使用的 */
+    private final LinkedHashMap<String ,Item> caches;
+
+    /** 读取中的令牌。Map.key为关键字 */
+    private final Map<String ,Object>         pendings;
+
+    /** 最大缓存数量 */
+    private int                               maxSize;
+
+    /** 最大权重（字符数） */
+    private long                              maxWeight;
+
+    /** 存活时长（单位：毫秒）。小于等于0时不限时长 */
+    private long                              timeToLive;
+
+    /** 当前的权重（字符数） */
+    private long                              weight;
+
+    /** 是否暂停缓存 */
+    private boolean                           suspended;
+
+    /** 暂停的次数。用于判定恢复前是否又被暂停过 */
+    private long                              epoch;
+
+    /** 命中次数 */
+    private final LongAdder                   hitCount;
+
+    /** 未命中次数 */
+    private final LongAdder                   missCount;
+
+    /** 淘汰次数（因容量限制） */
+    private final LongAdder                   evictionCount;
+
+    /** 失效次数（因服务端的通知） */
+    private final LongAdder                   invalidateCount;
+
+
+
+    public RedisNearCache()
+    {
+        this.caches          = new LinkedHashMap<String ,Item>(256 ,0.75f ,true);
+        this.pendings        = new HashMap<String ,Object>();
+        this.maxSize         = $MaxSize;
+        this.maxWeight       = $MaxWeight;
+        this.timeToLive      = $TimeToLive;
+        this.weight          = 0L;
+        this.suspended       = false;
+        this.epoch           = 0L;
+        this.hitCount        = new LongAdder();
+        this.missCount       = new LongAdder();
+        this.evictionCount   = new LongAdder();
+        this.invalidateCount = new LongAdder();
+    }
+
+
+
+    /**
+     * 获取缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  缓存的关键字
+     * @return       未命中时返回NULL
+     */
+    public synchronized Object get(String i_Key)
+    {
+        Item v_Item = this.caches.get(i_Key);
+
+        if ( v_Item != null && v_Item.expireTime > 0L && v_Item.expireTime < System.currentTimeMillis() )
+        {
+            this.remove_Core(i_Key);
+            v_Item = null;
+        }
+
+        if ( v_Item == null )
+        {
+            this.missCount.increment();
+            return null;
+        }
+
+        this.hitCount.increment();
+        return v_Item.value;
+    }
+
+
+
+    /**
+     * 读取Redis前登记令牌。暂停缓存时不登记，读取的结果不缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修改：暂停缓存时不登记令牌
+     *
+     * @param i_Key  缓存的关键字
+     * @return       令牌。缓存读取结果时使用
+     */
+    public synchronized Object begin(String i_Key)
+    {
+        Object v_Token = new Object();
+        if ( !this.suspended )
+        {
+            this.pendings.put(i_Key ,v_Token);
+        }
+        return v_Token;
+    }
+
+
+
+    /**
+     * 取消登记的令牌。读取Redis异常时，在 finally 中调用。已缓存读取的结果时，无任何影响
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key    缓存的关键字
+     * @param i_Token  读取前登记的令牌
+     */
+    public synchronized void cancel(String i_Key ,Object i_Token)
+    {
+        this.pendings.remove(i_Key ,i_Token);
+    }
+
+
+
+    /**
+     * 缓存读取的结果。读取期间已收到失效通知时（令牌已被删除），不缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key     缓存的关键字
+     * @param i_Token   读取前登记的令牌
+     * @param i_Value   读取的结果
+     * @param i_Weight  权重（字符数）
+     */
+    public synchronized void put(String i_Key ,Object i_Token ,Object i_Value ,long i_Weight)
+    {
+        if ( !this.pendings.remove(i_Key ,i_Token) )
+        {
+            return;
+        }
+
+        if ( i_Weight > this.maxWeight )
+        {
+            return;
+        }
+
+        this.remove_Core(i_Key);
+        this.caches.put(i_Key ,new Item(i_Value ,i_Weight ,this.timeToLive > 0L ? System.currentTimeMillis() + this.timeToLive : 0L));
+        this.weight += i_Weight;
+
+        // 淘汰最近最少使用的
+        Iterator<Map.Entry<String ,Item>> v_Iter = this.caches.entrySet().iterator();
+        while ( (this.caches.size() > this.maxSize || this.weight > this.maxWeight) && v_Iter.hasNext() )
+        {
+            this.weight -= v_Iter.next().getValue().weight;
+            v_Iter.remove();
+            this.evictionCount.increment();
+        }
+    }
+
+
+
+    /**
+     * 使一个关键字的缓存失效（包括读取中的）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  缓存的关键字
+     */
+    public synchronized void invalidate(String i_Key)
+    {
+        this.pendings.remove(i_Key);
+        if ( this.remove_Core(i_Key) )
+        {
+            this.invalidateCount.increment();
+        }
+    }
+
+
+
+    /**
+     * 使全部缓存失效（包括读取中的）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public synchronized void clear()
+    {
+        this.pendings.clear();
+        this.caches.clear();
+        this.weight = 0L;
+    }
+
+
+
+    /**
+     * 暂停缓存，并使全部缓存失效（包括读取中的）。用于连接断开、重连，服务端不再跟踪原来的关键字时
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return  暂停的序号。恢复缓存时使用
+     */
+    public synchronized long suspend()
+    {
+        this.clear();
+        this.suspended = true;
+        return ++this.epoch;
+    }
+
+
+
+    /**
+     * 恢复缓存。期间又被暂停过时（如又一次重连），不恢复，由最后一次暂停对应的恢复来恢复
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Epoch  暂停的序号（见 suspend() 的返回值）
+     * @return         是否已恢复
+     */
+    public synchronized boolean resume(long i_Epoch)
+    {
+        if ( this.epoch == i_Epoch )
+        {
+            this.suspended = false;
+        }
+        return !this.suspended;
+    }
+
+
+
+    /**
+     * 删除缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Key  缓存的关键字
+     * @return       是否有缓存被删除
+     */
+    private boolean remove_Core(String i_Key)
+    {
+        Item v_Old = this.caches.remove(i_Key);
+        if ( v_Old != null )
+        {
+            this.weight -= v_Old.weight;
+            return true;
+        }
+        return false;
+    }
+
+
+
+    /**
+     * 服务端推送的消息。只处理 invalidate 消息
+     *
+     * 消息内容为：["invalidate" ,[关键字1 ,关键字2 ,...]]。关键字列表为NULL时，表示全部失效（如 FLUSHALL）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Message  推送的消息
+     */
+    @Override
+    public void onPushMessage(PushMessage i_Message)
+    {
+        if ( !"invalidate".equals(i_Message.getType()) )
+        {
+            return;
+        }
+
+        List<Object> v_Content = i_Message.getContent(v_Buffer -> StandardCharsets.UTF_8.decode(v_Buffer).toString());
+        Object       v_Keys    = v_Content.size() >= 2 ? v_Content.get(1) : null;
+
+        if ( v_Keys instanceof List )
+        {
+            for (Object v_Key : (List<?>) v_Keys)
+            {
+                this.invalidate(String.valueOf(v_Key));
+            }
+        }
+        else
+        {
+            this.clear();
+        }
+    }
+
+
+
+    /**
+     * 获取：缓存数量
+     */
+    public synchronized int size()
+    {
+        return this.caches.size();
+    }
+
+
+
+    /**
+     * 获取：是否暂停缓存
+     */
+    public synchronized boolean isSuspended()
+    {
+        return this.suspended;
+    }
+
+
+
+    /**
+     * 获取：当前的权重（字符数）
+     */
+    public synchronized long getWeight()
+    {
+        return this.weight;
+    }
+
+
+
+    /**
+     * 获取：命中次数
+     */
+    public long getHitCount()
+    {
+        return this.hitCount.sum();
+    }
+
+
+
+    /**
+     * 获取：未命中次数
+     */
+    public long getMissCount()
+    {
+        return this.missCount.sum();
+    }
+
+
+
+    /**
+     * 获取：淘汰次数（因容量限制）
+     */
+    public long getEvictionCount()
+    {
+        return this.evictionCount.sum();
+    }
+
+
+
+    /**
+     * 获取：失效次数（因服务端的通知）
+     */
+    public long getInvalidateCount()
+    {
+        return this.invalidateCount.sum();
+    }
+
+
+
+    /**
+     * 获取：最大缓存数量
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+
+
+    /**
+     * 设置：最大缓存数量
+     *
+     * @param i_MaxSize 最大缓存数量
+     */
+    public void setMaxSize(int i_MaxSize)
+    {
+        this.maxSize = i_MaxSize <= 0 ? $MaxSize : i_MaxSize;
+    }
+
+
+
+    /**
+     * 获取：最大权重（字符数）
+     */
+    public long getMaxWeight()
+    {
+        return maxWeight;
+    }
+
+
+
+    /**
+     * 设置：最大权重（字符数）
+     *
+     * @param i_MaxWeight 最大权重（字符数）
+     */
+    public void setMaxWeight(long i_MaxWeight)
+    {
+        this.maxWeight = i_MaxWeight <= 0L ? $MaxWeight : i_MaxWeight;
+    }
+
+
+
+    /**
+     * 获取：存活时长（单位：毫秒）。小于等于0时不限时长
+     */
+    public long getTimeToLive()
+    {
+        return timeToLive;
+    }
+
+
+
+    /**
+     * 设置：存活时长（单位：毫秒）。小于等于0时不限时长
+     *
+     * @param i_TimeToLive 存活时长（单位：毫秒）
+     */
+    public void setTimeToLive(long i_TimeToLive)
+    {
+        this.timeToLive = i_TimeToLive;
+    }
+
+
+
+
+
+    /**
+     * 缓存项
+     */
+    private static class Item
+    {
+
+        /** 缓存的值 */
+        private final Object value;
+
+        /** 权重（字符数） */
+        private final long   weight;
+
+        /** 失效的时间点（单位：毫秒）。为0时不限时长 */
+        private final long   expireTime;
+
+
+
+        private Item(Object i_Value ,long i_Weight ,long i_ExpireTime)
+        {
+            this.value      = i_Value;
+            this.weight     = i_Weight;
+            this.expireTime = i_ExpireTime;
+        }
+
+    }
+
+}
@@ -0,0 +1,191 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.hy.common.xml.log.Logger;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
+import io.lettuce.core.event.Event;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.event.connection.ConnectionDeactivatedEvent;
+import reactor.core.Disposable;
+
+
+
+
+
+/**
+ * 近端缓存，及其开启了 CLIENT TRACKING 的专用连接、读取命令。三者一同发布、一同关闭（不可变）
+ *
+ * 读取方只读取一次持有它的字段，之后的缓存与读取命令总是配套的，关闭近端缓存时不会读到一半为NULL的状态。
+ *
+ * 维护跟踪：服务端的跟踪状态属于一个Socket连接，断线重连后的新连接未开启跟踪，收不到失效通知。
+ * 所以订阅客户端的事件总线，连接建立、断开及集群拓扑变化（新增、提升的主节点）时，暂停缓存，重新开启跟踪，完成后再恢复缓存。
+ * 事件总线是整个客户端共用的，任一连接建立、断开时均重新开启跟踪，代价只是一次清空缓存。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *
+ * @param <C>  读取命令的类型。集群模式为 RedisAdvancedClusterCommands，单机模式为 RedisCommands
+ */
+public class RedisNearTracking<C>
+{
+
+    private static final Logger $Logger = new Logger(RedisNearTracking.class);
+
+
+
+    /** 近端缓存 */
+    private final RedisNearCache                    cache;
+
+    /** 近端缓存专用的连接 */
+    private final StatefulConnection<String ,String> connection;
+
+    /** 读取命令（专用连接的同步命令） */
+    private final C                                 command;
+
+    /** 在读取所用的全部连接上开启跟踪。须是异步的，不阻塞事件总线的线程 */
+    private final Supplier<CompletionStage<?>>      track;
+
+    /** 事件总线的订阅 */
+    private final Disposable                        subscription;
+
+
+
+    /**
+     * 构造器。开启跟踪后才返回
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Client      客户端（订阅它的事件总线）
+     * @param i_Cache       近端缓存（已监听专用连接的推送消息）
+     * @param i_Connection  近端缓存专用的连接
+     * @param i_Command     读取命令
+     * @param i_Track       在读取所用的全部连接上开启跟踪
+     */
+    public RedisNearTracking(AbstractRedisClient i_Client ,RedisNearCache i_Cache ,StatefulConnection<String ,String> i_Connection ,C i_Command ,Supplier<CompletionStage<?>> i_Track)
+    {
+        this.cache        = i_Cache;
+        this.connection   = i_Connection;
+        this.command      = i_Command;
+        this.track        = i_Track;
+        this.subscription = i_Client.getResources().eventBus().get().subscribe(this::onEvent);
+
+        try
+        {
+            this.track.get().toCompletableFuture().get(this.connection.getTimeout().toMillis() ,TimeUnit.MILLISECONDS);
+        }
+        catch (Exception exce)
+        {
+            this.close();
+            throw new IllegalStateException("Failed to enable CLIENT TRACKING for the near cache." ,exce);
+        }
+    }
+
+
+
+    /**
+     * 连接建立、断开及集群拓扑变化时，暂停缓存，重新开启跟踪，完成后再恢复缓存
+     *
+     * 重新开启跟踪失败时保持暂停（读取直接访问Redis），直到下一次事件
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Event  客户端的事件
+     */
+    private void onEvent(Event i_Event)
+    {
+        if ( !(i_Event instanceof ConnectionActivatedEvent)
+          && !(i_Event instanceof ConnectionDeactivatedEvent)
+          && !(i_Event instanceof ClusterTopologyChangedEvent) )
+        {
+            return;
+        }
+
+        long v_Epoch = this.cache.suspend();
+        this.retrack(v_Epoch);
+    }
+
+
+
+    /**
+     * 重新开启跟踪，完成后恢复缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Epoch  暂停的序号
+     */
+    private void retrack(long i_Epoch)
+    {
+        CompletionStage<?> v_Track;
+        try
+        {
+            v_Track = this.track.get();
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Failed to re-enable CLIENT TRACKING. The near cache stays suspended." ,exce);
+            return;
+        }
+
+        v_Track.whenComplete((i_Ret ,i_Error) ->
+        {
+            if ( i_Error == null )
+            {
+                this.cache.resume(i_Epoch);
+            }
+            else
+            {
+                $Logger.error("Failed to re-enable CLIENT TRACKING. The near cache stays suspended." ,i_Error);
+            }
+        });
+    }
+
+
+
+    /**
+     * 取消事件总线的订阅，清空缓存，并关闭专用的连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void close()
+    {
+        this.subscription.dispose();
+        this.cache.clear();
+        this.connection.close();
+    }
+
+
+
+    /**
+     * 获取：近端缓存
+     */
+    public RedisNearCache getCache()
+    {
+        return this.cache;
+    }
+
+
+
+    /**
+     * 获取：读取命令
+     */
+    public C getCommand()
+    {
+        return this.command;
+    }
+
+}
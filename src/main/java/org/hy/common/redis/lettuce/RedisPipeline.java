@@ -0,0 +1,804 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.hy.common.Date;
+import org.hy.common.redis.type.RedisValueCodec;
+import org.hy.common.xml.log.Logger;
+
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.async.RedisHashAsyncCommands;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+
+
+
+
+
+/**
+ * Lettuce的管道批量执行器
+ *
+ * 在专用的连接上关闭自动刷新，先将一批命令入队，再一次性刷新发送，最后统一等待执行结果。
+ * 将原来的N次阻塞往返，降为约1次往返。
+ *
+ * 并发的限制：自动刷新是连接级别的，所以一个批次命令的入队与刷新须在该连接的锁内完成，同一连接同一时刻只有一个批次在入队。
+ * 等待结果时不占用锁。有多个专用的连接时，每个批次优先选用空闲的连接，所以最多有“连接数”个批次同时入队，其它的等待；
+ * 只有一个连接时，所有调用者的批次在入队时串行。大量并发的批量写入时，应按并发度增加专用的连接数。
+ *
+ * 集群模式时，被 MOVED/ASK 重定向的命令在关闭了自动刷新的连接中重新排队，须再次刷新才会发送。
+ * 所以等待结果时，每隔 $FlushInterval 毫秒仍未完成的，再次刷新所有专用的连接（见 await()），不会等到下一个批次的刷新。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：批量保存多行数据。集群模式时按哈希槽所属的节点分组，每批次同时向所有节点发送
+ *              v3.0  2026-10-17  添加：批量获取、批量删除多行数据
+ *              v4.0  2026-10-17  添加：行数据Key值的组织方式（哈希标签时，表中所有行在同一个节点上一个批次内完成）
+ *              v5.0  2026-10-17  添加：字段值的编码（见 RedisValueCodec）
+ *              v6.0  2026-10-17  添加：超过压缩阈值的字段值压缩保存
+ *              v7.0  2026-10-17  添加：关闭管道专用的连接
+ *              v8.0  2026-10-17  优化：行数据按 UNLINK 删除，由Redis后台线程释放内存，不阻塞服务端
+ *              v9.0  2026-10-17  添加：多个专用的连接，并发的批次选用空闲的连接。等待结果时定时再次刷新，重定向的命令不会滞留
+ *              v10.0 2026-10-17  添加：插入一行数据时，行级过期时间的 EXPIREAT 在同一批次中发送
+ *
+ * @param <C>  异步命令的类型。集群模式为 RedisAdvancedClusterAsyncCommands，单机模式为 RedisAsyncCommands
+ */
+public class RedisPipeline<C extends RedisHashAsyncCommands<String ,String> & RedisKeyAsyncCommands<String ,String>>
+{
+
+    private static final Logger                            $Logger        = new Logger(RedisPipeline.class);
+
+    /** 每批次、每个节点默认的最多行数 */
+    public static final int                                $BatchSize     = 1000;
+
+    /** 等待结果时，再次刷新的间隔（单位：毫秒） */
+    public static final long                               $FlushInterval = 20L;
+
+
+
+    /** 管道专用的连接 */
+    private final List<StatefulConnection<String ,String>> connections;
+
+    /** 管道专用连接的异步命令。与 connections 一一对应 */
+    private final List<C>                                  commands;
+
+    /** 管道专用连接的锁。与 connections 一一对应 */
+    private final ReentrantLock []                         locks;
+
+    /** 轮询选用连接的序号 */
+    private final AtomicInteger                            next;
+
+    /** 关键字所属节点的路由。集群模式时返回哈希槽所属节点的ID，单机模式时为NULL */
+    private final Function<String ,String>                 router;
+
+    /** 每批次、每个节点最多的行数 */
+    private int                                            batchSize;
+
+    /** 行数据Key值的组织方式 */
+    private RedisKeyLayout                                 keyLayout;
+
+    /** 字段值的编码 */
+    private RedisValueCodec                                valueCodec;
+
+
+
+    public RedisPipeline(StatefulConnection<String ,String> i_Connection ,C i_Commands)
+    {
+        this(i_Connection ,i_Commands ,null);
+    }
+
+
+
+    public RedisPipeline(StatefulConnection<String ,String> i_Connection ,C i_Commands ,Function<String ,String> i_Router)
+    {
+        this(Collections.singletonList(i_Connection) ,v_Conn -> i_Commands ,i_Router);
+    }
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <S>            连接的类型
+     * @param i_Connections  管道专用的连接（一个或多个）。将关闭它们的自动刷新
+     * @param i_Commands     获取连接的异步命令
+     * @param i_Router       关键字所属节点的路由。单机模式时为NULL
+     */
+    public <S extends StatefulConnection<String ,String>> RedisPipeline(List<S> i_Connections ,Function<S ,C> i_Commands ,Function<String ,String> i_Router)
+    {
+        if ( i_Connections == null || i_Connections.isEmpty() )
+        {
+            throw new IllegalArgumentException("Pipeline connections is empty.");
+        }
+
+        this.connections = new ArrayList<StatefulConnection<String ,String>>(i_Connections.size());
+        this.commands    = new ArrayList<C>(i_Connections.size());
+        this.locks       = new ReentrantLock[i_Connections.size()];
+        this.next        = new AtomicInteger(0);
+        this.router      = i_Router;
+        this.batchSize   = $BatchSize;
+        this.keyLayout   = RedisKeyLayout.$Plain;
+        this.valueCodec  = RedisValueCodec.$Text;
+
+        for (int x=0; x<i_Connections.size(); x++)
+        {
+            S v_Conn = i_Connections.get(x);
+            v_Conn.setAutoFlushCommands(false);
+
+            this.connections.add(v_Conn);
+            this.commands   .add(i_Commands.apply(v_Conn));
+            this.locks[x] = new ReentrantLock();
+        }
+    }
+
+
+
+    /**
+     * 执行一批命令。命令在连接的锁内入队，并在锁内一次性刷新发送
+     *
+     * 从轮询到的连接开始，优先选用空闲（未被其它批次占用）的连接。都被占用时，等待轮询到的连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <R>      返回类型。一般为命令的 RedisFuture 集合
+     * @param i_Batch  入队命令的方法
+     * @return
+     */
+    public <R> R execute(Function<C ,R> i_Batch)
+    {
+        int v_Size  = this.locks.length;
+        int v_Start = Math.floorMod(this.next.getAndIncrement() ,v_Size);
+        int v_Index = -1;
+
+        for (int x=0; x<v_Size; x++)
+        {
+            int v_Try = (v_Start + x) % v_Size;
+            if ( this.locks[v_Try].tryLock() )
+            {
+                v_Index = v_Try;
+                break;
+            }
+        }
+
+        if ( v_Index < 0 )
+        {
+            v_Index = v_Start;
+            this.locks[v_Index].lock();
+        }
+
+        try
+        {
+            return i_Batch.apply(this.commands.get(v_Index));
+        }
+        finally
+        {
+            try
+            {
+                this.connections.get(v_Index).flushCommands();
+            }
+            finally
+            {
+                this.locks[v_Index].unlock();
+            }
+        }
+    }
+
+
+
+    /**
+     * 刷新所有专用的连接，发送其中排队的命令（如被重定向后重新排队的命令）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void flush()
+    {
+        for (int x=0; x<this.locks.length; x++)
+        {
+            this.locks[x].lock();
+            try
+            {
+                this.connections.get(x).flushCommands();
+            }
+            finally
+            {
+                this.locks[x].unlock();
+            }
+        }
+    }
+
+
+
+    /**
+     * 等待一个命令的执行结果。超时或异常时的行为与同步命令一致
+     *
+     * 每隔 $FlushInterval 毫秒仍未完成时，再次刷新所有专用的连接。
+     * 集群模式时，被 MOVED/ASK 重定向的命令在关闭了自动刷新的连接中重新排队，再次刷新后才会发送
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修正：等待时定时再次刷新，重定向的命令不再滞留到下一批次的刷新
+     *
+     * @param <T>       结果类型
+     * @param i_Future  命令
+     * @return
+     */
+    public <T> T await(RedisFuture<T> i_Future)
+    {
+        long v_Deadline = System.nanoTime() + this.connections.get(0).getTimeout().toNanos();
+
+        try
+        {
+            while ( !i_Future.await($FlushInterval ,TimeUnit.MILLISECONDS) && System.nanoTime() < v_Deadline )
+            {
+                this.flush();
+            }
+        }
+        catch (InterruptedException exce)
+        {
+            // 保留中断状态，由 awaitOrCancel() 按同步命令的方式处理
+            Thread.currentThread().interrupt();
+        }
+
+        return LettuceFutures.awaitOrCancel(i_Future ,Math.max(v_Deadline - System.nanoTime() ,0L) ,TimeUnit.NANOSECONDS);
+    }
+
+
+
+    /**
+     * 插入一行数据（一次往返）
+     *
+     * 表、主键关系的 HSETNX 与每个字段的 HSETNX 在同一批次中发送。
+     * 字段仍按 HSETNX 写入，已存在的字段不被覆盖，与逐个字段插入的语义一致。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  行主键
+     * @param i_Datas       数据信息
+     * @return              返回影响的行数（新写入的字段数）
+     */
+    public Long insertRow(String i_TableID ,String i_PrimaryKey ,Map<String ,Object> i_Datas)
+    {
+        return this.insertRow(i_TableID ,i_PrimaryKey ,i_Datas ,null);
+    }
+
+
+
+    /**
+     * 插入一行数据，并设置行级过期时间（一次往返）
+     *
+     * 表、主键关系的 HSETNX、每个字段的 HSETNX 及行级过期时间的 EXPIREAT 在同一批次中发送。
+     * 字段仍按 HSETNX 写入，已存在的字段不被覆盖，与逐个字段插入的语义一致。
+     * EXPIREAT 与 updateRow() 的一样总是发送，行已存在时也刷新它的过期时间。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  行主键
+     * @param i_Datas       数据信息
+     * @param i_ExpireTime  过期时间（单位：秒）。为NULL或小于等于0时不设置
+     * @return              返回影响的行数（新写入的字段数）
+     */
+    public Long insertRow(String i_TableID ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime)
+    {
+        String                     v_Now       = Date.getNowTime().getFull();
+        String                     v_RowKey    = this.keyLayout.getRowKey(i_TableID ,i_PrimaryKey);
+        int                        v_Threshold = this.valueCodec.getCompressThreshold(i_TableID);
+        boolean                    v_IsExpire  = i_ExpireTime != null && i_ExpireTime > 0L;
+        List<RedisFuture<Boolean>> v_Futures   = this.execute(v_Cmd ->
+        {
+            List<RedisFuture<Boolean>> v_Rets = new ArrayList<RedisFuture<Boolean>>(i_Datas.size() + 2);
+
+            // 表、主键关系
+            v_Rets.add(v_Cmd.hsetnx(i_TableID ,i_PrimaryKey ,v_Now));
+
+            for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
+            {
+                v_Rets.add(v_Cmd.hsetnx(v_RowKey ,v_Data.getKey() ,this.valueCodec.encode(v_Data.getValue() ,v_Threshold)));
+            }
+
+            // 设置行级过期时间
+            if ( v_IsExpire )
+            {
+                v_Rets.add(v_Cmd.expireat(v_RowKey ,i_ExpireTime));
+            }
+
+            return v_Rets;
+        });
+
+        this.await(v_Futures.get(0));
+
+        long v_Count = 0L;
+        for (int x=1; x<=i_Datas.size(); x++)
+        {
+            if ( Boolean.TRUE.equals(this.await(v_Futures.get(x))) )
+            {
+                v_Count++;
+            }
+        }
+
+        if ( v_IsExpire )
+        {
+            this.await(v_Futures.get(v_Futures.size() - 1));
+        }
+
+        return v_Count;
+    }
+
+
+
+    /**
+     * 更新一行数据（一次往返）
+     *
+     * 发送的命令为：表、主键关系的 HSETNX，多字段的 HSET，值为NULL的字段合并为一个 HDEL，行级过期时间的 EXPIREAT
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  行主键
+     * @param i_Datas       数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime  过期时间（单位：秒）
+     * @return              返回影响的行数（与逐个字段更新的一样，为字段数）
+     */
+    public Long updateRow(String i_TableID ,String i_PrimaryKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime)
+    {
+        String               v_Now     = Date.getNowTime().getFull();
+        List<RedisFuture<?>> v_Futures = this.execute(v_Cmd ->
+        {
+            List<RedisFuture<?>> v_Rets = new ArrayList<RedisFuture<?>>(4);
+            updateRow_Core(v_Cmd ,i_TableID ,i_PrimaryKey ,this.keyLayout.getRowKey(i_TableID ,i_PrimaryKey) ,i_Datas ,i_ExpireTime ,v_Now ,this.valueCodec ,v_Rets);
+            return v_Rets;
+        });
+
+        for (RedisFuture<?> v_Future : v_Futures)
+        {
+            this.await(v_Future);
+        }
+
+        return (long) i_Datas.size();
+    }
+
+
+
+    /**
+     * 批量更新多行数据
+     *
+     * 集群模式时，按行主键的哈希槽所属的节点分组。每批次从每个节点的分组中各取出一段行数据，
+     * 一次刷新同时发送给所有节点，所以吞吐量随主节点数量的增加而增加，而不受往返时长的限制。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_Rows        多行数据。Map.key为行主键，Map.value为行数据。行数据中 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime  过期时间（单位：秒）
+     * @return              Map.key为行主键，Map.value为影响的行数。负数表示异常
+     */
+    public Map<String ,Long> updateRows(String i_TableID ,Map<String ,Map<String ,Object>> i_Rows ,Long i_ExpireTime)
+    {
+        Map<String ,Long>  v_Rets   = new LinkedHashMap<String ,Long>(i_Rows.size());
+        List<List<String>> v_Groups = this.group(i_TableID ,i_Rows.keySet());
+
+        for (int v_Offset=0; ; v_Offset+=this.batchSize)
+        {
+            List<String> v_Window = this.window(v_Groups ,v_Offset);
+            if ( v_Window.isEmpty() )
+            {
+                break;
+            }
+
+            String                     v_Now     = Date.getNowTime().getFull();
+            List<List<RedisFuture<?>>> v_Futures = this.execute(v_Cmd ->
+            {
+                List<List<RedisFuture<?>>> v_RowFutures = new ArrayList<List<RedisFuture<?>>>(v_Window.size());
+
+                for (String v_PrimaryKey : v_Window)
+                {
+                    List<RedisFuture<?>> v_RowRets = new ArrayList<RedisFuture<?>>(4);
+                    updateRow_Core(v_Cmd ,i_TableID ,v_PrimaryKey ,this.keyLayout.getRowKey(i_TableID ,v_PrimaryKey) ,i_Rows.get(v_PrimaryKey) ,i_ExpireTime ,v_Now ,this.valueCodec ,v_RowRets);
+                    v_RowFutures.add(v_RowRets);
+                }
+
+                return v_RowFutures;
+            });
+
+            for (int x=0; x<v_Window.size(); x++)
+            {
+                String v_PrimaryKey = v_Window.get(x);
+
+                try
+                {
+                    for (RedisFuture<?> v_Future : v_Futures.get(x))
+                    {
+                        this.await(v_Future);
+                    }
+                    v_Rets.put(v_PrimaryKey ,(long) i_Rows.get(v_PrimaryKey).size());
+                }
+                catch (Exception exce)
+                {
+                    $Logger.error("Table[" + i_TableID + "] row[" + v_PrimaryKey + "] save error." ,exce);
+                    v_Rets.put(v_PrimaryKey ,-9L);
+                }
+            }
+        }
+
+        return v_Rets;
+    }
+
+
+
+    /**
+     * 批量获取多行数据
+     *
+     * 每行的 HGETALL 按批次管道发送。集群模式时按行主键所属的节点分组，每批次同时向所有节点发送。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID      表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKeys  行主键
+     * @return               Map.key为行主键，Map.value为行数据。行数据不存在时，Map.value为空集合
+     */
+    public Map<String ,Map<String ,String>> getRows(String i_TableID ,Collection<String> i_PrimaryKeys)
+    {
+        Map<String ,Map<String ,String>> v_Rets   = new LinkedHashMap<String ,Map<String ,String>>(i_PrimaryKeys.size());
+        List<List<String>>               v_Groups = this.group(i_TableID ,i_PrimaryKeys);
+
+        for (int v_Offset=0; ; v_Offset+=this.batchSize)
+        {
+            List<String> v_Window = this.window(v_Groups ,v_Offset);
+            if ( v_Window.isEmpty() )
+            {
+                break;
+            }
+
+            List<RedisFuture<Map<String ,String>>> v_Futures = this.execute(v_Cmd ->
+            {
+                List<RedisFuture<Map<String ,String>>> v_RowFutures = new ArrayList<RedisFuture<Map<String ,String>>>(v_Window.size());
+
+                for (String v_PrimaryKey : v_Window)
+                {
+                    v_RowFutures.add(v_Cmd.hgetall(this.keyLayout.getRowKey(i_TableID ,v_PrimaryKey)));
+                }
+
+                return v_RowFutures;
+            });
+
+            for (int x=0; x<v_Window.size(); x++)
+            {
+                v_Rets.put(v_Window.get(x) ,this.await(v_Futures.get(x)));
+            }
+        }
+
+        return v_Rets;
+    }
+
+
+
+    /**
+     * 批量删除多行数据（表、主键关系及行数据）
+     *
+     * 每批次只发送一个 HDEL（表、主键关系）和一个多关键字的 UNLINK（行数据）。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID      表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKeys  行主键
+     * @return               返回删除表、主键关系的数量
+     */
+    public Long deleteRows(String i_TableID ,Collection<String> i_PrimaryKeys)
+    {
+        return this.deleteRows(i_TableID ,i_PrimaryKeys ,true);
+    }
+
+
+
+    /**
+     * 批量删除多行数据
+     *
+     * 每批次只发送一个 HDEL（表、主键关系）和一个多关键字的 UNLINK（行数据）。
+     * 删除整张表时，表、主键关系随表Key一并删除，可不逐批 HDEL。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID      表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKeys  行主键
+     * @param i_IsDelIndex   是否删除表、主键关系
+     * @return               删除表、主键关系时，返回删除表、主键关系的数量；否则返回删除行数据的数量
+     */
+    public Long deleteRows(String i_TableID ,Collection<String> i_PrimaryKeys ,boolean i_IsDelIndex)
+    {
+        List<List<String>> v_Groups = this.group(i_TableID ,i_PrimaryKeys);
+        long               v_Count  = 0L;
+
+        for (int v_Offset=0; ; v_Offset+=this.batchSize)
+        {
+            List<String> v_Window = this.window(v_Groups ,v_Offset);
+            if ( v_Window.isEmpty() )
+            {
+                break;
+            }
+
+            String []               v_Fields  = v_Window.toArray(new String[v_Window.size()]);
+            String []               v_Keys    = new String[v_Fields.length];
+            for (int x=0; x<v_Fields.length; x++)
+            {
+                v_Keys[x] = this.keyLayout.getRowKey(i_TableID ,v_Fields[x]);
+            }
+
+            List<RedisFuture<Long>> v_Futures = this.execute(v_Cmd ->
+            {
+                List<RedisFuture<Long>> v_Rets = new ArrayList<RedisFuture<Long>>(2);
+
+                v_Rets.add(v_Cmd.unlink(v_Keys));
+                if ( i_IsDelIndex )
+                {
+                    v_Rets.add(v_Cmd.hdel(i_TableID ,v_Fields));
+                }
+
+                return v_Rets;
+            });
+
+            Long v_Deleted = this.await(v_Futures.get(0));
+            if ( i_IsDelIndex )
+            {
+                v_Deleted = this.await(v_Futures.get(1));
+            }
+
+            if ( v_Deleted != null )
+            {
+                v_Count += v_Deleted;
+            }
+        }
+
+        return v_Count;
+    }
+
+
+
+    /**
+     * 按行数据所属的节点分组。单机模式时只有一个分组
+     *
+     * 哈希标签方式时，表中所有行均在表Key的哈希槽中，所以只有一个分组
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *              v2.0  2026-10-17  修改：按行数据的物理Key值所属的节点分组
+     *
+     * @param i_TableID  表的物理名称。即在Redis中保存的真实Key值
+     * @param i_Keys     行主键
+     * @return
+     */
+    public List<List<String>> group(String i_TableID ,Collection<String> i_Keys)
+    {
+        List<List<String>> v_Groups = new ArrayList<List<String>>();
+
+        if ( this.router == null || this.keyLayout.isHashTag() )
+        {
+            v_Groups.add(new ArrayList<String>(i_Keys));
+            return v_Groups;
+        }
+
+        Map<String ,List<String>> v_ByNode = new LinkedHashMap<String ,List<String>>();
+        for (String v_Key : i_Keys)
+        {
+            v_ByNode.computeIfAbsent(this.router.apply(this.keyLayout.getRowKey(i_TableID ,v_Key)) ,v_NodeID -> new ArrayList<String>()).add(v_Key);
+        }
+
+        v_Groups.addAll(v_ByNode.values());
+        return v_Groups;
+    }
+
+
+
+    /**
+     * 从每个分组中各取出一批次的关键字，合并为一个发送窗口
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Groups  分组
+     * @param i_Offset  每个分组中的开始下标
+     * @return          没有更多关键字时返回空集合
+     */
+    public List<String> window(List<List<String>> i_Groups ,int i_Offset)
+    {
+        List<String> v_Window = new ArrayList<String>();
+
+        for (List<String> v_Group : i_Groups)
+        {
+            if ( i_Offset < v_Group.size() )
+            {
+                v_Window.addAll(v_Group.subList(i_Offset ,Math.min(i_Offset + this.batchSize ,v_Group.size())));
+            }
+        }
+
+        return v_Window;
+    }
+
+
+
+    /**
+     * 一行数据的更新命令入队（不刷新，不等待）。异步访问 RedisLettuceAsync 共用
+     *
+     * 入队的命令为：表、主键关系的 HSETNX，多字段的 HSET，值为NULL的字段合并为一个 HDEL，行级过期时间的 EXPIREAT
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <T>           异步命令的类型
+     * @param i_Cmd         异步命令
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  行主键
+     * @param i_RowKey      行数据的物理Key值（见 RedisKeyLayout）
+     * @param i_Datas       数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime  过期时间（单位：秒）
+     * @param i_Now         表、主键关系的创建时间
+     * @param i_ValueCodec  字段值的编码
+     * @param io_Futures    入队命令的集合
+     */
+    static <T extends RedisHashAsyncCommands<String ,String> & RedisKeyAsyncCommands<String ,String>> void updateRow_Core(T i_Cmd ,String i_TableID ,String i_PrimaryKey ,String i_RowKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime ,String i_Now ,RedisValueCodec i_ValueCodec ,List<RedisFuture<?>> io_Futures)
+    {
+        Map<String ,String> v_Sets      = new LinkedHashMap<String ,String>(i_Datas.size());
+        List<String>        v_Dels      = new ArrayList<String>();
+        int                 v_Threshold = i_ValueCodec.getCompressThreshold(i_TableID);
+
+        for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
+        {
+            if ( v_Data.getValue() == null )
+            {
+                v_Dels.add(v_Data.getKey());
+            }
+            else
+            {
+                v_Sets.put(v_Data.getKey() ,i_ValueCodec.encode(v_Data.getValue() ,v_Threshold));
+            }
+        }
+
+        // 表、主键关系
+        io_Futures.add(i_Cmd.hsetnx(i_TableID ,i_PrimaryKey ,i_Now));
+
+        if ( !v_Sets.isEmpty() )
+        {
+            io_Futures.add(i_Cmd.hset(i_RowKey ,v_Sets));
+        }
+
+        if ( !v_Dels.isEmpty() )
+        {
+            io_Futures.add(i_Cmd.hdel(i_RowKey ,v_Dels.toArray(new String[v_Dels.size()])));
+        }
+
+        // 设置行级过期时间
+        if ( i_ExpireTime != null && i_ExpireTime > 0L )
+        {
+            io_Futures.add(i_Cmd.expireat(i_RowKey ,i_ExpireTime));
+        }
+    }
+
+
+
+    /**
+     * 关闭管道专用的连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void close()
+    {
+        for (StatefulConnection<String ,String> v_Conn : this.connections)
+        {
+            v_Conn.close();
+        }
+    }
+
+
+
+    /**
+     * 获取：管道专用连接的数量
+     */
+    public int getConnectionSize()
+    {
+        return this.connections.size();
+    }
+
+
+
+    /**
+     * 获取：每批次、每个节点最多的行数
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+
+
+    /**
+     * 设置：每批次、每个节点最多的行数
+     *
+     * @param i_BatchSize 每批次、每个节点最多的行数
+     */
+    public void setBatchSize(int i_BatchSize)
+    {
+        this.batchSize = i_BatchSize <= 0 ? $BatchSize : i_BatchSize;
+    }
+
+
+
+    /**
+     * 获取：行数据Key值的组织方式
+     */
+    public RedisKeyLayout getKeyLayout()
+    {
+        return this.keyLayout;
+    }
+
+
+
+    /**
+     * 设置：行数据Key值的组织方式
+     *
+     * @param i_KeyLayout 行数据Key值的组织方式
+     */
+    public void setKeyLayout(RedisKeyLayout i_KeyLayout)
+    {
+        this.keyLayout = i_KeyLayout == null ? RedisKeyLayout.$Plain : i_KeyLayout;
+    }
+
+
+    /**
+     * 获取：字段值的编码
+     */
+    public RedisValueCodec getValueCodec()
+    {
+        return this.valueCodec;
+    }
+
+
+
+    /**
+     * 设置：字段值的编码
+     *
+     * @param i_ValueCodec 字段值的编码。为NULL时按文本保存
+     */
+    public void setValueCodec(RedisValueCodec i_ValueCodec)
+    {
+        this.valueCodec = i_ValueCodec == null ? RedisValueCodec.$Text : i_ValueCodec;
+    }
+
+}
@@ -0,0 +1,207 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.hy.common.Date;
+import org.hy.common.redis.type.RedisValueCodec;
+
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisScriptingCommands;
+import io.lettuce.core.cluster.SlotHash;
+
+
+
+
+
+/**
+ * 服务端原子写入一行数据的Lua脚本（EVALSHA）
+ *
+ * 表、主键关系的 HSETNX，多字段的 HSET，值为NULL的字段的 HDEL，行级过期时间的 EXPIREAT，
+ * 在服务端的一个脚本中原子执行，每行只需一次 EVALSHA 往返。
+ *
+ * 脚本的SHA1摘要在本地计算。首次执行或节点重启、SCRIPT FLUSH 后返回 NOSCRIPT 时，
+ * 才用 SCRIPT LOAD 加载脚本（集群模式时加载到所有的主节点），之后重试一次。
+ *
+ * 注：脚本同时操作表Key和行数据Key两个关键字。集群模式时两者须在同一个哈希槽中，
+ *     否则不能使用脚本（见 isColocated() 方法），仍按管道批量的方式写入。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：字段值的编码（见 RedisValueCodec）
+ *              v3.0  2026-10-17  添加：超过压缩阈值的字段值压缩保存
+ *              v4.0  2026-10-17  添加：每次执行时选择同步命令（见 RedisConnections 多路复用的连接组）
+ *
+ * @param <C>  同步命令的类型。集群模式为 RedisAdvancedClusterCommands，单机模式为 RedisCommands
+ */
+public class RedisRowScript<C extends RedisScriptingCommands<String ,String>>
+{
+
+    /**
+     * 保存一行数据的脚本
+     *
+     * KEYS[1]：表的物理名称
+     * KEYS[2]：行数据的物理Key值（见 RedisKeyLayout）
+     * ARGV[1]：行主键
+     * ARGV[2]：表、主键关系的创建时间
+     * ARGV[3]：行级过期时间（Unix时间戳，单位：秒）。空字符串表示不设置
+     * ARGV[4]：HSET 的字段数量N
+     * ARGV[5 ~ 4+2N]：HSET 的字段名、字段值
+     * ARGV[5+2N ~ ]：HDEL 的字段名
+     *
+     * 返回：字段数（与逐个字段更新的一样）
+     */
+    public static final String $UpdateRow = "redis.call('HSETNX' ,KEYS[1] ,ARGV[1] ,ARGV[2]) "
+                                          + "local n = tonumber(ARGV[4]) "
+                                          + "if n > 0 then redis.call('HSET' ,KEYS[2] ,unpack(ARGV ,5 ,4 + n * 2)) end "
+                                          + "if #ARGV > 4 + n * 2 then redis.call('HDEL' ,KEYS[2] ,unpack(ARGV ,5 + n * 2 ,#ARGV)) end "
+                                          + "if ARGV[3] ~= '' then redis.call('EXPIREAT' ,KEYS[2] ,ARGV[3]) end "
+                                          + "return #ARGV - 4 - n";
+
+    /** 脚本一次最多展开的参数个数（Lua栈的限制为8000，留有余量） */
+    public static final int    $MaxArgs   = 7000;
+
+
+
+    /** 同步命令（与同步访问共用连接）。每次执行时获取 */
+    private final Supplier<C>     commands;
+
+    /** 是否为集群模式 */
+    private final boolean         cluster;
+
+    /** 脚本的SHA1摘要 */
+    private final String          updateRowSHA;
+
+    /** 字段值的编码 */
+    private RedisValueCodec       valueCodec;
+
+
+
+    public RedisRowScript(C i_Commands ,boolean i_Cluster)
+    {
+        this(() -> i_Commands ,i_Cluster);
+    }
+
+
+
+    public RedisRowScript(Supplier<C> i_Commands ,boolean i_Cluster)
+    {
+        this.commands     = i_Commands;
+        this.cluster      = i_Cluster;
+        this.updateRowSHA = i_Commands.get().digest($UpdateRow);
+        this.valueCodec   = RedisValueCodec.$Text;
+    }
+
+
+
+    /**
+     * 表Key与行数据Key能否在一个脚本中操作。单机模式时总是可以；集群模式时须在同一个哈希槽中
+     *
+     * 注：行数据Key按哈希标签方式组织时（见 RedisKeyLayout），总是在同一个哈希槽中
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_RowKey      行数据的物理Key值
+     * @return
+     */
+    public boolean isColocated(String i_TableID ,String i_RowKey)
+    {
+        return !this.cluster || SlotHash.getSlot(i_TableID) == SlotHash.getSlot(i_RowKey);
+    }
+
+
+
+    /**
+     * 原子更新一行数据（一次往返）
+     *
+     * 注：调用前应先用 isColocated() 判定能否使用脚本
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID     表的物理名称。即在Redis中保存的真实Key值
+     * @param i_PrimaryKey  行主键
+     * @param i_RowKey      行数据的物理Key值
+     * @param i_Datas       数据信息。当为 Map.value 为 null 时，将执行Redis删除命令
+     * @param i_ExpireTime  过期时间（单位：秒）
+     * @return              返回影响的行数（与逐个字段更新的一样，为字段数）。负数表示异常
+     */
+    public Long updateRow(String i_TableID ,String i_PrimaryKey ,String i_RowKey ,Map<String ,Object> i_Datas ,Long i_ExpireTime)
+    {
+        List<String> v_Sets      = new ArrayList<String>(i_Datas.size() * 2);
+        List<String> v_Dels      = new ArrayList<String>();
+        int          v_Threshold = this.valueCodec.getCompressThreshold(i_TableID);
+
+        for (Map.Entry<String ,Object> v_Data : i_Datas.entrySet())
+        {
+            if ( v_Data.getValue() == null )
+            {
+                v_Dels.add(v_Data.getKey());
+            }
+            else
+            {
+                v_Sets.add(v_Data.getKey());
+                v_Sets.add(this.valueCodec.encode(v_Data.getValue() ,v_Threshold));
+            }
+        }
+
+        // 超出脚本参数上限的超宽行，由调用方改用管道批量的方式写入
+        if ( v_Sets.size() + v_Dels.size() + 4 > $MaxArgs )
+        {
+            return -1L;
+        }
+
+        List<String> v_Args = new ArrayList<String>(v_Sets.size() + v_Dels.size() + 4);
+        v_Args.add(i_PrimaryKey);
+        v_Args.add(Date.getNowTime().getFull());
+        v_Args.add(i_ExpireTime != null && i_ExpireTime > 0L ? i_ExpireTime.toString() : "");
+        v_Args.add(String.valueOf(v_Sets.size() / 2));
+        v_Args.addAll(v_Sets);
+        v_Args.addAll(v_Dels);
+
+        String [] v_Keys     = new String[] {i_TableID ,i_RowKey};
+        String [] v_Values   = v_Args.toArray(new String[v_Args.size()]);
+        C         v_Commands = this.commands.get();
+
+        try
+        {
+            return v_Commands.evalsha(this.updateRowSHA ,ScriptOutputType.INTEGER ,v_Keys ,v_Values);
+        }
+        catch (RedisNoScriptException exce)
+        {
+            // 节点上没有脚本时（首次执行、节点重启或主从切换），加载后重试一次
+            v_Commands.scriptLoad($UpdateRow);
+            return v_Commands.evalsha(this.updateRowSHA ,ScriptOutputType.INTEGER ,v_Keys ,v_Values);
+        }
+    }
+
+
+    /**
+     * 获取：字段值的编码
+     */
+    public RedisValueCodec getValueCodec()
+    {
+        return this.valueCodec;
+    }
+
+
+
+    /**
+     * 设置：字段值的编码
+     *
+     * @param i_ValueCodec 字段值的编码。为NULL时按文本保存
+     */
+    public void setValueCodec(RedisValueCodec i_ValueCodec)
+    {
+        this.valueCodec = i_ValueCodec == null ? RedisValueCodec.$Text : i_ValueCodec;
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.hy.common.redis.lettuce;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hy.common.Date;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.cluster.event.AdaptiveRefreshTriggeredEvent;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
+import io.lettuce.core.event.Event;
+import reactor.core.Disposable;
+
+
+
+
+
+/**
+ * 集群拓扑的统计数据。订阅客户端的事件总线，统计自适应刷新被触发及拓扑变化的次数
+ *
+ * 自适应刷新被触发的次数不是 MOVED/ASK 重定向的次数：触发的原因还有持续重连、节点或哈希槽未知等，
+ * 且开启了自适应刷新时（见 RedisClusterConfig）才会触发。Lettuce没有公开每次重定向的事件，所以不统计重定向的次数。
+ * 其次数持续增长时，说明拓扑经常与集群不一致，应检查故障转移、重新分片，或缩短周期刷新的间隔。
+ *
+ * 按Lettuce的事件类型（instanceof）统计。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  修正：按事件类型统计，不再按事件类的名称匹配。删除 MOVED/ASK 重定向的次数，改由自适应刷新的次数反映
+ *              v3.0  2026-10-17  修正：自适应刷新的次数不等于重定向的次数。更名为 getAdaptiveRefreshTriggered()，不再称其反映重定向
+ */
+public class RedisTopologyMetrics
+{
+
+    /** 自适应刷新被触发的次数 */
+    private final LongAdder  adaptiveRefreshTriggered;
+
+    /** 拓扑变化的次数 */
+    private final LongAdder  topologyChanged;
+
+    /** 最后一次拓扑变化的时间 */
+    private volatile Date    topologyChangedTime;
+
+    /** 统计的开始时间 */
+    private volatile Date    startTime;
+
+    /** 事件总线的订阅 */
+    private final Disposable subscription;
+
+
+
+    public RedisTopologyMetrics(AbstractRedisClient i_Client)
+    {
+        this.adaptiveRefreshTriggered = new LongAdder();
+        this.topologyChanged          = new LongAdder();
+        this.startTime                = new Date();
+        this.subscription             = i_Client.getResources().eventBus().get().subscribe(this::onEvent);
+    }
+
+
+
+    /**
+     * 按事件的类型统计
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Event  客户端的事件
+     */
+    private void onEvent(Event i_Event)
+    {
+        if ( i_Event instanceof AdaptiveRefreshTriggeredEvent )
+        {
+            this.adaptiveRefreshTriggered.increment();
+        }
+        else if ( i_Event instanceof ClusterTopologyChangedEvent )
+        {
+            this.topologyChanged.increment();
+            this.topologyChangedTime = new Date();
+        }
+    }
+
+
+
+    /**
+     * 重置统计数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void reset()
+    {
+        this.adaptiveRefreshTriggered.reset();
+        this.topologyChanged.reset();
+        this.startTime = new Date();
+    }
+
+
+
+    /**
+     * 取消事件总线的订阅
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void close()
+    {
+        this.subscription.dispose();
+    }
+
+
+
+    /**
+     * 获取：自适应刷新被触发的次数（不是 MOVED/ASK 重定向的次数）
+     */
+    public long getAdaptiveRefreshTriggered()
+    {
+        return this.adaptiveRefreshTriggered.sum();
+    }
+
+
+
+    /**
+     * 获取：拓扑变化的次数
+     */
+    public long getTopologyChanged()
+    {
+        return this.topologyChanged.sum();
+    }
+
+
+
+    /**
+     * 获取：最后一次拓扑变化的时间。未变化过时为NULL
+     */
+    public Date getTopologyChangedTime()
+    {
+        return this.topologyChangedTime;
+    }
+
+
+
+    /**
+     * 获取：统计的开始时间
+     */
+    public Date getStartTime()
+    {
+        return this.startTime;
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.hy.common.redis.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+
+
+
+
+/**
+ * JDK Flight Recorder（JFR）的事件：一次 IRedis 方法的调用
+ *
+ * 由 RedisMetrics 生成的代理发出，持续时间即方法的耗时。未录制或事件未开启时，几乎没有额外开销。
+ * 为了降低开销，默认不记录调用栈。需要时可按JFR的配置开启，如
+ *   jcmd <pid> JFR.start settings=profile +org.hy.common.redis.Call#stackTrace=true
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+@Name("org.hy.common.redis.Call")
+@Label("Redis Call")
+@Category({"HY" ,"Redis"})
+@Description("One IRedis method call")
+@StackTrace(false)
+@Threshold("0 ms")
+public class RedisCallEvent extends jdk.jfr.Event
+{
+
+    @Label("Method")
+    @Description("IRedis method name")
+    String  method;
+
+    @Label("Database")
+    String  database;
+
+    @Label("Table")
+    String  table;
+
+    @Label("Key Count")
+    @Description("Number of keys or rows the call touches")
+    int     keyCount;
+
+    @Label("Commands")
+    @Description("Redis commands sent by the calling thread. Pipelined commands are counted one by one, so this is an upper bound of the round trips")
+    int     commands;
+
+    @Label("Error")
+    boolean error;
+
+}
@@ -0,0 +1,227 @@
+package org.hy.common.redis.metrics;
+
+
+
+
+
+/**
+ * 一个方法或命令的统计快照（只读）。耗时的单位为微秒
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：发送的命令数及一次调用的最多命令数
+ */
+public class RedisCallSnapshot
+{
+
+    /** 方法或命令的名称 */
+    private final String name;
+
+    /** 调用次数 */
+    private final long   count;
+
+    /** 异常次数 */
+    private final long   errors;
+
+    /** 传输的字符数（近似字节数）。未统计时为0 */
+    private final long   bytes;
+
+    /** 发送的命令数。未统计时为0 */
+    private final long   commands;
+
+    /** 一次调用的最多命令数。未统计时为0 */
+    private final long   maxCommands;
+
+    /** 平均耗时 */
+    private final double mean;
+
+    /** 最小耗时 */
+    private final double min;
+
+    /** 最大耗时 */
+    private final double max;
+
+    /** 50% 的耗时 */
+    private final double p50;
+
+    /** 90% 的耗时 */
+    private final double p90;
+
+    /** 99% 的耗时 */
+    private final double p99;
+
+    /** 99.9% 的耗时 */
+    private final double p999;
+
+
+
+    public RedisCallSnapshot(String i_Name ,long i_Count ,long i_Errors ,long i_Bytes ,long i_Commands ,long i_MaxCommands ,double i_Mean ,double i_Min ,double i_Max ,double i_P50 ,double i_P90 ,double i_P99 ,double i_P999)
+    {
+        this.name        = i_Name;
+        this.count       = i_Count;
+        this.errors      = i_Errors;
+        this.bytes       = i_Bytes;
+        this.commands    = i_Commands;
+        this.maxCommands = i_MaxCommands;
+        this.mean        = i_Mean;
+        this.min         = i_Min;
+        this.max         = i_Max;
+        this.p50         = i_P50;
+        this.p90         = i_P90;
+        this.p99         = i_P99;
+        this.p999        = i_P999;
+    }
+
+
+
+    /**
+     * 获取：方法或命令的名称
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+
+
+
+    /**
+     * 获取：调用次数
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+
+
+
+    /**
+     * 获取：异常次数
+     */
+    public long getErrors()
+    {
+        return this.errors;
+    }
+
+
+
+    /**
+     * 获取：传输的字符数（近似字节数）。未统计时为0
+     */
+    public long getBytes()
+    {
+        return this.bytes;
+    }
+
+
+
+    /**
+     * 获取：发送的命令数。未统计时为0
+     */
+    public long getCommands()
+    {
+        return this.commands;
+    }
+
+
+
+    /**
+     * 获取：一次调用的最多命令数。未统计时为0
+     */
+    public long getMaxCommands()
+    {
+        return this.maxCommands;
+    }
+
+
+
+    /**
+     * 获取：平均每次调用的命令数。未统计时为0
+     */
+    public double getCommandsPerCall()
+    {
+        return this.count <= 0L ? 0D : (double) this.commands / this.count;
+    }
+
+
+
+    /**
+     * 获取：平均耗时（微秒）
+     */
+    public double getMean()
+    {
+        return this.mean;
+    }
+
+
+
+    /**
+     * 获取：最小耗时（微秒）
+     */
+    public double getMin()
+    {
+        return this.min;
+    }
+
+
+
+    /**
+     * 获取：最大耗时（微秒）
+     */
+    public double getMax()
+    {
+        return this.max;
+    }
+
+
+
+    /**
+     * 获取：50% 的耗时（微秒）
+     */
+    public double getP50()
+    {
+        return this.p50;
+    }
+
+
+
+    /**
+     * 获取：90% 的耗时（微秒）
+     */
+    public double getP90()
+    {
+        return this.p90;
+    }
+
+
+
+    /**
+     * 获取：99% 的耗时（微秒）
+     */
+    public double getP99()
+    {
+        return this.p99;
+    }
+
+
+
+    /**
+     * 获取：99.9% 的耗时（微秒）
+     */
+    public double getP999()
+    {
+        return this.p999;
+    }
+
+
+
+    @Override
+    public String toString()
+    {
+        return this.name + ": count=" + this.count + " errors=" + this.errors + " bytes=" + this.bytes
+             + " commands=" + this.commands + " maxCommands=" + this.maxCommands
+             + " mean=" + this.mean + "us min=" + this.min + "us max=" + this.max + "us"
+             + " p50=" + this.p50 + "us p90=" + this.p90 + "us p99=" + this.p99 + "us p99.9=" + this.p999 + "us";
+    }
+
+}
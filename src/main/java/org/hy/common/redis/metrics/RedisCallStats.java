@@ -0,0 +1,164 @@
+package org.hy.common.redis.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+
+
+
+/**
+ * 一个方法或命令的统计数据：调用次数、异常次数、传输的字符数、发送的命令数及耗时的分布
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：发送的命令数及一次调用的最多命令数
+ */
+public class RedisCallStats
+{
+
+    /** 纳秒转微秒 */
+    private static final double  $NanosPerMicro = 1000D;
+
+
+
+    /** 异常次数 */
+    private final LongAdder      errors;
+
+    /** 传输的字符数 */
+    private final LongAdder      bytes;
+
+    /** 发送的命令数 */
+    private final LongAdder      commands;
+
+    /** 一次调用的最多命令数 */
+    private final AtomicLong     maxCommands;
+
+    /** 耗时的分布（含调用次数） */
+    private final RedisHistogram latency;
+
+
+
+    public RedisCallStats()
+    {
+        this.errors      = new LongAdder();
+        this.bytes       = new LongAdder();
+        this.commands    = new LongAdder();
+        this.maxCommands = new AtomicLong(0L);
+        this.latency     = new RedisHistogram();
+    }
+
+
+
+    /**
+     * 记录一次调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Nanos    耗时（纳秒）
+     * @param i_IsError  是否异常
+     * @param i_Bytes    传输的字符数
+     */
+    public void record(long i_Nanos ,boolean i_IsError ,long i_Bytes)
+    {
+        this.record(i_Nanos ,i_IsError ,i_Bytes ,0L);
+    }
+
+
+
+    /**
+     * 记录一次调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Nanos     耗时（纳秒）
+     * @param i_IsError   是否异常
+     * @param i_Bytes     传输的字符数
+     * @param i_Commands  发送的命令数
+     */
+    public void record(long i_Nanos ,boolean i_IsError ,long i_Bytes ,long i_Commands)
+    {
+        this.latency.record(i_Nanos);
+
+        if ( i_IsError )
+        {
+            this.errors.increment();
+        }
+
+        if ( i_Bytes > 0L )
+        {
+            this.bytes.add(i_Bytes);
+        }
+
+        if ( i_Commands > 0L )
+        {
+            this.commands   .add(i_Commands);
+            this.maxCommands.accumulateAndGet(i_Commands ,Math::max);
+        }
+    }
+
+
+
+    /**
+     * 生成统计快照
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Name  方法或命令的名称
+     * @return
+     */
+    public RedisCallSnapshot snapshot(String i_Name)
+    {
+        long v_Count = this.latency.getCount();
+
+        return new RedisCallSnapshot(i_Name
+                                    ,v_Count
+                                    ,this.errors.sum()
+                                    ,this.bytes.sum()
+                                    ,this.commands.sum()
+                                    ,this.maxCommands.get()
+                                    ,v_Count <= 0L ? 0D : this.latency.getSum() / $NanosPerMicro / v_Count
+                                    ,this.latency.getMin()             / $NanosPerMicro
+                                    ,this.latency.getMax()             / $NanosPerMicro
+                                    ,this.latency.getPercentile(50D)   / $NanosPerMicro
+                                    ,this.latency.getPercentile(90D)   / $NanosPerMicro
+                                    ,this.latency.getPercentile(99D)   / $NanosPerMicro
+                                    ,this.latency.getPercentile(99.9D) / $NanosPerMicro);
+    }
+
+
+
+    /**
+     * 清空统计数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void reset()
+    {
+        this.errors     .reset();
+        this.bytes      .reset();
+        this.commands   .reset();
+        this.maxCommands.set(0L);
+        this.latency    .reset();
+    }
+
+
+
+    /**
+     * 获取：耗时的分布
+     */
+    public RedisHistogram getLatency()
+    {
+        return this.latency;
+    }
+
+}
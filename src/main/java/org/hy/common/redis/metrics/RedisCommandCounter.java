@@ -0,0 +1,114 @@
+package org.hy.common.redis.metrics;
+
+
+
+
+
+/**
+ * 每个线程发送的Redis命令数，用于发现往返的放大（一次 IRedis 方法调用发送了过多的命令）
+ *
+ * 命令数由 RedisMetrics 作为Lettuce的命令监听器累计（见 RedisMetrics.attach()），Lettuce在调用线程上派发命令，所以按线程计数是准确的。
+ * 管道批量发送的命令各计一次，所以命令数是往返次数的上限。
+ *
+ * 经 RedisMetrics 的代理调用 IRedis 方法后，可获取本线程最后一次调用的命令数。如在测试中约束命令数：
+ *   IRedis v_Redis = v_RedisLettuce.enableMetrics();
+ *   v_Redis.insert("库" ,"表" ,"主键" ,v_Datas);
+ *   assertTrue(RedisCommandCounter.getLastCallCommands() <= 2);
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public final class RedisCommandCounter
+{
+
+    /** 每个线程的计数。下标0为累计的命令数，下标1为最后一次 IRedis 方法调用的命令数 */
+    private static final ThreadLocal<long []> $Counts = ThreadLocal.withInitial(() -> new long[2]);
+
+
+
+    private RedisCommandCounter()
+    {
+
+    }
+
+
+
+    /**
+     * 本线程发送了一个命令
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    static void increment()
+    {
+        $Counts.get()[0]++;
+    }
+
+
+
+    /**
+     * 本线程的计数（调用方直接读写，省去多次 ThreadLocal 查找）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    static long [] counts()
+    {
+        return $Counts.get();
+    }
+
+
+
+    /**
+     * 获取本线程累计发送的命令数
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public static long getThreadCommands()
+    {
+        return $Counts.get()[0];
+    }
+
+
+
+    /**
+     * 获取本线程最后一次经代理调用的 IRedis 方法发送的命令数
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public static long getLastCallCommands()
+    {
+        return $Counts.get()[1];
+    }
+
+
+
+    /**
+     * 清零本线程的计数
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public static void reset()
+    {
+        long [] v_Counts = $Counts.get();
+
+        v_Counts[0] = 0L;
+        v_Counts[1] = 0L;
+    }
+
+}
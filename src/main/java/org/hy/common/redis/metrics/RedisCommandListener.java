@@ -0,0 +1,88 @@
+package org.hy.common.redis.metrics;
+
+import io.lettuce.core.event.command.CommandFailedEvent;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.event.command.CommandSucceededEvent;
+
+
+
+
+
+/**
+ * 转发命令事件的监听器。在客户端创建连接前注册，开启统计后再将命令事件转发给 RedisMetrics
+ *
+ * Lettuce只在创建连接时为连接添加客户端的命令监听器，之后添加的监听器对已有的连接无效。
+ * 而统计通常在连接创建之后才开启（见 RedisLettuce.enableMetrics()），所以先注册本监听器，开启统计时设置转发的目标（见 RedisMetrics.attach()）。
+ *
+ * 未设置目标时不做任何处理。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class RedisCommandListener implements CommandListener
+{
+
+    /** 转发的目标。为NULL时不转发 */
+    private volatile CommandListener target;
+
+
+
+    @Override
+    public void commandStarted(CommandStartedEvent i_Event)
+    {
+        CommandListener v_Target = this.target;
+        if ( v_Target != null )
+        {
+            v_Target.commandStarted(i_Event);
+        }
+    }
+
+
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent i_Event)
+    {
+        CommandListener v_Target = this.target;
+        if ( v_Target != null )
+        {
+            v_Target.commandSucceeded(i_Event);
+        }
+    }
+
+
+
+    @Override
+    public void commandFailed(CommandFailedEvent i_Event)
+    {
+        CommandListener v_Target = this.target;
+        if ( v_Target != null )
+        {
+            v_Target.commandFailed(i_Event);
+        }
+    }
+
+
+
+    /**
+     * 获取：转发的目标。为NULL时不转发
+     */
+    public CommandListener getTarget()
+    {
+        return this.target;
+    }
+
+
+
+    /**
+     * 设置：转发的目标。为NULL时不转发
+     *
+     * @param i_Target 转发的目标
+     */
+    public void setTarget(CommandListener i_Target)
+    {
+        this.target = i_Target;
+    }
+
+}
@@ -0,0 +1,232 @@
+package org.hy.common.redis.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+
+
+
+/**
+ * 耗时的分布直方图（HdrHistogram的对数-线性分桶方式，无第三方依赖）
+ *
+ * 每个2的幂次区间再等分为16个子桶，所以任意耗时的相对误差不超过 1/16（约6%）。
+ * 记录为无锁的原子计数，可被多线程并发记录。
+ *
+ * 记录的单位为纳秒，上限约为 2^41 纳秒（约36分钟），超过上限的按上限记录。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class RedisHistogram
+{
+
+    /** 每个2的幂次区间的子桶数量的位数 */
+    private static final int  $SubBits  = 4;
+
+    /** 每个2的幂次区间的子桶数量 */
+    private static final int  $SubCount = 1 << $SubBits;
+
+    /** 可记录的最大值（纳秒） */
+    private static final long $MaxValue = (1L << 41) - 1L;
+
+    /** 分桶的数量 */
+    private static final int  $Buckets  = indexOf($MaxValue) + 1;
+
+
+
+    /** 每个分桶的次数 */
+    private final AtomicLongArray counts;
+
+    /** 总次数 */
+    private final LongAdder       total;
+
+    /** 总耗时 */
+    private final LongAdder       sum;
+
+    /** 最小值 */
+    private final AtomicLong      min;
+
+    /** 最大值 */
+    private final AtomicLong      max;
+
+
+
+    public RedisHistogram()
+    {
+        this.counts = new AtomicLongArray($Buckets);
+        this.total  = new LongAdder();
+        this.sum    = new LongAdder();
+        this.min    = new AtomicLong(Long.MAX_VALUE);
+        this.max    = new AtomicLong(0L);
+    }
+
+
+
+    /**
+     * 记录一次耗时
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Nanos  耗时（纳秒）
+     */
+    public void record(long i_Nanos)
+    {
+        long v_Value = Math.min(Math.max(i_Nanos ,0L) ,$MaxValue);
+
+        this.counts.incrementAndGet(indexOf(v_Value));
+        this.total .increment();
+        this.sum   .add(v_Value);
+        this.min   .accumulateAndGet(v_Value ,Math::min);
+        this.max   .accumulateAndGet(v_Value ,Math::max);
+    }
+
+
+
+    /**
+     * 获取百分位的耗时。返回分桶的上限值，与HdrHistogram一致
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Percentile  百分位（0 ~ 100）。如 99.9
+     * @return              耗时（纳秒）。没有记录时返回0
+     */
+    public long getPercentile(double i_Percentile)
+    {
+        long v_Total = this.total.sum();
+        if ( v_Total <= 0L )
+        {
+            return 0L;
+        }
+
+        long v_Rank  = Math.max((long) Math.ceil(Math.min(i_Percentile ,100D) / 100D * v_Total) ,1L);
+        long v_Count = 0L;
+
+        for (int x=0; x<$Buckets; x++)
+        {
+            v_Count += this.counts.get(x);
+            if ( v_Count >= v_Rank )
+            {
+                return Math.min(valueOf(x + 1) - 1L ,this.getMax());
+            }
+        }
+
+        return this.getMax();
+    }
+
+
+
+    /**
+     * 清空所有记录
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public void reset()
+    {
+        for (int x=0; x<$Buckets; x++)
+        {
+            this.counts.set(x ,0L);
+        }
+
+        this.total.reset();
+        this.sum  .reset();
+        this.min  .set(Long.MAX_VALUE);
+        this.max  .set(0L);
+    }
+
+
+
+    /**
+     * 耗时所属分桶的下标
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  耗时（纳秒）
+     * @return
+     */
+    private static int indexOf(long i_Value)
+    {
+        if ( i_Value < $SubCount )
+        {
+            return (int) i_Value;
+        }
+
+        int v_Shift = 63 - Long.numberOfLeadingZeros(i_Value) - $SubBits;
+        return (v_Shift + 1) * $SubCount + (int) ((i_Value >>> v_Shift) - $SubCount);
+    }
+
+
+
+    /**
+     * 分桶的下限值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Index  分桶的下标
+     * @return
+     */
+    private static long valueOf(int i_Index)
+    {
+        if ( i_Index < $SubCount )
+        {
+            return i_Index;
+        }
+
+        int v_Shift = i_Index / $SubCount - 1;
+        return ((long) (i_Index % $SubCount + $SubCount)) << v_Shift;
+    }
+
+
+
+    /**
+     * 获取：总次数
+     */
+    public long getCount()
+    {
+        return this.total.sum();
+    }
+
+
+
+    /**
+     * 获取：总耗时（纳秒）
+     */
+    public long getSum()
+    {
+        return this.sum.sum();
+    }
+
+
+
+    /**
+     * 获取：最小值（纳秒）。没有记录时返回0
+     */
+    public long getMin()
+    {
+        long v_Min = this.min.get();
+        return v_Min == Long.MAX_VALUE ? 0L : v_Min;
+    }
+
+
+
+    /**
+     * 获取：最大值（纳秒）
+     */
+    public long getMax()
+    {
+        return this.max.get();
+    }
+
+}
@@ -0,0 +1,928 @@
+package org.hy.common.redis.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jdk.jfr.EventType;
+
+import org.hy.common.redis.IRedis;
+import org.hy.common.redis.RData;
+import org.hy.common.xml.log.Logger;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.event.command.CommandFailedEvent;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.event.command.CommandSucceededEvent;
+import io.lettuce.core.metrics.CommandLatencyCollector;
+import io.lettuce.core.metrics.CommandLatencyId;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.CommandMetrics;
+
+
+
+
+
+/**
+ * Redis访问的统计。按 IRedis 方法及Redis命令，分别统计调用次数、异常次数、传输的字符数及耗时的分布
+ *
+ * 统计的来源有：
+ *   1. IRedis 方法：由 wrap() 生成的代理统计每个方法（同名的重载方法合并统计）。Jedis的 Redis 类由其内部按方法统计（见 time()）。
+ *      返回负数（本类库约定的异常返回值）或抛出异常时，均计为异常。
+ *   2. Redis命令：作为Lettuce的命令监听器（CommandListener）统计每个命令（见 attach()）。
+ *      Lettuce只在创建连接时为连接添加命令监听器，所以统计已有连接的命令时，须经创建连接前注册的 RedisCommandListener 转发。
+ *   3. Lettuce自带的命令耗时（CommandLatencyCollector）：类路径中有 HdrHistogram 时由Lettuce默认开启，见 getLettuceLatencies()。
+ *
+ * 传输的字符数为参数及返回值中字符串的长度之和（近似字节数）。统计需遍历参数及返回值，默认不开启（见 setMeasureBytes()）。
+ *
+ * 统计数据可按快照获取，也可通过JMX查看（见 register()）。
+ *
+ * 代理还为每次调用发出JDK Flight Recorder（JFR）的事件 RedisCallEvent，超过阈值的慢调用另发出 RedisSlowCallEvent。
+ * 事件中的命令数为调用线程在方法执行期间发送的Redis命令数，须先 attach() 监听Lettuce客户端。
+ *
+ * 每个 IRedis 方法还统计发送的命令数，及一次调用的最多命令数。本线程的命令数见 RedisCommandCounter。
+ * 设置了命令预算（见 setCommandBudget()）时，发送的命令数超过预算的调用，连同调用栈记录到日志，用于发现往返的放大。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：每次 IRedis 方法的调用发出JFR事件（库、表、键数、命令数及耗时），及慢调用的JFR事件
+ *              v3.0  2026-10-17  添加：按方法及按线程统计发送的命令数，及超过命令预算的调用记录到日志 setCommandBudget()
+ *              v4.0  2026-10-17  修正：连接创建后才监听客户端时，已有连接的命令未被统计。添加：经转发的监听器监听 attach(client ,listener)
+ */
+public class RedisMetrics implements RedisMetricsMXBean ,CommandListener
+{
+
+    private static final Logger      $Logger            = new Logger(RedisMetrics.class);
+
+    /** 命令开始时间在命令上下文中的名称 */
+    private static final String      $ContextStart      = RedisMetrics.class.getName() + ".start";
+
+    /** 纳秒转微秒 */
+    private static final double      $NanosPerMicro     = 1000D;
+
+    /** 按Key值访问的 IRedis 方法（参数中没有库名、表名） */
+    private static final Set<String> $KeyMethods        = Set.of("expire" ,"set" ,"setex" ,"setnx" ,"get" ,"getdel" ,"del");
+
+    /** JFR事件的类型。是否开启随JFR的录制及配置变化，每次调用时检查 */
+    private static final EventType   $CallEventType     = EventType.getEventType(RedisCallEvent.class);
+
+    /** JFR慢调用事件的类型 */
+    private static final EventType   $SlowCallEventType = EventType.getEventType(RedisSlowCallEvent.class);
+
+
+
+    /** 统计的名称 */
+    private final String                           name;
+
+    /** 每个 IRedis 方法的统计数据 */
+    private final Map<String ,RedisCallStats>      methods;
+
+    /** 每个Redis命令的统计数据 */
+    private final Map<String ,RedisCallStats>      commands;
+
+    /** 是否统计传输的字符数 */
+    private volatile boolean                       measureBytes;
+
+    /** 一次 IRedis 方法调用的命令预算。超过时记录到日志。小于等于0时不检查 */
+    private volatile int                           commandBudget;
+
+    /** Lettuce的命令耗时 */
+    private volatile CommandLatencyRecorder        latencyRecorder;
+
+    /** 监听的Lettuce客户端 */
+    private volatile AbstractRedisClient           client;
+
+    /** 转发命令事件的监听器。为NULL时本对象直接注册为客户端的监听器 */
+    private RedisCommandListener                   listener;
+
+    /** JMX的注册名称。为NULL时未注册 */
+    private ObjectName                             objectName;
+
+
+
+    public RedisMetrics(String i_Name)
+    {
+        this.name     = i_Name;
+        this.methods  = new ConcurrentHashMap<String ,RedisCallStats>();
+        this.commands = new ConcurrentHashMap<String ,RedisCallStats>();
+    }
+
+
+
+    /**
+     * 生成统计 IRedis 方法的代理
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Redis  被统计的对象
+     * @return
+     */
+    public IRedis wrap(IRedis i_Redis)
+    {
+        return this.wrap(i_Redis ,IRedis.class);
+    }
+
+
+
+    /**
+     * 生成统计接口方法的代理
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <T>          接口类型
+     * @param i_Target     被统计的对象
+     * @param i_Interface  接口
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(T i_Target ,Class<T> i_Interface)
+    {
+        return (T) Proxy.newProxyInstance(i_Interface.getClassLoader() ,new Class<?>[]{i_Interface} ,(v_Proxy ,v_Method ,v_Args) -> this.invoke(i_Target ,v_Method ,v_Args));
+    }
+
+
+
+    /**
+     * 执行并统计一次方法调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Target  被统计的对象
+     * @param i_Method  方法
+     * @param i_Args    参数
+     * @return
+     * @throws Throwable
+     */
+    private Object invoke(Object i_Target ,Method i_Method ,Object [] i_Args) throws Throwable
+    {
+        if ( i_Method.getDeclaringClass() == Object.class )
+        {
+            return i_Method.invoke(i_Target ,i_Args);
+        }
+
+        // 未录制JFR或事件未开启时，不生成事件对象；未监听Lettuce客户端时，不计命令数
+        RedisCallEvent     v_Event     = $CallEventType    .isEnabled() ? new RedisCallEvent()     : null;
+        RedisSlowCallEvent v_SlowEvent = $SlowCallEventType.isEnabled() ? new RedisSlowCallEvent() : null;
+        long []            v_Commands  = this.client != null ? RedisCommandCounter.counts() : null;
+        long               v_Before    = v_Commands != null ? v_Commands[0] : 0L;
+        long               v_Start     = System.nanoTime();
+        boolean            v_IsError   = false;
+        Object             v_Ret       = null;
+
+        if ( v_Event != null )
+        {
+            v_Event.begin();
+        }
+        if ( v_SlowEvent != null )
+        {
+            v_SlowEvent.begin();
+        }
+
+        try
+        {
+            v_Ret     = i_Method.invoke(i_Target ,i_Args);
+            v_IsError = v_Ret instanceof Long && (Long) v_Ret < 0L;
+            return v_Ret;
+        }
+        catch (InvocationTargetException exce)
+        {
+            v_IsError = true;
+            throw exce.getCause();
+        }
+        finally
+        {
+            long v_CallCommands = 0L;
+            if ( v_Commands != null )
+            {
+                v_CallCommands = v_Commands[0] - v_Before;
+                v_Commands[1]  = v_CallCommands;
+            }
+
+            this.recordMethod(i_Method.getName() ,System.nanoTime() - v_Start ,v_IsError ,this.measureBytes ? sizeOf(i_Args) + sizeOf(v_Ret) : 0L ,v_CallCommands);
+
+            int v_Budget = this.commandBudget;
+            if ( v_Budget > 0 && v_CallCommands > v_Budget )
+            {
+                $Logger.warn("IRedis." + i_Method.getName() + "(" + shapeOf(i_Args) + ") sent " + v_CallCommands + " commands"
+                           + " on database[" + databaseOf(i_Method ,i_Args) + "] table[" + tableOf(i_Method ,i_Args) + "]"
+                           + ", over the command budget " + v_Budget + "."
+                           ,new Throwable("Call site"));
+            }
+
+            if ( v_Event != null )
+            {
+                v_Event.end();
+            }
+            if ( v_SlowEvent != null )
+            {
+                v_SlowEvent.end();
+            }
+
+            if ( v_Event != null && v_Event.shouldCommit() )
+            {
+                v_Event.method   = i_Method.getName();
+                v_Event.database = databaseOf(i_Method ,i_Args);
+                v_Event.table    = tableOf   (i_Method ,i_Args);
+                v_Event.keyCount = keyCountOf(i_Method ,i_Args ,v_Ret);
+                v_Event.commands = (int) v_CallCommands;
+                v_Event.error    = v_IsError;
+                v_Event.commit();
+            }
+
+            if ( v_SlowEvent != null && v_SlowEvent.shouldCommit() )
+            {
+                v_SlowEvent.method    = i_Method.getName();
+                v_SlowEvent.database  = databaseOf(i_Method ,i_Args);
+                v_SlowEvent.table     = tableOf   (i_Method ,i_Args);
+                v_SlowEvent.keyCount  = keyCountOf(i_Method ,i_Args ,v_Ret);
+                v_SlowEvent.commands  = (int) v_CallCommands;
+                v_SlowEvent.error     = v_IsError;
+                v_SlowEvent.arguments = shapeOf(i_Args);
+                v_SlowEvent.commit();
+            }
+        }
+    }
+
+
+
+    /**
+     * 是否为按库名、表名访问的方法。即第1个参数为库名，第2个参数为表名（有时）
+     *
+     * 按Key值访问的方法，及只按行主键获取一行数据的 getRow() 不是
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Method  方法
+     * @param i_Args    参数
+     * @return
+     */
+    private static boolean isTableMethod(Method i_Method ,Object [] i_Args)
+    {
+        if ( i_Args == null || $KeyMethods.contains(i_Method.getName()) )
+        {
+            return false;
+        }
+
+        return !("getRow".equals(i_Method.getName()) && i_Args.length < 4);
+    }
+
+
+
+    /**
+     * 方法调用的库名。没有时返回NULL
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Method  方法
+     * @param i_Args    参数
+     * @return
+     */
+    private static String databaseOf(Method i_Method ,Object [] i_Args)
+    {
+        if ( isTableMethod(i_Method ,i_Args) && i_Args.length >= 1 && i_Args[0] instanceof String )
+        {
+            return (String) i_Args[0];
+        }
+
+        return null;
+    }
+
+
+
+    /**
+     * 方法调用的表名。没有时返回NULL
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Method  方法
+     * @param i_Args    参数
+     * @return
+     */
+    private static String tableOf(Method i_Method ,Object [] i_Args)
+    {
+        if ( isTableMethod(i_Method ,i_Args) && i_Args.length >= 2 && i_Args[1] instanceof String )
+        {
+            return (String) i_Args[1];
+        }
+
+        return null;
+    }
+
+
+
+    /**
+     * 方法调用涉及的键数（行数）
+     *
+     * 返回多行（集合）时为返回的行数；批量保存多行时为参数的行数；删除多个Key时为Key的个数；
+     * 访问一行或一个Key时为1；只访问库、表时为0
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Method  方法
+     * @param i_Args    参数
+     * @param i_Ret     返回值
+     * @return
+     */
+    private static int keyCountOf(Method i_Method ,Object [] i_Args ,Object i_Ret)
+    {
+        if ( i_Ret instanceof Map )
+        {
+            return ((Map<?, ?>) i_Ret).size();
+        }
+        else if ( i_Ret instanceof Collection )
+        {
+            return ((Collection<?>) i_Ret).size();
+        }
+        else if ( i_Args == null )
+        {
+            return 0;
+        }
+        else if ( i_Args.length >= 1 && i_Args[i_Args.length - 1] instanceof String [] )
+        {
+            return ((String []) i_Args[i_Args.length - 1]).length;
+        }
+        else if ( !isTableMethod(i_Method ,i_Args) )
+        {
+            return 1;
+        }
+
+        for (Object v_Arg : i_Args)
+        {
+            if ( v_Arg instanceof RData )
+            {
+                return 1;
+            }
+        }
+
+        return i_Args.length >= 3 && i_Args[2] instanceof String ? 1 : 0;
+    }
+
+
+
+    /**
+     * 参数的形态（类型及大小，不含参数值）。形如：String(5) ,String(8) ,HashMap(size=120) ,Long
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Args  参数
+     * @return
+     */
+    private static String shapeOf(Object [] i_Args)
+    {
+        if ( i_Args == null )
+        {
+            return "";
+        }
+
+        StringBuilder v_Buffer = new StringBuilder();
+        for (Object v_Arg : i_Args)
+        {
+            if ( v_Buffer.length() > 0 )
+            {
+                v_Buffer.append(" ,");
+            }
+
+            if ( v_Arg == null )
+            {
+                v_Buffer.append("null");
+            }
+            else if ( v_Arg instanceof String )
+            {
+                v_Buffer.append("String(").append(((String) v_Arg).length()).append(")");
+            }
+            else if ( v_Arg instanceof Map )
+            {
+                v_Buffer.append(v_Arg.getClass().getSimpleName()).append("(size=").append(((Map<?, ?>) v_Arg).size()).append(")");
+            }
+            else if ( v_Arg instanceof Collection )
+            {
+                v_Buffer.append(v_Arg.getClass().getSimpleName()).append("(size=").append(((Collection<?>) v_Arg).size()).append(")");
+            }
+            else if ( v_Arg.getClass().isArray() )
+            {
+                v_Buffer.append(v_Arg.getClass().getComponentType().getSimpleName()).append("[").append(Array.getLength(v_Arg)).append("]");
+            }
+            else
+            {
+                v_Buffer.append(v_Arg.getClass().getSimpleName());
+            }
+        }
+
+        return v_Buffer.toString();
+    }
+
+
+
+    /**
+     * 执行并统计一次方法调用（有返回值）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <R>       返回类型
+     * @param i_Method  方法名称
+     * @param i_Call    方法调用
+     * @return
+     */
+    public <R> R time(String i_Method ,Supplier<R> i_Call)
+    {
+        long    v_Start   = System.nanoTime();
+        boolean v_IsError = true;
+        R       v_Ret     = null;
+
+        try
+        {
+            v_Ret     = i_Call.get();
+            v_IsError = false;
+            return v_Ret;
+        }
+        finally
+        {
+            this.recordMethod(i_Method ,System.nanoTime() - v_Start ,v_IsError ,this.measureBytes ? sizeOf(v_Ret) : 0L);
+        }
+    }
+
+
+
+    /**
+     * 执行并统计一次方法调用（无返回值）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Method  方法名称
+     * @param i_Call    方法调用
+     */
+    public void time(String i_Method ,Runnable i_Call)
+    {
+        this.time(i_Method ,() ->
+        {
+            i_Call.run();
+            return null;
+        });
+    }
+
+
+
+    /**
+     * 记录一次 IRedis 方法的调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Method   方法名称
+     * @param i_Nanos    耗时（纳秒）
+     * @param i_IsError  是否异常
+     * @param i_Bytes    传输的字符数
+     */
+    public void recordMethod(String i_Method ,long i_Nanos ,boolean i_IsError ,long i_Bytes)
+    {
+        this.recordMethod(i_Method ,i_Nanos ,i_IsError ,i_Bytes ,0L);
+    }
+
+
+
+    /**
+     * 记录一次 IRedis 方法的调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Method    方法名称
+     * @param i_Nanos     耗时（纳秒）
+     * @param i_IsError   是否异常
+     * @param i_Bytes     传输的字符数
+     * @param i_Commands  发送的命令数
+     */
+    public void recordMethod(String i_Method ,long i_Nanos ,boolean i_IsError ,long i_Bytes ,long i_Commands)
+    {
+        this.methods.computeIfAbsent(i_Method ,v_Key -> new RedisCallStats()).record(i_Nanos ,i_IsError ,i_Bytes ,i_Commands);
+    }
+
+
+
+    /**
+     * 记录一次Redis命令的执行
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Command  命令名称
+     * @param i_Nanos    耗时（纳秒）
+     * @param i_IsError  是否异常
+     */
+    public void recordCommand(String i_Command ,long i_Nanos ,boolean i_IsError)
+    {
+        this.commands.computeIfAbsent(i_Command ,v_Key -> new RedisCallStats()).record(i_Nanos ,i_IsError ,0L);
+    }
+
+
+
+    /**
+     * 监听Lettuce客户端的命令，并获取其命令耗时（CommandLatencyCollector）
+     *
+     * 注：Lettuce只在创建连接时为连接添加命令监听器，所以只统计之后创建的连接上的命令。已有连接时见 attach(client ,listener)
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Client  Lettuce客户端
+     */
+    public synchronized void attach(AbstractRedisClient i_Client)
+    {
+        this.attach(i_Client ,null);
+    }
+
+
+
+    /**
+     * 经转发的监听器监听Lettuce客户端的命令，并获取其命令耗时（CommandLatencyCollector）
+     *
+     * 转发的监听器在客户端创建连接前已注册，所以已有连接上的命令也被统计
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Client    Lettuce客户端
+     * @param i_Listener  已注册到客户端的转发监听器。为NULL时本对象直接注册为客户端的监听器
+     */
+    public synchronized void attach(AbstractRedisClient i_Client ,RedisCommandListener i_Listener)
+    {
+        if ( this.listener != null )
+        {
+            this.listener.setTarget(null);
+        }
+        else if ( this.client != null )
+        {
+            this.client.removeListener(this);
+        }
+
+        this.client   = i_Client;
+        this.listener = null;
+        if ( i_Client != null )
+        {
+            if ( i_Listener != null )
+            {
+                i_Listener.setTarget(this);
+                this.listener = i_Listener;
+            }
+            else
+            {
+                i_Client.addListener(this);
+            }
+            this.latencyRecorder = i_Client.getResources().commandLatencyRecorder();
+        }
+        else
+        {
+            this.latencyRecorder = null;
+        }
+    }
+
+
+
+    /**
+     * 注册到JMX
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public synchronized void register()
+    {
+        if ( this.objectName != null )
+        {
+            return;
+        }
+
+        try
+        {
+            ObjectName  v_ObjectName = new ObjectName("org.hy.common.redis:type=RedisMetrics,name=" + ObjectName.quote(this.name));
+            MBeanServer v_Server     = ManagementFactory.getPlatformMBeanServer();
+
+            if ( !v_Server.isRegistered(v_ObjectName) )
+            {
+                v_Server.registerMBean(this ,v_ObjectName);
+                this.objectName = v_ObjectName;
+            }
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Failed to register the Redis metrics[" + this.name + "] to JMX." ,exce);
+        }
+    }
+
+
+
+    /**
+     * 取消命令的监听及JMX的注册
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     */
+    public synchronized void close()
+    {
+        this.attach(null);
+
+        if ( this.objectName != null )
+        {
+            try
+            {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+            }
+            catch (Exception exce)
+            {
+                $Logger.error(exce);
+            }
+            this.objectName = null;
+        }
+    }
+
+
+
+    /**
+     * 命令开始时，记录开始时间，并累计调用线程发送的命令数（Lettuce在调用线程上派发命令）
+     */
+    @Override
+    public void commandStarted(CommandStartedEvent i_Event)
+    {
+        i_Event.getContext().put($ContextStart ,System.nanoTime());
+        RedisCommandCounter.increment();
+    }
+
+
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent i_Event)
+    {
+        this.recordCommand(i_Event.getCommand().getType().name() ,i_Event.getDuration().toNanos() ,false);
+    }
+
+
+
+    @Override
+    public void commandFailed(CommandFailedEvent i_Event)
+    {
+        Object v_Start = i_Event.getContext().get($ContextStart);
+        long   v_Nanos = v_Start instanceof Long ? System.nanoTime() - (Long) v_Start : 0L;
+
+        this.recordCommand(i_Event.getCommand().getType().name() ,v_Nanos ,true);
+    }
+
+
+
+    /**
+     * 参数或返回值中字符串的长度之和（近似字节数）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  参数或返回值
+     * @return
+     */
+    private static long sizeOf(Object i_Value)
+    {
+        if ( i_Value == null )
+        {
+            return 0L;
+        }
+        else if ( i_Value instanceof String )
+        {
+            return ((String) i_Value).length();
+        }
+        else if ( i_Value instanceof Map )
+        {
+            long v_Size = 0L;
+            for (Map.Entry<?, ?> v_Item : ((Map<?, ?>) i_Value).entrySet())
+            {
+                v_Size += sizeOf(v_Item.getKey()) + sizeOf(v_Item.getValue());
+            }
+            return v_Size;
+        }
+        else if ( i_Value instanceof Collection )
+        {
+            long v_Size = 0L;
+            for (Object v_Item : (Collection<?>) i_Value)
+            {
+                v_Size += sizeOf(v_Item);
+            }
+            return v_Size;
+        }
+        else if ( i_Value instanceof Object [] )
+        {
+            long v_Size = 0L;
+            for (Object v_Item : (Object []) i_Value)
+            {
+                v_Size += sizeOf(v_Item);
+            }
+            return v_Size;
+        }
+        else if ( i_Value instanceof byte [] )
+        {
+            return ((byte []) i_Value).length;
+        }
+        else if ( i_Value instanceof Number || i_Value instanceof Boolean )
+        {
+            return 8L;
+        }
+
+        return 0L;
+    }
+
+
+
+    /**
+     * 生成统计快照
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Stats  统计数据
+     * @return         按名称排序
+     */
+    private static Map<String ,RedisCallSnapshot> snapshot(Map<String ,RedisCallStats> i_Stats)
+    {
+        Map<String ,RedisCallSnapshot> v_Ret = new TreeMap<String ,RedisCallSnapshot>();
+
+        for (Map.Entry<String ,RedisCallStats> v_Item : i_Stats.entrySet())
+        {
+            v_Ret.put(v_Item.getKey() ,v_Item.getValue().snapshot(v_Item.getKey()));
+        }
+
+        return v_Ret;
+    }
+
+
+
+    @Override
+    public Map<String ,RedisCallSnapshot> getMethods()
+    {
+        return snapshot(this.methods);
+    }
+
+
+
+    @Override
+    public Map<String ,RedisCallSnapshot> getCommands()
+    {
+        return snapshot(this.commands);
+    }
+
+
+
+    /**
+     * 获取Lettuce的命令耗时。Lettuce默认在每次获取后清空（见 CommandLatencyCollectorOptions.resetLatenciesAfterEvent()）
+     *
+     * 没有 CommandLatencyCollector 或未开启时，返回空集合。平均耗时不可用时为0
+     */
+    @Override
+    public Map<String ,RedisCallSnapshot> getLettuceLatencies()
+    {
+        Map<String ,RedisCallSnapshot> v_Ret      = new TreeMap<String ,RedisCallSnapshot>();
+        CommandLatencyRecorder         v_Recorder = this.latencyRecorder;
+
+        if ( !(v_Recorder instanceof CommandLatencyCollector) || !v_Recorder.isEnabled() )
+        {
+            return v_Ret;
+        }
+
+        for (Map.Entry<CommandLatencyId ,CommandMetrics> v_Item : ((CommandLatencyCollector) v_Recorder).retrieveMetrics().entrySet())
+        {
+            String                        v_Name        = v_Item.getKey().commandType().name() + "@" + v_Item.getKey().remoteAddress();
+            CommandMetrics                v_Metrics     = v_Item.getValue();
+            CommandMetrics.CommandLatency v_Latency     = v_Metrics.getCompletion();
+            TimeUnit                      v_Unit        = v_Metrics.getTimeUnit();
+            Map<Double ,Long>             v_Percentiles = v_Latency.getPercentiles();
+
+            v_Ret.put(v_Name ,new RedisCallSnapshot(v_Name
+                                                   ,v_Metrics.getCount()
+                                                   ,0L
+                                                   ,0L
+                                                   ,0L
+                                                   ,0L
+                                                   ,0D
+                                                   ,toMicros(v_Unit ,v_Latency.getMin())
+                                                   ,toMicros(v_Unit ,v_Latency.getMax())
+                                                   ,toMicros(v_Unit ,v_Percentiles.get(50D))
+                                                   ,toMicros(v_Unit ,v_Percentiles.get(90D))
+                                                   ,toMicros(v_Unit ,v_Percentiles.get(99D))
+                                                   ,toMicros(v_Unit ,v_Percentiles.get(99.9D))));
+        }
+
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 耗时转为微秒
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Unit   耗时的单位
+     * @param i_Value  耗时。为NULL时返回0
+     * @return
+     */
+    private static double toMicros(TimeUnit i_Unit ,Long i_Value)
+    {
+        return i_Value == null ? 0D : i_Unit.toNanos(i_Value) / $NanosPerMicro;
+    }
+
+
+
+    @Override
+    public void reset()
+    {
+        for (RedisCallStats v_Stats : this.methods.values())
+        {
+            v_Stats.reset();
+        }
+
+        for (RedisCallStats v_Stats : this.commands.values())
+        {
+            v_Stats.reset();
+        }
+    }
+
+
+
+    @Override
+    public String getName()
+    {
+        return this.name;
+    }
+
+
+
+    @Override
+    public boolean isMeasureBytes()
+    {
+        return this.measureBytes;
+    }
+
+
+
+    @Override
+    public void setMeasureBytes(boolean i_MeasureBytes)
+    {
+        this.measureBytes = i_MeasureBytes;
+    }
+
+
+
+    @Override
+    public int getCommandBudget()
+    {
+        return this.commandBudget;
+    }
+
+
+
+    @Override
+    public void setCommandBudget(int i_CommandBudget)
+    {
+        this.commandBudget = i_CommandBudget;
+    }
+
+}
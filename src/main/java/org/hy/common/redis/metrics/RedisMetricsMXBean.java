@@ -0,0 +1,87 @@
+package org.hy.common.redis.metrics;
+
+import java.util.Map;
+
+
+
+
+
+/**
+ * Redis访问统计的JMX接口
+ *
+ * 注册的名称为：org.hy.common.redis:type=RedisMetrics,name=统计的名称
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：命令预算 setCommandBudget()
+ */
+public interface RedisMetricsMXBean
+{
+
+    /**
+     * 获取：统计的名称
+     */
+    public String getName();
+
+
+
+    /**
+     * 获取：每个 IRedis 方法的统计快照。Map.key为方法名称
+     */
+    public Map<String ,RedisCallSnapshot> getMethods();
+
+
+
+    /**
+     * 获取：每个Redis命令的统计快照。Map.key为命令名称
+     */
+    public Map<String ,RedisCallSnapshot> getCommands();
+
+
+
+    /**
+     * 获取：Lettuce的命令耗时（CommandLatencyCollector）的统计快照。Map.key为命令名称@节点地址
+     */
+    public Map<String ,RedisCallSnapshot> getLettuceLatencies();
+
+
+
+    /**
+     * 获取：是否统计传输的字符数
+     */
+    public boolean isMeasureBytes();
+
+
+
+    /**
+     * 设置：是否统计传输的字符数
+     *
+     * @param i_MeasureBytes
+     */
+    public void setMeasureBytes(boolean i_MeasureBytes);
+
+
+
+    /**
+     * 获取：一次 IRedis 方法调用的命令预算。小于等于0时不检查
+     */
+    public int getCommandBudget();
+
+
+
+    /**
+     * 设置：一次 IRedis 方法调用的命令预算。发送的命令数超过预算的调用，连同调用栈记录到日志。小于等于0时不检查
+     *
+     * @param i_CommandBudget
+     */
+    public void setCommandBudget(int i_CommandBudget);
+
+
+
+    /**
+     * 清空统计数据
+     */
+    public void reset();
+
+}
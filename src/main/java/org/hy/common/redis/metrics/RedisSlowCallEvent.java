@@ -0,0 +1,60 @@
+package org.hy.common.redis.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+
+
+
+
+/**
+ * JDK Flight Recorder（JFR）的事件：一次超过阈值的慢 IRedis 方法调用，含调用栈及参数的形态
+ *
+ * 阈值默认为100毫秒，可按JFR的配置修改，如
+ *   jcmd <pid> JFR.start +org.hy.common.redis.SlowCall#threshold=20ms
+ * 或在 .jfc 文件中配置
+ *   <event name="org.hy.common.redis.SlowCall"><setting name="threshold">20 ms</setting></event>
+ *
+ * 参数的形态只在超过阈值时才生成，形如：String(5) ,String(8) ,HashMap(size=120) ,Long
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+@Name("org.hy.common.redis.SlowCall")
+@Label("Redis Slow Call")
+@Category({"HY" ,"Redis"})
+@Description("IRedis method call slower than the threshold, with its argument shapes")
+@Threshold("100 ms")
+public class RedisSlowCallEvent extends jdk.jfr.Event
+{
+
+    @Label("Method")
+    @Description("IRedis method name")
+    String  method;
+
+    @Label("Database")
+    String  database;
+
+    @Label("Table")
+    String  table;
+
+    @Label("Key Count")
+    @Description("Number of keys or rows the call touches")
+    int     keyCount;
+
+    @Label("Commands")
+    @Description("Redis commands sent by the calling thread. Pipelined commands are counted one by one, so this is an upper bound of the round trips")
+    int     commands;
+
+    @Label("Error")
+    boolean error;
+
+    @Label("Arguments")
+    @Description("Types and sizes of the arguments, without their values")
+    String  arguments;
+
+}
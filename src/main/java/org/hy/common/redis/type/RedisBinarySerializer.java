@@ -0,0 +1,159 @@
+package org.hy.common.redis.type;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.hy.common.Date;
+
+
+
+
+
+/**
+ * 内置的二进制序列化器。数字、布尔、时间及字节数组按紧凑的定长二进制保存，读取时也无须解析文本
+ *
+ * 格式为：1字节的类型 + 值的字节（大端序）
+ *   整数、长整数、短整数、字节：定长的整数
+ *   双精度、单精度：IEEE 754 定长的浮点数
+ *   布尔：1字节
+ *   时间：8字节的毫秒数。反序列化为 org.hy.common.Date
+ *   字节数组：原样保存
+ *
+ * 其它类型（如String、BigDecimal）不支持，仍按文本保存。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class RedisBinarySerializer implements RedisValueSerializer
+{
+    
+    /** 序列化器的标识 */
+    public static final char  $Tag     = 'B';
+    
+    private static final byte $Integer = 1;
+    
+    private static final byte $Long    = 2;
+    
+    private static final byte $Short   = 3;
+    
+    private static final byte $Byte    = 4;
+    
+    private static final byte $Double  = 5;
+    
+    private static final byte $Float   = 6;
+    
+    private static final byte $Boolean = 7;
+    
+    private static final byte $Date    = 8;
+    
+    private static final byte $Bytes   = 9;
+    
+    
+    
+    @Override
+    public char getTag()
+    {
+        return $Tag;
+    }
+    
+    
+    
+    @Override
+    public boolean isSupport(Object i_Value)
+    {
+        return i_Value instanceof Integer
+            || i_Value instanceof Long
+            || i_Value instanceof Short
+            || i_Value instanceof Byte
+            || i_Value instanceof Double
+            || i_Value instanceof Float
+            || i_Value instanceof Boolean
+            || i_Value instanceof java.util.Date
+            || i_Value instanceof byte [];
+    }
+    
+    
+    
+    @Override
+    public byte [] serialize(Object i_Value) throws Exception
+    {
+        if ( i_Value instanceof Integer )
+        {
+            return ByteBuffer.allocate(5).put($Integer).putInt((Integer) i_Value).array();
+        }
+        else if ( i_Value instanceof Long )
+        {
+            return ByteBuffer.allocate(9).put($Long).putLong((Long) i_Value).array();
+        }
+        else if ( i_Value instanceof Short )
+        {
+            return ByteBuffer.allocate(3).put($Short).putShort((Short) i_Value).array();
+        }
+        else if ( i_Value instanceof Byte )
+        {
+            return new byte [] {$Byte ,(Byte) i_Value};
+        }
+        else if ( i_Value instanceof Double )
+        {
+            return ByteBuffer.allocate(9).put($Double).putDouble((Double) i_Value).array();
+        }
+        else if ( i_Value instanceof Float )
+        {
+            return ByteBuffer.allocate(5).put($Float).putFloat((Float) i_Value).array();
+        }
+        else if ( i_Value instanceof Boolean )
+        {
+            return new byte [] {$Boolean ,(byte) ((Boolean) i_Value ? 1 : 0)};
+        }
+        else if ( i_Value instanceof java.util.Date )
+        {
+            return ByteBuffer.allocate(9).put($Date).putLong(((java.util.Date) i_Value).getTime()).array();
+        }
+        else if ( i_Value instanceof byte [] )
+        {
+            byte [] v_Value = (byte []) i_Value;
+            byte [] v_Bytes = new byte[v_Value.length + 1];
+            v_Bytes[0] = $Bytes;
+            System.arraycopy(v_Value ,0 ,v_Bytes ,1 ,v_Value.length);
+            return v_Bytes;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unsupported value type[" + i_Value.getClass().getName() + "].");
+        }
+    }
+    
+    
+    
+    @Override
+    public Object deserialize(byte [] i_Bytes) throws Exception
+    {
+        ByteBuffer v_Buffer = ByteBuffer.wrap(i_Bytes ,1 ,i_Bytes.length - 1);
+    
+        switch ( i_Bytes[0] )
+        {
+            case $Integer:
+                return v_Buffer.getInt();
+            case $Long:
+                return v_Buffer.getLong();
+            case $Short:
+                return v_Buffer.getShort();
+            case $Byte:
+                return v_Buffer.get();
+            case $Double:
+                return v_Buffer.getDouble();
+            case $Float:
+                return v_Buffer.getFloat();
+            case $Boolean:
+                return v_Buffer.get() != 0;
+            case $Date:
+                return new Date(v_Buffer.getLong());
+            case $Bytes:
+                return Arrays.copyOfRange(i_Bytes ,1 ,i_Bytes.length);
+            default:
+                throw new IllegalArgumentException("Unsupported value type[" + i_Bytes[0] + "].");
+        }
+    }
+    
+}
@@ -0,0 +1,129 @@
+package org.hy.common.redis.type;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+
+
+
+
+/**
+ * 字段值的压缩（JDK自带的Deflate算法）。由 RedisValueCodec 在字段值超过压缩阈值时使用
+ *
+ * 压缩的内容为字段值（文本或编码后的）的字节：文本按UTF-8，编码后的按ISO-8859-1（首字节为标记字节 0xFE）。
+ * 解压后按首字节还原为字符串，编码后的再由 RedisValueCodec 继续还原。
+ *
+ * 压缩器、解压器按线程复用，不必每次创建本地内存。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class RedisDeflateSerializer implements RedisValueSerializer
+{
+    
+    /** 序列化器的标识 */
+    public static final char                   $Tag       = 'Z';
+    
+    /** 每个线程复用的压缩器 */
+    private static final ThreadLocal<Deflater> $Deflaters = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    
+    /** 每个线程复用的解压器 */
+    private static final ThreadLocal<Inflater> $Inflaters = ThreadLocal.withInitial(Inflater::new);
+    
+    
+    
+    @Override
+    public char getTag()
+    {
+        return $Tag;
+    }
+    
+    
+    
+    /**
+     * 只支持字段值的字节（由 RedisValueCodec 转换）
+     */
+    @Override
+    public boolean isSupport(Object i_Value)
+    {
+        return i_Value instanceof byte [];
+    }
+    
+    
+    
+    @Override
+    public byte [] serialize(Object i_Value) throws Exception
+    {
+        byte []  v_Bytes    = (byte []) i_Value;
+        Deflater v_Deflater = $Deflaters.get();
+    
+        try
+        {
+            v_Deflater.setInput(v_Bytes);
+            v_Deflater.finish();
+    
+            ByteArrayOutputStream v_Output = new ByteArrayOutputStream(v_Bytes.length / 4 + 16);
+            byte []               v_Buffer = new byte[8192];
+            while ( !v_Deflater.finished() )
+            {
+                int v_Len = v_Deflater.deflate(v_Buffer);
+                v_Output.write(v_Buffer ,0 ,v_Len);
+            }
+    
+            return v_Output.toByteArray();
+        }
+        finally
+        {
+            v_Deflater.reset();
+        }
+    }
+    
+    
+    
+    /**
+     * 解压并还原字段值。编码后的字段值继续由 RedisValueCodec 还原
+     */
+    @Override
+    public Object deserialize(byte [] i_Bytes) throws Exception
+    {
+        Inflater v_Inflater = $Inflaters.get();
+        byte []  v_Bytes    = null;
+    
+        try
+        {
+            v_Inflater.setInput(i_Bytes);
+    
+            ByteArrayOutputStream v_Output = new ByteArrayOutputStream(i_Bytes.length * 4);
+            byte []               v_Buffer = new byte[8192];
+            while ( !v_Inflater.finished() )
+            {
+                int v_Len = v_Inflater.inflate(v_Buffer);
+                if ( v_Len == 0 && (v_Inflater.needsInput() || v_Inflater.needsDictionary()) )
+                {
+                    throw new DataFormatException("Truncated compressed value.");
+                }
+                v_Output.write(v_Buffer ,0 ,v_Len);
+            }
+    
+            v_Bytes = v_Output.toByteArray();
+        }
+        finally
+        {
+            v_Inflater.reset();
+        }
+    
+        if ( v_Bytes.length >= 1 && v_Bytes[0] == (byte) RedisValueCodec.$Marker )
+        {
+            return RedisValueCodec.decode(new String(v_Bytes ,StandardCharsets.ISO_8859_1));
+        }
+        else
+        {
+            return new String(v_Bytes ,StandardCharsets.UTF_8);
+        }
+    }
+    
+}
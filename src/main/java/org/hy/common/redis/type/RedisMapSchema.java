@@ -0,0 +1,150 @@
+package org.hy.common.redis.type;
+
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+
+
+
+
+/**
+ * 一张表的字段类型（Map结构行数据中每个元素的Java类型）的快照
+ *
+ * 不可变对象，所以读取时无须加锁。字段类型变化时，由 RedisMapType 重新生成整张表的快照并替换。
+ * 生成时按字段类型预选好字符串的转换器，读取一行数据时只需获取一次快照，之后逐个字段直接转换。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：还原编码后的字段值（见 RedisValueCodec）
+ */
+public final class RedisMapSchema
+{
+    
+    /** 没有定义任何字段类型的空快照 */
+    public static final RedisMapSchema $Empty = new RedisMapSchema(Collections.emptyMap());
+    
+    
+    
+    /** 字段类型。Map.key为字段名称，Map.value为字段类型 */
+    private final Map<String ,Class<?>>                 types;
+    
+    /** 字段类型（基础类型时为其包装类型）。Map.key为字段名称 */
+    private final Map<String ,Class<?>>                 wrapTypes;
+    
+    /** 字段的转换器。Map.key为字段名称 */
+    private final Map<String ,Function<String ,Object>> converters;
+    
+    
+    
+    RedisMapSchema(Map<String ,Class<?>> i_Types)
+    {
+        Map<String ,Class<?>>                 v_Types      = new HashMap<String ,Class<?>>(i_Types);
+        Map<String ,Class<?>>                 v_WrapTypes  = new HashMap<String ,Class<?>>(i_Types.size() * 4 / 3 + 1);
+        Map<String ,Function<String ,Object>> v_Converters = new HashMap<String ,Function<String ,Object>>(i_Types.size() * 4 / 3 + 1);
+    
+        for (Map.Entry<String ,Class<?>> v_Item : v_Types.entrySet())
+        {
+            v_WrapTypes.put(v_Item.getKey() ,MethodType.methodType(v_Item.getValue()).wrap().returnType());
+            
+            if ( String.class.equals(v_Item.getValue()) )
+            {
+                continue;
+            }
+    
+            v_Converters.put(v_Item.getKey() ,RedisRowClass.toConverter(v_Item.getValue()));
+        }
+    
+        this.types      = Collections.unmodifiableMap(v_Types);
+        this.wrapTypes  = v_WrapTypes;
+        this.converters = v_Converters;
+    }
+    
+    
+    
+    /**
+     * 按字段类型转换字段值
+     *
+     *   1. 未定义字段类型的，或字段类型为String的，返回原值
+     *   2. 字段值为空字符串时，返回原值（与字段类型无关）
+     *   3. 其它按字段类型转换
+     *   4. 编码后的字段值（见 RedisValueCodec）先还原，类型一致或未定义字段类型时直接返回，不一致时按其文本转换
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_FieldName   字段名称
+     * @param i_FieldValue  字段值
+     * @return
+     */
+    public Object convert(String i_FieldName ,String i_FieldValue)
+    {
+        if ( i_FieldValue == null )
+        {
+            return null;
+        }
+    
+        if ( RedisValueCodec.isEncoded(i_FieldValue) )
+        {
+            Object   v_Value = RedisValueCodec.decode(i_FieldValue);
+            Class<?> v_Type  = this.wrapTypes.get(i_FieldName);
+            if ( v_Type == null || v_Type.isInstance(v_Value) )
+            {
+                return v_Value;
+            }
+            
+            Function<String ,Object> v_Converter = this.converters.get(i_FieldName);
+            return v_Converter == null ? v_Value.toString() : v_Converter.apply(v_Value.toString());
+        }
+    
+        Function<String ,Object> v_Converter = this.converters.get(i_FieldName);
+        if ( v_Converter == null || i_FieldValue.trim().isEmpty() )
+        {
+            return i_FieldValue;
+        }
+    
+        return v_Converter.apply(i_FieldValue);
+    }
+    
+    
+    
+    /**
+     * 获取字段类型
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_FieldName  字段名称
+     * @return             未定义时返回NULL
+     */
+    public Class<?> getType(String i_FieldName)
+    {
+        return this.types.get(i_FieldName);
+    }
+    
+    
+    
+    /**
+     * 获取：整张表的字段类型（只读）
+     */
+    public Map<String ,Class<?>> getTypes()
+    {
+        return this.types;
+    }
+    
+    
+    
+    /**
+     * 是否没有定义任何字段类型
+     */
+    public boolean isEmpty()
+    {
+        return this.types.isEmpty();
+    }
+    
+}
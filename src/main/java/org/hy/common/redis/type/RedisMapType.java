@@ -1,6 +1,7 @@
 package org.hy.common.redis.type;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hy.common.Help;
 import org.hy.common.TablePartitionRID;
@@ -15,6 +16,9 @@ import org.hy.common.TablePartitionRID;
  * @author      ZhengWei(HY)
  * @createDate  2025-02-06
  * @version     v1.0
+ *              v2.0  2026-10-17  优化：每张表的字段类型生成不可变的快照（见 RedisMapSchema），预选字段值的转换器。
+ *                                读取时无锁、无字符串拼接，获取一行数据时只需获取一次快照
+ *              v3.0  2026-10-17  添加：按表配置的字段值压缩阈值
  */
 public class RedisMapType
 {
@@ -28,7 +32,23 @@ public class RedisMapType
      * Map.key为：字段名称
      * Map.value为：字段类型
      */
-    private static TablePartitionRID<String ,Class<?>> $Types;
+    private static final TablePartitionRID<String ,Class<?>> $Types = new TablePartitionRID<String ,Class<?>>();
+    
+    /**
+     * 每张表字段类型的快照
+     * 
+     * Map.key为：库名
+     * Map.value.key为：表名
+     */
+    private static final Map<String ,Map<String ,RedisMapSchema>> $Schemas = new ConcurrentHashMap<String ,Map<String ,RedisMapSchema>>();
+    
+    /**
+     * 按表配置的字段值压缩阈值（单位：字节）
+     * 
+     * Map.key为：表的物理名称（库名.表名）
+     * Map.value为：压缩阈值。小于等于0时此表不压缩
+     */
+    private static final Map<String ,Integer> $Compress = new ConcurrentHashMap<String ,Integer>();
     
     
     
@@ -96,7 +116,11 @@ public class RedisMapType
             return false;
         }
         
-        getTypes().putRow(i_Database + $Level + i_TableName ,i_FieldName ,i_FieldType);
+        synchronized ( $Types )
+        {
+            $Types.putRow(i_Database + $Level + i_TableName ,i_FieldName ,i_FieldType);
+            refresh(i_Database ,i_TableName);
+        }
         return true;
     }
     
@@ -129,7 +153,7 @@ public class RedisMapType
             return null;
         }
         
-        return getTypes().getRow(i_Database + $Level + i_TableName ,i_FieldName);
+        return getSchema(i_Database ,i_TableName).getType(i_FieldName);
     }
     
     
@@ -156,27 +180,87 @@ public class RedisMapType
             return null;
         }
         
-        return getTypes().get(i_Database + $Level + i_TableName);
+        return $Types.get(i_Database + $Level + i_TableName);
     }
     
     
     
     /**
-     * 获取所有类型
+     * 获取一张表字段类型的快照。无锁读取，读取一行数据时只需获取一次
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2025-02-06
+     * @createDate  2026-10-17
      * @version     v1.0
      *
-     * @return
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             未定义任何字段类型时，返回空快照（不为NULL）
      */
-    public synchronized static TablePartitionRID<String ,Class<?>> getTypes() 
+    public static RedisMapSchema getSchema(String i_Database ,String i_TableName)
     {
-        if ( $Types == null )
+        if ( i_Database == null || i_TableName == null )
         {
-            $Types = new TablePartitionRID<String ,Class<?>>();
+            return RedisMapSchema.$Empty;
         }
         
+        Map<String ,RedisMapSchema> v_Tables = $Schemas.get(i_Database);
+        if ( v_Tables == null )
+        {
+            return RedisMapSchema.$Empty;
+        }
+        
+        RedisMapSchema v_Schema = v_Tables.get(i_TableName);
+        return v_Schema == null ? RedisMapSchema.$Empty : v_Schema;
+    }
+    
+    
+    
+    /**
+     * 按所有类型，重新生成一张表字段类型的快照
+     * 
+     * 注：调用方须持有 $Types 的锁
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     */
+    private static void refresh(String i_Database ,String i_TableName)
+    {
+        Map<String ,Class<?>> v_Types = $Types.get(i_Database + $Level + i_TableName);
+        
+        if ( Help.isNull(v_Types) )
+        {
+            Map<String ,RedisMapSchema> v_Tables = $Schemas.get(i_Database);
+            if ( v_Tables != null )
+            {
+                v_Tables.remove(i_TableName);
+            }
+        }
+        else
+        {
+            $Schemas.computeIfAbsent(i_Database ,v_Key -> new ConcurrentHashMap<String ,RedisMapSchema>()).put(i_TableName ,new RedisMapSchema(v_Types));
+        }
+    }
+    
+    
+    
+    /**
+     * 获取所有类型
+     * 
+     * 注：直接修改返回的对象时，不会更新字段类型的快照。应通过 save()、remove() 方法修改
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2025-02-06
+     * @version     v1.0
+     *              v2.0  2026-10-17  优化：预先创建，不再同步
+     *
+     * @return
+     */
+    public static TablePartitionRID<String ,Class<?>> getTypes() 
+    {
         return $Types;
     }
     
@@ -204,7 +288,12 @@ public class RedisMapType
             return null;
         }
         
-        return getTypes().remove(i_Database + $Level + i_TableName);
+        synchronized ( $Types )
+        {
+            Map<String ,Class<?>> v_Old = $Types.remove(i_Database + $Level + i_TableName);
+            refresh(i_Database ,i_TableName);
+            return v_Old;
+        }
     }
     
     
@@ -219,7 +308,91 @@ public class RedisMapType
      */
     public static void remove()
     {
-        getTypes().clear();
+        synchronized ( $Types )
+        {
+            $Types.clear();
+            $Schemas.clear();
+        }
+    }
+    
+    
+    
+    /**
+     * 按表配置字段值的压缩阈值。优先于 RedisClusterConfig、RedisConfig 中配置的压缩阈值
+     * 
+     * 注：连接创建后也可随时配置，之后写入的字段值按新的压缩阈值压缩
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database           库名称
+     * @param i_TableName          表名称
+     * @param i_CompressThreshold  压缩阈值（单位：字节）。小于等于0时此表不压缩
+     * @return                     成功时返回真，否则返回假
+     */
+    public static boolean saveCompress(String i_Database ,String i_TableName ,int i_CompressThreshold)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return false;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return false;
+        }
+        
+        $Compress.put(i_Database + "." + i_TableName ,i_CompressThreshold);
+        return true;
+    }
+    
+    
+    
+    /**
+     * 移除按表配置的字段值压缩阈值。之后按 RedisClusterConfig、RedisConfig 中配置的压缩阈值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Database   库名称
+     * @param i_TableName  表名称
+     * @return             返回原压缩阈值
+     */
+    public static Integer removeCompress(String i_Database ,String i_TableName)
+    {
+        if ( Help.isNull(i_Database) )
+        {
+            return null;
+        }
+        if ( Help.isNull(i_TableName) )
+        {
+            return null;
+        }
+        
+        return $Compress.remove(i_Database + "." + i_TableName);
+    }
+    
+    
+    
+    /**
+     * 获取按表配置的字段值压缩阈值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID  表的物理名称（库名.表名）
+     * @return           未按表配置时返回NULL
+     */
+    public static Integer getCompressThreshold(String i_TableID)
+    {
+        if ( i_TableID == null || $Compress.isEmpty() )
+        {
+            return null;
+        }
+        
+        return $Compress.get(i_TableID);
     }
     
     
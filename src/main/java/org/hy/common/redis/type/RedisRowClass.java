@@ -0,0 +1,558 @@
+package org.hy.common.redis.type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.hy.common.Date;
+import org.hy.common.Help;
+import org.hy.common.MethodReflect;
+import org.hy.common.xml.log.Logger;
+
+
+
+
+
+/**
+ * 行类型（Java类）的映射计划。每个行类型只解析一次，之后的每行数据直接按计划赋值、取值
+ *
+ * 解析时完成：查找所有的Setter方法、转为 MethodHandle、按参数类型预选字符串的转换器、
+ * 按字段名（首字母大写、小写两种写法）建立索引。所以逐行赋值时不再有反射查找、方法名拼接及 Method.invoke。
+ *
+ * 同样，所有的Getter方法也预先转为 MethodHandle，写入时按数组顺序逐个取值，直接生成一个行数据的Map。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：Getter方法的取值计划，行对象直接转为行数据 toMap()
+ *              v3.0  2026-10-17  添加：时间、枚举类型的预选转换器
+ *              v4.0  2026-10-17  添加：还原编码后的字段值（见 RedisValueCodec）
+ */
+public class RedisRowClass
+{
+    
+    private static final Logger                          $Logger  = new Logger(RedisRowClass.class);
+    
+    /** 赋值方法的统一签名：(行对象 ,参数值) */
+    private static final MethodType                      $SetType = MethodType.methodType(void.class ,Object.class ,Object.class);
+    
+    /** 取值方法的统一签名：(行对象) */
+    private static final MethodType                      $GetType = MethodType.methodType(Object.class ,Object.class);
+    
+    /** 行类型的映射计划。Map.key为行类型 */
+    private static final Map<Class<?> ,RedisRowClass>    $Classes = new ConcurrentHashMap<Class<?> ,RedisRowClass>();
+    
+    
+    
+    /** 行类型 */
+    private final Class<?>                               rowClass;
+    
+    /** 无参构造器。为NULL时行类型不能被创建 */
+    private final MethodHandle                           constructor;
+    
+    /** 字段的赋值计划。Map.key为字段名 */
+    private final Map<String ,Setter>                    setters;
+    
+    /** 字段的取值计划 */
+    private final Getter []                              getters;
+    
+    
+    
+    /**
+     * 获取行类型的映射计划。首次获取时解析，之后从缓存中获取
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_RowClass  行类型
+     * @return
+     */
+    public static RedisRowClass get(Class<?> i_RowClass)
+    {
+        return $Classes.computeIfAbsent(i_RowClass ,RedisRowClass::new);
+    }
+    
+    
+    
+    private RedisRowClass(Class<?> i_RowClass)
+    {
+        this.rowClass    = i_RowClass;
+        this.constructor = toConstructor(i_RowClass);
+        this.setters     = new HashMap<String ,Setter>();
+        this.getters     = toGetters(i_RowClass);
+    
+        Map<String ,Method> v_SetMethods = MethodReflect.getSetMethodsMG(i_RowClass);
+        if ( v_SetMethods == null )
+        {
+            return;
+        }
+    
+        for (Map.Entry<String ,Method> v_Item : v_SetMethods.entrySet())
+        {
+            String v_Name = v_Item.getKey();
+            if ( Help.isNull(v_Name) )
+            {
+                continue;
+            }
+    
+            Setter v_Setter = new Setter(v_Item.getValue());
+    
+            // 与原先按字段名首字母大写后查找Setter的规则一致：字段名的首字母大写、小写两种写法均可匹配
+            this.setters.putIfAbsent(v_Name ,v_Setter);
+            this.setters.putIfAbsent(v_Name.substring(0 ,1).toLowerCase() + v_Name.substring(1) ,v_Setter);
+        }
+    }
+    
+    
+    
+    /**
+     * 创建行对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     * @throws Exception  行类型没有无参构造器，或构造器异常时
+     */
+    public Object newInstance() throws Exception
+    {
+        if ( this.constructor == null )
+        {
+            return this.rowClass.getDeclaredConstructor().newInstance();
+        }
+    
+        try
+        {
+            return this.constructor.invoke();
+        }
+        catch (Exception exce)
+        {
+            throw exce;
+        }
+        catch (Throwable exce)
+        {
+            throw new Exception(exce);
+        }
+    }
+    
+    
+    
+    /**
+     * 将一行数据的字段值，赋值给行对象。行对象没有对应Setter方法的字段将被忽略
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_RowDatas   行数据。Map.key字段名，Map.value字段值
+     * @param io_RowObject 行对象
+     */
+    public void setValues(Map<String ,String> i_RowDatas ,Object io_RowObject)
+    {
+        for (Map.Entry<String ,String> v_Item : i_RowDatas.entrySet())
+        {
+            Setter v_Setter = this.setters.get(v_Item.getKey());
+            if ( v_Setter == null )
+            {
+                continue;
+            }
+    
+            try
+            {
+                v_Setter.set(io_RowObject ,v_Item.getValue());
+            }
+            catch (Throwable exce)
+            {
+                $Logger.error(exce);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 将行对象转为行数据。所有Getter方法按预先解析的顺序取值，只创建一个Map
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_RowObject      行对象
+     * @param i_HaveNullValue  是否包含对象属性值为null的元素
+     * @return                 Map.key字段名，Map.value字段值
+     * @throws Exception       Getter方法异常时
+     */
+    public Map<String ,Object> toMap(Object i_RowObject ,boolean i_HaveNullValue) throws Exception
+    {
+        Map<String ,Object> v_Datas = new LinkedHashMap<String ,Object>(this.getters.length * 4 / 3 + 1);
+    
+        for (Getter v_Getter : this.getters)
+        {
+            Object v_Value = null;
+            try
+            {
+                v_Value = v_Getter.handle.invokeExact(i_RowObject);
+            }
+            catch (Exception exce)
+            {
+                throw exce;
+            }
+            catch (Throwable exce)
+            {
+                throw new Exception(exce);
+            }
+    
+            if ( v_Value != null || i_HaveNullValue )
+            {
+                v_Datas.put(v_Getter.name ,v_Value);
+            }
+        }
+    
+        return v_Datas;
+    }
+    
+    
+    
+    /**
+     * 获取：行类型
+     */
+    public Class<?> getRowClass()
+    {
+        return this.rowClass;
+    }
+    
+    
+    
+    /**
+     * 无参构造器转为 MethodHandle。不能转换时返回NULL（创建时按反射的方式）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_RowClass  行类型
+     * @return
+     */
+    private static MethodHandle toConstructor(Class<?> i_RowClass)
+    {
+        try
+        {
+            Constructor<?> v_Constructor = i_RowClass.getDeclaredConstructor();
+            v_Constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(v_Constructor).asType(MethodType.methodType(Object.class));
+        }
+        catch (Exception exce)
+        {
+            return null;
+        }
+    }
+    
+    
+    
+    /**
+     * 解析所有的Getter方法（getXxx()，及布尔类型的isXxx()），字段名为去掉前缀后首字母小写
+     * 
+     * 不能转为 MethodHandle 的Getter方法被忽略
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_RowClass  行类型
+     * @return
+     */
+    private static Getter [] toGetters(Class<?> i_RowClass)
+    {
+        Map<String ,Getter> v_Getters = new LinkedHashMap<String ,Getter>();
+    
+        for (Method v_Method : i_RowClass.getMethods())
+        {
+            if ( Modifier.isStatic(v_Method.getModifiers()) || v_Method.getParameterCount() != 0 || Object.class.equals(v_Method.getDeclaringClass()) )
+            {
+                continue;
+            }
+    
+            String   v_MethodName = v_Method.getName();
+            Class<?> v_ReturnType = v_Method.getReturnType();
+            int      v_Prefix     = 0;
+            if ( v_MethodName.startsWith("get") && v_MethodName.length() > 3 && !void.class.equals(v_ReturnType) )
+            {
+                v_Prefix = 3;
+            }
+            else if ( v_MethodName.startsWith("is") && v_MethodName.length() > 2 && (boolean.class.equals(v_ReturnType) || Boolean.class.equals(v_ReturnType)) )
+            {
+                v_Prefix = 2;
+            }
+            else
+            {
+                continue;
+            }
+    
+            String v_Name = v_MethodName.substring(v_Prefix ,v_Prefix + 1).toLowerCase() + v_MethodName.substring(v_Prefix + 1);
+            if ( v_Getters.containsKey(v_Name) )
+            {
+                continue;
+            }
+    
+            try
+            {
+                v_Method.setAccessible(true);
+                v_Getters.put(v_Name ,new Getter(v_Name ,MethodHandles.lookup().unreflect(v_Method).asType($GetType)));
+            }
+            catch (Exception exce)
+            {
+                $Logger.warn("Getter[" + i_RowClass.getName() + "." + v_MethodName + "] is not accessible.");
+            }
+        }
+    
+        return v_Getters.values().toArray(new Getter[v_Getters.size()]);
+    }
+    
+    
+    
+    /**
+     * 按参数类型预选字符串的转换器。常用类型直接解析，其它类型仍由 Help.toObject() 转换
+     * 
+     * 注：Map结构行数据的字段类型（见 RedisMapSchema）共用此转换器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Class  参数类型
+     * @return
+     */
+    static Function<String ,Object> toConverter(Class<?> i_Class)
+    {
+        if ( String.class.equals(i_Class) || Object.class.equals(i_Class) )
+        {
+            return v_Value -> v_Value;
+        }
+        else if ( Integer.class.equals(i_Class) || int.class.equals(i_Class) )
+        {
+            return v_Value -> parse(i_Class ,v_Value ,Integer::valueOf);
+        }
+        else if ( Long.class.equals(i_Class) || long.class.equals(i_Class) )
+        {
+            return v_Value -> parse(i_Class ,v_Value ,Long::valueOf);
+        }
+        else if ( Double.class.equals(i_Class) || double.class.equals(i_Class) )
+        {
+            return v_Value -> parse(i_Class ,v_Value ,Double::valueOf);
+        }
+        else if ( Float.class.equals(i_Class) || float.class.equals(i_Class) )
+        {
+            return v_Value -> parse(i_Class ,v_Value ,Float::valueOf);
+        }
+        else if ( Short.class.equals(i_Class) || short.class.equals(i_Class) )
+        {
+            return v_Value -> parse(i_Class ,v_Value ,Short::valueOf);
+        }
+        else if ( BigDecimal.class.equals(i_Class) )
+        {
+            return v_Value -> parse(i_Class ,v_Value ,BigDecimal::new);
+        }
+        else if ( Date.class.equals(i_Class) || java.util.Date.class.equals(i_Class) )
+        {
+            return v_Value -> parse(i_Class ,v_Value ,Date::new);
+        }
+        else if ( i_Class.isEnum() )
+        {
+            return v_Value -> parseEnum(i_Class ,v_Value);
+        }
+        else
+        {
+            return v_Value -> Help.toObject(i_Class ,v_Value);
+        }
+    }
+    
+    
+    
+    /**
+     * 直接解析数字、时间。格式非标准时（如带有千分位），仍由 Help.toObject() 转换
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Class   参数类型
+     * @param i_Value   字符串值
+     * @param i_Parser  解析方法
+     * @return
+     */
+    private static Object parse(Class<?> i_Class ,String i_Value ,Function<String ,Object> i_Parser)
+    {
+        try
+        {
+            return i_Parser.apply(i_Value.trim());
+        }
+        catch (RuntimeException exce)
+        {
+            return Help.toObject(i_Class ,i_Value);
+        }
+    }
+    
+    
+    
+    /**
+     * 按名称解析枚举。名称不匹配时（如按序号保存的），仍由 Help.toObject() 转换
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Class   枚举类型
+     * @param i_Value   字符串值
+     * @return
+     */
+    @SuppressWarnings({"unchecked" ,"rawtypes"})
+    private static Object parseEnum(Class<?> i_Class ,String i_Value)
+    {
+        try
+        {
+            return Enum.valueOf((Class<Enum>) i_Class ,i_Value.trim());
+        }
+        catch (IllegalArgumentException exce)
+        {
+            return Help.toObject(i_Class ,i_Value);
+        }
+    }
+    
+    
+    
+    
+    
+    /**
+     * 一个字段的取值计划
+     */
+    private static class Getter
+    {
+    
+        /** 字段名 */
+        private final String       name;
+    
+        /** Getter方法的句柄。签名统一为：(行对象) */
+        private final MethodHandle handle;
+    
+    
+    
+        private Getter(String i_Name ,MethodHandle i_Handle)
+        {
+            this.name   = i_Name;
+            this.handle = i_Handle;
+        }
+    
+    }
+    
+    
+    
+    
+    
+    /**
+     * 一个字段的赋值计划
+     */
+    private static class Setter
+    {
+    
+        /** Setter方法。MethodHandle不能创建时按反射的方式调用 */
+        private final Method                   method;
+    
+        /** Setter方法的句柄。签名统一为：(行对象 ,参数值) */
+        private final MethodHandle             handle;
+    
+        /** 参数类型（基础类型时为其包装类型） */
+        private final Class<?>                 parameterClass;
+    
+        /** 参数类型是否为String */
+        private final boolean                  isString;
+    
+        /** 字符串的转换器 */
+        private final Function<String ,Object> converter;
+    
+    
+    
+        private Setter(Method i_Method)
+        {
+            Class<?> v_ParameterClass = i_Method.getParameterTypes()[0];
+    
+            this.method         = i_Method;
+            this.handle         = toHandle(i_Method);
+            this.parameterClass = MethodType.methodType(v_ParameterClass).wrap().returnType();
+            this.isString       = String.class.equals(v_ParameterClass);
+            this.converter      = toConverter(v_ParameterClass);
+        }
+    
+    
+    
+        private static MethodHandle toHandle(Method i_Method)
+        {
+            try
+            {
+                i_Method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(i_Method).asType($SetType);
+            }
+            catch (Exception exce)
+            {
+                return null;
+            }
+        }
+    
+    
+    
+        /**
+         * 赋值。空字符串只赋值给String类型的字段，其它类型的字段赋值为NULL
+         * 
+         * 编码后的字段值（见 RedisValueCodec）先还原，类型一致时直接赋值，不一致时按其文本转换
+         */
+        private void set(Object io_RowObject ,String i_Value) throws Throwable
+        {
+            Object v_ParameterValue = null;
+    
+            if ( RedisValueCodec.isEncoded(i_Value) )
+            {
+                Object v_Value = RedisValueCodec.decode(i_Value);
+                if ( this.parameterClass.isInstance(v_Value) )
+                {
+                    v_ParameterValue = v_Value;
+                }
+                else
+                {
+                    v_ParameterValue = this.converter.apply(v_Value.toString());
+                }
+            }
+            else if ( i_Value != null )
+            {
+                if ( this.isString )
+                {
+                    v_ParameterValue = i_Value;
+                }
+                else if ( !i_Value.trim().isEmpty() )
+                {
+                    v_ParameterValue = this.converter.apply(i_Value);
+                }
+            }
+    
+            if ( this.handle != null )
+            {
+                this.handle.invokeExact(io_RowObject ,v_ParameterValue);
+            }
+            else
+            {
+                this.method.invoke(io_RowObject ,v_ParameterValue);
+            }
+        }
+    
+    }
+    
+}
@@ -0,0 +1,144 @@
+package org.hy.common.redis.type;
+
+import java.util.Map;
+
+import org.hy.common.Help;
+import org.hy.common.MethodReflect;
+import org.hy.common.xml.SerializableDef;
+import org.hy.common.xml.log.Logger;
+
+
+
+
+
+/**
+ * 行数据（Redis中的Hash结构）与Java行对象的相互转换
+ * 
+ * 同步、异步的Redis访问共用，批量获取时不再逐行访问Redis
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  优化：Java行对象的赋值，改用预先解析的行类型映射计划（见 RedisRowClass），不再逐行反射
+ *              v3.0  2026-10-17  优化：Java行对象转为行数据，改用预先解析的Getter方法句柄，不再经 Help.toMap()
+ *              v4.0  2026-10-17  优化：Map结构的行对象，每行只获取一次表的字段类型快照（见 RedisMapSchema），逐个字段直接转换
+ *              v5.0  2026-10-17  修正：SerializableDef 的行对象未还原编码后的字段值（见 RedisValueCodec）
+ */
+public class RedisRowMapper
+{
+    
+    private static final Logger $Logger = new Logger(RedisRowMapper.class);
+    
+    
+    
+    /**
+     * 将一行数据的字段值，赋值给行对象（Map结构中元素类型的翻译）
+     * 
+     *   当行对象为Map结构，并且配置有 RedisMapType 时，将按其转换为Java类型
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称（允许为空或NULL）
+     * @param i_TableName  表名称（允许为空或NULL）
+     * @param i_RowDatas   行数据。Map.key字段名，Map.value字段值
+     * @param io_RowObject 行对象
+     * @return             返回行对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> E toRow(String i_Database ,String i_TableName ,Map<String ,String> i_RowDatas ,E io_RowObject)
+    {
+        if ( MethodReflect.isExtendImplement(io_RowObject ,Map.class) )
+        {
+            RedisMapSchema v_Schema = RedisMapType.getSchema(i_Database ,i_TableName);
+            
+            for (Map.Entry<String ,String> v_Item : i_RowDatas.entrySet())
+            {
+                ((Map<String ,Object>)io_RowObject).put(v_Item.getKey() ,v_Schema.convert(v_Item.getKey() ,v_Item.getValue()));
+            }
+        }
+        else if ( io_RowObject instanceof SerializableDef )
+        {
+            // 编码后的字段值（见 RedisValueCodec）先还原为文本，再由行对象按其属性类型转换
+            ((SerializableDef) io_RowObject).initNotNull(RedisValueCodec.toText(i_RowDatas));
+        }
+        else
+        {
+            RedisRowClass.get(io_RowObject.getClass()).setValues(i_RowDatas ,io_RowObject);
+        }
+        
+        
+        return io_RowObject;
+    }
+    
+    
+    
+    /**
+     * 创建行对象，并将一行数据的字段值赋值给它
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param <E>          行类型
+     * @param i_Database   库名称（允许为空或NULL）
+     * @param i_TableName  表名称（允许为空或NULL）
+     * @param i_RowDatas   行数据。Map.key字段名，Map.value字段值
+     * @param i_RowClass   行类型的元类
+     * @return             行数据为空或行对象无法创建时返回NULL
+     */
+    public static <E> E toRow(String i_Database ,String i_TableName ,Map<String ,String> i_RowDatas ,Class<E> i_RowClass)
+    {
+        if ( Help.isNull(i_RowDatas) )
+        {
+            return null;
+        }
+        
+        try
+        {
+            return toRow(i_Database ,i_TableName ,i_RowDatas ,i_RowClass.cast(RedisRowClass.get(i_RowClass).newInstance()));
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+        }
+        return null;
+    }
+    
+    
+    
+    /**
+     * 将行对象转为行数据
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_RowObject      行对象（Java对象或 Map<String ,Object> 结构）
+     * @param i_HaveNullValue  是否包含对象属性值为null的元素
+     * @return                 Map.key字段名，Map.value字段值
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String ,Object> toMap(Object i_RowObject ,boolean i_HaveNullValue) throws Exception
+    {
+        if ( MethodReflect.isExtendImplement(i_RowObject ,Map.class) )
+        {
+            return (Map<String ,Object>) i_RowObject;
+        }
+        else
+        {
+            return RedisRowClass.get(i_RowObject.getClass()).toMap(i_RowObject ,i_HaveNullValue);
+        }
+    }
+    
+    
+    
+    private RedisRowMapper()
+    {
+        // Nothing.
+    }
+    
+}
@@ -0,0 +1,430 @@
+package org.hy.common.redis.type;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hy.common.Help;
+import org.hy.common.xml.log.Logger;
+
+
+
+
+
+/**
+ * 字段值的编码。写入时按序列化器将字段值编码为字符串，读取时识别并还原
+ *
+ * 编码后的字段值为：标记字符 + 序列化器的标识字符 + 序列化的字节（每个字节对应一个 0~255 的字符，即ISO-8859-1）。
+ * 使用 RedisLettuceCodec 连接时，此类字段值按原始字节写入Redis，不再经UTF-8编码。
+ *
+ * 标记字符为 0xFE（þ）。按原始字节写入时，字节 0xFE 不会出现在UTF-8编码中，所以与文本的字段值可以区分。
+ * 读取时按标识字符查找注册的序列化器（见 register() 方法），所以读取不依赖写入时的配置。
+ *
+ * 恰好以标记字符开头的文本，写入时加上 标记字符 + T 的前缀转义，读取时去掉前缀，不会被误认为编码后的字段值。
+ *
+ * 未配置序列化器时（默认），与原先一样按文本（toString()）保存。
+ *
+ * 配置压缩阈值时，字段值（文本或编码后的）的字节数达到阈值时再压缩（见 RedisDeflateSerializer），标识字符为 Z 。
+ * 压缩阈值也可按表配置（见 RedisMapType.saveCompress()）。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：超过压缩阈值的字段值压缩保存
+ *              v3.0  2026-10-17  修正：以标记字符开头的文本被误认为编码后的字段值。写入时转义
+ */
+public class RedisValueCodec
+{
+    
+    private static final Logger                                  $Logger      = new Logger(RedisValueCodec.class);
+    
+    /** 编码后字段值的标记字符 */
+    public static final char                                     $Marker      = '\u00FE';
+    
+    /** 以标记字符开头的文本，转义时的标识字符（保留，序列化器不能使用） */
+    public static final char                                     $TextTag     = 'T';
+    
+    /** 所有注册的序列化器。Map.key为序列化器的标识 */
+    private static final Map<Character ,RedisValueSerializer>    $Serializers = new ConcurrentHashMap<Character ,RedisValueSerializer>();
+    
+    /** 内置的二进制序列化器 */
+    public static final RedisBinarySerializer                    $Binary      = new RedisBinarySerializer();
+    
+    /** 内置的压缩 */
+    public static final RedisDeflateSerializer                   $Deflate     = new RedisDeflateSerializer();
+    
+    /** 按文本保存（默认） */
+    public static final RedisValueCodec                          $Text        = new RedisValueCodec(null);
+    
+    static
+    {
+        register($Binary);
+        register($Deflate);
+    }
+    
+    
+    
+    /** 写入时使用的序列化器。为NULL时按文本保存 */
+    private final RedisValueSerializer serializer;
+    
+    /** 压缩阈值（单位：字节）。小于等于0时不压缩 */
+    private final int                  compressThreshold;
+    
+    
+    
+    public RedisValueCodec(RedisValueSerializer i_Serializer)
+    {
+        this(i_Serializer ,0);
+    }
+    
+    
+    
+    public RedisValueCodec(RedisValueSerializer i_Serializer ,int i_CompressThreshold)
+    {
+        this.serializer        = i_Serializer;
+        this.compressThreshold = i_CompressThreshold;
+    
+        if ( i_Serializer != null )
+        {
+            register(i_Serializer);
+        }
+    }
+    
+    
+    
+    /**
+     * 按配置的名称获取字段值的编码
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Name  为空或text时按文本保存；为binary时按内置的二进制序列化器；其它为序列化器的类全名
+     * @return
+     */
+    public static RedisValueCodec valueOf(String i_Name)
+    {
+        return valueOf(i_Name ,null);
+    }
+    
+    
+    
+    /**
+     * 按配置的名称及压缩阈值获取字段值的编码
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Name               为空或text时按文本保存；为binary时按内置的二进制序列化器；其它为序列化器的类全名
+     * @param i_CompressThreshold  压缩阈值（单位：字节）。为NULL或小于等于0时不压缩
+     * @return
+     */
+    public static RedisValueCodec valueOf(String i_Name ,Integer i_CompressThreshold)
+    {
+        int v_CompressThreshold = i_CompressThreshold == null ? 0 : i_CompressThreshold;
+        
+        if ( Help.isNull(i_Name) || "text".equalsIgnoreCase(i_Name.trim()) )
+        {
+            return v_CompressThreshold <= 0 ? $Text : new RedisValueCodec(null ,v_CompressThreshold);
+        }
+        else if ( "binary".equalsIgnoreCase(i_Name.trim()) )
+        {
+            return new RedisValueCodec($Binary ,v_CompressThreshold);
+        }
+    
+        try
+        {
+            return new RedisValueCodec((RedisValueSerializer) Class.forName(i_Name.trim()).getDeclaredConstructor().newInstance() ,v_CompressThreshold);
+        }
+        catch (Exception exce)
+        {
+            $Logger.error("Value serializer[" + i_Name + "] is not available." ,exce);
+            throw new IllegalArgumentException(exce);
+        }
+    }
+    
+    
+    
+    /**
+     * 注册序列化器。读取时按标识字符查找
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Serializer  序列化器
+     */
+    public static void register(RedisValueSerializer i_Serializer)
+    {
+        if ( i_Serializer.getTag() == $TextTag )
+        {
+            throw new IllegalArgumentException("Value serializer tag[" + $TextTag + "] is reserved for escaped text.");
+        }
+        
+        RedisValueSerializer v_Old = $Serializers.putIfAbsent(i_Serializer.getTag() ,i_Serializer);
+    
+        if ( v_Old != null && v_Old.getClass() != i_Serializer.getClass() )
+        {
+            throw new IllegalArgumentException("Value serializer tag[" + i_Serializer.getTag() + "] is already used by " + v_Old.getClass().getName() + ".");
+        }
+    }
+    
+    
+    
+    /**
+     * 字段值是否为编码后的
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  字段值
+     * @return
+     */
+    public static boolean isEncoded(String i_Value)
+    {
+        return i_Value != null && i_Value.length() >= 2 && i_Value.charAt(0) == $Marker && (i_Value.charAt(1) == $TextTag || $Serializers.containsKey(i_Value.charAt(1)));
+    }
+    
+    
+    
+    /**
+     * 还原编码后的字段值。不是编码后的，或还原异常时，返回原字段值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  字段值
+     * @return
+     */
+    public static Object decode(String i_Value)
+    {
+        if ( !isEncoded(i_Value) )
+        {
+            return i_Value;
+        }
+        
+        if ( i_Value.charAt(1) == $TextTag )
+        {
+            return i_Value.substring(2);
+        }
+    
+        try
+        {
+            return $Serializers.get(i_Value.charAt(1)).deserialize(i_Value.substring(2).getBytes(StandardCharsets.ISO_8859_1));
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+            return i_Value;
+        }
+    }
+    
+    
+    
+    /**
+     * 将行数据中编码后的字段值还原为文本（直接修改行数据）。用于返回 Map<String ,String> 结构的接口
+     *
+     * 压缩的还原为原文本，按序列化器保存的还原后转为文本（toString()）。字节数组保持编码后的字段值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param io_RowDatas  行数据。Map.key字段名，Map.value字段值
+     * @return             返回入参的行数据
+     */
+    public static Map<String ,String> toText(Map<String ,String> io_RowDatas)
+    {
+        if ( io_RowDatas == null )
+        {
+            return null;
+        }
+    
+        for (Map.Entry<String ,String> v_Item : io_RowDatas.entrySet())
+        {
+            if ( isEncoded(v_Item.getValue()) )
+            {
+                Object v_Value = decode(v_Item.getValue());
+                if ( !(v_Value instanceof byte []) )
+                {
+                    v_Item.setValue(v_Value.toString());
+                }
+            }
+        }
+    
+        return io_RowDatas;
+    }
+    
+    
+    
+    /**
+     * 编码字段值。序列化器不支持的，按文本（toString()）保存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  字段值
+     * @return         字段值为NULL时返回NULL
+     */
+    public String encode(Object i_Value)
+    {
+        return this.encode(i_Value ,this.compressThreshold);
+    }
+    
+    
+    
+    /**
+     * 编码字段值。序列化器不支持的，按文本（toString()）保存。字节数达到压缩阈值时压缩
+     * 
+     * 以标记字符开头的文本，加上 标记字符 + T 的前缀转义，还原时去掉
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value              字段值
+     * @param i_CompressThreshold  压缩阈值（单位：字节）。小于等于0时不压缩（见 getCompressThreshold()）
+     * @return                     字段值为NULL时返回NULL
+     */
+    public String encode(Object i_Value ,int i_CompressThreshold)
+    {
+        if ( i_Value == null )
+        {
+            return null;
+        }
+    
+        String  v_Value  = null;
+        boolean v_IsText = true;
+        if ( this.serializer != null && this.serializer.isSupport(i_Value) )
+        {
+            try
+            {
+                v_Value  = toEncoded(this.serializer ,this.serializer.serialize(i_Value));
+                v_IsText = false;
+            }
+            catch (Exception exce)
+            {
+                $Logger.error(exce);
+            }
+        }
+    
+        if ( v_Value == null )
+        {
+            v_Value = i_Value.toString();
+        }
+    
+        // 每个字符至少一个字节，先按字符数排除短的字段值，不必计算字节
+        if ( i_CompressThreshold <= 0 || v_Value.length() * 3 < i_CompressThreshold )
+        {
+            return v_IsText ? escape(v_Value) : v_Value;
+        }
+    
+        // 文本按UTF-8压缩，解压后按文本还原，无须转义
+        byte [] v_Bytes = v_IsText ? v_Value.getBytes(StandardCharsets.UTF_8) : v_Value.getBytes(StandardCharsets.ISO_8859_1);
+        if ( v_Bytes.length < i_CompressThreshold )
+        {
+            return v_IsText ? escape(v_Value) : v_Value;
+        }
+    
+        try
+        {
+            byte [] v_Compressed = $Deflate.serialize(v_Bytes);
+            if ( v_Compressed.length + 2 < v_Bytes.length )
+            {
+                return toEncoded($Deflate ,v_Compressed);
+            }
+        }
+        catch (Exception exce)
+        {
+            $Logger.error(exce);
+        }
+    
+        return v_IsText ? escape(v_Value) : v_Value;
+    }
+    
+    
+    
+    /**
+     * 转义以标记字符开头的文本：加上 标记字符 + T 的前缀
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Text  文本
+     * @return        不以标记字符开头时，返回原文本
+     */
+    private static String escape(String i_Text)
+    {
+        if ( i_Text.isEmpty() || i_Text.charAt(0) != $Marker )
+        {
+            return i_Text;
+        }
+    
+        return new StringBuilder(i_Text.length() + 2).append($Marker).append($TextTag).append(i_Text).toString();
+    }
+    
+    
+    
+    /**
+     * 序列化的字节转为编码后的字段值：标记字符 + 标识字符 + 字节（ISO-8859-1）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Serializer  序列化器
+     * @param i_Bytes       序列化的字节
+     * @return
+     */
+    private static String toEncoded(RedisValueSerializer i_Serializer ,byte [] i_Bytes)
+    {
+        StringBuilder v_Buffer = new StringBuilder(i_Bytes.length + 2);
+        v_Buffer.append($Marker).append(i_Serializer.getTag());
+        v_Buffer.append(new String(i_Bytes ,StandardCharsets.ISO_8859_1));
+        return v_Buffer.toString();
+    }
+    
+    
+    
+    /**
+     * 获取一张表的压缩阈值。按表配置的优先（见 RedisMapType.saveCompress()），未配置时为实例的压缩阈值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_TableID  表的物理名称（库名.表名）
+     * @return           小于等于0时不压缩
+     */
+    public int getCompressThreshold(String i_TableID)
+    {
+        Integer v_Threshold = RedisMapType.getCompressThreshold(i_TableID);
+        return v_Threshold == null ? this.compressThreshold : v_Threshold;
+    }
+    
+    
+    
+    /**
+     * 获取：压缩阈值（单位：字节）。小于等于0时不压缩
+     */
+    public int getCompressThreshold()
+    {
+        return this.compressThreshold;
+    }
+    
+    
+    
+    /**
+     * 获取：写入时使用的序列化器。为NULL时按文本保存
+     */
+    public RedisValueSerializer getSerializer()
+    {
+        return this.serializer;
+    }
+    
+}
@@ -0,0 +1,76 @@
+package org.hy.common.redis.type;
+
+
+
+
+
+/**
+ * 字段值的序列化接口。可由外界实现（如 Kryo、Protobuf 等），并通过 RedisValueCodec.register() 注册
+ *
+ * 序列化后的字段值以 标记字符 + 标识字符 开头（见 RedisValueCodec），所以读取时无须配置即可识别由哪个序列化器反序列化。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public interface RedisValueSerializer
+{
+    
+    /**
+     * 获取序列化器的标识。在所有注册的序列化器中须唯一
+     *
+     * 内置的二进制序列化器为 'B'，压缩为 'Z'，'T' 保留给文本的转义。外界实现的序列化器建议用小写字母
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @return
+     */
+    public char getTag();
+    
+    
+    
+    /**
+     * 是否支持序列化此字段值。不支持时，按文本（toString()）保存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  字段值（不为NULL）
+     * @return
+     */
+    public boolean isSupport(Object i_Value);
+    
+    
+    
+    /**
+     * 序列化字段值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Value  字段值（不为NULL）
+     * @return
+     * @throws Exception
+     */
+    public byte [] serialize(Object i_Value) throws Exception;
+    
+    
+    
+    /**
+     * 反序列化字段值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-17
+     * @version     v1.0
+     *
+     * @param i_Bytes   序列化的字节（不含标记字符及标识字符）
+     * @return
+     * @throws Exception
+     */
+    public Object deserialize(byte [] i_Bytes) throws Exception;
+    
+}
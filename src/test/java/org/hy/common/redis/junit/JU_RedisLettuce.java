@@ -1,13 +1,23 @@
 package org.hy.common.redis.junit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.hy.common.Date;
 import org.hy.common.Help;
 import org.hy.common.StringHelp;
 import org.hy.common.redis.IRedis;
 import org.hy.common.redis.cluster.RedisClusterConfig;
+import org.hy.common.redis.lettuce.RedisLettuce;
+import org.hy.common.redis.metrics.RedisCommandCounter;
 import org.hy.common.xml.XJava;
 import org.hy.common.xml.annotation.XType;
 import org.hy.common.xml.annotation.Xjava;
@@ -119,6 +129,61 @@ public class JU_RedisLettuce
     
     
     
+    @Test
+    public void test_XJava_Metrics()
+    {
+        RedisLettuce v_RedisOpt = (RedisLettuce) XJava.getObject("RedisOperation");
+        String       v_PK       = StringHelp.getUUID();
+        
+        // 连接在开启统计前已创建，其上的命令也须被统计
+        IRedis v_Metrics = v_RedisOpt.enableMetrics();
+        
+        v_Metrics.insert("统计" ,"表" ,v_PK ,"name" ,"v1");
+        assertTrue(RedisCommandCounter.getLastCallCommands() >= 1L);
+        
+        assertEquals("v1" ,v_Metrics.getRow(v_PK).get("name"));
+        assertTrue(RedisCommandCounter.getLastCallCommands() >= 1L);
+        assertTrue(v_RedisOpt.getMetrics().getCommands().containsKey("HGETALL"));
+        assertTrue(v_RedisOpt.getMetrics().getMethods().get("getRow").getCommands() >= 1L);
+        
+        v_Metrics.dropDatabase("统计");
+    }
+    
+    
+    
+    @Test
+    public void test_XJava_NearCache() throws Exception
+    {
+        RedisLettuce v_RedisOpt = (RedisLettuce) XJava.getObject("RedisOperation");
+        RedisLettuce v_Other    = new RedisLettuce((RedisClusterConfig) XJava.getObject("RedisClusterConfig"));
+        String       v_PK       = StringHelp.getUUID();
+        
+        v_RedisOpt.setNearCache(true);
+        try
+        {
+            v_RedisOpt.insert("近端缓存" ,"表" ,v_PK ,"name" ,"v1");
+            assertEquals("v1" ,v_RedisOpt.getRow(v_PK).get("name"));
+            assertEquals("v1" ,v_RedisOpt.getRow(v_PK).get("name"));
+            assertTrue(v_RedisOpt.getNearCache().getHitCount() >= 1L);
+            
+            // 经另一个客户端修改后，服务端推送失效通知，缓存的行数据失效
+            v_Other.update("近端缓存" ,"表" ,v_PK ,"name" ,"v2");
+            assertEquals("v2" ,awaitField(v_RedisOpt ,v_PK ,"name" ,"v2"));
+            assertTrue(v_RedisOpt.getNearCache().getInvalidateCount() >= 1L);
+            
+            // 经另一个客户端删除后，缓存的行数据也失效
+            v_Other.delete("近端缓存" ,"表" ,v_PK);
+            assertTrue(awaitDeleted(v_RedisOpt ,v_PK));
+        }
+        finally
+        {
+            v_RedisOpt.setNearCache(false);
+            v_RedisOpt.dropDatabase("近端缓存");
+        }
+    }
+    
+    
+    
     @Test
     public void test_XJava_GetNowTime()
     {
@@ -263,6 +328,86 @@ public class JU_RedisLettuce
     
     
     
+    @Test
+    public void test_XJava_SaveRows()
+    {
+        IRedis            v_RedisOpt = (IRedis) XJava.getObject("RedisOperation");
+        Map<String ,Book> v_Rows     = new LinkedHashMap<String ,Book>();
+        
+        for (int x=1; x<=10000; x++)
+        {
+            v_Rows.put("书" + x ,new Book("书" + x ,x * 1D ,new Date()));
+        }
+        
+        Date v_STime = new Date();
+        Map<String ,Long> v_Rets = v_RedisOpt.saveRows("图书馆" ,"书" ,v_Rows);
+        System.out.println("批量保存：" + v_Rets.size() + " 行，用时 " + Date.toTimeLen(new Date().differ(v_STime)));
+        
+        assertEquals(v_Rows.size() ,v_Rets.size());
+        for (Map.Entry<String ,Long> v_Ret : v_Rets.entrySet())
+        {
+            assertTrue(v_Ret.getKey() + " 保存异常：" + v_Ret.getValue() ,v_Ret.getValue() >= 0L);
+        }
+        
+        Book v_Book = v_RedisOpt.getRow("图书馆" ,"书" ,"书9999" ,Book.class);
+        assertNotNull(v_Book);
+        assertEquals("书9999" ,v_Book.getName());
+        assertEquals(9999D    ,v_Book.getPrice() ,0D);
+    }
+    
+    
+    
+    @Test
+    public void test_XJava_Async()
+    {
+        IRedis                        v_RedisOpt = (IRedis) XJava.getObject("RedisOperation");
+        List<CompletableFuture<Book>> v_Futures  = new ArrayList<CompletableFuture<Book>>();
+        Map<String ,Book>             v_Rows     = new LinkedHashMap<String ,Book>();
+        
+        for (int x=1; x<=100; x++)
+        {
+            v_Rows.put("书" + x ,new Book("书" + x ,x * 1D ,new Date()));
+        }
+        v_RedisOpt.saveRows("图书馆" ,"书" ,v_Rows);
+        
+        for (int x=1; x<=100; x++)
+        {
+            v_Futures.add(v_RedisOpt.getAsync().getRow("图书馆" ,"书" ,"书" + x ,Book.class).toCompletableFuture());
+        }
+        
+        for (int x=1; x<=v_Futures.size(); x++)
+        {
+            Book v_Book = v_Futures.get(x - 1).join();
+            
+            assertNotNull(v_Book);
+            assertEquals("书" + x ,v_Book.getName());
+            assertEquals(x * 1D   ,v_Book.getPrice() ,0D);
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_XJava_Async_Insert()
+    {
+        RedisLettuce v_RedisOpt = (RedisLettuce) XJava.getObject("RedisOperation");
+        String       v_TableID  = "图书馆.异步书";
+        
+        v_RedisOpt.dropTable("图书馆" ,"异步书");
+        assertFalse(v_RedisOpt.getExistsCache().isExists(v_TableID));
+        
+        // 完成时表、库关系与表、主键关系均已写入，并缓存为表存在
+        Long v_Count = v_RedisOpt.getAsync().insert("图书馆" ,"异步书" ,"书1" ,new Book("书1" ,1D ,new Date())).toCompletableFuture().join();
+        assertTrue(v_Count >= 1L);
+        assertTrue(v_RedisOpt.isExists("图书馆" ,"异步书"));
+        assertTrue(v_RedisOpt.isExists("图书馆" ,"异步书" ,"书1"));
+        assertTrue(v_RedisOpt.getExistsCache().isExists(v_TableID));
+        
+        v_RedisOpt.dropTable("图书馆" ,"异步书");
+    }
+    
+    
+    
     @Test
     public void test_XJava_Get()
     {
@@ -366,4 +511,43 @@ public class JU_RedisLettuce
             v_RedisCluster.shutdown();
         }
     }
+    
+    
+    
+    /**
+     * 等待近端缓存失效后读到期望的字段值，最多等待5秒（失效通知是异步推送的）
+     */
+    private static String awaitField(IRedis i_Redis ,String i_PrimaryKey ,String i_Field ,String i_Expect) throws InterruptedException
+    {
+        String v_Value = null;
+        for (int x=0; x<500; x++)
+        {
+            v_Value = i_Redis.getRow(i_PrimaryKey).get(i_Field);
+            if ( i_Expect.equals(v_Value) )
+            {
+                break;
+            }
+            Thread.sleep(10L);
+        }
+        return v_Value;
+    }
+    
+    
+    
+    /**
+     * 等待近端缓存失效后读到行数据已删除，最多等待5秒
+     */
+    private static boolean awaitDeleted(IRedis i_Redis ,String i_PrimaryKey) throws InterruptedException
+    {
+        for (int x=0; x<500; x++)
+        {
+            if ( Help.isNull(i_Redis.getRow(i_PrimaryKey)) )
+            {
+                return true;
+            }
+            Thread.sleep(10L);
+        }
+        return false;
+    }
+    
 }
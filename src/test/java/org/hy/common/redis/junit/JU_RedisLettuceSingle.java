@@ -1,5 +1,8 @@
 package org.hy.common.redis.junit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,6 +11,9 @@ import org.hy.common.Help;
 import org.hy.common.StringHelp;
 import org.hy.common.redis.IRedis;
 import org.hy.common.redis.cluster.RedisClusterConfig;
+import org.hy.common.redis.cluster.RedisConfig;
+import org.hy.common.redis.lettuce.RedisLettuceSingle;
+import org.hy.common.redis.metrics.RedisCommandCounter;
 import org.hy.common.xml.XJava;
 import org.hy.common.xml.annotation.XType;
 import org.hy.common.xml.annotation.Xjava;
@@ -50,6 +56,61 @@ public class JU_RedisLettuceSingle
     
     
     
+    @Test
+    public void test_XJava_Metrics()
+    {
+        RedisLettuceSingle v_RedisOpt = (RedisLettuceSingle) XJava.getObject("RedisOperation");
+        String             v_PK       = StringHelp.getUUID();
+        
+        // 连接在开启统计前已创建，其上的命令也须被统计
+        IRedis v_Metrics = v_RedisOpt.enableMetrics();
+        
+        v_Metrics.insert("统计" ,"表" ,v_PK ,"name" ,"v1");
+        assertTrue(RedisCommandCounter.getLastCallCommands() >= 1L);
+        
+        assertEquals("v1" ,v_Metrics.getRow(v_PK).get("name"));
+        assertTrue(RedisCommandCounter.getLastCallCommands() >= 1L);
+        assertTrue(v_RedisOpt.getMetrics().getCommands().containsKey("HGETALL"));
+        assertTrue(v_RedisOpt.getMetrics().getMethods().get("getRow").getCommands() >= 1L);
+        
+        v_Metrics.dropDatabase("统计");
+    }
+    
+    
+    
+    @Test
+    public void test_XJava_NearCache() throws Exception
+    {
+        RedisLettuceSingle v_RedisOpt = (RedisLettuceSingle) XJava.getObject("RedisOperation");
+        RedisLettuceSingle v_Other    = new RedisLettuceSingle((RedisConfig) XJava.getObject("Redis"));
+        String             v_PK       = StringHelp.getUUID();
+        
+        v_RedisOpt.setNearCache(true);
+        try
+        {
+            v_RedisOpt.insert("近端缓存" ,"表" ,v_PK ,"name" ,"v1");
+            assertEquals("v1" ,v_RedisOpt.getRow(v_PK).get("name"));
+            assertEquals("v1" ,v_RedisOpt.getRow(v_PK).get("name"));
+            assertTrue(v_RedisOpt.getNearCache().getHitCount() >= 1L);
+            
+            // 经另一个客户端修改后，服务端推送失效通知，缓存的行数据失效
+            v_Other.update("近端缓存" ,"表" ,v_PK ,"name" ,"v2");
+            assertEquals("v2" ,awaitField(v_RedisOpt ,v_PK ,"name" ,"v2"));
+            assertTrue(v_RedisOpt.getNearCache().getInvalidateCount() >= 1L);
+            
+            // 经另一个客户端删除后，缓存的行数据也失效
+            v_Other.delete("近端缓存" ,"表" ,v_PK);
+            assertTrue(awaitDeleted(v_RedisOpt ,v_PK));
+        }
+        finally
+        {
+            v_RedisOpt.setNearCache(false);
+            v_RedisOpt.dropDatabase("近端缓存");
+        }
+    }
+    
+    
+    
     @Test
     public void test_XJava_GetNowTime()
     {
@@ -297,4 +358,43 @@ public class JU_RedisLettuceSingle
             v_RedisCluster.shutdown();
         }
     }
+    
+    
+    
+    /**
+     * 等待近端缓存失效后读到期望的字段值，最多等待5秒（失效通知是异步推送的）
+     */
+    private static String awaitField(IRedis i_Redis ,String i_PrimaryKey ,String i_Field ,String i_Expect) throws InterruptedException
+    {
+        String v_Value = null;
+        for (int x=0; x<500; x++)
+        {
+            v_Value = i_Redis.getRow(i_PrimaryKey).get(i_Field);
+            if ( i_Expect.equals(v_Value) )
+            {
+                break;
+            }
+            Thread.sleep(10L);
+        }
+        return v_Value;
+    }
+    
+    
+    
+    /**
+     * 等待近端缓存失效后读到行数据已删除，最多等待5秒
+     */
+    private static boolean awaitDeleted(IRedis i_Redis ,String i_PrimaryKey) throws InterruptedException
+    {
+        for (int x=0; x<500; x++)
+        {
+            if ( Help.isNull(i_Redis.getRow(i_PrimaryKey)) )
+            {
+                return true;
+            }
+            Thread.sleep(10L);
+        }
+        return false;
+    }
+    
 }
@@ -0,0 +1,479 @@
+package org.hy.common.redis.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hy.common.redis.metrics.RedisCallSnapshot;
+import org.hy.common.redis.metrics.RedisCommandCounter;
+import org.hy.common.redis.metrics.RedisCommandListener;
+import org.hy.common.redis.metrics.RedisHistogram;
+import org.hy.common.redis.metrics.RedisMetrics;
+import org.junit.Test;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+
+
+
+
+/**
+ * 测试单元：方法的统计数据、耗时的分布、命令数及JFR事件。无须Redis服务
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：JFR事件
+ *              v3.0  2026-10-17  添加：按调用及按线程的命令数，及命令预算
+ *              v4.0  2026-10-17  添加：经转发的监听器统计命令
+ */
+public class JU_RedisMetrics
+{
+    
+    /** 被统计的接口 */
+    public interface Service
+    {
+        public Long save(String i_Database ,String i_TableName ,String i_PrimaryKey);
+        
+        public String boom(String i_Key);
+        
+        public Long send(String i_Database ,String i_TableName ,int i_Commands);
+    }
+    
+    
+    
+    /** 被统计的实现 */
+    public static class ServiceImpl implements Service
+    {
+        /** 模拟Lettuce派发命令时的命令监听器 */
+        private final CommandListener listener;
+        
+        public ServiceImpl()
+        {
+            this(null);
+        }
+        
+        public ServiceImpl(CommandListener i_Listener)
+        {
+            this.listener = i_Listener;
+        }
+        
+        @Override
+        public Long save(String i_Database ,String i_TableName ,String i_PrimaryKey)
+        {
+            return i_PrimaryKey == null ? -1L : 1L;
+        }
+        
+        @Override
+        public String boom(String i_Key)
+        {
+            throw new IllegalStateException(i_Key);
+        }
+        
+        @Override
+        public Long send(String i_Database ,String i_TableName ,int i_Commands)
+        {
+            sendCommands(this.listener ,i_Commands);
+            return 1L;
+        }
+    }
+    
+    
+    
+    /** 模拟的命令 */
+    @SuppressWarnings({"unchecked" ,"rawtypes"})
+    private static final RedisCommand<Object ,Object ,Object> $Ping = (RedisCommand) new Command<String ,String ,String>(CommandType.PING ,new StatusOutput<String ,String>(StringCodec.UTF8));
+    
+    
+    
+    @Test
+    public void test_Histogram_Empty()
+    {
+        RedisHistogram v_Histogram = new RedisHistogram();
+        
+        assertEquals(0L ,v_Histogram.getCount());
+        assertEquals(0L ,v_Histogram.getMin());
+        assertEquals(0L ,v_Histogram.getMax());
+        assertEquals(0L ,v_Histogram.getPercentile(99D));
+    }
+    
+    
+    
+    @Test
+    public void test_Histogram_Percentile()
+    {
+        RedisHistogram v_Histogram = new RedisHistogram();
+        long           v_Sum       = 0L;
+        
+        // 1 ~ 1000 微秒
+        for (long x=1; x<=1000; x++)
+        {
+            v_Histogram.record(x * 1000L);
+            v_Sum += x * 1000L;
+        }
+        
+        assertEquals(1000L    ,v_Histogram.getCount());
+        assertEquals(v_Sum    ,v_Histogram.getSum());
+        assertEquals(1000L    ,v_Histogram.getMin());
+        assertEquals(1000000L ,v_Histogram.getMax());
+        
+        // 分桶的相对误差不超过 1/16，并且返回分桶的上限值
+        assertPercentile(500000L ,v_Histogram.getPercentile(50D));
+        assertPercentile(900000L ,v_Histogram.getPercentile(90D));
+        assertPercentile(990000L ,v_Histogram.getPercentile(99D));
+        assertEquals(1000000L ,v_Histogram.getPercentile(100D));
+        
+        v_Histogram.reset();
+        assertEquals(0L ,v_Histogram.getCount());
+        assertEquals(0L ,v_Histogram.getPercentile(50D));
+    }
+    
+    
+    
+    @Test
+    public void test_Histogram_Bounds()
+    {
+        RedisHistogram v_Histogram = new RedisHistogram();
+        
+        // 小于子桶数量的值是精确的
+        v_Histogram.record(5L);
+        assertEquals(5L ,v_Histogram.getPercentile(100D));
+        
+        // 负数按0记录，超过上限的按上限记录
+        v_Histogram.record(-1L);
+        v_Histogram.record(Long.MAX_VALUE);
+        assertEquals(0L             ,v_Histogram.getMin());
+        assertEquals((1L << 41) - 1 ,v_Histogram.getMax());
+        assertEquals(3L             ,v_Histogram.getCount());
+    }
+    
+    
+    
+    @Test
+    public void test_Histogram_Concurrent() throws Exception
+    {
+        RedisHistogram  v_Histogram = new RedisHistogram();
+        ExecutorService v_Pool      = Executors.newFixedThreadPool(8);
+        List<Future<?>> v_Futures   = new ArrayList<Future<?>>();
+        
+        try
+        {
+            for (int t=0; t<8; t++)
+            {
+                v_Futures.add(v_Pool.submit(() ->
+                {
+                    for (int x=1; x<=10000; x++)
+                    {
+                        v_Histogram.record(x);
+                    }
+                }));
+            }
+            
+            for (Future<?> v_Future : v_Futures)
+            {
+                v_Future.get();
+            }
+        }
+        finally
+        {
+            v_Pool.shutdown();
+        }
+        
+        assertEquals(80000L         ,v_Histogram.getCount());
+        assertEquals(8L * 50005000L ,v_Histogram.getSum());
+        assertEquals(10000L         ,v_Histogram.getMax());
+    }
+    
+    
+    
+    @Test
+    public void test_Methods()
+    {
+        RedisMetrics v_Metrics = new RedisMetrics("JU_RedisMetrics");
+        Service      v_Service = v_Metrics.wrap(new ServiceImpl() ,Service.class);
+        
+        assertEquals(Long.valueOf(1L)  ,v_Service.save("库" ,"表" ,"主键"));
+        assertEquals(Long.valueOf(1L)  ,v_Service.save("库" ,"表" ,"主键"));
+        assertEquals(Long.valueOf(-1L) ,v_Service.save("库" ,"表" ,null));
+        
+        // 异常原样抛出
+        try
+        {
+            v_Service.boom("K");
+            throw new AssertionError("IllegalStateException expected.");
+        }
+        catch (IllegalStateException exce)
+        {
+            assertEquals("K" ,exce.getMessage());
+        }
+        
+        // 返回负数的也计为异常
+        RedisCallSnapshot v_Save = v_Metrics.getMethods().get("save");
+        assertEquals(3L ,v_Save.getCount());
+        assertEquals(1L ,v_Save.getErrors());
+        assertTrue(v_Save.getMax() >= v_Save.getP50());
+        
+        RedisCallSnapshot v_Boom = v_Metrics.getMethods().get("boom");
+        assertEquals(1L ,v_Boom.getCount());
+        assertEquals(1L ,v_Boom.getErrors());
+        
+        v_Metrics.reset();
+        assertEquals(0L ,v_Metrics.getMethods().get("save").getCount());
+    }
+    
+    
+    
+    @Test
+    public void test_JfrEvents() throws Exception
+    {
+        RedisMetrics v_Metrics = new RedisMetrics("JU_RedisMetrics");
+        Service      v_Service = v_Metrics.wrap(new ServiceImpl() ,Service.class);
+        Path         v_File    = Files.createTempFile("JU_RedisMetrics" ,".jfr");
+        
+        try (Recording v_Recording = new Recording())
+        {
+            v_Recording.enable("org.hy.common.redis.Call");
+            v_Recording.enable("org.hy.common.redis.SlowCall").withThreshold(Duration.ZERO);
+            v_Recording.start();
+            
+            v_Service.save("库" ,"表" ,"主键");
+            v_Service.save("库" ,"表" ,null);
+            
+            v_Recording.stop();
+            v_Recording.dump(v_File);
+            
+            List<RecordedEvent> v_Calls = new ArrayList<RecordedEvent>();
+            List<RecordedEvent> v_Slows = new ArrayList<RecordedEvent>();
+            for (RecordedEvent v_Event : RecordingFile.readAllEvents(v_File))
+            {
+                if ( "org.hy.common.redis.Call".equals(v_Event.getEventType().getName()) )
+                {
+                    v_Calls.add(v_Event);
+                }
+                else if ( "org.hy.common.redis.SlowCall".equals(v_Event.getEventType().getName()) )
+                {
+                    v_Slows.add(v_Event);
+                }
+            }
+            
+            assertEquals(2 ,v_Calls.size());
+            assertEquals("save" ,v_Calls.get(0).getString("method"));
+            assertEquals("库"   ,v_Calls.get(0).getString("database"));
+            assertEquals("表"   ,v_Calls.get(0).getString("table"));
+            assertEquals(1      ,v_Calls.get(0).getInt("keyCount"));
+            assertEquals(false  ,v_Calls.get(0).getBoolean("error"));
+            assertEquals(true   ,v_Calls.get(1).getBoolean("error"));
+            
+            // 慢调用的事件含参数的形态，不含参数值
+            assertEquals(2 ,v_Slows.size());
+            assertEquals("String(1) ,String(1) ,String(2)" ,v_Slows.get(0).getString("arguments"));
+            assertEquals("String(1) ,String(1) ,null"      ,v_Slows.get(1).getString("arguments"));
+        }
+        finally
+        {
+            Files.deleteIfExists(v_File);
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_Commands() throws Exception
+    {
+        RedisMetrics v_Metrics = new RedisMetrics("JU_RedisMetrics");
+        RedisClient  v_Client  = RedisClient.create();
+        
+        try
+        {
+            v_Metrics.attach(v_Client);
+            Service v_Service = v_Metrics.wrap(new ServiceImpl(v_Metrics) ,Service.class);
+            RedisCommandCounter.reset();
+            
+            v_Service.send("库" ,"表" ,3);
+            assertEquals(3L ,RedisCommandCounter.getLastCallCommands());
+            assertEquals(3L ,RedisCommandCounter.getThreadCommands());
+            
+            v_Service.send("库" ,"表" ,1);
+            assertEquals(1L ,RedisCommandCounter.getLastCallCommands());
+            assertEquals(4L ,RedisCommandCounter.getThreadCommands());
+            
+            // 代理调用之外发送的命令只计入线程累计的命令数
+            sendCommands(v_Metrics ,2);
+            assertEquals(1L ,RedisCommandCounter.getLastCallCommands());
+            assertEquals(6L ,RedisCommandCounter.getThreadCommands());
+            
+            // 按线程计数，其它线程发送的命令不计入本线程
+            ExecutorService v_Pool = Executors.newSingleThreadExecutor();
+            try
+            {
+                assertEquals(Long.valueOf(7L) ,v_Pool.submit(() ->
+                {
+                    v_Service.send("库" ,"表" ,7);
+                    return RedisCommandCounter.getLastCallCommands();
+                }).get());
+            }
+            finally
+            {
+                v_Pool.shutdown();
+            }
+            assertEquals(6L ,RedisCommandCounter.getThreadCommands());
+            
+            RedisCallSnapshot v_Send = v_Metrics.getMethods().get("send");
+            assertEquals(3L        ,v_Send.getCount());
+            assertEquals(11L       ,v_Send.getCommands());
+            assertEquals(7L        ,v_Send.getMaxCommands());
+            assertEquals(11D / 3D  ,v_Send.getCommandsPerCall() ,0.0001D);
+            
+            RedisCommandCounter.reset();
+            assertEquals(0L ,RedisCommandCounter.getLastCallCommands());
+            assertEquals(0L ,RedisCommandCounter.getThreadCommands());
+        }
+        finally
+        {
+            v_Metrics.close();
+            v_Client.shutdown();
+            RedisCommandCounter.reset();
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_Commands_Listener()
+    {
+        RedisMetrics         v_Metrics  = new RedisMetrics("JU_RedisMetrics");
+        RedisClient          v_Client   = RedisClient.create();
+        RedisCommandListener v_Listener = new RedisCommandListener();
+        
+        try
+        {
+            // 转发的监听器在创建连接前注册，Lettuce在已有的连接上只回调它
+            v_Client.addListener(v_Listener);
+            v_Metrics.attach(v_Client ,v_Listener);
+            assertEquals(v_Metrics ,v_Listener.getTarget());
+            
+            Service v_Service = v_Metrics.wrap(new ServiceImpl(v_Listener) ,Service.class);
+            RedisCommandCounter.reset();
+            
+            v_Service.send("库" ,"表" ,3);
+            assertEquals(3L ,RedisCommandCounter.getLastCallCommands());
+            assertEquals(3L ,v_Metrics.getMethods().get("send").getCommands());
+            
+            // 关闭统计后不再转发
+            v_Metrics.close();
+            assertNull(v_Listener.getTarget());
+            sendCommands(v_Listener ,2);
+            assertEquals(3L ,RedisCommandCounter.getThreadCommands());
+        }
+        finally
+        {
+            v_Metrics.close();
+            v_Client.shutdown();
+            RedisCommandCounter.reset();
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_Commands_NotAttached()
+    {
+        RedisMetrics v_Metrics = new RedisMetrics("JU_RedisMetrics");
+        Service      v_Service = v_Metrics.wrap(new ServiceImpl(v_Metrics) ,Service.class);
+        
+        // 未监听Lettuce客户端时，不计调用的命令数
+        RedisCommandCounter.reset();
+        v_Service.send("库" ,"表" ,3);
+        assertEquals(0L ,RedisCommandCounter.getLastCallCommands());
+        assertEquals(0L ,v_Metrics.getMethods().get("send").getCommands());
+        
+        RedisCommandCounter.reset();
+    }
+    
+    
+    
+    @Test
+    public void test_CommandBudget()
+    {
+        RedisMetrics v_Metrics = new RedisMetrics("JU_RedisMetrics");
+        RedisClient  v_Client  = RedisClient.create();
+        
+        try
+        {
+            v_Metrics.attach(v_Client);
+            v_Metrics.setCommandBudget(2);
+            assertEquals(2 ,v_Metrics.getCommandBudget());
+            
+            Service v_Service = v_Metrics.wrap(new ServiceImpl(v_Metrics) ,Service.class);
+            
+            // 未超过预算
+            assertEquals(Long.valueOf(1L) ,v_Service.send("库" ,"表" ,2));
+            assertEquals(2L ,RedisCommandCounter.getLastCallCommands());
+            
+            // 超过预算的调用只记录日志，不影响调用的结果
+            assertEquals(Long.valueOf(1L) ,v_Service.send("库" ,"表" ,5));
+            assertEquals(5L ,RedisCommandCounter.getLastCallCommands());
+            
+            // 预算为0时不检查
+            v_Metrics.setCommandBudget(0);
+            assertEquals(Long.valueOf(1L) ,v_Service.send("库" ,"表" ,9));
+            
+            RedisCallSnapshot v_Send = v_Metrics.getMethods().get("send");
+            assertEquals(3L  ,v_Send.getCount());
+            assertEquals(0L  ,v_Send.getErrors());
+            assertEquals(16L ,v_Send.getCommands());
+            assertEquals(9L  ,v_Send.getMaxCommands());
+        }
+        finally
+        {
+            v_Metrics.close();
+            v_Client.shutdown();
+            RedisCommandCounter.reset();
+        }
+    }
+    
+    
+    
+    /**
+     * 模拟Lettuce在调用线程上派发命令
+     */
+    private static void sendCommands(CommandListener i_Listener ,int i_Commands)
+    {
+        for (int x=0; x<i_Commands; x++)
+        {
+            i_Listener.commandStarted(new CommandStartedEvent($Ping ,new HashMap<String ,Object>() ,System.nanoTime()));
+        }
+    }
+    
+    
+    
+    /**
+     * 百分位的耗时不小于准确值，并且相对误差不超过 1/16
+     */
+    private static void assertPercentile(long i_Expected ,long i_Actual)
+    {
+        assertTrue(i_Actual + " < " + i_Expected ,i_Actual >= i_Expected);
+        assertTrue(i_Actual + " > " + i_Expected ,i_Actual - i_Expected <= i_Expected / 16);
+    }
+    
+}
@@ -0,0 +1,196 @@
+package org.hy.common.redis.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.hy.common.redis.lettuce.RedisNearCache;
+import org.hy.common.redis.lettuce.RedisNearTracking;
+import org.junit.Test;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.event.connection.ConnectionDeactivatedEvent;
+import io.lettuce.core.resource.ClientResources;
+
+
+
+
+
+/**
+ * 测试单元：近端缓存的令牌、暂停与恢复，及断线重连后重新开启跟踪。无须Redis服务
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class JU_RedisNearCache
+{
+    
+    @Test
+    public void test_Put()
+    {
+        RedisNearCache v_Cache = new RedisNearCache();
+    
+        Object v_Token = v_Cache.begin("K");
+        v_Cache.put("K" ,v_Token ,"V" ,2L);
+        assertEquals("V" ,v_Cache.get("K"));
+        assertEquals(2L  ,v_Cache.getWeight());
+    
+        // 读取期间收到失效通知的，不缓存
+        v_Token = v_Cache.begin("K2");
+        v_Cache.invalidate("K2");
+        v_Cache.put("K2" ,v_Token ,"V2" ,3L);
+        assertNull(v_Cache.get("K2"));
+    }
+    
+    
+    
+    @Test
+    public void test_Cancel()
+    {
+        RedisNearCache v_Cache = new RedisNearCache();
+    
+        // 读取异常时取消令牌，之后的读取不受影响
+        Object v_Token = v_Cache.begin("K");
+        v_Cache.cancel("K" ,v_Token);
+        v_Cache.put("K" ,v_Token ,"V" ,2L);
+        assertNull(v_Cache.get("K"));
+    
+        // 只取消自己的令牌
+        Object v_Token1 = v_Cache.begin("K");
+        Object v_Token2 = v_Cache.begin("K");
+        v_Cache.cancel("K" ,v_Token1);
+        v_Cache.put("K" ,v_Token2 ,"V" ,2L);
+        assertEquals("V" ,v_Cache.get("K"));
+    
+        // 已缓存后再取消，无影响
+        v_Cache.cancel("K" ,v_Token2);
+        assertEquals("V" ,v_Cache.get("K"));
+    }
+    
+    
+    
+    @Test
+    public void test_Suspend()
+    {
+        RedisNearCache v_Cache = new RedisNearCache();
+        v_Cache.put("K" ,v_Cache.begin("K") ,"V" ,2L);
+    
+        // 暂停时清空缓存，读取中的及暂停期间的读取均不缓存
+        Object v_Reading = v_Cache.begin("K2");
+        long   v_Epoch1  = v_Cache.suspend();
+        assertTrue(v_Cache.isSuspended());
+        assertNull(v_Cache.get("K"));
+        assertEquals(0L ,v_Cache.getWeight());
+    
+        v_Cache.put("K2" ,v_Reading ,"V2" ,3L);
+        v_Cache.put("K3" ,v_Cache.begin("K3") ,"V3" ,3L);
+        assertEquals(0 ,v_Cache.size());
+    
+        // 恢复前又被暂停过的，只由最后一次暂停对应的恢复来恢复
+        long v_Epoch2 = v_Cache.suspend();
+        assertFalse(v_Cache.resume(v_Epoch1));
+        assertTrue(v_Cache.isSuspended());
+        assertTrue(v_Cache.resume(v_Epoch2));
+        assertFalse(v_Cache.isSuspended());
+    
+        v_Cache.put("K" ,v_Cache.begin("K") ,"V" ,2L);
+        assertEquals("V" ,v_Cache.get("K"));
+    }
+    
+    
+    
+    @Test
+    public void test_Tracking() throws Exception
+    {
+        ClientResources                            v_Resources = ClientResources.create();
+        RedisClient                                v_Client    = RedisClient.create(v_Resources ,RedisURI.create("127.0.0.1" ,6379));
+        InetSocketAddress                          v_Address   = new InetSocketAddress("127.0.0.1" ,6379);
+        RedisNearCache                             v_Cache     = new RedisNearCache();
+        AtomicInteger                              v_Tracks    = new AtomicInteger();
+        AtomicReference<CompletableFuture<String>> v_Track     = new AtomicReference<CompletableFuture<String>>(CompletableFuture.completedFuture("OK"));
+        
+        // 模拟在读取所用的连接上开启跟踪
+        RedisNearTracking<Object> v_Near = new RedisNearTracking<Object>(v_Client ,v_Cache ,newConnection() ,new Object() ,() ->
+        {
+            v_Tracks.incrementAndGet();
+            return v_Track.get();
+        });
+        
+        try
+        {
+            // 构造时已开启跟踪
+            assertEquals(1 ,v_Tracks.get());
+            v_Cache.put("K" ,v_Cache.begin("K") ,"V" ,2L);
+    
+            // 断线时暂停并清空缓存，重新开启跟踪完成前保持暂停
+            v_Track.set(new CompletableFuture<String>());
+            v_Resources.eventBus().publish(new ConnectionDeactivatedEvent(v_Address ,v_Address));
+            assertTrue(await(() -> v_Tracks.get() >= 2));
+            assertTrue(v_Cache.isSuspended());
+            assertNull(v_Cache.get("K"));
+    
+            // 重连后再次重新开启跟踪，完成后恢复缓存
+            CompletableFuture<String> v_Reconnect = new CompletableFuture<String>();
+            v_Track.set(v_Reconnect);
+            v_Resources.eventBus().publish(new ConnectionActivatedEvent(v_Address ,v_Address));
+            assertTrue(await(() -> v_Tracks.get() >= 3));
+            assertTrue(v_Cache.isSuspended());
+    
+            v_Reconnect.complete("OK");
+            assertTrue(await(() -> !v_Cache.isSuspended()));
+        }
+        finally
+        {
+            v_Near.close();
+            v_Client.shutdown();
+            v_Resources.shutdown().get();
+        }
+    }
+    
+    
+    
+    /**
+     * 只用于关闭及获取超时时长的连接
+     */
+    @SuppressWarnings("unchecked")
+    private static StatefulConnection<String ,String> newConnection()
+    {
+        return (StatefulConnection<String ,String>) Proxy.newProxyInstance(JU_RedisNearCache.class.getClassLoader() ,new Class<?>[] {StatefulConnection.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            if ( "getTimeout".equals(i_Method.getName()) )
+            {
+                return Duration.ofSeconds(5);
+            }
+            return null;
+        });
+    }
+    
+    
+    
+    /**
+     * 等待条件成立，最多等待5秒（事件总线异步地派发事件）
+     */
+    private static boolean await(BooleanSupplier i_Condition) throws InterruptedException
+    {
+        for (int x=0; x<500 && !i_Condition.getAsBoolean(); x++)
+        {
+            Thread.sleep(10L);
+        }
+    
+        return i_Condition.getAsBoolean();
+    }
+    
+}
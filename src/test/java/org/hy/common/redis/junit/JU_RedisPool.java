@@ -0,0 +1,189 @@
+package org.hy.common.redis.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hy.common.redis.Redis;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPoolConfig;
+
+
+
+
+
+/**
+ * Jedis连接池的基准测试：连接的复用及吞吐量
+ * 
+ * 每次操作都应从连接池借用、用完归还，而不是每次新建连接。
+ * 操作完成后，连接池中不应有借出未还的连接，空闲的连接数也不应超过连接池的上限。
+ * 
+ * 需要本机的Redis服务 127.0.0.1:6379
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JU_RedisPool
+{
+    
+    private static final String $IP       = "127.0.0.1";
+    
+    private static final int    $Port     = 6379;
+    
+    private static final int    $MaxTotal = 8;
+    
+    private static final int    $Loops    = 2000;
+    
+    private static final int    $Threads  = 8;
+    
+    private Redis               redis;
+    
+    
+    
+    public JU_RedisPool()
+    {
+        JedisPoolConfig v_PoolConfig = new JedisPoolConfig();
+        v_PoolConfig.setMaxTotal($MaxTotal);
+        v_PoolConfig.setMaxIdle( $MaxTotal);
+        
+        redis = new Redis(v_PoolConfig ,$IP ,$Port);
+    }
+    
+    
+    
+    /**
+     * 顺序操作：同一时刻只借用一个连接，所有操作复用它
+     */
+    @Test
+    public void test_001_Sequential()
+    {
+        long v_Begin = System.nanoTime();
+        
+        for (int i=0; i<$Loops; i++)
+        {
+            String v_Key = "JU_RedisPool:" + (i % 100);
+            
+            redis.getRString().put(v_Key ,String.valueOf(i));
+            assertEquals(String.valueOf(i) ,redis.getRString().get(v_Key));
+        }
+        
+        long v_TimeLen = System.nanoTime() - v_Begin;
+        
+        System.out.println(report("连接池，顺序" ,$Loops * 2 ,v_TimeLen));
+        
+        assertEquals(0 ,redis.getPoolActive());
+        assertEquals(1 ,redis.getPoolIdle());
+    }
+    
+    
+    
+    /**
+     * 多线程并发操作：借出的连接数不超过连接池的上限，操作完成后全部归还
+     */
+    @Test
+    public void test_002_Concurrent() throws Exception
+    {
+        ExecutorService      v_Pool    = Executors.newFixedThreadPool($Threads);
+        List<Future<Integer>> v_Futures = new ArrayList<Future<Integer>>();
+        long                 v_Begin   = System.nanoTime();
+        
+        try
+        {
+            for (int t=0; t<$Threads; t++)
+            {
+                final int v_ThreadNo = t;
+                
+                v_Futures.add(v_Pool.submit(new Callable<Integer>()
+                {
+                    @Override
+                    public Integer call()
+                    {
+                        int v_Count = 0;
+                        
+                        for (int i=0; i<$Loops; i++)
+                        {
+                            String v_Key = "JU_RedisPool:" + v_ThreadNo + ":" + (i % 100);
+                            
+                            redis.getRString().put(v_Key ,String.valueOf(i));
+                            if ( String.valueOf(i).equals(redis.getRString().get(v_Key)) )
+                            {
+                                v_Count++;
+                            }
+                        }
+                        
+                        return v_Count;
+                    }
+                }));
+            }
+            
+            for (Future<Integer> v_Future : v_Futures)
+            {
+                assertEquals(Integer.valueOf($Loops) ,v_Future.get());
+            }
+        }
+        finally
+        {
+            v_Pool.shutdown();
+        }
+        
+        long v_TimeLen = System.nanoTime() - v_Begin;
+        
+        System.out.println(report("连接池，" + $Threads + "线程" ,$Loops * 2 * $Threads ,v_TimeLen));
+        
+        assertEquals(0 ,redis.getPoolActive());
+        assertTrue(redis.getPoolIdle() >= 1);
+        assertTrue(redis.getPoolIdle() <= $MaxTotal);
+    }
+    
+    
+    
+    /**
+     * 对照组：每次操作新建连接、用完关闭。与 test_001_Sequential 的耗时对比，即为连接池复用连接的收益
+     */
+    @Test
+    public void test_003_ConnectPerCall()
+    {
+        long v_Begin = System.nanoTime();
+        
+        for (int i=0; i<$Loops; i++)
+        {
+            String v_Key = "JU_RedisPool:" + (i % 100);
+            
+            try (Jedis v_Jedis = new Jedis($IP ,$Port))
+            {
+                v_Jedis.set(v_Key ,String.valueOf(i));
+            }
+            
+            try (Jedis v_Jedis = new Jedis($IP ,$Port))
+            {
+                assertEquals(String.valueOf(i) ,v_Jedis.get(v_Key));
+            }
+        }
+        
+        long v_TimeLen = System.nanoTime() - v_Begin;
+        
+        System.out.println(report("无连接池，每次新建连接" ,$Loops * 2 ,v_TimeLen));
+    }
+    
+    
+    
+    private static String report(String i_Name ,int i_Ops ,long i_Nanos)
+    {
+        double v_Millis = i_Nanos / 1000000D;
+        
+        return String.format("%s：%d次操作，耗时 %.1f 毫秒，%.0f 次/秒" ,i_Name ,i_Ops ,v_Millis ,i_Ops * 1000D / v_Millis);
+    }
+    
+}
@@ -0,0 +1,307 @@
+package org.hy.common.redis.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hy.common.Date;
+import org.hy.common.redis.type.RedisMapType;
+import org.hy.common.redis.type.RedisRowClass;
+import org.hy.common.redis.type.RedisRowMapper;
+import org.hy.common.redis.type.RedisValueCodec;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：行数据与Java行对象的相互转换。无须Redis服务
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：行对象转为行数据 toMap()
+ */
+public class JU_RedisRowMapper
+{
+    
+    public enum Color
+    {
+        RED
+       ,GREEN
+    }
+    
+    
+    
+    /** 行对象 */
+    public static class Row
+    {
+        private String     name;
+        
+        private int        age;
+        
+        private Long       total;
+        
+        private Double     price;
+        
+        private BigDecimal amount;
+        
+        private Date       createTime;
+        
+        private Color      color;
+        
+        private boolean    vip;
+        
+        
+        
+        public String getName()
+        {
+            return name;
+        }
+        
+        public void setName(String i_Name)
+        {
+            this.name = i_Name;
+        }
+        
+        public int getAge()
+        {
+            return age;
+        }
+        
+        public void setAge(int i_Age)
+        {
+            this.age = i_Age;
+        }
+        
+        public Long getTotal()
+        {
+            return total;
+        }
+        
+        public void setTotal(Long i_Total)
+        {
+            this.total = i_Total;
+        }
+        
+        public Double getPrice()
+        {
+            return price;
+        }
+        
+        public void setPrice(Double i_Price)
+        {
+            this.price = i_Price;
+        }
+        
+        public BigDecimal getAmount()
+        {
+            return amount;
+        }
+        
+        public void setAmount(BigDecimal i_Amount)
+        {
+            this.amount = i_Amount;
+        }
+        
+        public Date getCreateTime()
+        {
+            return createTime;
+        }
+        
+        public void setCreateTime(Date i_CreateTime)
+        {
+            this.createTime = i_CreateTime;
+        }
+        
+        public Color getColor()
+        {
+            return color;
+        }
+        
+        public void setColor(Color i_Color)
+        {
+            this.color = i_Color;
+        }
+        
+        public boolean isVip()
+        {
+            return vip;
+        }
+        
+        public void setVip(boolean i_Vip)
+        {
+            this.vip = i_Vip;
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_ToRow()
+    {
+        Map<String ,String> v_Datas = new HashMap<String ,String>();
+        v_Datas.put("name"       ,"ZhengWei");
+        v_Datas.put("Age"        ,"18");
+        v_Datas.put("total"      ,"1234567890123");
+        v_Datas.put("price"      ,"3.14");
+        v_Datas.put("amount"     ,"12.50");
+        v_Datas.put("createTime" ,"2026-10-17 08:30:00");
+        v_Datas.put("color"      ,"GREEN");
+        v_Datas.put("unknown"    ,"忽略没有Setter方法的字段");
+        
+        Row v_Row = RedisRowMapper.toRow(null ,null ,v_Datas ,Row.class);
+        
+        assertEquals("ZhengWei"                   ,v_Row.getName());
+        assertEquals(18                           ,v_Row.getAge());
+        assertEquals(Long.valueOf(1234567890123L) ,v_Row.getTotal());
+        assertEquals(Double.valueOf(3.14D)        ,v_Row.getPrice());
+        assertEquals(new BigDecimal("12.50")      ,v_Row.getAmount());
+        assertEquals(Color.GREEN                  ,v_Row.getColor());
+        assertEquals(new Date("2026-10-17 08:30:00").getTime() ,v_Row.getCreateTime().getTime());
+    }
+    
+    
+    
+    @Test
+    public void test_ToRow_Empty()
+    {
+        Map<String ,String> v_Datas = new HashMap<String ,String>();
+        v_Datas.put("name"  ,"");
+        v_Datas.put("total" ,"");
+        v_Datas.put("price" ," ");
+        
+        Row v_Row = new Row();
+        v_Row.setTotal(1L);
+        v_Row.setPrice(1D);
+        RedisRowMapper.toRow(null ,null ,v_Datas ,v_Row);
+        
+        // 空字符串只赋值给String类型的字段，其它类型的字段赋值为NULL
+        assertEquals("" ,v_Row.getName());
+        assertNull(v_Row.getTotal());
+        assertNull(v_Row.getPrice());
+        
+        assertNull(RedisRowMapper.toRow(null ,null ,new HashMap<String ,String>() ,Row.class));
+    }
+    
+    
+    
+    @Test
+    public void test_ToRow_Encoded()
+    {
+        RedisValueCodec     v_Codec = RedisValueCodec.valueOf("binary");
+        Map<String ,String> v_Datas = new HashMap<String ,String>();
+        v_Datas.put("total" ,v_Codec.encode(99L));
+        v_Datas.put("age"   ,v_Codec.encode(7L));
+        v_Datas.put("price" ,v_Codec.encode(2.5D));
+        v_Datas.put("name"  ,v_Codec.encode(RedisValueCodec.$Marker + "B"));
+        
+        Row v_Row = RedisRowMapper.toRow(null ,null ,v_Datas ,Row.class);
+        
+        // 类型一致时直接赋值，不一致时按其文本转换
+        assertEquals(Long.valueOf(99L)   ,v_Row.getTotal());
+        assertEquals(7                   ,v_Row.getAge());
+        assertEquals(Double.valueOf(2.5) ,v_Row.getPrice());
+        assertEquals(RedisValueCodec.$Marker + "B" ,v_Row.getName());
+    }
+    
+    
+    
+    @Test
+    public void test_ToRow_Map()
+    {
+        RedisMapType.save("JU_RedisRowMapper" ,"T_Map" ,"age"   ,Integer.class);
+        RedisMapType.save("JU_RedisRowMapper" ,"T_Map" ,"total" ,Long.class);
+        try
+        {
+            Map<String ,String> v_Datas = new HashMap<String ,String>();
+            v_Datas.put("age"   ,"18");
+            v_Datas.put("total" ,RedisValueCodec.valueOf("binary").encode(99L));
+            v_Datas.put("name"  ,"ZhengWei");
+            
+            Map<String ,Object> v_Row = RedisRowMapper.toRow("JU_RedisRowMapper" ,"T_Map" ,v_Datas ,new HashMap<String ,Object>());
+            
+            assertEquals(Integer.valueOf(18) ,v_Row.get("age"));
+            assertEquals(Long.valueOf(99L)   ,v_Row.get("total"));
+            assertEquals("ZhengWei"          ,v_Row.get("name"));
+        }
+        finally
+        {
+            RedisMapType.remove("JU_RedisRowMapper" ,"T_Map");
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_ToMap() throws Exception
+    {
+        Row v_Row = new Row();
+        v_Row.setName("ZhengWei");
+        v_Row.setAge(18);
+        v_Row.setPrice(3.14D);
+        v_Row.setColor(Color.RED);
+        v_Row.setVip(true);
+        
+        // 字段名为Getter方法去掉前缀后首字母小写，布尔类型的含 isXxx()
+        Map<String ,Object> v_Datas = RedisRowMapper.toMap(v_Row ,false);
+        assertEquals("ZhengWei"           ,v_Datas.get("name"));
+        assertEquals(Integer.valueOf(18)  ,v_Datas.get("age"));
+        assertEquals(Double.valueOf(3.14) ,v_Datas.get("price"));
+        assertEquals(Color.RED            ,v_Datas.get("color"));
+        assertEquals(Boolean.TRUE         ,v_Datas.get("vip"));
+        assertEquals(5                    ,v_Datas.size());
+        
+        // 包含值为NULL的属性
+        v_Datas = RedisRowMapper.toMap(v_Row ,true);
+        assertEquals(8 ,v_Datas.size());
+        assertTrue(v_Datas.containsKey("total"));
+        assertNull(v_Datas.get("total"));
+        
+        // Map结构的行对象原样返回
+        Map<String ,Object> v_Map = new HashMap<String ,Object>();
+        assertSame(v_Map ,RedisRowMapper.toMap(v_Map ,false));
+    }
+    
+    
+    
+    @Test
+    public void test_ToMap_ToRow() throws Exception
+    {
+        Row v_Row = new Row();
+        v_Row.setName("ZhengWei");
+        v_Row.setTotal(99L);
+        v_Row.setAmount(new BigDecimal("12.50"));
+        v_Row.setVip(true);
+        
+        // 写入时逐个字段编码，读取时还原
+        RedisValueCodec     v_Codec = RedisValueCodec.valueOf("binary");
+        Map<String ,String> v_Datas = new HashMap<String ,String>();
+        for (Map.Entry<String ,Object> v_Item : RedisRowMapper.toMap(v_Row ,false).entrySet())
+        {
+            v_Datas.put(v_Item.getKey() ,v_Codec.encode(v_Item.getValue()));
+        }
+        
+        Row v_New = RedisRowMapper.toRow(null ,null ,v_Datas ,Row.class);
+        assertEquals(v_Row.getName()   ,v_New.getName());
+        assertEquals(v_Row.getTotal()  ,v_New.getTotal());
+        assertEquals(v_Row.getAmount() ,v_New.getAmount());
+        assertTrue(v_New.isVip());
+    }
+    
+    
+    
+    @Test
+    public void test_RowClass_Cache()
+    {
+        assertSame(RedisRowClass.get(Row.class) ,RedisRowClass.get(Row.class));
+        assertEquals(Row.class ,RedisRowClass.get(Row.class).getRowClass());
+    }
+    
+}
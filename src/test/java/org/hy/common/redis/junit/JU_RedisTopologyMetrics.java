@@ -0,0 +1,82 @@
+package org.hy.common.redis.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import org.hy.common.redis.lettuce.RedisTopologyMetrics;
+import org.junit.Test;
+
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.event.AdaptiveRefreshTriggeredEvent;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
+import io.lettuce.core.event.Event;
+import io.lettuce.core.resource.ClientResources;
+
+
+
+
+
+/**
+ * 测试单元：集群拓扑的统计数据。无须Redis服务
+ *
+ * 按Lettuce真实的事件类型，经客户端的事件总线发出事件，验证统计的次数
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ */
+public class JU_RedisTopologyMetrics
+{
+    
+    @Test
+    public void test_Events() throws Exception
+    {
+        ClientResources      v_Resources = ClientResources.create();
+        RedisClusterClient   v_Client    = RedisClusterClient.create(v_Resources ,Arrays.asList(RedisURI.create("127.0.0.1" ,7000)));
+        RedisTopologyMetrics v_Metrics   = new RedisTopologyMetrics(v_Client);
+        
+        try
+        {
+            v_Resources.eventBus().publish(new Event() {});
+            v_Resources.eventBus().publish(new AdaptiveRefreshTriggeredEvent(() -> null ,() -> {}));
+            v_Resources.eventBus().publish(new AdaptiveRefreshTriggeredEvent(() -> null ,() -> {}));
+            v_Resources.eventBus().publish(new ClusterTopologyChangedEvent(new ArrayList<>() ,new ArrayList<>()));
+            
+            // 事件总线异步地派发事件
+            assertEquals(2L ,await(v_Metrics::getAdaptiveRefreshTriggered ,2L));
+            assertEquals(1L ,await(v_Metrics::getTopologyChanged ,1L));
+            assertNotNull(v_Metrics.getTopologyChangedTime());
+            
+            v_Metrics.reset();
+            assertEquals(0L ,v_Metrics.getAdaptiveRefreshTriggered());
+            assertEquals(0L ,v_Metrics.getTopologyChanged());
+        }
+        finally
+        {
+            v_Metrics.close();
+            v_Client.shutdown();
+            v_Resources.shutdown().get();
+        }
+    }
+    
+    
+    
+    /**
+     * 等待统计的次数达到期望值，最多等待5秒
+     */
+    private static long await(LongSupplier i_Count ,long i_Expect) throws InterruptedException
+    {
+        for (int x=0; x<500 && i_Count.getAsLong() < i_Expect; x++)
+        {
+            Thread.sleep(10L);
+        }
+        
+        return i_Count.getAsLong();
+    }
+    
+}
@@ -0,0 +1,235 @@
+package org.hy.common.redis.junit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hy.common.redis.lettuce.RedisLettuceCodec;
+import org.hy.common.redis.type.RedisMapType;
+import org.hy.common.redis.type.RedisValueCodec;
+import org.hy.common.redis.type.RedisValueSerializer;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：字段值的编码。无须Redis服务
+ *
+ * 编码、还原及经 RedisLettuceCodec 按字节写入、读取的往返
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-17
+ * @version     v1.0
+ *              v2.0  2026-10-17  添加：压缩的往返，及连接创建后按表配置的压缩阈值
+ */
+public class JU_RedisValueCodec
+{
+    
+    /** 恰好以标记字符开头的文本 */
+    private static final String [] $MarkerTexts = {"" + RedisValueCodec.$Marker
+                                                  ,RedisValueCodec.$Marker + "B"
+                                                  ,RedisValueCodec.$Marker + "B123"
+                                                  ,RedisValueCodec.$Marker + "Zabc"
+                                                  ,RedisValueCodec.$Marker + "T"
+                                                  ,RedisValueCodec.$Marker + "" + RedisValueCodec.$Marker
+                                                  ,RedisValueCodec.$Marker + "B中文"};
+    
+    private RedisValueCodec binary = RedisValueCodec.valueOf("binary");
+    
+    
+    
+    @Test
+    public void test_Text()
+    {
+        assertEquals("ZhengWei" ,RedisValueCodec.$Text.encode("ZhengWei"));
+        assertEquals("123"      ,RedisValueCodec.$Text.encode(123));
+        assertFalse(RedisValueCodec.isEncoded("ZhengWei"));
+        assertEquals("ZhengWei" ,RedisValueCodec.decode("ZhengWei"));
+        assertEquals("中文"     ,roundTrip(RedisValueCodec.$Text ,"中文"));
+    }
+    
+    
+    
+    @Test
+    public void test_MarkerText()
+    {
+        for (String v_Text : $MarkerTexts)
+        {
+            // 写入时转义，不会被误认为序列化器编码后的字段值
+            assertTrue(RedisValueCodec.$Text.encode(v_Text).startsWith(RedisValueCodec.$Marker + "" + RedisValueCodec.$TextTag));
+            assertEquals(v_Text ,roundTrip(RedisValueCodec.$Text ,v_Text));
+            assertEquals(v_Text ,roundTrip(this.binary           ,v_Text));
+    
+            Map<String ,String> v_Row = new HashMap<String ,String>();
+            v_Row.put("F" ,this.binary.encode(v_Text));
+            assertEquals(v_Text ,RedisValueCodec.toText(v_Row).get("F"));
+        }
+    }
+    
+    
+    
+    @Test
+    public void test_Binary()
+    {
+        assertEquals(Integer.valueOf(-123)    ,roundTrip(this.binary ,-123));
+        assertEquals(Long.valueOf(1L << 40)   ,roundTrip(this.binary ,1L << 40));
+        assertEquals(Double.valueOf(3.14D)    ,roundTrip(this.binary ,3.14D));
+        assertEquals(Boolean.TRUE             ,roundTrip(this.binary ,Boolean.TRUE));
+        assertEquals(Short.valueOf((short) 7) ,roundTrip(this.binary ,(short) 7));
+    
+        java.util.Date v_Date = new java.util.Date(1760659200000L);
+        assertEquals(v_Date.getTime() ,((java.util.Date) roundTrip(this.binary ,v_Date)).getTime());
+    
+        byte [] v_Bytes = {0 ,1 ,(byte) 0x7F ,(byte) 0x80 ,(byte) 0xFE ,(byte) 0xFF};
+        assertArrayEquals(v_Bytes ,(byte []) roundTrip(this.binary ,v_Bytes));
+    
+        // 序列化器不支持的类型按文本保存
+        assertEquals("12.50" ,roundTrip(this.binary ,new java.math.BigDecimal("12.50")));
+    }
+    
+    
+    
+    @Test
+    public void test_LettuceCodec()
+    {
+        // 文本按UTF-8写入，与 StringCodec 一样
+        ByteBuffer v_Bytes = RedisLettuceCodec.$Codec.encodeValue("中文");
+        assertEquals(6 ,v_Bytes.remaining());
+    
+        // 编码后的字段值每个字符一个字节
+        String v_Encoded = this.binary.encode(1L);
+        assertEquals(v_Encoded.length() ,RedisLettuceCodec.$Codec.encodeValue(v_Encoded).remaining());
+        assertEquals(v_Encoded ,RedisLettuceCodec.$Codec.decodeValue(RedisLettuceCodec.$Codec.encodeValue(v_Encoded)));
+    }
+    
+    
+    
+    @Test
+    public void test_Compress()
+    {
+        StringBuilder v_Buffer = new StringBuilder();
+        for (int x=0; x<200; x++)
+        {
+            v_Buffer.append("ZhengWei(HY) 中文 ").append(x % 10);
+        }
+        String v_Text = v_Buffer.toString();
+        
+        // 字节数达到阈值时压缩，经 RedisLettuceCodec 按原始字节往返
+        String v_Encoded = RedisValueCodec.$Text.encode(v_Text ,64);
+        assertTrue(v_Encoded.startsWith(RedisValueCodec.$Marker + "Z"));
+        assertTrue(v_Encoded.length() < v_Text.length());
+        assertEquals(v_Text ,RedisValueCodec.decode(v_Encoded));
+        assertEquals(v_Encoded ,RedisLettuceCodec.$Codec.decodeValue(RedisLettuceCodec.$Codec.encodeValue(v_Encoded)));
+        
+        // 以标记字符开头的文本压缩后，还原为原文本
+        String v_MarkerText = RedisValueCodec.$Marker + "B" + v_Text;
+        assertEquals(v_MarkerText ,RedisValueCodec.decode(RedisValueCodec.$Text.encode(v_MarkerText ,64)));
+        
+        // 序列化器编码后的字段值压缩后，还原为原类型
+        byte [] v_Bytes = new byte[4096];
+        for (int x=0; x<v_Bytes.length; x++)
+        {
+            v_Bytes[x] = (byte) (x % 7 == 0 ? 0xFE : x % 3);
+        }
+        v_Encoded = this.binary.encode(v_Bytes ,64);
+        assertTrue(v_Encoded.startsWith(RedisValueCodec.$Marker + "Z"));
+        assertArrayEquals(v_Bytes ,(byte []) RedisValueCodec.decode(v_Encoded));
+        
+        // 未达到阈值的不压缩
+        assertEquals("ZhengWei" ,RedisValueCodec.$Text.encode("ZhengWei" ,64));
+    }
+    
+    
+    
+    @Test
+    public void test_CompressByTable()
+    {
+        String v_TableID = "JU_RedisValueCodec.T_Compress";
+        
+        assertEquals(0 ,RedisValueCodec.$Text.getCompressThreshold(v_TableID));
+        
+        // 按表配置的压缩阈值，在编码器（及连接）创建后配置也生效
+        RedisMapType.saveCompress("JU_RedisValueCodec" ,"T_Compress" ,64);
+        try
+        {
+            assertEquals(64 ,RedisValueCodec.$Text.getCompressThreshold(v_TableID));
+            
+            String v_Text    = new String(new char[1000]).replace('\0' ,'A');
+            String v_Encoded = RedisValueCodec.$Text.encode(v_Text ,RedisValueCodec.$Text.getCompressThreshold(v_TableID));
+            
+            assertTrue(v_Encoded.startsWith(RedisValueCodec.$Marker + "Z"));
+            assertEquals(v_Encoded.length() ,RedisLettuceCodec.$Codec.encodeValue(v_Encoded).remaining());
+            assertEquals(v_Text ,RedisValueCodec.decode(RedisLettuceCodec.$Codec.decodeValue(RedisLettuceCodec.$Codec.encodeValue(v_Encoded))));
+        }
+        finally
+        {
+            RedisMapType.removeCompress("JU_RedisValueCodec" ,"T_Compress");
+        }
+        
+        assertEquals(0 ,RedisValueCodec.$Text.getCompressThreshold(v_TableID));
+    }
+    
+    
+    
+    @Test
+    public void test_ReservedTag()
+    {
+        try
+        {
+            RedisValueCodec.register(new RedisValueSerializer()
+            {
+                @Override
+                public char getTag()
+                {
+                    return RedisValueCodec.$TextTag;
+                }
+    
+                @Override
+                public boolean isSupport(Object i_Value)
+                {
+                    return false;
+                }
+    
+                @Override
+                public byte [] serialize(Object i_Value)
+                {
+                    return null;
+                }
+    
+                @Override
+                public Object deserialize(byte [] i_Bytes)
+                {
+                    return null;
+                }
+            });
+        }
+        catch (IllegalArgumentException exce)
+        {
+            return;
+        }
+    
+        throw new AssertionError("Tag " + RedisValueCodec.$TextTag + " must be reserved.");
+    }
+    
+    
+    
+    /**
+     * 编码后经 RedisLettuceCodec 写入、读取的字节，再还原
+     */
+    private static Object roundTrip(RedisValueCodec i_Codec ,Object i_Value)
+    {
+        String v_Encoded = i_Codec.encode(i_Value);
+        String v_Read    = RedisLettuceCodec.$Codec.decodeValue(RedisLettuceCodec.$Codec.encodeValue(v_Encoded));
+    
+        assertEquals(v_Encoded ,v_Read);
+        return RedisValueCodec.decode(v_Read);
+    }
+    
+}